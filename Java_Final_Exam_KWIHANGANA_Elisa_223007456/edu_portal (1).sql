@@ -173,7 +173,7 @@ CREATE TABLE IF NOT EXISTS `grade` (
   `LetterGrade` varchar(5) DEFAULT NULL,
   `CreatedAt` datetime DEFAULT CURRENT_TIMESTAMP,
   PRIMARY KEY (`GradeID`),
-  KEY `StudentID` (`StudentID`),
+  UNIQUE KEY `uq_grade_student_assignment` (`StudentID`,`AssignmentID`),
   KEY `AssignmentID` (`AssignmentID`)
 ) ENGINE=MyISAM AUTO_INCREMENT=11 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
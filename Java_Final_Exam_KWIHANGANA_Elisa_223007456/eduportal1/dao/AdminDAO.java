@@ -8,6 +8,8 @@ public class AdminDAO {
 
     // Use lowercase 'admin' to match your 'desc admin' output
     private static final String SELECT_BY_USERNAME_SQL = "SELECT * FROM admin WHERE Username = ?";
+    private static final String SELECT_USERNAMES_SQL = "SELECT Username FROM admin";
+    private static final String UPDATE_PASSWORD_SQL = "UPDATE admin SET Password=? WHERE AdminID=? AND Password=?";
 
     public Admin getByUsername(String username) {
         // Try-with-resources ensures the connection closes even if an error occurs
@@ -36,4 +38,26 @@ public class AdminDAO {
         }
         return null;
     }
+
+    /** Replaces a password hash only if it still equals the expected value (on-login rehash). */
+    public boolean updatePasswordHash(int adminID, String expected, String hash) {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) return false;
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(UPDATE_PASSWORD_SQL)) {
+            ps.setString(1, hash);
+            ps.setInt(2, adminID);
+            ps.setString(3, expected);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Database Error in AdminDAO: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /** Streams every admin username; a failed read is reported rather than looking like an empty table. */
+    public int forEachUsername(RowCallback<String> callback) throws SQLException {
+        return ResultSetCursor.streamOrThrow(SELECT_USERNAMES_SQL, ResultSetCursor.DEFAULT_FETCH_SIZE,
+                ResultSetCursor.FIRST_STRING, callback);
+    }
 }
\ No newline at end of file
@@ -4,13 +4,16 @@ import com.eduportal.model.Assignment;
 import com.eduportal.model.Course;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Data Access Object for the Assignment entity.
  * SYNCED with database schema: AssignmentID, CourseID, Title, DueDate
  */
-public class AssignmentDAO implements BaseDAO<Assignment> {
+public class AssignmentDAO implements BaseDAO<Assignment>, PagedDAO<Assignment> {
 
     // SQL strictly matching your 4-column schema
     private static final String INSERT_SQL = "INSERT INTO assignment (CourseID, Title, DueDate) VALUES (?, ?, ?)";
@@ -18,6 +21,51 @@ public class AssignmentDAO implements BaseDAO<Assignment> {
     private static final String SELECT_BY_ID_SQL = "SELECT * FROM assignment WHERE AssignmentID = ?";
     private static final String UPDATE_SQL = "UPDATE assignment SET CourseID=?, Title=?, DueDate=? WHERE AssignmentID=?";
     private static final String DELETE_SQL = "DELETE FROM assignment WHERE AssignmentID=?";
+    private static final String SELECT_PAGE_SQL = "SELECT * FROM assignment WHERE AssignmentID > ? ORDER BY AssignmentID LIMIT ?";
+
+    // --- Parameter Binders (shared by single-row and batched writes) ---
+    private static final BatchExecutor.Binder<Assignment> INSERT_BINDER = new BatchExecutor.Binder<Assignment>() {
+        @Override
+        void bind(PreparedStatement ps, Assignment assignment) throws SQLException {
+            ps.setInt(1, assignment.getCourseID());
+            ps.setString(2, assignment.getTitle()); 
+            
+            if (assignment.getDueDate() != null) {
+                ps.setTimestamp(3, new Timestamp(assignment.getDueDate().getTime()));
+            } else {
+                ps.setNull(3, Types.TIMESTAMP);
+            }
+        }
+
+        @Override
+        void onGeneratedKey(Assignment assignment, int key) {
+            assignment.setAssignmentID(key);
+        }
+    };
+
+    private static final BatchExecutor.Binder<Assignment> UPDATE_BINDER = new BatchExecutor.Binder<Assignment>() {
+        @Override
+        void bind(PreparedStatement ps, Assignment assignment) throws SQLException {
+            INSERT_BINDER.bind(ps, assignment);
+            ps.setInt(4, assignment.getAssignmentID());
+        }
+    };
+
+    private static final BatchExecutor.Binder<Assignment> DELETE_BINDER = new BatchExecutor.Binder<Assignment>() {
+        @Override
+        void bind(PreparedStatement ps, Assignment assignment) throws SQLException {
+            ps.setInt(1, assignment.getAssignmentID());
+        }
+    };
+
+    private final StudentGpaDAO gpaDAO = new StudentGpaDAO();
+
+    private final RowMapper<Assignment> rowMapper = new RowMapper<Assignment>() {
+        @Override
+        public Assignment map(ResultSet rs) throws SQLException {
+            return extractAssignmentFromResultSet(rs);
+        }
+    };
 
     private Assignment extractAssignmentFromResultSet(ResultSet rs) throws SQLException {
         // We map the 4 real columns and provide defaults for the others to avoid "Column Not Found" errors
@@ -41,15 +89,7 @@ public class AssignmentDAO implements BaseDAO<Assignment> {
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
             
-            ps.setInt(1, assignment.getCourseID());
-            ps.setString(2, assignment.getTitle()); 
-            
-            if (assignment.getDueDate() != null) {
-                ps.setTimestamp(3, new Timestamp(assignment.getDueDate().getTime()));
-            } else {
-                ps.setNull(3, Types.TIMESTAMP);
-            }
-            
+            INSERT_BINDER.bind(ps, assignment);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error inserting assignment: " + e.getMessage());
@@ -77,17 +117,11 @@ public class AssignmentDAO implements BaseDAO<Assignment> {
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(UPDATE_SQL)) {
             
-            ps.setInt(1, assignment.getCourseID());
-            ps.setString(2, assignment.getTitle());
-            
-            if (assignment.getDueDate() != null) {
-                ps.setTimestamp(3, new Timestamp(assignment.getDueDate().getTime()));
-            } else {
-                ps.setNull(3, Types.TIMESTAMP);
-            }
-            
-            ps.setInt(4, assignment.getAssignmentID());
-            return ps.executeUpdate() > 0;
+            UPDATE_BINDER.bind(ps, assignment);
+            if (ps.executeUpdate() == 0) return false;
+            // The assignment may have moved to a course with different credits
+            gpaDAO.refreshAssignment(assignment.getAssignmentID());
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -99,12 +133,80 @@ public class AssignmentDAO implements BaseDAO<Assignment> {
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(DELETE_SQL)) {
             ps.setInt(1, id);
-            return ps.executeUpdate() > 0;
+            if (ps.executeUpdate() == 0) return false;
+            gpaDAO.refreshAssignment(id);
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
     }
+    // --- Streaming Cursor ---
+
+    @Override
+    public int forEach(RowCallback<Assignment> callback) {
+        return forEach(callback, ResultSetCursor.DEFAULT_FETCH_SIZE);
+    }
+
+    @Override
+    public int forEach(RowCallback<Assignment> callback, int fetchSize) {
+        return ResultSetCursor.stream(SELECT_ALL_SQL, fetchSize, rowMapper, callback);
+    }
+
+    // --- Keyset Pagination ---
+
+    @Override
+    public List<Assignment> page(int afterId, int limit) {
+        List<Assignment> assignments = new ArrayList<>();
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SELECT_PAGE_SQL)) {
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    assignments.add(rowMapper.map(rs));
+                }
+            }
+        } catch (SQLException e) { e.printStackTrace(); }
+        return assignments;
+    }
+
+    @Override
+    public int getId(Assignment object) {
+        return object.getAssignmentID();
+    }
+
+    // --- Batched Writes ---
+
+    @Override
+    public BatchResult insertAll(Collection<Assignment> assignments) {
+        return BatchExecutor.execute(INSERT_SQL, assignments, true, INSERT_BINDER);
+    }
+
+    @Override
+    public BatchResult updateAll(Collection<Assignment> assignments) {
+        return refreshGpa(BatchExecutor.execute(UPDATE_SQL, assignments, false, UPDATE_BINDER), assignments);
+    }
+
+    @Override
+    public BatchResult deleteAll(Collection<Assignment> assignments) {
+        return refreshGpa(BatchExecutor.execute(DELETE_SQL, assignments, false, DELETE_BINDER), assignments);
+    }
+
+    // Bulk changes refresh only the students graded for the changed assignments, as the single-row paths do
+    private BatchResult refreshGpa(BatchResult result, Collection<Assignment> assignments) {
+        if (!result.isCommitted()) return result;
+        Set<Integer> assignmentIDs = new LinkedHashSet<>();
+        int row = 0;
+        for (Assignment assignment : assignments) {
+            if (result.isRowSuccessful(row++)) assignmentIDs.add(assignment.getAssignmentID());
+        }
+        for (int assignmentID : assignmentIDs) {
+            gpaDAO.refreshAssignment(assignmentID);
+        }
+        return result;
+    }
+
     public List<Assignment> getAssignmentsByCourse(int courseID) throws SQLException { 
         List<Assignment> assignments = new ArrayList<>();
         String sql = "SELECT * FROM assignment WHERE CourseID = ?";
@@ -1,5 +1,6 @@
 package com.eduportal.dao;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,9 +17,28 @@ public interface BaseDAO<T> {
     /** Retrieves all objects of this type from the database. */
     List<T> getAll();
 
+    /**
+     * Streams every object of this type to the callback without building a list,
+     * using the default fetch size. Return false from the callback to stop early.
+     * @return The number of rows delivered.
+     */
+    int forEach(RowCallback<T> callback);
+
+    /** Same as forEach(callback), fetching fetchSize rows per round trip (0 or less streams row by row). */
+    int forEach(RowCallback<T> callback, int fetchSize);
+
     /** Updates an existing object in the database. */
     boolean update(T object);
 
     /** Deletes an object from the database by its primary key (ID). */
     boolean delete(int id);
+
+    /** Inserts all objects in one batched transaction; generated IDs are copied back onto the objects. */
+    BatchResult insertAll(Collection<T> objects);
+
+    /** Updates all objects in one batched transaction. */
+    BatchResult updateAll(Collection<T> objects);
+
+    /** Deletes all objects (by their primary key) in one batched transaction. */
+    BatchResult deleteAll(Collection<T> objects);
 }
\ No newline at end of file
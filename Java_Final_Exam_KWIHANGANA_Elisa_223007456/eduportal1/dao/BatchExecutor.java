@@ -0,0 +1,107 @@
+package com.eduportal.dao;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs one parameterized statement for many rows using JDBC addBatch/executeBatch
+ * inside a single transaction. Shared by the insertAll/updateAll/deleteAll implementations.
+ */
+final class BatchExecutor {
+
+    // Rows sent per executeBatch call; keeps each packet well under max_allowed_packet
+    static final int CHUNK_SIZE = 500;
+
+    private BatchExecutor() {}
+
+    /**
+     * Binds one row's parameters onto the statement. Inserts can override onGeneratedKey
+     * to copy the new primary key back onto the model object. beforeBatch and beforeCommit
+     * run inside the batch transaction, e.g. to lock affected rows and maintain summary tables.
+     */
+    abstract static class Binder<T> {
+        abstract void bind(PreparedStatement ps, T item) throws SQLException;
+
+        void onGeneratedKey(T item, int key) {}
+
+        void beforeBatch(Connection conn, List<T> rows) throws SQLException {}
+
+        void beforeCommit(Connection conn, List<T> rows) throws SQLException {}
+    }
+
+    static <T> BatchResult execute(String sql, Collection<T> items, boolean returnKeys, Binder<T> binder) {
+        if (items == null || items.isEmpty()) return BatchResult.empty();
+
+        List<T> rows = new ArrayList<>(items);
+        int[] counts = new int[rows.size()];
+        int[] keys = new int[rows.size()];
+        Arrays.fill(counts, Statement.EXECUTE_FAILED);
+        Arrays.fill(keys, BatchResult.NO_KEY);
+
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) {
+            return new BatchResult(counts, keys, false, "Database connection unavailable");
+        }
+
+        try (Connection c = conn;
+             PreparedStatement ps = returnKeys
+                     ? c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                     : c.prepareStatement(sql)) {
+            c.setAutoCommit(false);
+            try {
+                binder.beforeBatch(c, rows);
+                for (int start = 0; start < rows.size(); start += CHUNK_SIZE) {
+                    int end = Math.min(start + CHUNK_SIZE, rows.size());
+                    for (int i = start; i < end; i++) {
+                        binder.bind(ps, rows.get(i));
+                        ps.addBatch();
+                    }
+                    int[] chunkCounts = ps.executeBatch();
+                    System.arraycopy(chunkCounts, 0, counts, start, chunkCounts.length);
+                    if (returnKeys) {
+                        readKeys(ps, keys, start, end);
+                    }
+                }
+                binder.beforeCommit(c, rows);
+                c.commit();
+            } catch (SQLException e) {
+                c.rollback();
+                if (e instanceof BatchUpdateException) {
+                    int[] partial = ((BatchUpdateException) e).getUpdateCounts();
+                    System.err.println("Batch rolled back after " + (partial != null ? partial.length : 0)
+                            + " rows in current chunk: " + e.getMessage());
+                }
+                // Nothing was committed, so no generated key is valid any more
+                Arrays.fill(keys, BatchResult.NO_KEY);
+                return new BatchResult(counts, keys, false, e.getMessage());
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new BatchResult(counts, keys, false, e.getMessage());
+        }
+
+        if (returnKeys) {
+            for (int i = 0; i < rows.size(); i++) {
+                if (keys[i] != BatchResult.NO_KEY) binder.onGeneratedKey(rows.get(i), keys[i]);
+            }
+        }
+        return new BatchResult(counts, keys, true, null);
+    }
+
+    private static void readKeys(PreparedStatement ps, int[] keys, int start, int end) throws SQLException {
+        try (ResultSet rs = ps.getGeneratedKeys()) {
+            int i = start;
+            while (rs.next() && i < end) {
+                keys[i++] = rs.getInt(1);
+            }
+        }
+    }
+}
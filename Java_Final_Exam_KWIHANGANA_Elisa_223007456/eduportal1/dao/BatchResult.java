@@ -0,0 +1,82 @@
+package com.eduportal.dao;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batched insertAll/updateAll/deleteAll call.
+ * Rows are reported in the same order as the collection that was passed in.
+ */
+public class BatchResult {
+
+    /** Marker for rows that have no generated key (updates, deletes, failed inserts). */
+    public static final int NO_KEY = -1;
+
+    private final int[] updateCounts;
+    private final int[] generatedKeys;
+    private final boolean committed;
+    private final String errorMessage;
+
+    BatchResult(int[] updateCounts, int[] generatedKeys, boolean committed, String errorMessage) {
+        this.updateCounts = updateCounts;
+        this.generatedKeys = generatedKeys;
+        this.committed = committed;
+        this.errorMessage = errorMessage;
+    }
+
+    /** An empty, successful result for an empty input collection. */
+    static BatchResult empty() {
+        return new BatchResult(new int[0], new int[0], true, null);
+    }
+
+    /** True when the transaction committed and every row affected at least one record. */
+    public boolean isSuccess() {
+        return committed && getFailedRows().isEmpty();
+    }
+
+    /** True when the transaction committed (it is rolled back as a whole on any SQL error). */
+    public boolean isCommitted() { return committed; }
+
+    public String getErrorMessage() { return errorMessage; }
+
+    public int getRowCount() { return updateCounts.length; }
+
+    /**
+     * Raw JDBC update count for a row: a positive count, Statement.SUCCESS_NO_INFO
+     * when the driver rewrote the batch, or Statement.EXECUTE_FAILED.
+     */
+    public int getUpdateCount(int row) { return updateCounts[row]; }
+
+    /** Generated primary key for an inserted row, or NO_KEY. */
+    public int getGeneratedKey(int row) { return generatedKeys[row]; }
+
+    /** Whether a single row was applied (committed and not reported as failed or unmatched). */
+    public boolean isRowSuccessful(int row) {
+        int count = updateCounts[row];
+        return committed && (count > 0 || count == Statement.SUCCESS_NO_INFO);
+    }
+
+    public int getSuccessCount() {
+        int ok = 0;
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (isRowSuccessful(i)) ok++;
+        }
+        return ok;
+    }
+
+    /** Indexes of rows that failed or matched no record. */
+    public List<Integer> getFailedRows() {
+        List<Integer> failed = new ArrayList<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (!isRowSuccessful(i)) failed.add(i);
+        }
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult[rows=" + getRowCount() + ", succeeded=" + getSuccessCount()
+                + ", committed=" + committed + (errorMessage != null ? ", error=" + errorMessage : "") + "]";
+    }
+}
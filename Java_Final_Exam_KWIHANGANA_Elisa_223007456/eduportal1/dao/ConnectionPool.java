@@ -0,0 +1,343 @@
+package com.eduportal.dao;
+
+import com.eduportal.util.FlightEvents;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of physical MySQL connections used behind DatabaseConnector.getConnection().
+ * Callers keep using try-with-resources: close() on a borrowed connection hands it back to the pool
+ * instead of tearing down the socket.
+ */
+public class ConnectionPool {
+
+    // Connections used within this window are assumed alive and skip the isValid() round trip
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    // Idle connections, most recently returned first (keeps the warmest connections in use)
+    private final LinkedBlockingDeque<PhysicalConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    // --- Metrics ---
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong validationFailureCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long borrowTimeoutMillis, long idleTimeoutMillis, int validationTimeoutSeconds,
+                          int statementCacheSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "eduportal-pool-evictor");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                evictIdle();
+                fillToMinimum();
+            }
+        }, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting at most the configured borrow timeout for one to become free.
+     * @return A logical connection; closing it returns the physical connection to the pool.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed.");
+
+        FlightEvents.ConnectionBorrowEvent event = new FlightEvents.ConnectionBorrowEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+        recordWait(System.nanoTime() - start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.timedOut = !acquired;
+            event.active = activeConnections.get();
+            event.waiting = permits.getQueueLength();
+            event.action = FlightEvents.getAction();
+            event.commit();
+        }
+        if (!acquired) {
+            timeoutCount.incrementAndGet();
+            throw new SQLTimeoutException("No database connection available within " + borrowTimeoutMillis
+                    + " ms (active=" + activeConnections.get() + ", max=" + maxSize + ")");
+        }
+
+        try {
+            PhysicalConnection pc;
+            while ((pc = idle.pollFirst()) != null) {
+                if (isAlive(pc)) break;
+                validationFailureCount.incrementAndGet();
+                destroy(pc);
+            }
+            if (pc == null) pc = create();
+
+            borrowCount.incrementAndGet();
+            activeConnections.incrementAndGet();
+            return wrap(pc);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** Hands a physical connection back after its logical wrapper was closed. */
+    void release(PhysicalConnection pc) {
+        activeConnections.decrementAndGet();
+        try {
+            if (closed || pc.connection.isClosed()) {
+                destroy(pc);
+                return;
+            }
+            // Never leak an open transaction or a changed session setting to the next borrower
+            if (!pc.connection.getAutoCommit()) {
+                pc.connection.rollback();
+                pc.connection.setAutoCommit(true);
+            }
+            if (pc.connection.isReadOnly()) pc.connection.setReadOnly(false);
+            if (pc.connection.getTransactionIsolation() != pc.defaultIsolation) {
+                pc.connection.setTransactionIsolation(pc.defaultIsolation);
+            }
+            pc.connection.clearWarnings();
+            pc.lastUsed = System.currentTimeMillis();
+            idle.offerFirst(pc);
+        } catch (SQLException e) {
+            System.err.println("Discarding broken pooled connection: " + e.getMessage());
+            destroy(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Closes every idle connection and stops the evictor. Borrowed connections are closed on return. */
+    public void shutdown() {
+        closed = true;
+        evictor.shutdownNow();
+        PhysicalConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            destroy(pc);
+        }
+    }
+
+    private boolean isAlive(PhysicalConnection pc) {
+        if (System.currentTimeMillis() - pc.lastUsed < VALIDATION_BYPASS_MILLIS) return true;
+        try {
+            return pc.connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PhysicalConnection create() throws SQLException {
+        Connection raw = DriverManager.getConnection(url, user, password);
+        PhysicalConnection pc;
+        try {
+            pc = new PhysicalConnection(raw, new StatementCache(raw, statementCacheSize));
+        } catch (SQLException e) {
+            raw.close();
+            throw e;
+        }
+        totalConnections.incrementAndGet();
+        createdCount.incrementAndGet();
+        return pc;
+    }
+
+    private void destroy(PhysicalConnection pc) {
+        totalConnections.decrementAndGet();
+        destroyedCount.incrementAndGet();
+        pc.statementCache.closeAll();
+        try {
+            pc.connection.close();
+        } catch (SQLException ignored) {
+            // Already broken; nothing left to release
+        }
+    }
+
+    /** Closes connections idle past the timeout, oldest first, never shrinking below the minimum size. */
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        Iterator<PhysicalConnection> it = idle.descendingIterator();
+        while (it.hasNext() && totalConnections.get() > minSize) {
+            PhysicalConnection pc = it.next();
+            if (pc.lastUsed < cutoff && idle.removeLastOccurrence(pc)) {
+                destroy(pc);
+            }
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed && totalConnections.get() < minSize) {
+            try {
+                idle.offerLast(create());
+            } catch (SQLException e) {
+                System.err.println("Connection pool warm-up failed: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        long prev;
+        while (nanos > (prev = maxWaitNanos.get())) {
+            if (maxWaitNanos.compareAndSet(prev, nanos)) break;
+        }
+    }
+
+    private Connection wrap(PhysicalConnection pc) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new LogicalConnection(pc));
+    }
+
+    // --- Metrics Getters ---
+    public int getMinSize() { return minSize; }
+    public int getMaxSize() { return maxSize; }
+    public int getTotalCount() { return totalConnections.get(); }
+    public int getActiveCount() { return activeConnections.get(); }
+    public int getIdleCount() { return idle.size(); }
+    public int getPendingBorrowers() { return permits.getQueueLength(); }
+    public long getBorrowCount() { return borrowCount.get(); }
+    public long getTimeoutCount() { return timeoutCount.get(); }
+    public long getCreatedCount() { return createdCount.get(); }
+    public long getDestroyedCount() { return destroyedCount.get(); }
+    public long getValidationFailureCount() { return validationFailureCount.get(); }
+    public double getMaxWaitMillis() { return maxWaitNanos.get() / 1_000_000.0; }
+    public int getStatementCacheSize() { return statementCacheSize; }
+
+    public double getAverageWaitMillis() {
+        long borrows = borrowCount.get() + timeoutCount.get();
+        return borrows == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / borrows;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool[total=%d, active=%d, idle=%d, waiting=%d, borrows=%d, timeouts=%d, "
+                        + "created=%d, destroyed=%d, validationFailures=%d, avgWait=%.2fms, maxWait=%.2fms]",
+                getTotalCount(), getActiveCount(), getIdleCount(), getPendingBorrowers(), getBorrowCount(),
+                getTimeoutCount(), getCreatedCount(), getDestroyedCount(), getValidationFailureCount(),
+                getAverageWaitMillis(), getMaxWaitMillis());
+    }
+
+    /** A physical JDBC connection owned by the pool, with its prepared statement cache. */
+    static class PhysicalConnection {
+        final Connection connection;
+        final StatementCache statementCache;
+        // Isolation level the connection was opened with; restored when it is returned
+        final int defaultIsolation;
+        volatile long lastUsed;
+
+        PhysicalConnection(Connection connection, StatementCache statementCache) throws SQLException {
+            this.connection = connection;
+            this.statementCache = statementCache;
+            this.defaultIsolation = connection.getTransactionIsolation();
+            this.lastUsed = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Handler behind the Connection proxy given to DAOs. close() returns the physical connection
+     * to the pool exactly once, even when another thread closes it; any later use of the proxy fails
+     * like a closed connection would.
+     * Plain prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys) go through the statement cache.
+     */
+    private class LogicalConnection implements InvocationHandler {
+        private final PhysicalConnection pc;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        LogicalConnection(PhysicalConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("close".equals(name)) {
+                if (returned.compareAndSet(false, true)) release(pc);
+                return null;
+            }
+            if ("isClosed".equals(name)) {
+                return returned.get() || pc.connection.isClosed();
+            }
+            if ("equals".equals(name)) return proxy == args[0];
+            if ("hashCode".equals(name)) return System.identityHashCode(proxy);
+            if ("toString".equals(name)) return "PooledConnection[" + pc.connection + "]";
+            if (returned.get()) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+            if ("prepareStatement".equals(name) && args.length <= 2
+                    && (args.length == 1 || args[1] instanceof Integer)) {
+                int keys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                return pc.statementCache.prepare((Connection) proxy, (String) args[0], keys);
+            }
+            try {
+                return method.invoke(pc.connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.eduportal.dao;
 import com.eduportal.model.Course;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Date;
 
-public class CourseDAO implements BaseDAO<Course> {
+public class CourseDAO implements BaseDAO<Course>, PagedDAO<Course> {
 
     private static final String INSERT_SQL = 
         "INSERT INTO course (course_name, course_code, credits, InstructorID) VALUES (?, ?, ?, ?)";
@@ -18,6 +21,79 @@ public class CourseDAO implements BaseDAO<Course> {
     private static final String SELECT_BY_ID_SQL = "SELECT * FROM course WHERE CourseID = ?";
     private static final String DELETE_SQL = "DELETE FROM course WHERE CourseID=?";
     private static final String SELECT_BY_INSTRUCTOR_SQL = "SELECT * FROM course WHERE InstructorID = ?"; 
+    private static final String SELECT_PAGE_SQL = "SELECT * FROM course WHERE CourseID > ? ORDER BY CourseID LIMIT ?";
+    // Enrollment side is read only from (StudentID, CourseID, Status); ordering follows that index, so no filesort
+    static final String SELECT_BY_STUDENT_SQL = "SELECT c.CourseID, c.course_name, c.course_code, "
+            + "i.Name AS InstructorName, c.credits, e.Status "
+            + "FROM enrollment e "
+            + "JOIN course c ON c.CourseID = e.CourseID "
+            + "LEFT JOIN instructor i ON i.InstructorID = c.InstructorID "
+            + "WHERE e.StudentID = ? "
+            + "ORDER BY e.CourseID";
+
+    // --- Parameter Binders (shared by single-row and batched writes) ---
+    private static final BatchExecutor.Binder<Course> INSERT_BINDER = new BatchExecutor.Binder<Course>() {
+        @Override
+        void bind(PreparedStatement ps, Course c) throws SQLException {
+            ps.setString(1, c.getCourseName());
+            ps.setString(2, c.getCourseCode());
+            ps.setInt(3, c.getCredits());
+            ps.setInt(4, c.getInstructorID());
+        }
+
+        @Override
+        void onGeneratedKey(Course c, int key) {
+            c.setCourseID(key);
+        }
+    };
+
+    private static final BatchExecutor.Binder<Course> UPDATE_BINDER = new BatchExecutor.Binder<Course>() {
+        @Override
+        void bind(PreparedStatement ps, Course c) throws SQLException {
+            ps.setString(1, c.getCourseName());
+            ps.setString(2, c.getCourseCode());
+            ps.setInt(3, c.getCredits());
+            ps.setInt(4, c.getInstructorID());
+            ps.setInt(5, c.getCourseID());
+        }
+    };
+
+    private static final BatchExecutor.Binder<Course> DELETE_BINDER = new BatchExecutor.Binder<Course>() {
+        @Override
+        void bind(PreparedStatement ps, Course c) throws SQLException {
+            ps.setInt(1, c.getCourseID());
+        }
+    };
+
+    // --- Read-Through Caches (shared by all CourseDAO instances) ---
+    private static final EntityCache<Integer, Course> BY_ID_CACHE =
+            new EntityCache<>("CourseById", EntityCache.DEFAULT_MAX_SIZE, EntityCache.DEFAULT_TTL_MS);
+    private static final EntityCache<Integer, List<Course>> BY_INSTRUCTOR_CACHE =
+            new EntityCache<>("CoursesByInstructor", EntityCache.DEFAULT_MAX_SIZE, EntityCache.DEFAULT_TTL_MS);
+
+    private final EntityCache.Loader<Integer, Course> byIdLoader = new EntityCache.Loader<Integer, Course>() {
+        @Override
+        public Course load(Integer id) {
+            return loadById(id);
+        }
+    };
+
+    private final EntityCache.Loader<Integer, List<Course>> byInstructorLoader = new EntityCache.Loader<Integer, List<Course>>() {
+        @Override
+        public List<Course> load(Integer instructorID) {
+            return loadByInstructor(instructorID);
+        }
+    };
+
+    private final CourseSearchIndex searchIndex = CourseSearchIndex.getInstance();
+    private final StudentGpaDAO gpaDAO = new StudentGpaDAO();
+
+    private final RowMapper<Course> rowMapper = new RowMapper<Course>() {
+        @Override
+        public Course map(ResultSet rs) throws SQLException {
+            return extractCourseFromResultSet(rs);
+        }
+    };
 
     private Course extractCourseFromResultSet(ResultSet rs) throws SQLException {
         Course course = new Course(
@@ -34,6 +110,12 @@ public class CourseDAO implements BaseDAO<Course> {
 
     @Override
     public Course getById(int id) {
+        Course cached = BY_ID_CACHE.get(id, byIdLoader);
+        // Callers edit what they get (forms call setters), so the cached instance never leaves the DAO
+        return cached != null ? new Course(cached) : null;
+    }
+
+    private Course loadById(int id) {
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(SELECT_BY_ID_SQL)) {
             ps.setInt(1, id);
@@ -46,15 +128,24 @@ public class CourseDAO implements BaseDAO<Course> {
 
     public boolean insertWithInstructor(Course course, int instructorID) {
         try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+             PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             ps.setString(1, course.getCourseName());
             ps.setString(2, course.getCourseCode());
             ps.setInt(3, course.getCredits());
             ps.setInt(4, instructorID);
-            return ps.executeUpdate() > 0;
+            if (ps.executeUpdate() == 0) return false;
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (keys.next()) {
+                    course.setCourseID(keys.getInt(1));
+                    searchIndex.refresh(course.getCourseID());
+                }
+            }
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
+        } finally {
+            BY_INSTRUCTOR_CACHE.invalidate(instructorID);
         }
     }
 
@@ -63,15 +154,16 @@ public class CourseDAO implements BaseDAO<Course> {
     @Override public boolean update(Course c) {
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(UPDATE_SQL)) {
-            ps.setString(1, c.getCourseName());
-            ps.setString(2, c.getCourseCode());
-            ps.setInt(3, c.getCredits());
-            ps.setInt(4, c.getInstructorID());
-            ps.setInt(5, c.getCourseID());
-            return ps.executeUpdate() > 0;
+            UPDATE_BINDER.bind(ps, c);
+            if (ps.executeUpdate() == 0) return false;
+            searchIndex.refresh(c.getCourseID());
+            gpaDAO.refreshCourse(c.getCourseID()); // Credits may have changed
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
+        } finally {
+            invalidateCourse(c.getCourseID(), c.getInstructorID());
         }
     }
 
@@ -93,13 +185,133 @@ public class CourseDAO implements BaseDAO<Course> {
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(DELETE_SQL)) {
             ps.setInt(1, id);
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) { e.printStackTrace(); return false; }
+            if (ps.executeUpdate() == 0) return false;
+            searchIndex.evict(id);
+            gpaDAO.refreshCourse(id);
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            invalidateCourse(id, -1);
+        }
+    }
+
+    // --- Streaming Cursor ---
+
+    @Override
+    public int forEach(RowCallback<Course> callback) {
+        return forEach(callback, ResultSetCursor.DEFAULT_FETCH_SIZE);
+    }
+
+    @Override
+    public int forEach(RowCallback<Course> callback, int fetchSize) {
+        return ResultSetCursor.stream(SELECT_ALL_SQL, fetchSize, rowMapper, callback);
+    }
+
+    // --- Keyset Pagination ---
+
+    @Override
+    public List<Course> page(int afterId, int limit) {
+        List<Course> list = new ArrayList<>();
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SELECT_PAGE_SQL)) {
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(rowMapper.map(rs));
+                }
+            }
+        } catch (SQLException e) { e.printStackTrace(); }
+        return list;
+    }
+
+    @Override
+    public int getId(Course object) {
+        return object.getCourseID();
+    }
+
+    // --- Batched Writes ---
+
+    @Override
+    public BatchResult insertAll(Collection<Course> courses) {
+        return markIndexStale(BatchExecutor.execute(INSERT_SQL, courses, true, INSERT_BINDER));
+    }
+
+    @Override
+    public BatchResult updateAll(Collection<Course> courses) {
+        return refreshGpa(markIndexStale(BatchExecutor.execute(UPDATE_SQL, courses, false, UPDATE_BINDER)), courses);
+    }
+
+    @Override
+    public BatchResult deleteAll(Collection<Course> courses) {
+        return refreshGpa(markIndexStale(BatchExecutor.execute(DELETE_SQL, courses, false, DELETE_BINDER)), courses);
+    }
+
+    // Bulk changes drop the caches and rebuild the search index on the next search rather than row by row
+    private BatchResult markIndexStale(BatchResult result) {
+        if (result.getRowCount() > 0) {
+            BY_ID_CACHE.invalidateAll();
+            BY_INSTRUCTOR_CACHE.invalidateAll();
+        }
+        if (result.isCommitted() && result.getRowCount() > 0) searchIndex.markStale();
+        return result;
+    }
+
+    // Bulk credit changes or deletions refresh only the students graded in the changed courses,
+    // as the single-row paths do
+    private BatchResult refreshGpa(BatchResult result, Collection<Course> courses) {
+        if (!result.isCommitted()) return result;
+        Set<Integer> courseIDs = new LinkedHashSet<>();
+        int row = 0;
+        for (Course course : courses) {
+            if (result.isRowSuccessful(row++)) courseIDs.add(course.getCourseID());
+        }
+        for (int courseID : courseIDs) {
+            gpaDAO.refreshCourse(courseID);
+        }
+        return result;
+    }
+
+    /**
+     * Drops a course from the caches once a write has committed (or failed). Invalidating only
+     * after the commit means a read racing the write cannot re-cache the old row.
+     */
+    private static void invalidateCourse(final int courseID, int instructorID) {
+        BY_ID_CACHE.invalidate(courseID);
+        if (instructorID >= 0) BY_INSTRUCTOR_CACHE.invalidate(instructorID);
+        // The previous instructor's list still holds the course if it was reassigned
+        BY_INSTRUCTOR_CACHE.invalidateWhere(new EntityCache.Condition<Integer, List<Course>>() {
+            @Override
+            public boolean matches(Integer key, List<Course> courses) {
+                for (Course c : courses) {
+                    if (c.getCourseID() == courseID) return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    /** Hit/miss counters of the course caches. */
+    public static String getCacheStats() {
+        return BY_ID_CACHE + System.lineSeparator() + BY_INSTRUCTOR_CACHE;
     }
 
     // --- FIXED FOR STUDENT DASHBOARD (Uses 'Name' instead of 'full_name') ---
 
+    /**
+     * Searches code, name and instructor name through the in-memory CourseSearchIndex,
+     * ranked by relevance. Falls back to a LIKE query if the index cannot be loaded.
+     */
     public List<Course> searchCourses(String query) {
+        if (searchIndex.isLoaded() || searchIndex.reload()) {
+            return searchIndex.search(query);
+        }
+        return searchCoursesInDatabase(query);
+    }
+
+    private List<Course> searchCoursesInDatabase(String query) {
         List<Course> courses = new ArrayList<>();
         // FIXED: Changed i.full_name to i.Name to match our Instructor table
         String sql = "SELECT c.*, i.Name AS InstructorName " +
@@ -135,15 +347,8 @@ public class CourseDAO implements BaseDAO<Course> {
     public List<Course> getCoursesByStudentID(int studentID) {
         List<Course> courses = new ArrayList<>();
         // FIXED: Changed i.full_name to i.Name
-        String sql = "SELECT c.CourseID, c.course_name, c.course_code, " +
-                     "i.Name AS InstructorName, c.credits, e.Status " +
-                     "FROM enrollment e " +
-                     "JOIN course c ON e.CourseID = c.CourseID " +
-                     "LEFT JOIN instructor i ON c.InstructorID = i.InstructorID " +
-                     "WHERE e.StudentID = ?";
-
         try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SELECT_BY_STUDENT_SQL)) {
             ps.setInt(1, studentID);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
@@ -213,7 +418,13 @@ public class CourseDAO implements BaseDAO<Course> {
 
             
 
-            return ps.executeUpdate() > 0;
+            if (ps.executeUpdate() == 0) return false;
+
+            searchIndex.refresh(course.getCourseID());
+
+            gpaDAO.refreshCourse(course.getCourseID()); // Credits may have changed
+
+            return true;
 
             
 
@@ -223,9 +434,16 @@ public class CourseDAO implements BaseDAO<Course> {
 
             return false;
 
+        } finally {
+            invalidateCourse(course.getCourseID(), instructorID);
         }
 
     }
+    /**
+     * Blind INSERT without duplicate or capacity checks.
+     * @deprecated Use EnrollmentService, which enforces course capacity and batches the writes.
+     */
+    @Deprecated
     public boolean enrollStudentInCourse(int studentID, int courseID) {
 
         String sql = "INSERT INTO Enrollment (StudentID, CourseID, EnrollDate, Status) VALUES (?, ?, NOW(), 'Registered')";
@@ -251,6 +469,18 @@ public class CourseDAO implements BaseDAO<Course> {
     }
 
     public List<Course> getCoursesByInstructor(int instructorID) {
+        List<Course> cached = BY_INSTRUCTOR_CACHE.get(instructorID, byInstructorLoader);
+        // Callers get their own list of copies; a failed load (null) is not cached
+        List<Course> courses = new ArrayList<>();
+        if (cached != null) {
+            for (Course course : cached) {
+                courses.add(new Course(course));
+            }
+        }
+        return courses;
+    }
+
+    private List<Course> loadByInstructor(int instructorID) {
         List<Course> courses = new ArrayList<>();
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(SELECT_BY_INSTRUCTOR_SQL)) {
@@ -260,7 +490,7 @@ public class CourseDAO implements BaseDAO<Course> {
                     courses.add(extractCourseFromResultSet(rs));
                 }
             }
-        } catch (SQLException e) { e.printStackTrace(); }
+        } catch (SQLException e) { e.printStackTrace(); return null; }
         return courses;
     }
 }
\ No newline at end of file
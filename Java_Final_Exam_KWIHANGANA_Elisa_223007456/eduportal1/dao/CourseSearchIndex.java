@@ -0,0 +1,304 @@
+package com.eduportal.dao;
+
+import com.eduportal.model.Course;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over course code, course name and instructor name, used by
+ * CourseDAO.searchCourses instead of a leading-wildcard LIKE scan.
+ *
+ * - Text is lowercased and split on non-alphanumerics; "CS301" is also indexed as "cs" and "301".
+ * - Tokens live in a sorted map, so every query token matches by prefix ("data" finds "database").
+ * - A course must match all query tokens; results are ranked by field weight (code > name > instructor),
+ *   with exact token matches scoring above prefix matches.
+ * - CourseDAO keeps the index current on insert/update/delete; bulk changes mark it stale and the
+ *   next search reloads it. If the index cannot be loaded, CourseDAO falls back to SQL.
+ */
+public class CourseSearchIndex {
+
+    private static final String LOAD_SQL = "SELECT c.CourseID, c.course_code, c.course_name, c.credits, i.Name AS InstructorName "
+            + "FROM course c LEFT JOIN instructor i ON c.InstructorID = i.InstructorID";
+    private static final String LOAD_ONE_SQL = LOAD_SQL + " WHERE c.CourseID = ?";
+
+    // --- Field Weights ---
+    private static final int CODE_WEIGHT = 3;
+    private static final int NAME_WEIGHT = 2;
+    private static final int INSTRUCTOR_WEIGHT = 1;
+    private static final int EXACT_MATCH_BONUS = 2;
+
+    private static final CourseSearchIndex INSTANCE = new CourseSearchIndex();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // token -> (CourseID -> summed field weight)
+    private final TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    private final Map<Integer, Course> courses = new HashMap<>();
+    private final Map<Integer, Set<String>> tokensByCourse = new HashMap<>();
+    private volatile boolean loaded;
+    // Bumped by markStale(); a reload only counts as current if no markStale() ran while it read
+    private final AtomicLong generation = new AtomicLong();
+
+    private CourseSearchIndex() {}
+
+    public static CourseSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /** True once the index has been filled from the database and is not marked stale. */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Rebuilds the whole index from the database.
+     * @return false if the database could not be read (the previous contents are kept).
+     */
+    public boolean reload() {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) return false;
+
+        long readGeneration = generation.get();
+        List<Course> rows = new ArrayList<>();
+        try (Connection c = conn;
+             Statement stmt = c.createStatement();
+             ResultSet rs = stmt.executeQuery(LOAD_SQL)) {
+            while (rs.next()) {
+                rows.add(extractSearchRow(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Course index load failed: " + e.getMessage());
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            courses.clear();
+            tokensByCourse.clear();
+            for (Course course : rows) {
+                add(course);
+            }
+            // Rows read before a concurrent write may miss it: keep serving them, but reload next time
+            loaded = generation.get() == readGeneration;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /** Re-reads a single course (with its instructor name) after it was inserted or updated. */
+    public void refresh(int courseID) {
+        // A reload that read its rows before this write must not publish them as up to date
+        generation.incrementAndGet();
+        if (!loaded) return; // The next full load picks it up
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) {
+            markStale();
+            return;
+        }
+
+        Course course = null;
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(LOAD_ONE_SQL)) {
+            ps.setInt(1, courseID);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) course = extractSearchRow(rs);
+            }
+        } catch (SQLException e) {
+            System.err.println("Course index refresh failed: " + e.getMessage());
+            markStale();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            remove(courseID);
+            if (course != null) add(course);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drops a deleted course from the index. */
+    public void evict(int courseID) {
+        generation.incrementAndGet();
+        lock.writeLock().lock();
+        try {
+            remove(courseID);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Forces a full reload on the next search (bulk writes, instructor renames). */
+    public void markStale() {
+        generation.incrementAndGet();
+        loaded = false;
+    }
+
+    /**
+     * Returns courses matching every token of the query, best match first.
+     * An empty query returns all courses ordered by code. Callers check isLoaded() first.
+     */
+    public List<Course> search(String query) {
+        List<String> queryTokens = new ArrayList<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            if (queryTokens.isEmpty()) {
+                List<Course> all = new ArrayList<>(courses.values());
+                Collections.sort(all, BY_CODE);
+                return all;
+            }
+
+            Map<Integer, Integer> scores = null;
+            for (String token : queryTokens) {
+                Map<Integer, Integer> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // AND semantics: keep only courses matched by every token so far
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    for (Map.Entry<Integer, Integer> e : scores.entrySet()) {
+                        e.setValue(e.getValue() + tokenScores.get(e.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) return new ArrayList<>();
+            }
+
+            final Map<Integer, Integer> ranking = scores;
+            List<Course> results = new ArrayList<>(ranking.size());
+            for (Integer courseID : ranking.keySet()) {
+                results.add(courses.get(courseID));
+            }
+            Collections.sort(results, new Comparator<Course>() {
+                @Override
+                public int compare(Course a, Course b) {
+                    int byScore = Integer.compare(ranking.get(b.getCourseID()), ranking.get(a.getCourseID()));
+                    return byScore != 0 ? byScore : BY_CODE.compare(a, b);
+                }
+            });
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return courses.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Internals (callers hold the appropriate lock) ---
+
+    private Map<Integer, Integer> scoreToken(String token) {
+        Map<Integer, Integer> result = new HashMap<>();
+        // Every indexed token that starts with the query token
+        SortedMap<String, Map<Integer, Integer>> range = postings.subMap(token, token + Character.MAX_VALUE);
+        for (Map.Entry<String, Map<Integer, Integer>> entry : range.entrySet()) {
+            boolean exact = entry.getKey().length() == token.length();
+            for (Map.Entry<Integer, Integer> posting : entry.getValue().entrySet()) {
+                int score = exact ? posting.getValue() * EXACT_MATCH_BONUS : posting.getValue();
+                Integer best = result.get(posting.getKey());
+                if (best == null || score > best) {
+                    result.put(posting.getKey(), score);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void add(Course course) {
+        int id = course.getCourseID();
+        courses.put(id, course);
+        Set<String> tokens = new LinkedHashSet<>();
+        index(id, course.getCourseCode(), CODE_WEIGHT, tokens);
+        index(id, course.getCourseName(), NAME_WEIGHT, tokens);
+        index(id, course.getInstructorName(), INSTRUCTOR_WEIGHT, tokens);
+        tokensByCourse.put(id, tokens);
+    }
+
+    private void index(int courseID, String text, int weight, Set<String> tokens) {
+        for (String token : tokenize(text)) {
+            Map<Integer, Integer> posting = postings.get(token);
+            if (posting == null) {
+                posting = new HashMap<>();
+                postings.put(token, posting);
+            }
+            Integer current = posting.get(courseID);
+            posting.put(courseID, current == null ? weight : current + weight);
+            tokens.add(token);
+        }
+    }
+
+    private void remove(int courseID) {
+        courses.remove(courseID);
+        Set<String> tokens = tokensByCourse.remove(courseID);
+        if (tokens == null) return;
+        for (String token : tokens) {
+            Map<Integer, Integer> posting = postings.get(token);
+            if (posting == null) continue;
+            posting.remove(courseID);
+            if (posting.isEmpty()) postings.remove(token);
+        }
+    }
+
+    /** Lowercase alphanumeric runs, plus their letter/digit parts ("cs301" -> cs301, cs, 301). */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) return tokens;
+        String[] words = text.toLowerCase().split("[^\\p{L}\\p{N}]+");
+        for (String word : words) {
+            if (word.isEmpty()) continue;
+            tokens.add(word);
+            int start = 0;
+            for (int i = 1; i <= word.length(); i++) {
+                if (i == word.length() || Character.isDigit(word.charAt(i)) != Character.isDigit(word.charAt(i - 1))) {
+                    if (start > 0 || i < word.length()) tokens.add(word.substring(start, i));
+                    start = i;
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static Course extractSearchRow(ResultSet rs) throws SQLException {
+        return new Course(
+            rs.getInt("CourseID"),
+            rs.getString("course_code"),
+            rs.getString("course_name"),
+            rs.getString("InstructorName"),
+            rs.getInt("credits"),
+            "Open"
+        );
+    }
+
+    private static final Comparator<Course> BY_CODE = new Comparator<Course>() {
+        @Override
+        public int compare(Course a, Course b) {
+            String codeA = a.getCourseCode() != null ? a.getCourseCode() : "";
+            String codeB = b.getCourseCode() != null ? b.getCourseCode() : "";
+            int byCode = codeA.compareToIgnoreCase(codeB);
+            return byCode != 0 ? byCode : Integer.compare(a.getCourseID(), b.getCourseID());
+        }
+    };
+}
@@ -1,20 +1,28 @@
 package com.eduportal.dao;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 /**
- * Utility class to manage database connections and ensure table existence.
+ * Utility class to manage database connections and run schema migrations.
  * UPDATED: Includes Admin table and correct column names (full_name, credits).
  */
 public class DatabaseConnector {
 
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/edu_portal?useSSL=false&allowPublicKeyRetrieval=true";
+    private static final String DB_URL = "jdbc:mysql://localhost:3306/edu_portal?useSSL=false&allowPublicKeyRetrieval=true"
+            + "&useServerPrepStmts=true&rewriteBatchedStatements=true"
+            + "&useCursorFetch=true";
     private static final String USER = "root";
     private static final String PASS = "";
 
+    // --- Connection Pool Defaults ---
+    private static final int POOL_MIN_SIZE = 2;
+    private static final int POOL_MAX_SIZE = 20;
+    private static final long POOL_BORROW_TIMEOUT_MS = 5000;
+    private static final long POOL_IDLE_TIMEOUT_MS = 5 * 60 * 1000;
+    private static final int POOL_VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
     private DatabaseConnector() {
         try { 
             Class.forName("com.mysql.cj.jdbc.Driver"); 
@@ -31,93 +39,62 @@ public class DatabaseConnector {
         return SingletonHelper.INSTANCE;
     }
 
+    /**
+     * Borrows a pooled connection. Closing it (try-with-resources) returns it to the pool.
+     * Statements it creates are timed per calling DAO method (see QueryMetrics).
+     * @return A live connection, or null if the database is unreachable or the pool is exhausted.
+     */
     public static Connection getConnection() {
         try {
-            return DriverManager.getConnection(DB_URL, USER, PASS);
+            return InstrumentedConnection.wrap(PoolHolder.POOL.borrow());
         } catch (SQLException e) {
             System.err.println("Database Connection Failed: " + e.getMessage());
             return null;
         }
     }
 
-    public void createTablesIfNotExist() {
-        try (Connection conn = getConnection(); Statement stmt = conn.createStatement()) {
-            if (conn == null) return;
-
-            // 1. Admin Table
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS Admin (" +
-                    "AdminID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
-                    "Username VARCHAR(50) NOT NULL UNIQUE, " +
-                    "Password VARCHAR(255) NOT NULL, " +
-                    "full_name VARCHAR(255), " +
-                    "CreatedAt DATETIME DEFAULT CURRENT_TIMESTAMP)");
-
-         // 2. Student Table - MUST use 'full_name' to match your StudentDAO
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS student (" +
-                    "StudentID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
-                    "Username VARCHAR(50) NOT NULL UNIQUE, " +
-                    "Password VARCHAR(255) NOT NULL, " +
-                    "Role VARCHAR(50) DEFAULT 'Student', " +
-                    "full_name VARCHAR(255), " +  
-                    "email VARCHAR(255), " +      
-                    "course_name VARCHAR(255), " +
-                    "CreatedAt DATETIME DEFAULT CURRENT_TIMESTAMP)");
-
-         // 3. Instructor Table - MUST use 'Name' to match your InstructorDAO
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS instructor (" +
-                    "InstructorID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
-                    "Username VARCHAR(50) NOT NULL UNIQUE, " +
-                    "Password VARCHAR(255) NOT NULL, " + 
-                    "Role VARCHAR(50) DEFAULT 'Instructor', " +
-                    "Name VARCHAR(255), " +      
-                    "Identifier VARCHAR(50), " +
-                    "Status VARCHAR(50) DEFAULT 'Active', " +
-                    "Location VARCHAR(255), " +
-                    "Contact VARCHAR(255), " +
-                    "AssignedSince DATETIME DEFAULT CURRENT_TIMESTAMP)");
-
-            // 4. Course Table
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS Course (" +
-                    "CourseID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
-                    "course_name VARCHAR(255), " + 
-                    "course_code VARCHAR(255), " + 
-                    "credits INT DEFAULT 3, " +    
-                    "InstructorID INT, " +
-                    "CreatedAt DATETIME DEFAULT CURRENT_TIMESTAMP, " +
-                    "FOREIGN KEY (InstructorID) REFERENCES Instructor(InstructorID))");
-
-            // 5. Enrollment Table
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS Enrollment (" +
-                    "EnrollmentID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
-                    "StudentID INT NOT NULL, " +
-                    "CourseID INT NOT NULL, " +
-                    "Status VARCHAR(50) DEFAULT 'Registered', " +
-                    "EnrollDate DATETIME DEFAULT CURRENT_TIMESTAMP, " +
-                    "FOREIGN KEY (StudentID) REFERENCES Student(StudentID), " +
-                    "FOREIGN KEY (CourseID) REFERENCES Course(CourseID))");
+    /** Exposes the shared pool for metrics and shutdown. */
+    public static ConnectionPool getPool() {
+        return PoolHolder.POOL;
+    }
 
-            // 6. Assignment Table
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS Assignment (" +
-                    "AssignmentID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
-                    "CourseID INT NOT NULL, " +
-                    "Title VARCHAR(255), " +
-                    "DueDate DATETIME, " +
-                    "FOREIGN KEY (CourseID) REFERENCES Course(CourseID))");
+    // Lazily builds the pool on first use; sizes can be tuned with -Deduportal.pool.* system properties
+    private static class PoolHolder {
+        private static final ConnectionPool POOL = createPool();
 
-            // 7. Grade Table
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS Grade (" +
-                    "GradeID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
-                    "StudentID INT NOT NULL, " +
-                    "AssignmentID INT NOT NULL, " +
-                    "Score DECIMAL(5,2), " +   
-                    "LetterGrade VARCHAR(5), " +
-                    "CreatedAt DATETIME DEFAULT CURRENT_TIMESTAMP, " +
-                    "FOREIGN KEY (StudentID) REFERENCES Student(StudentID), " +
-                    "FOREIGN KEY (AssignmentID) REFERENCES Assignment(AssignmentID))");
+        private static ConnectionPool createPool() {
+            final ConnectionPool pool = new ConnectionPool(DB_URL, USER, PASS,
+                    Integer.getInteger("eduportal.pool.minSize", POOL_MIN_SIZE),
+                    Integer.getInteger("eduportal.pool.maxSize", POOL_MAX_SIZE),
+                    Long.getLong("eduportal.pool.borrowTimeoutMs", POOL_BORROW_TIMEOUT_MS),
+                    Long.getLong("eduportal.pool.idleTimeoutMs", POOL_IDLE_TIMEOUT_MS),
+                    POOL_VALIDATION_TIMEOUT_SECONDS,
+                    Integer.getInteger("eduportal.pool.statementCacheSize", STATEMENT_CACHE_SIZE));
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    pool.shutdown();
+                }
+            }, "eduportal-pool-shutdown"));
+            return pool;
+        }
+    }
 
-            System.out.println("Schema verification complete. All tables are up to date.");
+    /**
+     * Brings the schema up to date by applying pending migrations (see SchemaMigrations).
+     * Replaces the old CREATE TABLE IF NOT EXISTS bootstrap, which could not add keys or indexes.
+     * @return false if the database was unreachable or a migration failed.
+     */
+    public boolean migrateSchema() {
+        try {
+            SchemaMigrator migrator = new SchemaMigrator(SchemaMigrations.all());
+            int applied = migrator.migrate();
+            System.out.println("Schema is at version " + migrator.getCurrentVersion()
+                    + " (" + applied + " migrations applied).");
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
         }
     }
 }
\ No newline at end of file
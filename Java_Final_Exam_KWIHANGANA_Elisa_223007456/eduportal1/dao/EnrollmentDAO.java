@@ -1,11 +1,22 @@
 package com.eduportal.dao;
 
 import com.eduportal.model.Enrollment;
+import com.eduportal.model.WaitlistEntry;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-public class EnrollmentDAO implements BaseDAO<Enrollment> {
+public class EnrollmentDAO implements BaseDAO<Enrollment>, PagedDAO<Enrollment> {
 
     // CLEANED SQL: Matches your database schema (5 columns)
     private static final String INSERT_SQL = "INSERT INTO enrollment (StudentID, CourseID, Status, EnrollDate) VALUES (?, ?, ?, ?)";
@@ -13,6 +24,182 @@ public class EnrollmentDAO implements BaseDAO<Enrollment> {
     private static final String SELECT_BY_ID_SQL = "SELECT * FROM enrollment WHERE EnrollmentID = ?";
     private static final String UPDATE_SQL = "UPDATE enrollment SET StudentID=?, CourseID=?, Status=?, EnrollDate=? WHERE EnrollmentID=?";
     private static final String DELETE_SQL = "DELETE FROM enrollment WHERE EnrollmentID=?";
+    private static final String SELECT_PAGE_SQL = "SELECT * FROM enrollment WHERE EnrollmentID > ? ORDER BY EnrollmentID LIMIT ?";
+
+    // --- Seat Ledger (EnrollmentService) ---
+    public static final String STATUS_REGISTERED = "Registered";
+    public static final String STATUS_DROPPED = "Dropped";
+    /** getCapacity() result for a course without a seat limit. */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+    /** getCapacity() result for a course that does not exist. */
+    public static final int NO_COURSE = -1;
+
+    private static final String SELECT_CAPACITY_SQL = "SELECT capacity FROM course WHERE CourseID = ?";
+    // Every status except Dropped holds a seat; served from idx_enrollment_course_status_student
+    private static final String SELECT_SEAT_HOLDERS_SQL =
+            "SELECT StudentID FROM enrollment WHERE CourseID = ? AND Status <> '" + STATUS_DROPPED + "'";
+    // Same set as a locking read, so the count cannot go stale while enrollAll() fills the course
+    private static final String LOCK_SEAT_HOLDERS_SQL = SELECT_SEAT_HOLDERS_SQL + " LOCK IN SHARE MODE";
+    // Serializes enrollments in a course across every process writing to the database
+    private static final String LOCK_CAPACITY_SQL = "SELECT capacity FROM course WHERE CourseID = ? FOR UPDATE";
+    // The unique (StudentID, CourseID) key turns a re-enrollment after a drop into a reactivation.
+    // Any other existing status (e.g. Completed) is left alone; EnrollDate is assigned first because
+    // MySQL evaluates the assignments in order and Status would already be overwritten.
+    static final String ENROLL_SQL = "INSERT INTO enrollment (StudentID, CourseID, Status, EnrollDate) "
+            + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+            + "EnrollDate = IF(Status = '" + STATUS_DROPPED + "', VALUES(EnrollDate), EnrollDate), "
+            + "Status = IF(Status = '" + STATUS_DROPPED + "', VALUES(Status), Status)";
+
+    // --- Parameter Binders (shared by single-row and batched writes) ---
+    private static final BatchExecutor.Binder<Enrollment> INSERT_BINDER = new BatchExecutor.Binder<Enrollment>() {
+        @Override
+        void bind(PreparedStatement ps, Enrollment enrollment) throws SQLException {
+            ps.setInt(1, enrollment.getStudentID());
+            ps.setInt(2, enrollment.getCourseID());
+            ps.setString(3, enrollment.getStatus());
+            ps.setTimestamp(4, new Timestamp(enrollment.getEnrollDate().getTime()));
+        }
+
+        @Override
+        void onGeneratedKey(Enrollment enrollment, int key) {
+            enrollment.setEnrollmentID(key);
+        }
+    };
+
+    private static final BatchExecutor.Binder<Enrollment> UPDATE_BINDER = new BatchExecutor.Binder<Enrollment>() {
+        @Override
+        void bind(PreparedStatement ps, Enrollment enrollment) throws SQLException {
+            ps.setInt(1, enrollment.getStudentID());
+            ps.setInt(2, enrollment.getCourseID());
+            ps.setString(3, enrollment.getStatus());
+            ps.setTimestamp(4, new Timestamp(enrollment.getEnrollDate().getTime()));
+            ps.setInt(5, enrollment.getEnrollmentID());
+        }
+    };
+
+    private static final BatchExecutor.Binder<Enrollment> DELETE_BINDER = new BatchExecutor.Binder<Enrollment>() {
+        @Override
+        void bind(PreparedStatement ps, Enrollment enrollment) throws SQLException {
+            ps.setInt(1, enrollment.getEnrollmentID());
+        }
+    };
+
+    // --- Seat Release and Waitlist Promotion ---
+
+    private static final List<SeatListener> SEAT_LISTENERS = new CopyOnWriteArrayList<>();
+
+    public static void addSeatListener(SeatListener listener) {
+        SEAT_LISTENERS.add(listener);
+    }
+
+    public static void removeSeatListener(SeatListener listener) {
+        SEAT_LISTENERS.remove(listener);
+    }
+
+    static void firePromoted(List<WaitlistEntry> promoted, long startNanos) {
+        long latency = System.nanoTime() - startNanos;
+        for (WaitlistEntry entry : promoted) {
+            for (SeatListener listener : SEAT_LISTENERS) {
+                listener.studentPromoted(entry.getCourseID(), entry.getStudentID(), entry.getWaitlistID(), latency);
+            }
+        }
+    }
+
+    static boolean holdsSeat(String status) {
+        return status != null && !STATUS_DROPPED.equalsIgnoreCase(status);
+    }
+
+    /**
+     * Wraps the update/delete binders: locks the rows being changed, and when a change gives up a
+     * seat (delete, drop, or a move to another student/course) promotes the head of that course's
+     * waitlist inside the same transaction. fireEvents() reports both once the batch committed.
+     */
+    private static final class SeatReleasingBinder extends BatchExecutor.Binder<Enrollment> {
+        private final BatchExecutor.Binder<Enrollment> delegate;
+        private final boolean deleting;
+        private final long startNanos = System.nanoTime();
+        private final List<Enrollment> released = new ArrayList<>();
+        private final List<WaitlistEntry> promoted = new ArrayList<>();
+        private Map<Integer, Enrollment> before = Collections.emptyMap();
+
+        SeatReleasingBinder(BatchExecutor.Binder<Enrollment> delegate, boolean deleting) {
+            this.delegate = delegate;
+            this.deleting = deleting;
+        }
+
+        @Override
+        void beforeBatch(Connection conn, List<Enrollment> rows) throws SQLException {
+            before = lockRows(conn, rows);
+        }
+
+        @Override
+        void bind(PreparedStatement ps, Enrollment enrollment) throws SQLException {
+            delegate.bind(ps, enrollment);
+        }
+
+        @Override
+        void beforeCommit(Connection conn, List<Enrollment> rows) throws SQLException {
+            Map<Integer, Integer> freedPerCourse = new LinkedHashMap<>();
+            for (Enrollment row : rows) {
+                Enrollment old = before.get(row.getEnrollmentID());
+                if (old == null || !holdsSeat(old.getStatus())) continue;
+                boolean gaveUpSeat = deleting || !holdsSeat(row.getStatus())
+                        || row.getCourseID() != old.getCourseID() || row.getStudentID() != old.getStudentID();
+                if (!gaveUpSeat) continue;
+                released.add(old);
+                Integer freed = freedPerCourse.get(old.getCourseID());
+                freedPerCourse.put(old.getCourseID(), freed == null ? 1 : freed + 1);
+            }
+            for (Map.Entry<Integer, Integer> entry : freedPerCourse.entrySet()) {
+                promoted.addAll(WaitlistDAO.promote(conn, entry.getKey(), entry.getValue()));
+            }
+        }
+
+        void fireEvents() {
+            for (Enrollment old : released) {
+                for (SeatListener listener : SEAT_LISTENERS) {
+                    listener.seatReleased(old.getCourseID(), old.getStudentID());
+                }
+            }
+            firePromoted(promoted, startNanos);
+        }
+    }
+
+    // Current StudentID/CourseID/Status of the rows, keyed by EnrollmentID and locked until commit
+    private static Map<Integer, Enrollment> lockRows(Connection conn, List<Enrollment> rows) throws SQLException {
+        Map<Integer, Enrollment> current = new HashMap<>();
+        for (int start = 0; start < rows.size(); start += StudentGpaDAO.CHUNK_SIZE) {
+            List<Enrollment> chunk = rows.subList(start, Math.min(start + StudentGpaDAO.CHUNK_SIZE, rows.size()));
+            try (PreparedStatement ps = conn.prepareStatement("SELECT EnrollmentID, StudentID, CourseID, Status "
+                    + "FROM enrollment WHERE EnrollmentID IN (" + StudentGpaDAO.placeholders(chunk.size()) + ") FOR UPDATE")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setInt(i + 1, chunk.get(i).getEnrollmentID());
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        current.put(rs.getInt(1), new Enrollment(rs.getInt(1), rs.getInt(2), rs.getInt(3),
+                                null, null, null, rs.getString(4), null));
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    private static BatchResult executeReleasingSeats(String sql, Collection<Enrollment> enrollments,
+                                                     BatchExecutor.Binder<Enrollment> binder, boolean deleting) {
+        SeatReleasingBinder releasing = new SeatReleasingBinder(binder, deleting);
+        BatchResult result = BatchExecutor.execute(sql, enrollments, false, releasing);
+        if (result.isCommitted()) releasing.fireEvents();
+        return result;
+    }
+
+    private final RowMapper<Enrollment> rowMapper = new RowMapper<Enrollment>() {
+        @Override
+        public Enrollment map(ResultSet rs) throws SQLException {
+            return extractEnrollmentFromResultSet(rs);
+        }
+    };
 
     private Enrollment extractEnrollmentFromResultSet(ResultSet rs) throws SQLException {
         // We map the 5 DB columns to the Enrollment Model. 
@@ -34,11 +221,7 @@ public class EnrollmentDAO implements BaseDAO<Enrollment> {
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            ps.setInt(1, enrollment.getStudentID());
-            ps.setInt(2, enrollment.getCourseID());
-            ps.setString(3, enrollment.getStatus());
-            ps.setTimestamp(4, new Timestamp(enrollment.getEnrollDate().getTime()));
-            
+            INSERT_BINDER.bind(ps, enrollment);
             int affectedRows = ps.executeUpdate();
             if (affectedRows > 0) {
                 try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
@@ -79,26 +262,211 @@ public class EnrollmentDAO implements BaseDAO<Enrollment> {
         return enrollments;
     }
 
+    // Single-row update/delete run as batches of one so freed seats are refilled from the waitlist
     @Override
     public boolean update(Enrollment enrollment) {
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(UPDATE_SQL)) {
-            ps.setInt(1, enrollment.getStudentID());
-            ps.setInt(2, enrollment.getCourseID());
-            ps.setString(3, enrollment.getStatus());
-            ps.setTimestamp(4, new Timestamp(enrollment.getEnrollDate().getTime()));
-            ps.setInt(5, enrollment.getEnrollmentID());
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) { e.printStackTrace(); return false; }
+        return executeReleasingSeats(UPDATE_SQL, Collections.singletonList(enrollment), UPDATE_BINDER, false).isSuccess();
     }
 
     @Override
     public boolean delete(int id) {
+        Enrollment key = new Enrollment(id, 0, 0, null, null, null, null, null);
+        return executeReleasingSeats(DELETE_SQL, Collections.singletonList(key), DELETE_BINDER, true).isSuccess();
+    }
+
+    // --- Streaming Cursor ---
+
+    @Override
+    public int forEach(RowCallback<Enrollment> callback) {
+        return forEach(callback, ResultSetCursor.DEFAULT_FETCH_SIZE);
+    }
+
+    @Override
+    public int forEach(RowCallback<Enrollment> callback, int fetchSize) {
+        return ResultSetCursor.stream(SELECT_ALL_SQL, fetchSize, rowMapper, callback);
+    }
+
+    // --- Keyset Pagination ---
+
+    @Override
+    public List<Enrollment> page(int afterId, int limit) {
+        List<Enrollment> enrollments = new ArrayList<>();
         try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(DELETE_SQL)) {
-            ps.setInt(1, id);
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) { e.printStackTrace(); return false; }
+             PreparedStatement ps = conn.prepareStatement(SELECT_PAGE_SQL)) {
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    enrollments.add(rowMapper.map(rs));
+                }
+            }
+        } catch (SQLException e) { e.printStackTrace(); }
+        return enrollments;
+    }
+
+    @Override
+    public int getId(Enrollment object) {
+        return object.getEnrollmentID();
+    }
+
+    // --- Batched Writes ---
+
+    @Override
+    public BatchResult insertAll(Collection<Enrollment> enrollments) {
+        return BatchExecutor.execute(INSERT_SQL, enrollments, true, INSERT_BINDER);
+    }
+
+    @Override
+    public BatchResult updateAll(Collection<Enrollment> enrollments) {
+        return executeReleasingSeats(UPDATE_SQL, enrollments, UPDATE_BINDER, false);
+    }
+
+    @Override
+    public BatchResult deleteAll(Collection<Enrollment> enrollments) {
+        return executeReleasingSeats(DELETE_SQL, enrollments, DELETE_BINDER, true);
+    }
+
+    /**
+     * Seat limit of a course.
+     * @return the capacity, UNLIMITED when the course has none, or NO_COURSE if it does not exist.
+     */
+    public int getCapacity(int courseID) throws SQLException {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) throw new SQLException("Database connection unavailable");
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(SELECT_CAPACITY_SQL)) {
+            ps.setInt(1, courseID);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return NO_COURSE;
+                int capacity = rs.getInt(1);
+                return rs.wasNull() ? UNLIMITED : capacity;
+            }
+        }
+    }
+
+    /** Students currently holding a seat in the course (any status but Dropped). */
+    public Set<Integer> getSeatHolders(int courseID) throws SQLException {
+        Set<Integer> students = new HashSet<>();
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) throw new SQLException("Database connection unavailable");
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(SELECT_SEAT_HOLDERS_SQL)) {
+            ps.setInt(1, courseID);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    students.add(rs.getInt(1));
+                }
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Writes accepted enrollments in one transaction. An existing (dropped) row for the same
+     * student and course is reactivated instead of failing the batch on the unique key.
+     *
+     * Capacity is re-checked inside the transaction, since other processes keep ledgers of their own:
+     * rows for a course that is full (or gone) by now are not written and report an update count of 0,
+     * so they show up in getFailedRows() of a committed result.
+     *
+     * Rows for students that already hold a seat in the course (any status but Dropped) are not
+     * written either: their indexes are added to alreadyEnrolled once the transaction commits.
+     */
+    public BatchResult enrollAll(Collection<Enrollment> enrollments, Set<Integer> alreadyEnrolled) {
+        if (enrollments == null || enrollments.isEmpty()) return BatchResult.empty();
+
+        List<Enrollment> rows = new ArrayList<>(enrollments);
+        int[] counts = new int[rows.size()];
+        int[] keys = new int[rows.size()];
+        Arrays.fill(keys, BatchResult.NO_KEY);
+
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) {
+            Arrays.fill(counts, Statement.EXECUTE_FAILED);
+            return new BatchResult(counts, keys, false, "Database connection unavailable");
+        }
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(ENROLL_SQL)) {
+            c.setAutoCommit(false);
+            Set<Integer> seatedRows = new HashSet<>();
+            try {
+                List<Integer> admitted = admit(c, rows, seatedRows);
+                for (int start = 0; start < admitted.size(); start += BatchExecutor.CHUNK_SIZE) {
+                    int end = Math.min(start + BatchExecutor.CHUNK_SIZE, admitted.size());
+                    for (int i = start; i < end; i++) {
+                        INSERT_BINDER.bind(ps, rows.get(admitted.get(i)));
+                        ps.addBatch();
+                    }
+                    int[] chunkCounts = ps.executeBatch();
+                    for (int i = start; i < end; i++) {
+                        counts[admitted.get(i)] = chunkCounts[i - start];
+                    }
+                }
+                c.commit();
+            } catch (SQLException e) {
+                c.rollback();
+                Arrays.fill(counts, Statement.EXECUTE_FAILED);
+                return new BatchResult(counts, keys, false, e.getMessage());
+            }
+            alreadyEnrolled.addAll(seatedRows);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Arrays.fill(counts, Statement.EXECUTE_FAILED);
+            return new BatchResult(counts, keys, false, e.getMessage());
+        }
+        return new BatchResult(counts, keys, true, null);
+    }
+
+    // Indexes of the rows that still fit their course. Each course row is locked (in CourseID order,
+    // so concurrent batches cannot deadlock on each other) and its seat holders counted, the same
+    // check WaitlistDAO.promote makes before filling seats. Rows of students already seated go to seatedRows.
+    private static List<Integer> admit(Connection conn, List<Enrollment> rows, Set<Integer> seatedRows)
+            throws SQLException {
+        Map<Integer, List<Integer>> rowsByCourse = new TreeMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            int courseID = rows.get(i).getCourseID();
+            List<Integer> courseRows = rowsByCourse.get(courseID);
+            if (courseRows == null) {
+                courseRows = new ArrayList<>();
+                rowsByCourse.put(courseID, courseRows);
+            }
+            courseRows.add(i);
+        }
+
+        List<Integer> admitted = new ArrayList<>();
+        try (PreparedStatement lock = conn.prepareStatement(LOCK_CAPACITY_SQL);
+             PreparedStatement holders = conn.prepareStatement(LOCK_SEAT_HOLDERS_SQL)) {
+            for (Map.Entry<Integer, List<Integer>> course : rowsByCourse.entrySet()) {
+                int capacity;
+                lock.setInt(1, course.getKey());
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next()) continue;
+                    capacity = rs.getInt(1);
+                    if (rs.wasNull()) capacity = UNLIMITED;
+                }
+                Set<Integer> seated = new HashSet<>();
+                holders.setInt(1, course.getKey());
+                try (ResultSet rs = holders.executeQuery()) {
+                    while (rs.next()) {
+                        seated.add(rs.getInt(1));
+                    }
+                }
+                for (int row : course.getValue()) {
+                    Enrollment enrollment = rows.get(row);
+                    if (!holdsSeat(enrollment.getStatus())) {
+                        admitted.add(row);
+                    } else if (seated.contains(enrollment.getStudentID())) {
+                        // Enrolled from another client, or a Completed row that must not be reactivated
+                        seatedRows.add(row);
+                    } else if (seated.size() < capacity) {
+                        seated.add(enrollment.getStudentID());
+                        admitted.add(row);
+                    }
+                }
+            }
+        }
+        Collections.sort(admitted);
+        return admitted;
     }
 
     public String getStudentCourseStatus(int studentID, int courseID) {
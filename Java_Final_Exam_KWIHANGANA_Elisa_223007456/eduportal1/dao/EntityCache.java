@@ -0,0 +1,204 @@
+package com.eduportal.dao;
+
+import com.eduportal.util.FlightEvents;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded read-through cache for rarely changing entities (courses, instructors).
+ * Entries expire after a fixed TTL and the least recently used entry is evicted once
+ * the cache is full. DAOs invalidate keys after every write commits so readers never see a
+ * value older than the last committed change made through this process.
+ *
+ * Usage: cache.get(id, loader) returns the cached value or calls loader.load(id) and caches it.
+ * Null results are not cached. Cached objects are shared between readers, so DAOs hand out
+ * copies rather than the cached instances.
+ */
+public class EntityCache<K, V> {
+
+    /** Loads a value on a cache miss (usually a DAO query). Returning null means "do not cache". */
+    public interface Loader<K, V> {
+        V load(K key);
+    }
+
+    /** Selects entries for invalidateWhere. */
+    public interface Condition<K, V> {
+        boolean matches(K key, V value);
+    }
+
+    // --- Defaults (override with -Deduportal.cache.maxSize / -Deduportal.cache.ttlMs) ---
+    public static final int DEFAULT_MAX_SIZE = Integer.getInteger("eduportal.cache.maxSize", 1000);
+    public static final long DEFAULT_TTL_MS = Long.getLong("eduportal.cache.ttlMs", 60 * 1000L);
+
+    // Every cache registers itself so the stats can be reported together
+    private static final List<EntityCache<?, ?>> ALL_CACHES = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    // Bumped by every invalidation; a load only caches its result if no write happened meanwhile
+    private long writeEpoch;
+
+    // --- Metrics ---
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public EntityCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        // Access-ordered map: iteration starts at the least recently used entry
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        ALL_CACHES.add(this);
+    }
+
+    /**
+     * Returns the cached value for the key, loading it on a miss or after expiry.
+     * The loader runs outside the lock so a slow query does not block other keys.
+     */
+    public V get(K key, Loader<K, V> loader) {
+        FlightEvents.CacheEvent event = new FlightEvents.CacheEvent();
+        long now = System.currentTimeMillis();
+        Entry<V> hit = null;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.incrementAndGet();
+                    hit = entry;
+                } else {
+                    entries.remove(key);
+                }
+            }
+        }
+        if (hit != null) {
+            commit(event, key, true);
+            return hit.value;
+        }
+
+        misses.incrementAndGet();
+        long loadStartEpoch;
+        synchronized (this) {
+            loadStartEpoch = writeEpoch;
+        }
+        event.begin();
+        V value = loader.load(key);
+        event.end();
+        commit(event, key, false);
+        if (value == null || maxSize <= 0) return value;
+
+        synchronized (this) {
+            // Skip caching if an invalidation ran while the query was in flight (a write raced the load)
+            if (writeEpoch == loadStartEpoch) {
+                entries.put(key, new Entry<V>(value, System.currentTimeMillis() + ttlMillis));
+                evictOverflow();
+            }
+        }
+        return value;
+    }
+
+    private void commit(FlightEvents.CacheEvent event, K key, boolean hit) {
+        if (!event.shouldCommit()) return;
+        event.cache = name;
+        event.key = String.valueOf(key);
+        event.hit = hit;
+        event.action = FlightEvents.getAction();
+        event.commit();
+    }
+
+    /** Returns the cached value without loading or touching the metrics, or null. */
+    public synchronized V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && entry.expiresAt > System.currentTimeMillis() ? entry.value : null;
+    }
+
+    /** Drops one key; called by DAOs after a write that affects it. */
+    public void invalidate(K key) {
+        synchronized (this) {
+            entries.remove(key);
+            writeEpoch++;
+        }
+        invalidations.incrementAndGet();
+    }
+
+    /** Drops every entry whose key/value matches, e.g. cached lists that contain a changed row. */
+    public void invalidateWhere(Condition<K, V> condition) {
+        synchronized (this) {
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<K, Entry<V>> e = it.next();
+                if (condition.matches(e.getKey(), e.getValue().value)) it.remove();
+            }
+            writeEpoch++;
+        }
+        invalidations.incrementAndGet();
+    }
+
+    /** Drops every entry (bulk writes, or when the affected keys are unknown). */
+    public void invalidateAll() {
+        synchronized (this) {
+            entries.clear();
+            writeEpoch++;
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    // --- Metrics Getters ---
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+    public long getInvalidationCount() { return invalidations.get(); }
+
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[size=%d/%d, hits=%d, misses=%d, evictions=%d, invalidations=%d, hitRate=%.1f%%]",
+                name, size(), maxSize, getHitCount(), getMissCount(), getEvictionCount(),
+                getInvalidationCount(), getHitRate() * 100);
+    }
+
+    /** One line per registered cache. */
+    public static String getStatsSummary() {
+        List<String> lines = new ArrayList<>();
+        for (EntityCache<?, ?> cache : ALL_CACHES) {
+            lines.add(cache.toString());
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.eduportal.dao;
 
 import com.eduportal.model.Grade;
+import com.eduportal.model.Gradebook;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class GradeDAO implements BaseDAO<Grade> {
 
@@ -14,6 +22,120 @@ public class GradeDAO implements BaseDAO<Grade> {
     private static final String SELECT_BY_ID_SQL = "SELECT * FROM grade WHERE GradeID = ?";
     private static final String UPDATE_SQL = "UPDATE grade SET StudentID=?, AssignmentID=?, Score=?, LetterGrade=? WHERE GradeID=?";
     private static final String DELETE_SQL = "DELETE FROM grade WHERE GradeID=?";
+    // Relies on the unique (StudentID, AssignmentID) key; re-running the same statement is harmless
+    private static final String UPSERT_SQL = "INSERT INTO grade (StudentID, AssignmentID, Score, LetterGrade) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE Score = VALUES(Score), LetterGrade = VALUES(LetterGrade)";
+    // Grade side is read only from (StudentID, AssignmentID, Score, LetterGrade); assignment and course are PK lookups
+    static final String SELECT_FINAL_BY_STUDENT_SQL = "SELECT c.course_code, c.course_name, c.credits, "
+            + "g.LetterGrade, g.Score, a.Title AS Semester "
+            + "FROM grade g "
+            + "JOIN assignment a ON a.AssignmentID = g.AssignmentID "
+            + "JOIN course c ON c.CourseID = a.CourseID "
+            + "WHERE g.StudentID = ? "
+            + "ORDER BY g.AssignmentID";
+    // Score-only projections for the statistics engine; NULL scores (ungraded) are skipped
+    private static final String SCORES_BY_ASSIGNMENT_SQL = "SELECT Score FROM grade WHERE AssignmentID = ? AND Score IS NOT NULL";
+    private static final String SCORES_BY_ASSIGNMENT_IN_COURSE_SQL = "SELECT g.AssignmentID, g.Score FROM grade g "
+            + "JOIN assignment a ON a.AssignmentID = g.AssignmentID WHERE a.CourseID = ? AND g.Score IS NOT NULL";
+    private static final String SCORES_BY_COURSE_SQL = "SELECT a.CourseID, g.Score FROM grade g "
+            + "JOIN assignment a ON a.AssignmentID = g.AssignmentID WHERE g.Score IS NOT NULL";
+    private static final String GRADEBOOK_SQL = "SELECT g.StudentID, g.AssignmentID, g.Score, g.LetterGrade FROM grade g "
+            + "JOIN assignment a ON a.AssignmentID = g.AssignmentID WHERE a.CourseID = ?";
+
+    // --- Parameter Binders (shared by single-row and batched writes) ---
+    private static final BatchExecutor.Binder<Grade> INSERT_BINDER = new BatchExecutor.Binder<Grade>() {
+        @Override
+        void bind(PreparedStatement ps, Grade grade) throws SQLException {
+            ps.setInt(1, grade.getStudentID());
+            ps.setInt(2, grade.getAssignmentID());
+            ps.setDouble(3, grade.getScore());
+            ps.setString(4, grade.getLetterGrade());
+        }
+
+        @Override
+        void onGeneratedKey(Grade grade, int key) {
+            grade.setGradeID(key);
+        }
+    };
+
+    private static final BatchExecutor.Binder<Grade> UPDATE_BINDER = new BatchExecutor.Binder<Grade>() {
+        @Override
+        void bind(PreparedStatement ps, Grade grade) throws SQLException {
+            INSERT_BINDER.bind(ps, grade);
+            ps.setInt(5, grade.getGradeID());
+        }
+    };
+
+    private static final BatchExecutor.Binder<Grade> DELETE_BINDER = new BatchExecutor.Binder<Grade>() {
+        @Override
+        void bind(PreparedStatement ps, Grade grade) throws SQLException {
+            ps.setInt(1, grade.getGradeID());
+        }
+    };
+
+    /**
+     * Wraps a binder so the batch also refreshes student_gpa for every student it touches,
+     * inside the same transaction. For updates and deletes the current owners of the rows
+     * are locked and refreshed too, in case a grade moves to another student or disappears.
+     * The students are locked before any grade is written (see StudentGpaDAO.lockStudents).
+     */
+    private static BatchExecutor.Binder<Grade> withGpaRefresh(final BatchExecutor.Binder<Grade> delegate,
+                                                              final boolean existingRows) {
+        return new BatchExecutor.Binder<Grade>() {
+            private final Set<Integer> students = new LinkedHashSet<>();
+
+            @Override
+            void beforeBatch(Connection conn, List<Grade> rows) throws SQLException {
+                if (existingRows) students.addAll(lockOwners(conn, rows));
+                for (Grade grade : rows) {
+                    if (grade.getStudentID() > 0) students.add(grade.getStudentID());
+                }
+                StudentGpaDAO.lockStudents(conn, students);
+            }
+
+            @Override
+            void bind(PreparedStatement ps, Grade grade) throws SQLException {
+                delegate.bind(ps, grade);
+            }
+
+            @Override
+            void onGeneratedKey(Grade grade, int key) {
+                delegate.onGeneratedKey(grade, key);
+            }
+
+            @Override
+            void beforeCommit(Connection conn, List<Grade> rows) throws SQLException {
+                StudentGpaDAO.refreshStudents(conn, students);
+            }
+        };
+    }
+
+    // Current StudentIDs of the given grade rows, locked until the batch commits
+    private static Set<Integer> lockOwners(Connection conn, List<Grade> rows) throws SQLException {
+        Set<Integer> owners = new LinkedHashSet<>();
+        for (int start = 0; start < rows.size(); start += StudentGpaDAO.CHUNK_SIZE) {
+            List<Grade> chunk = rows.subList(start, Math.min(start + StudentGpaDAO.CHUNK_SIZE, rows.size()));
+            try (PreparedStatement ps = conn.prepareStatement("SELECT StudentID FROM grade WHERE GradeID IN ("
+                    + StudentGpaDAO.placeholders(chunk.size()) + ") FOR UPDATE")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setInt(i + 1, chunk.get(i).getGradeID());
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        owners.add(rs.getInt(1));
+                    }
+                }
+            }
+        }
+        return owners;
+    }
+
+    private final RowMapper<Grade> rowMapper = new RowMapper<Grade>() {
+        @Override
+        public Grade map(ResultSet rs) throws SQLException {
+            return extractGradeFromResultSet(rs);
+        }
+    };
 
     private Grade extractGradeFromResultSet(ResultSet rs) throws SQLException {
         // Syncing with your 'desc grade' output
@@ -28,16 +150,10 @@ public class GradeDAO implements BaseDAO<Grade> {
         );
     }
 
+    // Single-row writes run as a batch of one so the GPA summary is refreshed in the same transaction
     @Override
     public boolean insert(Grade grade) {
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
-            ps.setInt(1, grade.getStudentID());
-            ps.setInt(2, grade.getAssignmentID());
-            ps.setDouble(3, grade.getScore());
-            ps.setString(4, grade.getLetterGrade());
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) { e.printStackTrace(); return false; }
+        return insertAll(Collections.singletonList(grade)).isSuccess();
     }
 
     @Override
@@ -53,19 +169,207 @@ public class GradeDAO implements BaseDAO<Grade> {
         return grades;
     }
 
+    // --- Streaming Cursor ---
+
+    @Override
+    public int forEach(RowCallback<Grade> callback) {
+        return forEach(callback, ResultSetCursor.DEFAULT_FETCH_SIZE);
+    }
+
+    @Override
+    public int forEach(RowCallback<Grade> callback, int fetchSize) {
+        return ResultSetCursor.stream(SELECT_ALL_SQL, fetchSize, rowMapper, callback);
+    }
+
+    // --- Batched Writes ---
+
+    @Override
+    public BatchResult insertAll(Collection<Grade> grades) {
+        return BatchExecutor.execute(INSERT_SQL, grades, true, withGpaRefresh(INSERT_BINDER, false));
+    }
+
+    @Override
+    public BatchResult updateAll(Collection<Grade> grades) {
+        return BatchExecutor.execute(UPDATE_SQL, grades, false, withGpaRefresh(UPDATE_BINDER, true));
+    }
+
+    @Override
+    public BatchResult deleteAll(Collection<Grade> grades) {
+        return BatchExecutor.execute(DELETE_SQL, grades, false, withGpaRefresh(DELETE_BINDER, true));
+    }
+
+    // --- Gradebook Upsert ---
+
+    /**
+     * Saves a whole gradebook column in one batched statement: rows that already exist for
+     * (student, assignment) are updated in place, missing ones are inserted. Safe to retry.
+     * @param assignmentID The assignment (gradebook column) being saved.
+     * @param scores Score and LetterGrade keyed by StudentID; other Grade fields are ignored.
+     * @return Per-row outcome, in the iteration order of the map.
+     */
+    public BatchResult upsertScores(final int assignmentID, Map<Integer, Grade> scores) {
+        if (scores == null || scores.isEmpty()) return BatchResult.empty();
+        return BatchExecutor.execute(UPSERT_SQL, scores.entrySet(), false,
+                new BatchExecutor.Binder<Map.Entry<Integer, Grade>>() {
+                    @Override
+                    void bind(PreparedStatement ps, Map.Entry<Integer, Grade> entry) throws SQLException {
+                        ps.setInt(1, entry.getKey());
+                        ps.setInt(2, assignmentID);
+                        ps.setDouble(3, entry.getValue().getScore());
+                        ps.setString(4, entry.getValue().getLetterGrade());
+                    }
+
+                    @Override
+                    void beforeBatch(Connection conn, List<Map.Entry<Integer, Grade>> rows) throws SQLException {
+                        StudentGpaDAO.lockStudents(conn, students(rows));
+                    }
+
+                    @Override
+                    void beforeCommit(Connection conn, List<Map.Entry<Integer, Grade>> rows) throws SQLException {
+                        StudentGpaDAO.refreshStudents(conn, students(rows));
+                    }
+
+                    private Set<Integer> students(List<Map.Entry<Integer, Grade>> rows) {
+                        Set<Integer> students = new LinkedHashSet<>();
+                        for (Map.Entry<Integer, Grade> entry : rows) {
+                            students.add(entry.getKey());
+                        }
+                        return students;
+                    }
+                });
+    }
+
+    // --- Columnar Gradebook ---
+
+    /**
+     * Loads the grades of a course into a gradebook with the given rows (usually the roster)
+     * and columns (the course's assignments). Grades outside those ids are skipped.
+     * @throws SQLException if the grades could not be read.
+     */
+    public Gradebook loadGradebook(int courseID, int[] studentIds, int[] assignmentIds) throws SQLException {
+        Gradebook gradebook = new Gradebook(studentIds, assignmentIds);
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) throw new SQLException("Database connection unavailable");
+
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(GRADEBOOK_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(ResultSetCursor.DEFAULT_FETCH_SIZE);
+            ps.setInt(1, courseID);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    float score = rs.getFloat(3);
+                    if (rs.wasNull()) score = Float.NaN;
+                    gradebook.put(rs.getInt(1), rs.getInt(2), score, rs.getString(4));
+                }
+            }
+        }
+        return gradebook;
+    }
+
+    /**
+     * Saves one gradebook column (assignment) through upsertScores, so locking and the GPA refresh
+     * happen the same way. Only rows with a score are written; result rows follow the gradebook's
+     * row order with unscored rows left out.
+     */
+    public BatchResult upsertColumn(Gradebook gradebook, int column) {
+        int assignmentID = gradebook.getAssignmentId(column);
+        Map<Integer, Grade> scores = new LinkedHashMap<>();
+        for (int row = 0; row < gradebook.getRowCount(); row++) {
+            if (!gradebook.hasScore(row, column)) continue;
+            int studentID = gradebook.getStudentId(row);
+            scores.put(studentID, new Grade(0, studentID, assignmentID, null, gradebook.getScore(row, column),
+                    gradebook.getLetter(row, column), null));
+        }
+        return upsertScores(assignmentID, scores);
+    }
+
+    // --- Score Streams (primitive arrays for GradeStatisticsEngine) ---
+
+    /** All non-null scores of one assignment. */
+    public double[] getScoresByAssignment(int assignmentID) {
+        Map<Integer, ScoreBuffer> byKey = streamScores(SCORES_BY_ASSIGNMENT_SQL, false, assignmentID);
+        return byKey.isEmpty() ? new double[0] : byKey.values().iterator().next().toArray();
+    }
+
+    /** Non-null scores of a course, keyed by AssignmentID. */
+    public Map<Integer, double[]> getScoresByAssignmentInCourse(int courseID) {
+        return toArrays(streamScores(SCORES_BY_ASSIGNMENT_IN_COURSE_SQL, true, courseID));
+    }
+
+    /** Non-null scores of every course, keyed by CourseID (department-wide reports). */
+    public Map<Integer, double[]> getScoresByCourse() {
+        return toArrays(streamScores(SCORES_BY_COURSE_SQL, true));
+    }
+
+    /**
+     * Streams (key, score) rows through a server-side cursor straight into primitive buffers,
+     * so no Grade or Double object is created per row. Without a key column every score
+     * goes to key 0.
+     */
+    private Map<Integer, ScoreBuffer> streamScores(String sql, boolean keyed, Object... params) {
+        Map<Integer, ScoreBuffer> buffers = new LinkedHashMap<>();
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) return buffers;
+
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(ResultSetCursor.DEFAULT_FETCH_SIZE);
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                int scoreColumn = keyed ? 2 : 1;
+                ScoreBuffer last = null;
+                int lastKey = 0;
+                while (rs.next()) {
+                    int key = keyed ? rs.getInt(1) : 0;
+                    // Rows usually arrive grouped by key, so skip the map lookup while it repeats
+                    if (last == null || key != lastKey) {
+                        last = buffers.get(key);
+                        if (last == null) {
+                            last = new ScoreBuffer();
+                            buffers.put(key, last);
+                        }
+                        lastKey = key;
+                    }
+                    last.add(rs.getDouble(scoreColumn));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Score stream error: " + e.getMessage());
+        }
+        return buffers;
+    }
+
+    private static Map<Integer, double[]> toArrays(Map<Integer, ScoreBuffer> buffers) {
+        Map<Integer, double[]> arrays = new LinkedHashMap<>();
+        for (Map.Entry<Integer, ScoreBuffer> entry : buffers.entrySet()) {
+            arrays.put(entry.getKey(), entry.getValue().toArray());
+        }
+        return arrays;
+    }
+
+    /** Growable double[] (avoids boxing a Double per row). */
+    private static final class ScoreBuffer {
+        private double[] data = new double[64];
+        private int size;
+
+        void add(double value) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = value;
+        }
+
+        double[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+
     // Specialized query for Student Dashboard
     public List<Grade> getFinalGradesByStudentID(int studentID) {
         List<Grade> grades = new ArrayList<>();
         // JOIN query to get Course details along with Grade
-        String sql = "SELECT c.course_code, c.course_name, c.credits, " +
-                     "g.LetterGrade, g.Score, a.Title AS Semester " +
-                     "FROM grade g " +
-                     "JOIN assignment a ON g.AssignmentID = a.AssignmentID " +
-                     "JOIN course c ON a.CourseID = c.CourseID " +
-                     "WHERE g.StudentID = ?";
-
         try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SELECT_FINAL_BY_STUDENT_SQL)) {
             ps.setInt(1, studentID);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
@@ -110,6 +414,7 @@ public class GradeDAO implements BaseDAO<Grade> {
     public List<Grade> getGradesByStudentID(int studentID) {
         return getFinalGradesByStudentID(studentID);
     }
+    // StudentGpaDAO.POINTS_SQL applies the same scale in SQL
     private double calculateGPAPoints(double score) {
         if (score >= 90) return 4.0;
         if (score >= 80) return 3.0;
@@ -119,7 +424,28 @@ public class GradeDAO implements BaseDAO<Grade> {
     }
 
     // Standard CRUD overrides
-    @Override public Grade getById(int id) { /* same logic using extract method */ return null; }
-    @Override public boolean update(Grade grade) { /* ... */ return false; }
-    @Override public boolean delete(int id) { /* ... */ return false; }
+    @Override
+    public Grade getById(int id) {
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SELECT_BY_ID_SQL)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return extractGradeFromResultSet(rs);
+                }
+            }
+        } catch (SQLException e) { e.printStackTrace(); }
+        return null;
+    }
+
+    @Override
+    public boolean update(Grade grade) {
+        return updateAll(Collections.singletonList(grade)).isSuccess();
+    }
+
+    @Override
+    public boolean delete(int id) {
+        Grade key = new Grade(id, 0, 0, null, 0, null, null);
+        return deleteAll(Collections.singletonList(key)).isSuccess();
+    }
 }
\ No newline at end of file
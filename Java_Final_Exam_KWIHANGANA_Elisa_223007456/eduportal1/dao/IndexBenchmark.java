@@ -0,0 +1,167 @@
+package com.eduportal.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command-line check for the student dashboard indexes (migration V4).
+ * For each dashboard query it prints the EXPLAIN plan, verifies that the optimizer picks the
+ * covering index as the key of the driving table and reads it alone ("Using index"), and times the
+ * query with the index and with it and the unique key that competes for the same StudentID prefix
+ * both ignored.
+ *
+ * Run against a database with realistic data: java com.eduportal.dao.IndexBenchmark [iterations >= 1]
+ * Exits with status 1 if a query does not use index-only access.
+ */
+public final class IndexBenchmark {
+
+    private static final int DEFAULT_ITERATIONS = 2000;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int SAMPLE_STUDENTS = 100;
+
+    private IndexBenchmark() {}
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+        if (iterations < 1) {
+            System.err.println("Usage: IndexBenchmark [iterations], iterations must be at least 1");
+            System.exit(1);
+        }
+        if (!DatabaseConnector.getInstance().migrateSchema()) {
+            System.exit(1);
+        }
+
+        boolean ok = true;
+        try {
+            ok &= run("Student courses", CourseDAO.SELECT_BY_STUDENT_SQL, "enrollment", "e",
+                    SchemaMigrations.ENROLLMENT_STUDENT_INDEX, SchemaMigrations.ENROLLMENT_UNIQUE_KEY, iterations);
+            ok &= run("Student grades", GradeDAO.SELECT_FINAL_BY_STUDENT_SQL, "grade", "g",
+                    SchemaMigrations.GRADE_STUDENT_INDEX, SchemaMigrations.GRADE_UNIQUE_KEY, iterations);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            ok = false;
+        }
+        System.out.println(ok ? "All dashboard queries use index-only access." : "Index check FAILED.");
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * @param competing Unique key with the same StudentID prefix; the optimizer may prefer it, so it is
+     *                  ignored together with the index for the baseline timing.
+     */
+    private static boolean run(String label, String sql, String table, String alias, String index,
+                               String competing, int iterations) throws SQLException {
+        System.out.println();
+        System.out.println("=== " + label + " (" + table + " via " + index + ") ===");
+
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) throw new SQLException("Database connection unavailable");
+
+        try (Connection c = conn) {
+            List<Integer> studentIds = sampleStudentIds(c, table);
+            if (studentIds.isEmpty()) {
+                System.out.println("No rows in " + table + "; load data before benchmarking.");
+                return false;
+            }
+
+            String[] plan = explain(c, sql, studentIds.get(0), alias);
+            String key = plan[0];
+            boolean covering = index.equals(key) && isIndexOnly(plan[1]);
+
+            String ignoringSql = sql.replace("FROM " + table + " " + alias + " ",
+                    "FROM " + table + " " + alias + " IGNORE INDEX (" + index + ", " + competing + ") ");
+            report("with index   ", time(c, sql, studentIds, iterations));
+            report("index ignored", time(c, ignoringSql, studentIds, iterations));
+
+            if (covering) {
+                System.out.println("PASS: " + table + " is read from " + index + " only.");
+            } else if (!index.equals(key)) {
+                System.out.println("FAIL: the optimizer chose key " + key + " for " + table + " instead of " + index + ".");
+            } else {
+                System.out.println("FAIL: " + table + " is not read from " + index + " alone.");
+            }
+            return covering;
+        }
+    }
+
+    /** Prints the plan and returns the key and Extra column chosen for the driving table (null if absent). */
+    private static String[] explain(Connection conn, String sql, int studentId, String alias) throws SQLException {
+        String[] plan = new String[2];
+        try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + sql)) {
+            ps.setInt(1, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                System.out.println(String.format("%-6s %-8s %-40s %s", "table", "type", "key", "Extra"));
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    String key = rs.getString("key");
+                    String extra = rs.getString("Extra");
+                    System.out.println(String.format("%-6s %-8s %-40s %s",
+                            table, rs.getString("type"), key, extra));
+                    if (alias.equals(table)) {
+                        plan[0] = key;
+                        plan[1] = extra;
+                    }
+                }
+            }
+        }
+        return plan;
+    }
+
+    // "Using index" means index-only; "Using index condition" (pushdown) still reads the row
+    private static boolean isIndexOnly(String extra) {
+        if (extra == null) return false;
+        for (String part : extra.split(";")) {
+            if ("Using index".equals(part.trim())) return true;
+        }
+        return false;
+    }
+
+    private static List<Integer> sampleStudentIds(Connection conn, String table) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT DISTINCT StudentID FROM " + table + " LIMIT " + SAMPLE_STUDENTS)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    /** Per-execution latencies in nanoseconds, after a warmup. */
+    private static long[] time(Connection conn, String sql, List<Integer> studentIds, int iterations)
+            throws SQLException {
+        long[] samples = new long[iterations];
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = -WARMUP_ITERATIONS; i < iterations; i++) {
+                ps.setInt(1, studentIds.get(Math.abs(i) % studentIds.size()));
+                long start = System.nanoTime();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        // Drain the rows so the full result is transferred
+                    }
+                }
+                if (i >= 0) samples[i] = System.nanoTime() - start;
+            }
+        }
+        return samples;
+    }
+
+    private static void report(String label, long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+        double avgMicros = total / (double) sorted.length / 1000.0;
+        double p95Micros = sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * 0.95) - 1)] / 1000.0;
+        System.out.println(String.format("%s: avg %.1f us, p95 %.1f us over %d runs",
+                label, avgMicros, p95Micros, sorted.length));
+    }
+}
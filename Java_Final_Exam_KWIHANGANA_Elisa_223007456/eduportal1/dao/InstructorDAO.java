@@ -1,12 +1,14 @@
 package com.eduportal.dao;
 
 import com.eduportal.model.Instructor;
+import com.eduportal.util.PasswordHasher;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Date;
 
-public class InstructorDAO implements BaseDAO<Instructor> {
+public class InstructorDAO implements BaseDAO<Instructor>, PagedDAO<Instructor> {
 
     // All column names here match the database schema exactly
     private static final String INSERT_SQL = "INSERT INTO instructor (Username, Password, Role, Name, Identifier, Status, Location, Contact, AssignedSince) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
@@ -15,6 +17,67 @@ public class InstructorDAO implements BaseDAO<Instructor> {
     private static final String SELECT_BY_USERNAME_SQL = "SELECT * FROM instructor WHERE Username = ?";
     private static final String UPDATE_SQL = "UPDATE instructor SET Username=?, Password=?, Role=?, Name=?, Identifier=?, Status=?, Location=?, Contact=?, AssignedSince=? WHERE InstructorID=?";
     private static final String DELETE_SQL = "DELETE FROM instructor WHERE InstructorID=?";
+    private static final String UPDATE_PASSWORD_SQL = "UPDATE instructor SET Password=? WHERE InstructorID=? AND Password=?";
+    private static final String SELECT_USERNAMES_SQL = "SELECT Username FROM instructor";
+    private static final String SELECT_PAGE_SQL = "SELECT * FROM instructor WHERE InstructorID > ? ORDER BY InstructorID LIMIT ?";
+
+    // --- Parameter Binders (shared by single-row and batched writes) ---
+    private static final BatchExecutor.Binder<Instructor> INSERT_BINDER = new BatchExecutor.Binder<Instructor>() {
+        @Override
+        void bind(PreparedStatement ps, Instructor instructor) throws SQLException {
+            KnownUsernames.record(KnownUsernames.INSTRUCTOR, instructor.getUsername());
+            ps.setString(1, instructor.getUsername());
+            // Hashed by the caller before the connection was borrowed; this only guards against plain text
+            ps.setString(2, PasswordHasher.hashIfPlain(instructor.getPassword()));
+            ps.setString(3, instructor.getRole());
+            ps.setString(4, instructor.getName());
+            ps.setString(5, instructor.getIdentifier());
+            ps.setString(6, instructor.getStatus());
+            ps.setString(7, instructor.getLocation());
+            ps.setString(8, instructor.getContact());
+            ps.setTimestamp(9, instructor.getAssignedSince() != null ? 
+                new Timestamp(instructor.getAssignedSince().getTime()) : 
+                new Timestamp(System.currentTimeMillis()));
+        }
+
+        @Override
+        void onGeneratedKey(Instructor instructor, int key) {
+            instructor.setInstructorID(key);
+        }
+    };
+
+    private static final BatchExecutor.Binder<Instructor> UPDATE_BINDER = new BatchExecutor.Binder<Instructor>() {
+        @Override
+        void bind(PreparedStatement ps, Instructor instructor) throws SQLException {
+            KnownUsernames.record(KnownUsernames.INSTRUCTOR, instructor.getUsername());
+            ps.setString(1, instructor.getUsername());
+            // Hashed by the caller before the connection was borrowed; this only guards against plain text
+            ps.setString(2, PasswordHasher.hashIfPlain(instructor.getPassword()));
+            ps.setString(3, instructor.getRole());
+            ps.setString(4, instructor.getName());
+            ps.setString(5, instructor.getIdentifier());
+            ps.setString(6, instructor.getStatus());
+            ps.setString(7, instructor.getLocation());
+            ps.setString(8, instructor.getContact());
+            ps.setTimestamp(9, instructor.getAssignedSince() != null ? 
+                new Timestamp(instructor.getAssignedSince().getTime()) : null);
+            ps.setInt(10, instructor.getInstructorID());
+        }
+    };
+
+    private static final BatchExecutor.Binder<Instructor> DELETE_BINDER = new BatchExecutor.Binder<Instructor>() {
+        @Override
+        void bind(PreparedStatement ps, Instructor instructor) throws SQLException {
+            ps.setInt(1, instructor.getInstructorID());
+        }
+    };
+
+    private final RowMapper<Instructor> rowMapper = new RowMapper<Instructor>() {
+        @Override
+        public Instructor map(ResultSet rs) throws SQLException {
+            return extractInstructorFromResultSet(rs);
+        }
+    };
 
     private Instructor extractInstructorFromResultSet(ResultSet rs) throws SQLException {
         return new Instructor(
@@ -31,32 +94,72 @@ public class InstructorDAO implements BaseDAO<Instructor> {
         );
     }
 
+    // --- Read-Through Caches (shared by all InstructorDAO instances) ---
+    private static final String ALL_KEY = "all";
+    private static final EntityCache<String, List<Instructor>> ALL_CACHE =
+            new EntityCache<>("InstructorList", 1, EntityCache.DEFAULT_TTL_MS);
+    private static final EntityCache<Integer, Instructor> BY_ID_CACHE =
+            new EntityCache<>("InstructorById", EntityCache.DEFAULT_MAX_SIZE, EntityCache.DEFAULT_TTL_MS);
+
+    private final EntityCache.Loader<String, List<Instructor>> allLoader = new EntityCache.Loader<String, List<Instructor>>() {
+        @Override
+        public List<Instructor> load(String key) {
+            return loadAll();
+        }
+    };
+
+    private final EntityCache.Loader<Integer, Instructor> byIdLoader = new EntityCache.Loader<Integer, Instructor>() {
+        @Override
+        public Instructor load(Integer id) {
+            return loadById(id);
+        }
+    };
+
+    /**
+     * Drops an instructor from the caches once a write has committed or failed (id < 0: only the list).
+     * Invalidating only after the commit means a read racing the write cannot re-cache the old row.
+     */
+    private static void invalidateInstructor(int instructorID) {
+        if (instructorID >= 0) BY_ID_CACHE.invalidate(instructorID);
+        ALL_CACHE.invalidateAll();
+    }
+
+    /** Hit/miss counters of the instructor caches. */
+    public static String getCacheStats() {
+        return ALL_CACHE + System.lineSeparator() + BY_ID_CACHE;
+    }
+
     @Override
     public boolean insert(Instructor instructor) {
+        Instructor row = withHashedPassword(instructor);
+        if (row == null) return false;
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
             
-            ps.setString(1, instructor.getUsername());
-            ps.setString(2, instructor.getPassword());
-            ps.setString(3, instructor.getRole());
-            ps.setString(4, instructor.getName());
-            ps.setString(5, instructor.getIdentifier());
-            ps.setString(6, instructor.getStatus());
-            ps.setString(7, instructor.getLocation());
-            ps.setString(8, instructor.getContact());
-            ps.setTimestamp(9, instructor.getAssignedSince() != null ? 
-                new Timestamp(instructor.getAssignedSince().getTime()) : 
-                new Timestamp(System.currentTimeMillis()));
-            
+            INSERT_BINDER.bind(ps, row);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
+        } finally {
+            invalidateInstructor(-1);
         }
     }
 
     @Override
     public List<Instructor> getAll() {
+        List<Instructor> cached = ALL_CACHE.get(ALL_KEY, allLoader);
+        // Callers get their own list of copies; a failed load (null) is not cached
+        List<Instructor> instructors = new ArrayList<>();
+        if (cached != null) {
+            for (Instructor instructor : cached) {
+                instructors.add(new Instructor(instructor));
+            }
+        }
+        return instructors;
+    }
+
+    private List<Instructor> loadAll() {
         List<Instructor> instructors = new ArrayList<>();
         try (Connection conn = DatabaseConnector.getConnection();
              Statement stmt = conn.createStatement();
@@ -66,12 +169,19 @@ public class InstructorDAO implements BaseDAO<Instructor> {
             }
         } catch (SQLException e) {
             e.printStackTrace();
+            return null;
         }
         return instructors;
     }
 
     @Override
     public Instructor getById(int id) {
+        Instructor cached = BY_ID_CACHE.get(id, byIdLoader);
+        // Callers edit what they get (forms call setters), so the cached instance never leaves the DAO
+        return cached != null ? new Instructor(cached) : null;
+    }
+
+    private Instructor loadById(int id) {
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(SELECT_BY_ID_SQL)) {
             ps.setInt(1, id);
@@ -109,23 +219,19 @@ public class InstructorDAO implements BaseDAO<Instructor> {
 
     @Override
     public boolean update(Instructor instructor) {
+        Instructor row = withHashedPassword(instructor);
+        if (row == null) return false;
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(UPDATE_SQL)) {
-            ps.setString(1, instructor.getUsername());
-            ps.setString(2, instructor.getPassword());
-            ps.setString(3, instructor.getRole());
-            ps.setString(4, instructor.getName());
-            ps.setString(5, instructor.getIdentifier());
-            ps.setString(6, instructor.getStatus());
-            ps.setString(7, instructor.getLocation());
-            ps.setString(8, instructor.getContact());
-            ps.setTimestamp(9, instructor.getAssignedSince() != null ? 
-                new Timestamp(instructor.getAssignedSince().getTime()) : null);
-            ps.setInt(10, instructor.getInstructorID());
-            return ps.executeUpdate() > 0;
+            UPDATE_BINDER.bind(ps, row);
+            if (ps.executeUpdate() == 0) return false;
+            CourseSearchIndex.getInstance().markStale(); // Course search matches on instructor name
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
+        } finally {
+            invalidateInstructor(instructor.getInstructorID());
         }
     }
 
@@ -134,12 +240,158 @@ public class InstructorDAO implements BaseDAO<Instructor> {
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(DELETE_SQL)) {
             ps.setInt(1, id);
+            if (ps.executeUpdate() == 0) return false;
+            CourseSearchIndex.getInstance().markStale();
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            invalidateInstructor(id);
+        }
+    }
+    // --- Streaming Cursor ---
+
+    @Override
+    public int forEach(RowCallback<Instructor> callback) {
+        return forEach(callback, ResultSetCursor.DEFAULT_FETCH_SIZE);
+    }
+
+    @Override
+    public int forEach(RowCallback<Instructor> callback, int fetchSize) {
+        return ResultSetCursor.stream(SELECT_ALL_SQL, fetchSize, rowMapper, callback);
+    }
+
+    /** Streams every username; unlike forEach, a failed read is reported rather than looking like an empty table. */
+    public int forEachUsername(RowCallback<String> callback) throws SQLException {
+        return ResultSetCursor.streamOrThrow(SELECT_USERNAMES_SQL, ResultSetCursor.DEFAULT_FETCH_SIZE,
+                ResultSetCursor.FIRST_STRING, callback);
+    }
+
+    // --- Keyset Pagination ---
+
+    @Override
+    public List<Instructor> page(int afterId, int limit) {
+        List<Instructor> instructors = new ArrayList<>();
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SELECT_PAGE_SQL)) {
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    instructors.add(rowMapper.map(rs));
+                }
+            }
+        } catch (SQLException e) { e.printStackTrace(); }
+        return instructors;
+    }
+
+    @Override
+    public int getId(Instructor object) {
+        return object.getInstructorID();
+    }
+
+    // --- Batched Writes ---
+
+    @Override
+    public BatchResult insertAll(Collection<Instructor> instructors) {
+        List<Instructor> rows = withHashedPasswords(instructors);
+        BatchResult result = BatchExecutor.execute(INSERT_SQL, rows, true, INSERT_BINDER);
+        copyGeneratedKeys(instructors, rows);
+        invalidateInstructor(-1);
+        return result;
+    }
+
+    @Override
+    public BatchResult updateAll(Collection<Instructor> instructors) {
+        CourseSearchIndex.getInstance().markStale();
+        BatchResult result = BatchExecutor.execute(UPDATE_SQL, withHashedPasswords(instructors), false, UPDATE_BINDER);
+        BY_ID_CACHE.invalidateAll();
+        invalidateInstructor(-1);
+        // Again after the commit: a search between the first mark and the commit reloaded old names
+        CourseSearchIndex.getInstance().markStale();
+        return result;
+    }
+
+    @Override
+    public BatchResult deleteAll(Collection<Instructor> instructors) {
+        CourseSearchIndex.getInstance().markStale();
+        BatchResult result = BatchExecutor.execute(DELETE_SQL, instructors, false, DELETE_BINDER);
+        BY_ID_CACHE.invalidateAll();
+        invalidateInstructor(-1);
+        CourseSearchIndex.getInstance().markStale();
+        return result;
+    }
+
+    // Single-row counterpart of withHashedPasswords(): hashes on the pool before a connection is borrowed,
+    // and writes a copy so the caller's object keeps the password it was given. Null if hashing failed.
+    private static Instructor withHashedPassword(Instructor instructor) {
+        String password = instructor.getPassword();
+        if (password == null || PasswordHasher.isHashed(password)) return instructor;
+        Instructor row = new Instructor(instructor);
+        try {
+            row.setPassword(PasswordHasher.hashOnPool(password));
+        } catch (IllegalStateException e) {
+            System.err.println("Could not hash password for instructor " + instructor.getUsername() + ": " + e.getMessage());
+            return null;
+        }
+        return row;
+    }
+
+    // Hashes plain-text passwords on the hashing pool up front, so the binder finds them done
+    // and the batch transaction does not hold its connection through the KDF work. Rows whose
+    // password changes are copies, as in withHashedPassword().
+    private static List<Instructor> withHashedPasswords(Collection<Instructor> instructors) {
+        List<String> plain = new ArrayList<>(instructors.size());
+        for (Instructor instructor : instructors) {
+            plain.add(instructor.getPassword());
+        }
+        List<String> hashed = PasswordHasher.hashAll(plain);
+        List<Instructor> rows = new ArrayList<>(instructors.size());
+        int i = 0;
+        for (Instructor instructor : instructors) {
+            String hash = hashed.get(i++);
+            if (hash == null || hash.equals(instructor.getPassword())) {
+                rows.add(instructor);
+                continue;
+            }
+            Instructor row = new Instructor(instructor);
+            row.setPassword(hash);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // insertAll() sets generated keys on the rows it wrote; hand them back to the caller's objects
+    private static void copyGeneratedKeys(Collection<Instructor> instructors, List<Instructor> rows) {
+        int i = 0;
+        for (Instructor instructor : instructors) {
+            Instructor row = rows.get(i++);
+            if (row != instructor) instructor.setInstructorID(row.getInstructorID());
+        }
+    }
+
+    /**
+     * Replaces a password hash only if it still equals the expected value, so a concurrent
+     * password change is never overwritten by an on-login rehash.
+     */
+    public boolean updatePasswordHash(int instructorID, String expected, String hash) {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) return false;
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(UPDATE_PASSWORD_SQL)) {
+            ps.setString(1, hash);
+            ps.setInt(2, instructorID);
+            ps.setString(3, expected);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
+        } finally {
+            invalidateInstructor(instructorID);
         }
     }
+
     /**
 
      * Helper for login and user creation.
@@ -149,6 +401,14 @@ public class InstructorDAO implements BaseDAO<Instructor> {
     public boolean saveNewUser(String username, String password, String fullName, String contact) {
 
         String sql = "INSERT INTO instructor (Username, Password, Role, Name, Contact, Status, AssignedSince) VALUES (?, ?, 'Instructor', ?, ?, 'Active', NOW())";
+        KnownUsernames.record(KnownUsernames.INSTRUCTOR, username);
+        String hash;
+        try {
+            hash = PasswordHasher.hashOnPool(password);
+        } catch (IllegalStateException e) {
+            System.err.println("Could not hash password for instructor " + username + ": " + e.getMessage());
+            return false;
+        }
 
         try (Connection conn = DatabaseConnector.getConnection();
 
@@ -156,7 +416,7 @@ public class InstructorDAO implements BaseDAO<Instructor> {
 
             ps.setString(1, username);
 
-            ps.setString(2, password);
+            ps.setString(2, hash);
 
             ps.setString(3, fullName);
 
@@ -170,6 +430,8 @@ public class InstructorDAO implements BaseDAO<Instructor> {
 
             return false;
 
+        } finally {
+            invalidateInstructor(-1);
         }
 
     }
@@ -0,0 +1,252 @@
+package com.eduportal.dao;
+
+import com.eduportal.util.FlightEvents;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Proxy layer between the pool and the DAOs that times every statement execution and feeds
+ * QueryMetrics. The calling DAO method is resolved once, when the statement is created; rows are
+ * counted as the caller reads them, so streamed results are counted too. Latency covers the
+ * execute call itself (for queries: until the first rows arrive), not the time spent reading.
+ * Executions over the slow-query threshold are also handed to SlowQueryLog, with the bind values
+ * captured from the set* calls so it can EXPLAIN them.
+ */
+final class InstrumentedConnection implements InvocationHandler {
+
+    // Frames from these classes are plumbing; the caller tag names the DAO method above them
+    private static final String[] PLUMBING = {
+            "com.eduportal.dao.InstrumentedConnection", "com.eduportal.dao.ConnectionPool",
+            "com.eduportal.dao.StatementCache", "com.eduportal.dao.DatabaseConnector",
+            "com.eduportal.dao.BatchExecutor", "com.eduportal.dao.ResultSetCursor",
+            "com.eduportal.dao.QueryMetrics"};
+
+    // Walks lazily and stops at the first application frame, instead of filling in the whole stack trace
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final Predicate<StackWalker.StackFrame> APPLICATION_FRAME = new Predicate<StackWalker.StackFrame>() {
+        @Override
+        public boolean test(StackWalker.StackFrame frame) {
+            String className = frame.getClassName();
+            return className.startsWith("com.eduportal.") && !isPlumbing(className);
+        }
+    };
+    private static final Function<Stream<StackWalker.StackFrame>, String> CALLER =
+            new Function<Stream<StackWalker.StackFrame>, String>() {
+                @Override
+                public String apply(Stream<StackWalker.StackFrame> frames) {
+                    StackWalker.StackFrame frame = frames.filter(APPLICATION_FRAME).findFirst().orElse(null);
+                    if (frame == null) return "unknown";
+                    String className = frame.getClassName();
+                    int nested = className.indexOf('$');
+                    String outer = nested < 0 ? className : className.substring(0, nested);
+                    return outer.substring(outer.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                }
+            };
+
+    private final Connection connection;
+
+    private InstrumentedConnection(Connection connection) {
+        this.connection = connection;
+    }
+
+    static Connection wrap(Connection connection) {
+        if (connection == null || !QueryMetrics.ENABLED) return connection;
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new InstrumentedConnection(connection));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if ("equals".equals(name)) return proxy == args[0];
+        if ("hashCode".equals(name)) return System.identityHashCode(proxy);
+        Object result = invokeTarget(connection, method, args);
+        if (result instanceof Statement && name.startsWith("prepare")) {
+            // prepareStatement / prepareCall: the SQL is fixed here and already a template
+            return wrapStatement((Statement) result, method.getReturnType(), (String) args[0]);
+        }
+        if (result instanceof Statement) {
+            return wrapStatement((Statement) result, method.getReturnType(), null);
+        }
+        return result;
+    }
+
+    private static Object wrapStatement(Statement statement, Class<?> type, String sql) {
+        return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{type},
+                new InstrumentedStatement(statement, callerTag(), sql));
+    }
+
+    /** SimpleClassName.method of the first application frame outside the JDBC plumbing. */
+    static String callerTag() {
+        return WALKER.walk(CALLER);
+    }
+
+    private static boolean isPlumbing(String className) {
+        for (String prefix : PLUMBING) {
+            if (className.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** Times execute* calls and wraps their result sets so rows are counted. */
+    private static final class InstrumentedStatement implements InvocationHandler {
+        private final Statement statement;
+        private final String caller;
+        private final String preparedSql;
+        private final QueryMetrics.QueryStats preparedStats;
+        // Bind values by position, kept only while the slow-query log is on
+        private Object[] params = SlowQueryLog.isEnabled() ? new Object[8] : null;
+        private int paramCount;
+        // Entry of the latest execute, for a result set fetched afterwards with getResultSet()
+        private QueryMetrics.QueryStats lastStats;
+
+        InstrumentedStatement(Statement statement, String caller, String sql) {
+            this.statement = statement;
+            this.caller = caller;
+            this.preparedSql = sql;
+            this.preparedStats = sql == null ? null : QueryMetrics.getInstance().statsFor(caller, sql);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("equals".equals(name)) return proxy == args[0];
+            if ("hashCode".equals(name)) return System.identityHashCode(proxy);
+            if (!name.startsWith("execute")) {
+                if (params != null) captureParameter(name, args);
+                Object result = invokeTarget(statement, method, args);
+                return "getResultSet".equals(name) && result != null && lastStats != null
+                        ? countingResultSet((ResultSet) result, lastStats, null, caller, lastStats.sql) : result;
+            }
+
+            // Plain Statement.execute*(sql, ...) carries its SQL per call
+            boolean plain = args != null && args.length > 0 && args[0] instanceof String;
+            String sql = plain ? (String) args[0] : preparedSql;
+            String template = plain ? QueryMetrics.toTemplate(sql) : sql;
+            QueryMetrics.QueryStats stats = plain ? QueryMetrics.getInstance().statsFor(caller, template) : preparedStats;
+            if (stats == null) return invokeTarget(statement, method, args);
+            lastStats = stats;
+
+            FlightEvents.QueryEvent event = new FlightEvents.QueryEvent();
+            event.begin();
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = invokeTarget(statement, method, args);
+                failed = false;
+                return countRows(stats, template, result, event);
+            } finally {
+                long nanos = System.nanoTime() - start;
+                event.end();
+                stats.record(nanos, failed);
+                if (failed) commitQuery(event, caller, template, 0, true);
+                if (nanos >= SlowQueryLog.THRESHOLD_NANOS && SlowQueryLog.isEnabled()) {
+                    boolean batch = name.endsWith("Batch");
+                    SlowQueryLog.record(caller, template, sql,
+                            plain || params == null ? null : Arrays.copyOf(params, paramCount), nanos, failed, !batch);
+                }
+            }
+        }
+
+        // setString(1, ...), setInt(2, ...), setNull(3, type): remember the value by position
+        private void captureParameter(String name, Object[] args) {
+            if ("clearParameters".equals(name)) {
+                Arrays.fill(params, 0, paramCount, null);
+                paramCount = 0;
+                return;
+            }
+            if (!name.startsWith("set") || args == null || args.length < 2 || !(args[0] instanceof Integer)) return;
+            int index = (Integer) args[0] - 1;
+            if (index < 0) return;
+            if (index >= params.length) params = Arrays.copyOf(params, Math.max(index + 1, params.length * 2));
+            params[index] = "setNull".equals(name) ? null : args[1];
+            paramCount = Math.max(paramCount, index + 1);
+        }
+
+        // For result sets the JFR event is committed once the rows have been read (see countingResultSet)
+        private Object countRows(QueryMetrics.QueryStats stats, String template, Object result,
+                                 FlightEvents.QueryEvent event) {
+            if (result instanceof ResultSet) {
+                return countingResultSet((ResultSet) result, stats, event, caller, template);
+            }
+            long rows = 0;
+            if (result instanceof Integer || result instanceof Long) {
+                rows = Math.max(0, ((Number) result).longValue());
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    if (count > 0) rows += count;
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    if (count > 0) rows += count;
+                }
+            }
+            stats.rows.add(rows);
+            event.end();
+            commitQuery(event, caller, template, rows, false);
+            return result;
+        }
+    }
+
+    private static void commitQuery(FlightEvents.QueryEvent event, String caller, String sql, long rows, boolean failed) {
+        if (!event.shouldCommit()) return;
+        event.caller = caller;
+        event.sql = sql;
+        event.rows = rows;
+        event.failed = failed;
+        event.action = FlightEvents.getAction();
+        event.commit();
+    }
+
+    /**
+     * Counts rows as they are read. The query's JFR event (ended when execute returned, so its
+     * duration is the execute time) is committed with the row count at the last row or on close.
+     */
+    private static ResultSet countingResultSet(final ResultSet resultSet, final QueryMetrics.QueryStats stats,
+                                               final FlightEvents.QueryEvent event, final String caller, final String sql) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                new InvocationHandler() {
+                    private long rows;
+                    private boolean committed = event == null;
+
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if ("equals".equals(name)) return proxy == args[0];
+                        if ("hashCode".equals(name)) return System.identityHashCode(proxy);
+                        Object result = invokeTarget(resultSet, method, args);
+                        boolean finished = "close".equals(name);
+                        if ("next".equals(name)) {
+                            if (Boolean.TRUE.equals(result)) {
+                                rows++;
+                                stats.rows.increment();
+                            } else {
+                                finished = true;
+                            }
+                        }
+                        if (finished && !committed) {
+                            committed = true;
+                            commitQuery(event, caller, sql, rows, false);
+                        }
+                        return result;
+                    }
+                });
+    }
+}
@@ -0,0 +1,134 @@
+package com.eduportal.dao;
+
+import com.eduportal.util.BloomFilter;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Bloom filter of every username in the admin, instructor and student tables, so logins for
+ * names that do not exist can be turned away without a query.
+ *
+ * Answers are one-sided: mightExist() may say yes for an unknown name (one extra query), but never
+ * says no for a name in the tables. To keep it that way, usernames are folded the way MySQL's
+ * case- and accent-insensitive collations compare them, the student and instructor write binders
+ * record every username they write, and until the first reload() succeeds everything "might exist".
+ * Rows written by other processes only show up at the next reload(), so callers pass the age past
+ * which a "no" is no longer trusted (a reload that is overdue or keeps failing).
+ */
+public final class KnownUsernames {
+
+    public static final String ADMIN = "admin";
+    public static final String INSTRUCTOR = "instructor";
+    public static final String STUDENT = "student";
+
+    private static final double FALSE_POSITIVE_RATE =
+            Double.parseDouble(System.getProperty("eduportal.auth.filterFpp", "0.01"));
+    // Sized for at least this many names, and twice the loaded count, to leave room for registrations
+    private static final int MIN_CAPACITY = 1024;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static volatile BloomFilter filter;
+    private static volatile int loadedCount;
+    private static volatile long loadedAt;
+    // Usernames written since the last reload began; re-added after it, as the table scan may have missed them
+    private static final Set<String> RECENT = ConcurrentHashMap.newKeySet();
+
+    private KnownUsernames() {}
+
+    /**
+     * True if the username may exist in the table; always true before the first successful reload
+     * and while the filter is older than maxAgeMillis.
+     */
+    public static boolean mightExist(String table, String username, long maxAgeMillis) {
+        BloomFilter current = filter;
+        return current == null || username == null || System.currentTimeMillis() - loadedAt >= maxAgeMillis
+                || current.mightContain(key(table, username));
+    }
+
+    public static boolean isLoaded() {
+        return filter != null;
+    }
+
+    public static int getLoadedCount() {
+        return loadedCount;
+    }
+
+    /** Called by the DAO write binders before a username is inserted or updated. */
+    static void record(String table, String username) {
+        if (username == null) return;
+        String key = key(table, username);
+        RECENT.add(key);
+        BloomFilter current = filter;
+        if (current != null) current.add(key);
+    }
+
+    /**
+     * Rebuilds the filter from the three tables. On failure the previous filter (or none) stays in
+     * place, so an unreachable database never turns into rejected logins.
+     * @return The number of usernames loaded.
+     */
+    public static synchronized int reload() throws SQLException {
+        long started = System.currentTimeMillis();
+        final List<String> keys = new ArrayList<>();
+        new AdminDAO().forEachUsername(collector(ADMIN, keys));
+        new InstructorDAO().forEachUsername(collector(INSTRUCTOR, keys));
+        new StudentDAO().forEachUsername(collector(STUDENT, keys));
+
+        BloomFilter fresh = new BloomFilter(Math.max(MIN_CAPACITY, keys.size() * 2), FALSE_POSITIVE_RATE);
+        for (String key : keys) {
+            fresh.add(key);
+        }
+        // Aged from the start of the scan: accounts created during it may be missing
+        loadedAt = started;
+        filter = fresh;
+        loadedCount = keys.size();
+
+        // record() adds to RECENT before reading the filter, so anything it gave the old filter is seen here
+        for (Iterator<String> it = RECENT.iterator(); it.hasNext(); ) {
+            fresh.add(it.next());
+            it.remove();
+        }
+        return keys.size();
+    }
+
+    private static RowCallback<String> collector(final String table, final List<String> keys) {
+        return new RowCallback<String>() {
+            @Override
+            public boolean onRow(String username) {
+                if (username != null) keys.add(key(table, username));
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Lower-cased, accent-stripped and without trailing spaces: usernames the default *_ci
+     * PAD SPACE collations treat as equal fold to the same string. Over-folding is harmless here.
+     */
+    public static String fold(String username) {
+        String folded = username;
+        for (int i = 0; i < username.length(); i++) {
+            if (username.charAt(i) > 0x7F) {
+                // Only non-ASCII names pay for decomposition
+                folded = COMBINING_MARKS.matcher(Normalizer.normalize(username, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+        folded = folded.toLowerCase(Locale.ROOT);
+        int end = folded.length();
+        while (end > 0 && folded.charAt(end - 1) == ' ') end--;
+        return folded.substring(0, end);
+    }
+
+    private static String key(String table, String username) {
+        return table + '\0' + fold(username);
+    }
+}
@@ -0,0 +1,199 @@
+package com.eduportal.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One versioned schema change, applied once by SchemaMigrator and recorded in schema_version.
+ * A migration is an ordered list of steps; its checksum covers the SQL of every step, so
+ * editing a migration that has already been applied is detected at startup.
+ *
+ * Steps are written to be safe to re-run (a migration that failed halfway is retried as a whole):
+ * - sql(...)            plain statements, normally CREATE ... IF NOT EXISTS or data fixes
+ * - addIndex(...)       secondary index, skipped if it exists, built online when the engine allows it
+ * - addUniqueKey(...)   same for unique keys
+ * - convertToInnoDB(...) rebuilds a table with ENGINE=InnoDB if it still uses another engine
+ */
+public final class Migration {
+
+    /** A single schema change inside a migration. */
+    public abstract static class Step {
+        /** Canonical SQL of the step; this is what the checksum covers. */
+        abstract String getSql();
+
+        abstract void apply(Connection conn) throws SQLException;
+    }
+
+    // MySQL errors for ALGORITHM/LOCK clauses the table's engine cannot honour
+    private static final int ER_ALTER_OPERATION_NOT_SUPPORTED = 1845;
+    private static final int ER_ALTER_OPERATION_NOT_SUPPORTED_REASON = 1846;
+    private static final String ONLINE_DDL = ", ALGORITHM=INPLACE, LOCK=NONE";
+
+    private final int version;
+    private final String description;
+    private final List<Step> steps;
+
+    public Migration(int version, String description, Step... steps) {
+        this.version = version;
+        this.description = description;
+        this.steps = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(steps)));
+    }
+
+    public int getVersion() { return version; }
+    public String getDescription() { return description; }
+    public List<Step> getSteps() { return steps; }
+
+    /** SHA-256 (hex) over the SQL of all steps. */
+    public String getChecksum() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Step step : steps) {
+                digest.update(step.getSql().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " " + description;
+    }
+
+    // --- Step Factories ---
+
+    public static Step sql(final String statement) {
+        return new Step() {
+            @Override
+            String getSql() {
+                return statement;
+            }
+
+            @Override
+            void apply(Connection conn) throws SQLException {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate(statement);
+                }
+            }
+        };
+    }
+
+    public static Step addIndex(String table, String indexName, String columns) {
+        return indexStep(table, indexName, "ALTER TABLE " + table + " ADD INDEX " + indexName + " (" + columns + ")");
+    }
+
+    public static Step addUniqueKey(String table, String indexName, String columns) {
+        return indexStep(table, indexName, "ALTER TABLE " + table + " ADD UNIQUE KEY " + indexName + " (" + columns + ")");
+    }
+
+    /** ALTER TABLE ... ADD COLUMN, skipped if the column already exists. */
+    public static Step addColumn(final String table, final String column, final String definition) {
+        return new Step() {
+            @Override
+            String getSql() {
+                return "ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition;
+            }
+
+            @Override
+            void apply(Connection conn) throws SQLException {
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "SELECT 1 FROM information_schema.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?")) {
+                    ps.setString(1, table);
+                    ps.setString(2, column);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (rs.next()) return;
+                    }
+                }
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate(getSql());
+                }
+            }
+        };
+    }
+
+    public static Step convertToInnoDB(final String table) {
+        return new Step() {
+            @Override
+            String getSql() {
+                return "ALTER TABLE " + table + " ENGINE=InnoDB";
+            }
+
+            @Override
+            void apply(Connection conn) throws SQLException {
+                String engine = null;
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "SELECT ENGINE FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?")) {
+                    ps.setString(1, table);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (rs.next()) engine = rs.getString(1);
+                    }
+                }
+                // Missing tables are not created here, and InnoDB tables need no rebuild
+                if (engine == null || "InnoDB".equalsIgnoreCase(engine)) return;
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate(getSql());
+                }
+                System.out.println("Converted table " + table + " from " + engine + " to InnoDB.");
+            }
+        };
+    }
+
+    /**
+     * ALTER TABLE ... ADD INDEX, skipped if an index with that name exists. Tries an online
+     * (in-place, non-locking) build first and falls back to a plain ALTER for engines that
+     * do not support it, such as a MyISAM table that has not been converted yet.
+     */
+    private static Step indexStep(final String table, final String indexName, final String alterSql) {
+        return new Step() {
+            @Override
+            String getSql() {
+                return alterSql + ONLINE_DDL;
+            }
+
+            @Override
+            void apply(Connection conn) throws SQLException {
+                if (indexExists(conn, table, indexName)) return;
+                try (Statement stmt = conn.createStatement()) {
+                    try {
+                        stmt.executeUpdate(alterSql + ONLINE_DDL);
+                    } catch (SQLException e) {
+                        if (e.getErrorCode() != ER_ALTER_OPERATION_NOT_SUPPORTED
+                                && e.getErrorCode() != ER_ALTER_OPERATION_NOT_SUPPORTED_REASON) {
+                            throw e;
+                        }
+                        stmt.executeUpdate(alterSql);
+                    }
+                }
+            }
+        };
+    }
+
+    static boolean indexExists(Connection conn, String table, String indexName) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT 1 FROM information_schema.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ?")) {
+            ps.setString(1, table);
+            ps.setString(2, indexName);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.eduportal.dao;
+
+import java.util.List;
+
+/**
+ * DAOs that can return rows in primary-key order one page at a time.
+ * Uses keyset pagination (WHERE id > ? ORDER BY id LIMIT ?), so every page costs
+ * the same index range scan no matter how deep into the table it is.
+ */
+public interface PagedDAO<T> {
+
+    /**
+     * Retrieves up to limit objects whose primary key is greater than afterId, in key order.
+     * Pass 0 for the first page and the key of the last row received for the next one.
+     */
+    List<T> page(int afterId, int limit);
+
+    /** Returns the primary key used as the pagination cursor for an object. */
+    int getId(T object);
+}
@@ -0,0 +1,210 @@
+package com.eduportal.dao;
+
+import com.eduportal.util.LatencyHistogram;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Per-query statistics collected by InstrumentedConnection: execution count, latency histogram,
+ * rows and errors for every (calling DAO method, SQL template) pair.
+ *
+ * Prepared statements are keyed by their SQL as written; SQL run through a plain Statement has its
+ * literals replaced by '?' first, so ad-hoc queries that differ only in values share one entry.
+ * At most MAX_TEMPLATES entries are kept; further ones are folded into a single "(other)" entry.
+ */
+public class QueryMetrics implements QueryMetricsMBean {
+
+    /** Set -Deduportal.jdbc.metrics=false to hand out connections without the instrumenting proxy. */
+    static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("eduportal.jdbc.metrics"));
+    private static final int MAX_TEMPLATES = Integer.getInteger("eduportal.jdbc.maxTemplates", 1000);
+    private static final String OBJECT_NAME = "com.eduportal:type=QueryMetrics";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ConcurrentHashMap<String, QueryStats> stats = new ConcurrentHashMap<>();
+    private final QueryStats overflow = new QueryStats("(other)", "(other)");
+
+    private QueryMetrics() {}
+
+    private static class SingletonHelper {
+        private static final QueryMetrics INSTANCE = register(new QueryMetrics());
+    }
+
+    public static QueryMetrics getInstance() {
+        return SingletonHelper.INSTANCE;
+    }
+
+    private static QueryMetrics register(QueryMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Could not register " + OBJECT_NAME + ": " + e.getMessage());
+        }
+        return metrics;
+    }
+
+    /** The entry for a caller and SQL, created on first use. */
+    QueryStats statsFor(String caller, String sql) {
+        String key = caller + '\n' + sql;
+        QueryStats existing = stats.get(key);
+        if (existing != null) return existing;
+        if (stats.size() >= MAX_TEMPLATES) return overflow;
+        QueryStats created = new QueryStats(caller, sql);
+        existing = stats.putIfAbsent(key, created);
+        return existing != null ? existing : created;
+    }
+
+    /** Replaces literal values with '?' and collapses whitespace, turning ad-hoc SQL into a template. */
+    static String toTemplate(String sql) {
+        String template = STRING_LITERAL.matcher(sql).replaceAll("?");
+        template = NUMBER_LITERAL.matcher(template).replaceAll("?");
+        return WHITESPACE.matcher(template).replaceAll(" ").trim();
+    }
+
+    /** Point-in-time copy of every entry, slowest total time first. */
+    public List<QuerySnapshot> snapshot() {
+        List<QuerySnapshot> snapshots = new ArrayList<>();
+        for (QueryStats s : stats.values()) {
+            snapshots.add(s.snapshot());
+        }
+        if (overflow.count.sum() > 0) snapshots.add(overflow.snapshot());
+        Collections.sort(snapshots, new Comparator<QuerySnapshot>() {
+            @Override
+            public int compare(QuerySnapshot a, QuerySnapshot b) {
+                return Double.compare(b.getTotalMillis(), a.getTotalMillis());
+            }
+        });
+        return snapshots;
+    }
+
+    // --- QueryMetricsMBean ---
+
+    @Override
+    public long getTotalQueries() {
+        long total = overflow.count.sum();
+        for (QueryStats s : stats.values()) {
+            total += s.count.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getTotalErrors() {
+        long total = overflow.errors.sum();
+        for (QueryStats s : stats.values()) {
+            total += s.errors.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public int getTemplateCount() {
+        return stats.size();
+    }
+
+    @Override
+    public String[] getQueries() {
+        List<QuerySnapshot> snapshots = snapshot();
+        String[] lines = new String[snapshots.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = snapshots.get(i).toString();
+        }
+        return lines;
+    }
+
+    @Override
+    public String getSlowQueryLog() {
+        return SlowQueryLog.getStatsSummary();
+    }
+
+    @Override
+    public void reset() {
+        stats.clear();
+        overflow.reset();
+    }
+
+    /** Live counters for one caller and SQL template. */
+    static final class QueryStats {
+        final String caller;
+        final String sql;
+        final LongAdder count = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+
+        QueryStats(String caller, String sql) {
+            this.caller = caller;
+            this.sql = sql;
+        }
+
+        void record(long nanos, boolean failed) {
+            count.increment();
+            totalNanos.add(nanos);
+            latency.record(nanos);
+            if (failed) errors.increment();
+        }
+
+        QuerySnapshot snapshot() {
+            return new QuerySnapshot(caller, sql, count.sum(), errors.sum(), rows.sum(),
+                    totalNanos.sum() / 1e6, latency.getPercentileMillis(50), latency.getPercentileMillis(99));
+        }
+
+        void reset() {
+            count.reset();
+            errors.reset();
+            rows.reset();
+            totalNanos.reset();
+            latency.reset();
+        }
+    }
+
+    /** Immutable copy of one entry's figures. */
+    public static final class QuerySnapshot {
+        private final String caller;
+        private final String sql;
+        private final long count;
+        private final long errors;
+        private final long rows;
+        private final double totalMillis;
+        private final double p50Millis;
+        private final double p99Millis;
+
+        QuerySnapshot(String caller, String sql, long count, long errors, long rows,
+                      double totalMillis, double p50Millis, double p99Millis) {
+            this.caller = caller;
+            this.sql = sql;
+            this.count = count;
+            this.errors = errors;
+            this.rows = rows;
+            this.totalMillis = totalMillis;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+        }
+
+        public String getCaller() { return caller; }
+        public String getSql() { return sql; }
+        public long getCount() { return count; }
+        public long getErrors() { return errors; }
+        public long getRows() { return rows; }
+        public double getTotalMillis() { return totalMillis; }
+        public double getP50Millis() { return p50Millis; }
+        public double getP99Millis() { return p99Millis; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: count=%d, errors=%d, rows=%d, total=%.1fms, p50=%.2fms, p99=%.2fms | %s",
+                    caller, count, errors, rows, totalMillis, p50Millis, p99Millis, sql);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.eduportal.dao;
+
+/**
+ * JMX view of QueryMetrics, registered as com.eduportal:type=QueryMetrics
+ * (browse it with jconsole or VisualVM).
+ */
+public interface QueryMetricsMBean {
+
+    long getTotalQueries();
+
+    long getTotalErrors();
+
+    int getTemplateCount();
+
+    /** One line per caller and SQL template, slowest total time first. */
+    String[] getQueries();
+
+    /** Threshold and logged/dropped counts of the slow-query log. */
+    String getSlowQueryLog();
+
+    void reset();
+}
@@ -0,0 +1,69 @@
+package com.eduportal.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Streams query results row by row instead of buffering the whole ResultSet on the client.
+ * A positive fetch size uses a MySQL server-side cursor (useCursorFetch) that pulls that many
+ * rows per round trip; zero or less falls back to Connector/J row-at-a-time streaming.
+ * Either way, heap use stays constant regardless of table size.
+ */
+final class ResultSetCursor {
+
+    /** Default rows per fetch; override with -Deduportal.cursor.fetchSize. */
+    static final int DEFAULT_FETCH_SIZE = Integer.getInteger("eduportal.cursor.fetchSize", 1000);
+
+    /** Maps the first column of a row as a String, e.g. for single-column key scans. */
+    static final RowMapper<String> FIRST_STRING = new RowMapper<String>() {
+        @Override
+        public String map(ResultSet rs) throws SQLException {
+            return rs.getString(1);
+        }
+    };
+
+    private ResultSetCursor() {}
+
+    /**
+     * Runs the query and hands each mapped row to the callback.
+     * @return The number of rows delivered to the callback.
+     */
+    static <T> int stream(String sql, int fetchSize, RowMapper<T> mapper, RowCallback<T> callback, Object... params) {
+        try {
+            return streamOrThrow(sql, fetchSize, mapper, callback, params);
+        } catch (SQLException e) {
+            System.err.println("Cursor error (" + sql + "): " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Same as stream(), but failures reach the caller, for loads that must not mistake an
+     * unreachable database for an empty table.
+     */
+    static <T> int streamOrThrow(String sql, int fetchSize, RowMapper<T> mapper, RowCallback<T> callback,
+                                 Object... params) throws SQLException {
+        int delivered = 0;
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) throw new SQLException("Database connection unavailable");
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(fetchSize > 0 ? fetchSize : Integer.MIN_VALUE);
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    delivered++;
+                    if (!callback.onRow(mapper.map(rs))) {
+                        // With a server-side cursor, closing early just releases the cursor
+                        break;
+                    }
+                }
+            }
+        }
+        return delivered;
+    }
+}
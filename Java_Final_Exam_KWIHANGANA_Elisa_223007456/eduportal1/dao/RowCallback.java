@@ -0,0 +1,13 @@
+package com.eduportal.dao;
+
+/**
+ * Receives rows one at a time from a streaming DAO cursor (see BaseDAO.forEach).
+ */
+public interface RowCallback<T> {
+
+    /**
+     * Handles one row.
+     * @return true to keep reading, false to stop the cursor early.
+     */
+    boolean onRow(T row);
+}
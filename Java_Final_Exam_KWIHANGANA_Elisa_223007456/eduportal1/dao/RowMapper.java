@@ -0,0 +1,12 @@
+package com.eduportal.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converts the current ResultSet row into a model object.
+ */
+public interface RowMapper<T> {
+
+    T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,159 @@
+package com.eduportal.dao;
+
+import static com.eduportal.dao.Migration.addColumn;
+import static com.eduportal.dao.Migration.addIndex;
+import static com.eduportal.dao.Migration.addUniqueKey;
+import static com.eduportal.dao.Migration.convertToInnoDB;
+import static com.eduportal.dao.Migration.sql;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The schema history of the portal, oldest first. Applied migrations must never be edited;
+ * every schema change is a new migration appended with the next version number.
+ */
+public final class SchemaMigrations {
+
+    static final String GRADE_UNIQUE_KEY = "uq_grade_student_assignment";
+    static final String ENROLLMENT_STUDENT_INDEX = "idx_enrollment_student_course_status";
+    static final String GRADE_STUDENT_INDEX = "idx_grade_student_assignment_score";
+    static final String ENROLLMENT_UNIQUE_KEY = "uq_enrollment_student_course";
+    static final String ENROLLMENT_COURSE_INDEX = "idx_enrollment_course_status_student";
+
+    private SchemaMigrations() {}
+
+    public static List<Migration> all() {
+        return Arrays.asList(
+
+            // V1: the original tables (no-op on databases restored from the dump)
+            new Migration(1, "Baseline tables",
+                sql("CREATE TABLE IF NOT EXISTS admin (" +
+                        "AdminID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                        "Username VARCHAR(50) NOT NULL UNIQUE, " +
+                        "Password VARCHAR(255) NOT NULL, " +
+                        "full_name VARCHAR(255), " +
+                        "CreatedAt DATETIME DEFAULT CURRENT_TIMESTAMP)"),
+                sql("CREATE TABLE IF NOT EXISTS student (" +
+                        "StudentID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                        "Username VARCHAR(50) NOT NULL UNIQUE, " +
+                        "Password VARCHAR(255) NOT NULL, " +
+                        "Role VARCHAR(50) DEFAULT 'Student', " +
+                        "full_name VARCHAR(255), " +
+                        "email VARCHAR(255), " +
+                        "course_name VARCHAR(255), " +
+                        "CreatedAt DATETIME DEFAULT CURRENT_TIMESTAMP)"),
+                sql("CREATE TABLE IF NOT EXISTS instructor (" +
+                        "InstructorID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                        "Username VARCHAR(50) NOT NULL UNIQUE, " +
+                        "Password VARCHAR(255) NOT NULL, " +
+                        "Role VARCHAR(50) DEFAULT 'Instructor', " +
+                        "Name VARCHAR(255), " +
+                        "Identifier VARCHAR(50), " +
+                        "Status VARCHAR(50) DEFAULT 'Active', " +
+                        "Location VARCHAR(255), " +
+                        "Contact VARCHAR(255), " +
+                        "AssignedSince DATETIME DEFAULT CURRENT_TIMESTAMP)"),
+                sql("CREATE TABLE IF NOT EXISTS course (" +
+                        "CourseID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                        "course_name VARCHAR(255), " +
+                        "course_code VARCHAR(255), " +
+                        "credits INT DEFAULT 3, " +
+                        "InstructorID INT, " +
+                        "CreatedAt DATETIME DEFAULT CURRENT_TIMESTAMP, " +
+                        "FOREIGN KEY (InstructorID) REFERENCES instructor(InstructorID))"),
+                sql("CREATE TABLE IF NOT EXISTS enrollment (" +
+                        "EnrollmentID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                        "StudentID INT NOT NULL, " +
+                        "CourseID INT NOT NULL, " +
+                        "Status VARCHAR(50) DEFAULT 'Registered', " +
+                        "EnrollDate DATETIME DEFAULT CURRENT_TIMESTAMP, " +
+                        "FOREIGN KEY (StudentID) REFERENCES student(StudentID), " +
+                        "FOREIGN KEY (CourseID) REFERENCES course(CourseID))"),
+                sql("CREATE TABLE IF NOT EXISTS assignment (" +
+                        "AssignmentID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                        "CourseID INT NOT NULL, " +
+                        "Title VARCHAR(255), " +
+                        "DueDate DATETIME, " +
+                        "FOREIGN KEY (CourseID) REFERENCES course(CourseID))"),
+                sql("CREATE TABLE IF NOT EXISTS grade (" +
+                        "GradeID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                        "StudentID INT NOT NULL, " +
+                        "AssignmentID INT NOT NULL, " +
+                        "Score DECIMAL(5,2), " +
+                        "LetterGrade VARCHAR(5), " +
+                        "CreatedAt DATETIME DEFAULT CURRENT_TIMESTAMP, " +
+                        "FOREIGN KEY (StudentID) REFERENCES student(StudentID), " +
+                        "FOREIGN KEY (AssignmentID) REFERENCES assignment(AssignmentID))")),
+
+            // V2: one grade per student per assignment (needed by GradeDAO.upsertScores).
+            // Duplicates are collapsed first, keeping the most recent GradeID for each pair.
+            new Migration(2, "Unique grade per student and assignment",
+                sql("DELETE g1 FROM grade g1 JOIN grade g2 " +
+                        "ON g1.StudentID = g2.StudentID AND g1.AssignmentID = g2.AssignmentID AND g1.GradeID < g2.GradeID"),
+                addUniqueKey("grade", GRADE_UNIQUE_KEY, "StudentID, AssignmentID")),
+
+            // V3: the dump creates MyISAM tables (table locks, no transactions, no online DDL)
+            new Migration(3, "Move tables to InnoDB",
+                convertToInnoDB("admin"),
+                convertToInnoDB("student"),
+                convertToInnoDB("instructor"),
+                convertToInnoDB("course"),
+                convertToInnoDB("enrollment"),
+                convertToInnoDB("assignment"),
+                convertToInnoDB("grade")),
+
+            // V4: covering indexes for the student dashboard. The driving table of each join is read
+            // from the index alone; course/assignment/instructor are then primary key lookups, which
+            // InnoDB serves from the clustered index. Verify with IndexBenchmark.
+            new Migration(4, "Covering indexes for student dashboard queries",
+                addIndex("enrollment", ENROLLMENT_STUDENT_INDEX, "StudentID, CourseID, Status"),
+                addIndex("grade", GRADE_STUDENT_INDEX, "StudentID, AssignmentID, Score, LetterGrade")),
+
+            // V5: per-student GPA totals maintained by GradeDAO (see StudentGpaDAO), backfilled from existing grades
+            new Migration(5, "Student GPA summary table",
+                sql("CREATE TABLE IF NOT EXISTS student_gpa (" +
+                        "StudentID INT NOT NULL PRIMARY KEY, " +
+                        "quality_points DECIMAL(10,2) NOT NULL DEFAULT 0, " +
+                        "credits INT NOT NULL DEFAULT 0, " +
+                        "grade_count INT NOT NULL DEFAULT 0, " +
+                        "UpdatedAt DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP) ENGINE=InnoDB"),
+                sql("DELETE FROM student_gpa"),
+                sql("INSERT INTO student_gpa (StudentID, quality_points, credits, grade_count) " +
+                        "SELECT g.StudentID, " +
+                        "SUM(CASE WHEN g.Score >= 90 THEN 4 WHEN g.Score >= 80 THEN 3 WHEN g.Score >= 70 THEN 2 " +
+                        "WHEN g.Score >= 60 THEN 1 ELSE 0 END * c.credits), SUM(c.credits), COUNT(*) " +
+                        "FROM grade g " +
+                        "JOIN assignment a ON a.AssignmentID = g.AssignmentID " +
+                        "JOIN course c ON c.CourseID = a.CourseID " +
+                        "GROUP BY g.StudentID")),
+            // V6: seat limits for EnrollmentService. One enrollment row per student and course (a dropped
+            // student re-enrolls by reactivating the row); capacity NULL means unlimited. The course index
+            // lets the service load a course's seat holders from the index alone. Of duplicate rows the
+            // newest seat-holding one survives, or the newest row when all of them are Dropped.
+            new Migration(6, "Enrollment capacity and unique enrollments",
+                sql("DELETE e1 FROM enrollment e1 JOIN enrollment e2 " +
+                        "ON e1.StudentID = e2.StudentID AND e1.CourseID = e2.CourseID " +
+                        "AND (" + holdsSeat("e2") + " > " + holdsSeat("e1") + " OR (" + holdsSeat("e2") + " = " +
+                        holdsSeat("e1") + " AND e1.EnrollmentID < e2.EnrollmentID))"),
+                addUniqueKey("enrollment", ENROLLMENT_UNIQUE_KEY, "StudentID, CourseID"),
+                addIndex("enrollment", ENROLLMENT_COURSE_INDEX, "CourseID, Status, StudentID"),
+                addColumn("course", "capacity", "INT NULL DEFAULT NULL")),
+            // V7: per-course waitlists; WaitlistID is the queue order, so the head of a course's queue
+            // is one index seek on (CourseID, WaitlistID) however long the waitlist gets
+            new Migration(7, "Course waitlists",
+                sql("CREATE TABLE IF NOT EXISTS waitlist (" +
+                        "WaitlistID INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                        "CourseID INT NOT NULL, " +
+                        "StudentID INT NOT NULL, " +
+                        "JoinedAt DATETIME DEFAULT CURRENT_TIMESTAMP, " +
+                        "UNIQUE KEY uq_waitlist_course_student (CourseID, StudentID), " +
+                        "KEY idx_waitlist_course_order (CourseID, WaitlistID)) ENGINE=InnoDB"))
+        );
+    }
+
+    // 1 when the aliased enrollment row holds a seat (any status but Dropped), else 0
+    private static String holdsSeat(String alias) {
+        return "IFNULL(" + alias + ".Status <> 'Dropped', 0)";
+    }
+}
@@ -0,0 +1,175 @@
+package com.eduportal.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies pending migrations in version order and records each one in the schema_version table.
+ *
+ * - Already applied migrations are checked against their recorded checksum; a mismatch stops
+ *   the run, since it means a shipped migration was edited instead of adding a new one.
+ * - A MySQL named lock keeps two application instances from migrating the same database at once.
+ * - MySQL commits DDL implicitly, so a migration is recorded only after all its steps succeeded;
+ *   a failed migration is retried from its first step on the next start.
+ */
+public class SchemaMigrator {
+
+    private static final String CREATE_VERSION_TABLE_SQL = "CREATE TABLE IF NOT EXISTS schema_version ("
+            + "version INT NOT NULL PRIMARY KEY, "
+            + "description VARCHAR(255) NOT NULL, "
+            + "checksum CHAR(64) NOT NULL, "
+            + "execution_ms INT NOT NULL, "
+            + "installed_on DATETIME DEFAULT CURRENT_TIMESTAMP) ENGINE=InnoDB";
+    private static final String SELECT_APPLIED_SQL = "SELECT version, checksum FROM schema_version ORDER BY version";
+    private static final String INSERT_VERSION_SQL =
+            "INSERT INTO schema_version (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)";
+
+    private static final String LOCK_NAME = "eduportal_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    private final List<Migration> migrations;
+
+    public SchemaMigrator(List<Migration> migrations) {
+        List<Migration> sorted = new ArrayList<>(migrations);
+        Collections.sort(sorted, new Comparator<Migration>() {
+            @Override
+            public int compare(Migration a, Migration b) {
+                return Integer.compare(a.getVersion(), b.getVersion());
+            }
+        });
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getVersion() == sorted.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Duplicate migration version " + sorted.get(i).getVersion());
+            }
+        }
+        this.migrations = sorted;
+    }
+
+    /**
+     * Brings the database up to the newest migration.
+     * @return The number of migrations applied by this call.
+     * @throws SQLException if the database is unreachable, a checksum does not match or a step fails.
+     */
+    public int migrate() throws SQLException {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) throw new SQLException("Database connection unavailable");
+
+        try (Connection c = conn) {
+            try (Statement stmt = c.createStatement()) {
+                stmt.executeUpdate(CREATE_VERSION_TABLE_SQL);
+            }
+            acquireLock(c);
+            try {
+                Map<Integer, String> applied = readApplied(c);
+                validate(applied);
+
+                int count = 0;
+                for (Migration migration : migrations) {
+                    if (applied.containsKey(migration.getVersion())) continue;
+                    apply(c, migration);
+                    count++;
+                }
+                return count;
+            } finally {
+                releaseLock(c);
+            }
+        }
+    }
+
+    /** Highest version recorded in schema_version, or 0 for an unmigrated database. */
+    public int getCurrentVersion() throws SQLException {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) throw new SQLException("Database connection unavailable");
+
+        try (Connection c = conn;
+             Statement stmt = c.createStatement()) {
+            stmt.executeUpdate(CREATE_VERSION_TABLE_SQL);
+            try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        System.out.println("Applying migration " + migration + "...");
+        long start = System.nanoTime();
+        for (Migration.Step step : migration.getSteps()) {
+            try {
+                step.apply(conn);
+            } catch (SQLException e) {
+                throw new SQLException("Migration " + migration + " failed at: " + step.getSql()
+                        + " (" + e.getMessage() + ")", e.getSQLState(), e.getErrorCode(), e);
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1000000;
+
+        try (PreparedStatement ps = conn.prepareStatement(INSERT_VERSION_SQL)) {
+            ps.setInt(1, migration.getVersion());
+            ps.setString(2, migration.getDescription());
+            ps.setString(3, migration.getChecksum());
+            ps.setLong(4, elapsedMs);
+            ps.executeUpdate();
+        }
+        System.out.println("Migration " + migration + " applied in " + elapsedMs + " ms.");
+    }
+
+    private void validate(Map<Integer, String> applied) throws SQLException {
+        Map<Integer, Migration> known = new LinkedHashMap<>();
+        for (Migration migration : migrations) {
+            known.put(migration.getVersion(), migration);
+        }
+        for (Map.Entry<Integer, String> entry : applied.entrySet()) {
+            Migration migration = known.get(entry.getKey());
+            if (migration == null) {
+                // Database was migrated by a newer build; keep going with what this build knows
+                System.err.println("Schema version " + entry.getKey() + " is not known to this build.");
+                continue;
+            }
+            if (!migration.getChecksum().equals(entry.getValue())) {
+                throw new SQLException("Migration " + migration + " was changed after it was applied "
+                        + "(recorded checksum " + entry.getValue() + ", current " + migration.getChecksum() + ")");
+            }
+        }
+    }
+
+    private Map<Integer, String> readApplied(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_APPLIED_SQL)) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    private void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Another instance is migrating the schema (lock " + LOCK_NAME + " busy)");
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection conn) {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException e) {
+            System.err.println("Could not release migration lock: " + e.getMessage());
+        }
+    }
+}
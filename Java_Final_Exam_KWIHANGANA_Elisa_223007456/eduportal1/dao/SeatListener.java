@@ -0,0 +1,17 @@
+package com.eduportal.dao;
+
+/**
+ * Notified after a committed change moved seats in a course outside EnrollmentService:
+ * an enrollment was deleted or dropped, or a waitlisted student was promoted into the freed seat.
+ * Called on the thread that committed the change; implementations must be quick and thread-safe.
+ */
+public interface SeatListener {
+
+    void seatReleased(int courseID, int studentID);
+
+    /**
+     * @param latencyNanos time from the start of the transaction that freed the seat
+     *                     until the promotion was committed.
+     */
+    void studentPromoted(int courseID, int studentID, long waitlistID, long latencyNanos);
+}
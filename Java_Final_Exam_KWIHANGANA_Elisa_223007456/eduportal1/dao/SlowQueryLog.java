@@ -0,0 +1,199 @@
+package com.eduportal.dao;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Writes statements slower than eduportal.slowlog.thresholdMs to a rotating log file together with
+ * their caller, duration and MySQL EXPLAIN plan, so full scans show up without enabling the server's
+ * slow log. Fed by InstrumentedConnection, so it is off when -Deduportal.jdbc.metrics=false.
+ *
+ * Bind values are used to run the EXPLAIN but never written: the log shows only their types, and
+ * SQL from plain Statements is logged as its literal-free template. EXPLAIN and file writes happen on
+ * one background thread with a bounded queue (overflow is counted and dropped), on a connection that
+ * is not itself instrumented. A template's plan is captured at most once per explainIntervalMs and
+ * reused in between.
+ */
+final class SlowQueryLog {
+
+    /** Executions at or above this are logged; 0 or less turns the log off. */
+    static final long THRESHOLD_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("eduportal.slowlog.thresholdMs", 200));
+
+    private static final String FILE_PATTERN = System.getProperty("eduportal.slowlog.file", "logs/slow-query.%g.log");
+    private static final int FILE_LIMIT_BYTES = Integer.getInteger("eduportal.slowlog.fileBytes", 10 * 1024 * 1024);
+    private static final int FILE_COUNT = Integer.getInteger("eduportal.slowlog.files", 5);
+    private static final long EXPLAIN_INTERVAL_MS = Long.getLong("eduportal.slowlog.explainIntervalMs", 60 * 1000L);
+    private static final int QUEUE = 1000;
+
+    private static final AtomicLong LOGGED = new AtomicLong();
+    private static final AtomicLong DROPPED = new AtomicLong();
+
+    // Last plan per template, with the time it was captured
+    private static final ConcurrentHashMap<String, CachedPlan> PLANS = new ConcurrentHashMap<>();
+
+    private SlowQueryLog() {}
+
+    static boolean isEnabled() {
+        return THRESHOLD_NANOS > 0;
+    }
+
+    /**
+     * Queues a slow execution for logging.
+     * @param template SQL as logged (no literal values)
+     * @param sql SQL to EXPLAIN; may carry literals, never logged
+     * @param params bind values by position (index 0 = parameter 1), or null
+     * @param explain false for batches and other executions that have no single plan
+     */
+    static void record(final String caller, final String template, final String sql, final Object[] params,
+                       final long nanos, final boolean failed, final boolean explain) {
+        try {
+            Writer.EXECUTOR.execute(new Runnable() {
+                @Override
+                public void run() {
+                    String plan = explain ? planFor(template, sql, params) : "(not explained)";
+                    Writer.log(caller, template, describe(params), nanos, failed, plan);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            DROPPED.incrementAndGet();
+        }
+    }
+
+    static String getStatsSummary() {
+        return "SlowQueryLog[thresholdMs=" + TimeUnit.NANOSECONDS.toMillis(THRESHOLD_NANOS)
+                + ", logged=" + LOGGED.get() + ", dropped=" + DROPPED.get() + "]";
+    }
+
+    // Types only, e.g. [String, Integer, null]: enough to read the plan, nothing sensitive
+    private static String describe(Object[] params) {
+        if (params == null || params.length == 0) return "[]";
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(params[i] == null ? "null" : params[i].getClass().getSimpleName());
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String planFor(String template, String sql, Object[] params) {
+        String verb = sql.trim().toUpperCase(Locale.ROOT);
+        if (!verb.startsWith("SELECT") && !verb.startsWith("UPDATE") && !verb.startsWith("DELETE")) {
+            return "(no plan for this statement type)";
+        }
+        long now = System.currentTimeMillis();
+        CachedPlan cached = PLANS.get(template);
+        if (cached != null && now - cached.capturedAt < EXPLAIN_INTERVAL_MS) return cached.plan;
+
+        String plan;
+        try {
+            plan = explain(sql, params);
+        } catch (SQLException e) {
+            plan = "(EXPLAIN failed: " + e.getMessage() + ")";
+        }
+        PLANS.put(template, new CachedPlan(plan, now));
+        return plan;
+    }
+
+    private static String explain(String sql, Object[] params) throws SQLException {
+        // Borrowed straight from the pool so the EXPLAIN is not itself timed and logged
+        try (Connection conn = DatabaseConnector.getPool().borrow();
+             PreparedStatement ps = conn.prepareStatement("EXPLAIN " + sql)) {
+            if (params != null) {
+                for (int i = 0; i < params.length; i++) {
+                    ps.setObject(i + 1, params[i]);
+                }
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    if ("ALL".equalsIgnoreCase(rs.getString("type"))) plan.append("FULL SCAN ");
+                    for (int c = 1; c <= meta.getColumnCount(); c++) {
+                        if (c > 1) plan.append(", ");
+                        plan.append(meta.getColumnLabel(c)).append('=').append(rs.getString(c));
+                    }
+                    plan.append(System.lineSeparator()).append("    ");
+                }
+            }
+            return plan.toString().trim();
+        }
+    }
+
+    private static final class CachedPlan {
+        final String plan;
+        final long capturedAt;
+
+        CachedPlan(String plan, long capturedAt) {
+            this.plan = plan;
+            this.capturedAt = capturedAt;
+        }
+    }
+
+    // Lazily started on the first slow statement, so an idle log costs no thread or file handle
+    private static final class Writer {
+        static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(QUEUE), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread t = new Thread(r, "eduportal-slowlog");
+                        t.setDaemon(true);
+                        return t;
+                    }
+                });
+
+        static final FileHandler HANDLER = openHandler();
+
+        private static FileHandler openHandler() {
+            try {
+                File parent = new File(FILE_PATTERN).getAbsoluteFile().getParentFile();
+                if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                    System.err.println("Could not create slow query log directory " + parent);
+                }
+                FileHandler handler = new FileHandler(FILE_PATTERN, FILE_LIMIT_BYTES, FILE_COUNT, true);
+                handler.setFormatter(new Formatter() {
+                    @Override
+                    public String format(LogRecord record) {
+                        return record.getMessage() + System.lineSeparator();
+                    }
+                });
+                return handler;
+            } catch (IOException e) {
+                System.err.println("Slow query log unavailable (" + FILE_PATTERN + "): " + e.getMessage());
+                return null;
+            }
+        }
+
+        static void log(String caller, String template, String params, long nanos, boolean failed, String plan) {
+            String timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date());
+            String entry = String.format("%s %.1fms%s %s%n  sql:    %s%n  params: %s%n  plan:   %s%n",
+                    timestamp, nanos / 1e6, failed ? " FAILED" : "", caller, template, params, plan);
+            LOGGED.incrementAndGet();
+            if (HANDLER == null) {
+                System.err.print("[slow query] " + entry);
+                return;
+            }
+            HANDLER.publish(new LogRecord(Level.WARNING, entry));
+            HANDLER.flush();
+        }
+    }
+}
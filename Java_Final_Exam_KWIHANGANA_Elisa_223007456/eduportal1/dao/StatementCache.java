@@ -0,0 +1,199 @@
+package com.eduportal.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-connection LRU cache of prepared statements keyed by SQL text.
+ * Because pooled connections outlive DAO instances, every DAO that prepares the same
+ * static SQL (SELECT_BY_ID_SQL, INSERT_SQL, ...) reuses one server-side statement handle.
+ * Hit, miss and eviction counters are aggregated across all connections.
+ */
+public class StatementCache {
+
+    // --- Global Metrics (all pooled connections) ---
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    private final Connection connection;
+    private final int maxSize;
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    StatementCache(Connection connection, int maxSize) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        // Access-ordered map: iteration starts at the least recently used statement
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns a statement for the SQL, reusing the cached handle when it is free.
+     * Closing the returned statement releases it back to the cache instead of closing it.
+     * @param owner The pooled connection proxy the caller holds; getConnection() on the statement returns it.
+     */
+    PreparedStatement prepare(Connection owner, String sql, int autoGeneratedKeys) throws SQLException {
+        if (maxSize <= 0) {
+            MISSES.incrementAndGet();
+            return new CachedStatement(connection.prepareStatement(sql, autoGeneratedKeys), false).checkOut(owner);
+        }
+
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K:" + sql : sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            HITS.incrementAndGet();
+            return cached.checkOut(owner);
+        }
+
+        MISSES.incrementAndGet();
+        PreparedStatement ps = connection.prepareStatement(sql, autoGeneratedKeys);
+        if (cached != null) {
+            // Same SQL is already open on this connection (nested use); hand out an uncached copy
+            return new CachedStatement(ps, false).checkOut(owner);
+        }
+
+        cached = new CachedStatement(ps, true);
+        statements.put(key, cached);
+        evictOverflow();
+        return cached.checkOut(owner);
+    }
+
+    /** Closes every cached statement; called when the physical connection is destroyed. */
+    void closeAll() {
+        for (CachedStatement cached : statements.values()) {
+            cached.closePhysical();
+        }
+        statements.clear();
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    private void evictOverflow() {
+        if (statements.size() <= maxSize) return;
+        Iterator<CachedStatement> it = statements.values().iterator();
+        List<CachedStatement> evicted = new ArrayList<>();
+        while (statements.size() - evicted.size() > maxSize && it.hasNext()) {
+            CachedStatement candidate = it.next();
+            if (!candidate.inUse) {
+                evicted.add(candidate);
+                it.remove();
+            }
+        }
+        for (CachedStatement cached : evicted) {
+            EVICTIONS.incrementAndGet();
+            cached.closePhysical();
+        }
+    }
+
+    // --- Metrics Getters ---
+    public static long getHitCount() { return HITS.get(); }
+    public static long getMissCount() { return MISSES.get(); }
+    public static long getEvictionCount() { return EVICTIONS.get(); }
+
+    public static double getHitRate() {
+        long hits = HITS.get();
+        long total = hits + MISSES.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public static String getStatsSummary() {
+        return String.format("StatementCache[hits=%d, misses=%d, evictions=%d, hitRate=%.1f%%]",
+                getHitCount(), getMissCount(), getEvictionCount(), getHitRate() * 100);
+    }
+
+    /**
+     * A physical statement plus the proxy that intercepts close() and getConnection(). Cached
+     * statements are reset and kept on close; uncached ones (nested use, cache disabled) are closed.
+     */
+    private static class CachedStatement implements InvocationHandler {
+        private final PreparedStatement statement;
+        private final PreparedStatement proxy;
+        private final boolean cached;
+        // Driver defaults, restored on close so one borrower's settings never reach the next
+        private final int defaultFetchSize;
+        private final int defaultMaxRows;
+        private final int defaultQueryTimeout;
+        private Connection owner;
+        private boolean inUse;
+
+        CachedStatement(PreparedStatement statement, boolean cached) throws SQLException {
+            this.statement = statement;
+            this.cached = cached;
+            this.defaultFetchSize = statement.getFetchSize();
+            this.defaultMaxRows = statement.getMaxRows();
+            this.defaultQueryTimeout = statement.getQueryTimeout();
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    this);
+        }
+
+        PreparedStatement checkOut(Connection owner) {
+            this.owner = owner;
+            inUse = true;
+            return proxy;
+        }
+
+        @Override
+        public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("close".equals(name)) {
+                if (inUse) {
+                    inUse = false;
+                    owner = null;
+                    if (cached) {
+                        reset();
+                    } else {
+                        statement.close();
+                    }
+                }
+                return null;
+            }
+            if ("isClosed".equals(name)) {
+                return !inUse || statement.isClosed();
+            }
+            if ("equals".equals(name)) return p == args[0];
+            if ("hashCode".equals(name)) return System.identityHashCode(p);
+            if ("toString".equals(name)) return "CachedStatement[" + statement + "]";
+            if (!inUse) {
+                throw new SQLException("Statement has already been closed.");
+            }
+            if ("getConnection".equals(name)) return owner;
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void reset() throws SQLException {
+            statement.clearParameters();
+            statement.clearBatch();
+            if (statement.getFetchSize() != defaultFetchSize) statement.setFetchSize(defaultFetchSize);
+            if (statement.getMaxRows() != defaultMaxRows) statement.setMaxRows(defaultMaxRows);
+            if (statement.getQueryTimeout() != defaultQueryTimeout) statement.setQueryTimeout(defaultQueryTimeout);
+        }
+
+        void closePhysical() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // Connection is going away; the server frees the handle with it
+            }
+        }
+    }
+}
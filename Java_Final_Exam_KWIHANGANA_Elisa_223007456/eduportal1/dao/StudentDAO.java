@@ -1,8 +1,10 @@
 package com.eduportal.dao;
 
 import com.eduportal.model.Student;
+import com.eduportal.util.PasswordHasher;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Date;
 
@@ -10,7 +12,7 @@ import java.util.Date;
  * Data Access Object for the Student entity.
  * FIXED: Resolved constructor mismatch and optimized resource management.
  */
-public class StudentDAO implements BaseDAO<Student> {
+public class StudentDAO implements BaseDAO<Student>, PagedDAO<Student> {
 
     // --- SQL Statements - Updated to lowercase 'student' ---
     private static final String INSERT_SQL = "INSERT INTO student (Username, Password, Role, full_name, email, course_name, CreatedAt) VALUES (?, ?, ?, ?, ?, ?, ?)";
@@ -19,6 +21,60 @@ public class StudentDAO implements BaseDAO<Student> {
     private static final String SELECT_BY_USERNAME_SQL = "SELECT StudentID, Username, Password, Role, full_name, email, course_name, CreatedAt FROM student WHERE Username = ?";
     private static final String UPDATE_SQL = "UPDATE student SET Username=?, Password=?, Role=?, full_name=?, email=?, course_name=? WHERE StudentID=?";
     private static final String DELETE_SQL = "DELETE FROM student WHERE StudentID=?";
+    private static final String UPDATE_PASSWORD_SQL = "UPDATE student SET Password=? WHERE StudentID=? AND Password=?";
+    private static final String SELECT_USERNAMES_SQL = "SELECT Username FROM student";
+    private static final String SELECT_PAGE_SQL = "SELECT StudentID, Username, Password, Role, full_name, email, course_name, CreatedAt FROM student WHERE StudentID > ? ORDER BY StudentID LIMIT ?";
+
+    // --- Parameter Binders (shared by single-row and batched writes) ---
+    private static final BatchExecutor.Binder<Student> INSERT_BINDER = new BatchExecutor.Binder<Student>() {
+        @Override
+        void bind(PreparedStatement ps, Student student) throws SQLException {
+            KnownUsernames.record(KnownUsernames.STUDENT, student.getUsername());
+            ps.setString(1, student.getUsername());
+            // Hashed by the caller before the connection was borrowed; this only guards against plain text
+            ps.setString(2, PasswordHasher.hashIfPlain(student.getPassword()));
+            ps.setString(3, student.getRole());
+            ps.setString(4, student.getfull_name());
+            ps.setString(5, student.getemail());
+            ps.setString(6, student.getcourse_name());
+            ps.setTimestamp(7, new Timestamp(student.getCreatedAt() != null ? student.getCreatedAt().getTime() : System.currentTimeMillis()));
+        }
+
+        @Override
+        void onGeneratedKey(Student student, int key) {
+            student.setStudentID(key);
+        }
+    };
+
+    private static final BatchExecutor.Binder<Student> UPDATE_BINDER = new BatchExecutor.Binder<Student>() {
+        @Override
+        void bind(PreparedStatement ps, Student student) throws SQLException {
+            KnownUsernames.record(KnownUsernames.STUDENT, student.getUsername());
+            ps.setString(1, student.getUsername());
+            // Hashed by the caller before the connection was borrowed; this only guards against plain text
+            ps.setString(2, PasswordHasher.hashIfPlain(student.getPassword()));
+            ps.setString(3, student.getRole());
+            ps.setString(4, student.getfull_name());
+            ps.setString(5, student.getemail());
+            ps.setString(6, student.getcourse_name());
+            ps.setInt(7, student.getStudentID());
+        }
+    };
+
+    private static final BatchExecutor.Binder<Student> DELETE_BINDER = new BatchExecutor.Binder<Student>() {
+        @Override
+        void bind(PreparedStatement ps, Student student) throws SQLException {
+            ps.setInt(1, student.getStudentID());
+        }
+    };
+
+    // Maps rows for the streaming and paged reads
+    private final RowMapper<Student> rowMapper = new RowMapper<Student>() {
+        @Override
+        public Student map(ResultSet rs) throws SQLException {
+            return extractStudentFromResultSet(rs);
+        }
+    };
 
     /**
      * Helper method to convert a ResultSet row into a Student object.
@@ -38,17 +94,12 @@ public class StudentDAO implements BaseDAO<Student> {
 
     @Override
     public boolean insert(Student student) {
+        Student row = withHashedPassword(student);
+        if (row == null) return false;
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
             
-            ps.setString(1, student.getUsername());
-            ps.setString(2, student.getPassword());
-            ps.setString(3, student.getRole());
-            ps.setString(4, student.getfull_name());
-            ps.setString(5, student.getemail());
-            ps.setString(6, student.getcourse_name());
-            ps.setTimestamp(7, new Timestamp(student.getCreatedAt() != null ? student.getCreatedAt().getTime() : System.currentTimeMillis()));
-            
+            INSERT_BINDER.bind(ps, row);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -100,17 +151,12 @@ public class StudentDAO implements BaseDAO<Student> {
     
     @Override
     public boolean update(Student student) {
+        Student row = withHashedPassword(student);
+        if (row == null) return false;
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement ps = conn.prepareStatement(UPDATE_SQL)) {
             
-            ps.setString(1, student.getUsername());
-            ps.setString(2, student.getPassword());
-            ps.setString(3, student.getRole());
-            ps.setString(4, student.getfull_name());
-            ps.setString(5, student.getemail());
-            ps.setString(6, student.getcourse_name());
-            ps.setInt(7, student.getStudentID());
-            
+            UPDATE_BINDER.bind(ps, row);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -130,6 +176,134 @@ public class StudentDAO implements BaseDAO<Student> {
         }
     }
 
+    // --- Streaming Cursor ---
+
+    @Override
+    public int forEach(RowCallback<Student> callback) {
+        return forEach(callback, ResultSetCursor.DEFAULT_FETCH_SIZE);
+    }
+
+    @Override
+    public int forEach(RowCallback<Student> callback, int fetchSize) {
+        return ResultSetCursor.stream(SELECT_ALL_SQL, fetchSize, rowMapper, callback);
+    }
+
+    /** Streams every username; unlike forEach, a failed read is reported rather than looking like an empty table. */
+    public int forEachUsername(RowCallback<String> callback) throws SQLException {
+        return ResultSetCursor.streamOrThrow(SELECT_USERNAMES_SQL, ResultSetCursor.DEFAULT_FETCH_SIZE,
+                ResultSetCursor.FIRST_STRING, callback);
+    }
+
+    // --- Keyset Pagination ---
+
+    @Override
+    public List<Student> page(int afterId, int limit) {
+        List<Student> students = new ArrayList<>();
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SELECT_PAGE_SQL)) {
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    students.add(rowMapper.map(rs));
+                }
+            }
+        } catch (SQLException e) { e.printStackTrace(); }
+        return students;
+    }
+
+    @Override
+    public int getId(Student object) {
+        return object.getStudentID();
+    }
+
+    // --- Batched Writes ---
+
+    @Override
+    public BatchResult insertAll(Collection<Student> students) {
+        List<Student> rows = withHashedPasswords(students);
+        BatchResult result = BatchExecutor.execute(INSERT_SQL, rows, true, INSERT_BINDER);
+        copyGeneratedKeys(students, rows);
+        return result;
+    }
+
+    @Override
+    public BatchResult updateAll(Collection<Student> students) {
+        return BatchExecutor.execute(UPDATE_SQL, withHashedPasswords(students), false, UPDATE_BINDER);
+    }
+
+    @Override
+    public BatchResult deleteAll(Collection<Student> students) {
+        return BatchExecutor.execute(DELETE_SQL, students, false, DELETE_BINDER);
+    }
+
+    // Single-row counterpart of withHashedPasswords(): hashes on the pool before a connection is borrowed,
+    // and writes a copy so the caller's object keeps the password it was given. Null if hashing failed.
+    private static Student withHashedPassword(Student student) {
+        String password = student.getPassword();
+        if (password == null || PasswordHasher.isHashed(password)) return student;
+        Student row = new Student(student);
+        try {
+            row.setPassword(PasswordHasher.hashOnPool(password));
+        } catch (IllegalStateException e) {
+            System.err.println("Could not hash password for student " + student.getUsername() + ": " + e.getMessage());
+            return null;
+        }
+        return row;
+    }
+
+    // Hashes plain-text passwords on the hashing pool up front, so the binder finds them done
+    // and the batch transaction does not hold its connection through the KDF work. Rows whose
+    // password changes are copies, as in withHashedPassword().
+    private static List<Student> withHashedPasswords(Collection<Student> students) {
+        List<String> plain = new ArrayList<>(students.size());
+        for (Student student : students) {
+            plain.add(student.getPassword());
+        }
+        List<String> hashed = PasswordHasher.hashAll(plain);
+        List<Student> rows = new ArrayList<>(students.size());
+        int i = 0;
+        for (Student student : students) {
+            String hash = hashed.get(i++);
+            if (hash == null || hash.equals(student.getPassword())) {
+                rows.add(student);
+                continue;
+            }
+            Student row = new Student(student);
+            row.setPassword(hash);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // insertAll() sets generated keys on the rows it wrote; hand them back to the caller's objects
+    private static void copyGeneratedKeys(Collection<Student> students, List<Student> rows) {
+        int i = 0;
+        for (Student student : students) {
+            Student row = rows.get(i++);
+            if (row != student) student.setStudentID(row.getStudentID());
+        }
+    }
+
+    /**
+     * Replaces a password hash only if it still equals the expected value, so a concurrent
+     * password change is never overwritten by an on-login rehash.
+     */
+    public boolean updatePasswordHash(int studentID, String expected, String hash) {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) return false;
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(UPDATE_PASSWORD_SQL)) {
+            ps.setString(1, hash);
+            ps.setInt(2, studentID);
+            ps.setString(3, expected);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
     // --- Specialized Dashboard Methods ---
 
     public List<Student> getStudentsByCourse(String courseName) {
@@ -0,0 +1,215 @@
+package com.eduportal.dao;
+
+import com.eduportal.model.StudentGpa;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reads and maintains the student_gpa summary table (quality points and credits per student).
+ *
+ * GradeDAO refreshes the rows of the students a write touched inside the same transaction,
+ * so a GPA read is a single primary key lookup. Rows are recomputed from that student's
+ * grades rather than adjusted by deltas, which keeps them exact when course credits change.
+ * rebuildAll() recomputes every row after changes made outside the DAOs.
+ *
+ * Concurrent writers for the same student are serialized on that student's student_gpa row:
+ * writers lock it (lockStudents) before touching grades, and the recompute is a locking read,
+ * so it sees every committed grade rather than the transaction's snapshot.
+ */
+public class StudentGpaDAO {
+
+    // Must stay in step with GradeDAO.calculateGPAPoints
+    private static final String POINTS_SQL =
+            "CASE WHEN g.Score >= 90 THEN 4 WHEN g.Score >= 80 THEN 3 WHEN g.Score >= 70 THEN 2 WHEN g.Score >= 60 THEN 1 ELSE 0 END";
+    private static final String AGGREGATE_SQL = "SELECT g.StudentID, SUM(" + POINTS_SQL + " * c.credits) AS quality_points, "
+            + "SUM(c.credits) AS credits, COUNT(*) AS grade_count "
+            + "FROM grade g "
+            + "JOIN assignment a ON a.AssignmentID = g.AssignmentID "
+            + "JOIN course c ON c.CourseID = a.CourseID ";
+    // Locking read: under REPEATABLE READ a plain SELECT could miss grades committed by another writer
+    private static final String LOCKING_READ = " LOCK IN SHARE MODE";
+
+    private static final String SELECT_BY_STUDENT_SQL =
+            "SELECT StudentID, quality_points, credits, grade_count FROM student_gpa WHERE StudentID = ?";
+    private static final String UPSERT_SQL = "INSERT INTO student_gpa (StudentID, quality_points, credits, grade_count) "
+            + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE quality_points = VALUES(quality_points), "
+            + "credits = VALUES(credits), grade_count = VALUES(grade_count)";
+    // Creates missing rows and takes an exclusive lock on existing ones in one statement
+    private static final String LOCK_ROWS_SQL = "INSERT INTO student_gpa (StudentID) VALUES %s "
+            + "ON DUPLICATE KEY UPDATE StudentID = StudentID";
+    private static final String STUDENTS_BY_COURSE_SQL = "SELECT DISTINCT g.StudentID FROM grade g "
+            + "JOIN assignment a ON a.AssignmentID = g.AssignmentID WHERE a.CourseID = ?";
+    private static final String STUDENTS_BY_ASSIGNMENT_SQL = "SELECT DISTINCT StudentID FROM grade WHERE AssignmentID = ?";
+
+    // Students per IN (...) list when refreshing many at once
+    static final int CHUNK_SIZE = 500;
+
+    /**
+     * Returns the stored totals for a student (empty totals if the student has no grades),
+     * or null if the table could not be read.
+     */
+    public StudentGpa getByStudentID(int studentID) {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) return null;
+
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(SELECT_BY_STUDENT_SQL)) {
+            ps.setInt(1, studentID);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new StudentGpa(rs.getInt("StudentID"), rs.getDouble("quality_points"),
+                            rs.getInt("credits"), rs.getInt("grade_count"));
+                }
+            }
+            return StudentGpa.empty(studentID);
+        } catch (SQLException e) {
+            System.err.println("GPA lookup error: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Recomputes the students who have grades in a course (e.g. after its credits changed). */
+    public boolean refreshCourse(int courseID) {
+        return refreshStudentsOf(STUDENTS_BY_COURSE_SQL, courseID);
+    }
+
+    /** Recomputes the students who have grades for an assignment (e.g. after it moved to another course). */
+    public boolean refreshAssignment(int assignmentID) {
+        return refreshStudentsOf(STUDENTS_BY_ASSIGNMENT_SQL, assignmentID);
+    }
+
+    /** Recomputes the whole table in one transaction. */
+    public boolean rebuildAll() {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) return false;
+
+        try (Connection c = conn;
+             Statement stmt = c.createStatement()) {
+            c.setAutoCommit(false);
+            try {
+                stmt.executeUpdate("DELETE FROM student_gpa");
+                stmt.executeUpdate("INSERT INTO student_gpa (StudentID, quality_points, credits, grade_count) "
+                        + AGGREGATE_SQL + "GROUP BY g.StudentID");
+                c.commit();
+                return true;
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private boolean refreshStudentsOf(String studentsSql, int id) {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) return false;
+
+        try (Connection c = conn) {
+            Set<Integer> studentIDs = new LinkedHashSet<>();
+            try (PreparedStatement ps = c.prepareStatement(studentsSql)) {
+                ps.setInt(1, id);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        studentIDs.add(rs.getInt(1));
+                    }
+                }
+            }
+            // Lock, recompute and write in one transaction so the locks hold until the upsert commits
+            c.setAutoCommit(false);
+            try {
+                refreshStudents(c, studentIDs);
+                c.commit();
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Locks the student_gpa rows of the given students (creating missing ones) until the caller's
+     * transaction ends. Grade writers call this before writing grades, so two transactions changing
+     * the same student's grades run one after the other. Ids are locked in ascending order.
+     */
+    static void lockStudents(Connection conn, Collection<Integer> studentIDs) throws SQLException {
+        List<Integer> ids = new ArrayList<>(new TreeSet<>(studentIDs));
+        for (int start = 0; start < ids.size(); start += CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(start, Math.min(start + CHUNK_SIZE, ids.size()));
+            StringBuilder rows = new StringBuilder();
+            for (int i = 0; i < chunk.size(); i++) {
+                rows.append(i == 0 ? "(?)" : ", (?)");
+            }
+            try (PreparedStatement ps = conn.prepareStatement(String.format(LOCK_ROWS_SQL, rows))) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setInt(i + 1, chunk.get(i));
+                }
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Recomputes the rows of the given students on the caller's connection, so it joins the
+     * caller's transaction. Students left without grades get zero totals. Locks the students
+     * first (a no-op if the caller already did) and aggregates with a locking read.
+     */
+    static void refreshStudents(Connection conn, Collection<Integer> studentIDs) throws SQLException {
+        lockStudents(conn, studentIDs);
+        List<Integer> ids = new ArrayList<>(new TreeSet<>(studentIDs));
+        for (int start = 0; start < ids.size(); start += CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(start, Math.min(start + CHUNK_SIZE, ids.size()));
+
+            Map<Integer, StudentGpa> totals = new HashMap<>();
+            try (PreparedStatement ps = conn.prepareStatement(AGGREGATE_SQL
+                    + "WHERE g.StudentID IN (" + placeholders(chunk.size()) + ") GROUP BY g.StudentID" + LOCKING_READ)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        int studentID = rs.getInt("StudentID");
+                        totals.put(studentID, new StudentGpa(studentID, rs.getDouble("quality_points"),
+                                rs.getInt("credits"), rs.getInt("grade_count")));
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(UPSERT_SQL)) {
+                for (Integer studentID : chunk) {
+                    StudentGpa gpa = totals.containsKey(studentID) ? totals.get(studentID) : StudentGpa.empty(studentID);
+                    ps.setInt(1, studentID);
+                    ps.setDouble(2, gpa.getQualityPoints());
+                    ps.setInt(3, gpa.getCredits());
+                    ps.setInt(4, gpa.getGradeCount());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+    }
+
+    static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+}
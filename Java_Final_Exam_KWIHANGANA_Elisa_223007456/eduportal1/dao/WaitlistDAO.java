@@ -0,0 +1,174 @@
+package com.eduportal.dao;
+
+import com.eduportal.model.WaitlistEntry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-course waitlists (table waitlist, ordered by WaitlistID).
+ *
+ * Promotion moves the head of a course's queue into a freed seat: the waitlist row is deleted and
+ * the enrollment registered in one transaction, under a lock on the course row so concurrent drops
+ * in the same course never promote more students than there are seats.
+ */
+public class WaitlistDAO {
+
+    private static final String INSERT_SQL = "INSERT INTO waitlist (CourseID, StudentID, JoinedAt) VALUES (?, ?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM waitlist WHERE CourseID = ? AND StudentID = ?";
+    private static final String DELETE_BY_ID_SQL = "DELETE FROM waitlist WHERE WaitlistID = ?";
+    private static final String SELECT_QUEUE_SQL =
+            "SELECT WaitlistID, CourseID, StudentID, JoinedAt FROM waitlist WHERE CourseID = ? ORDER BY WaitlistID";
+    // Head of the queue: one seek on idx_waitlist_course_order, locked until the promotion commits
+    private static final String SELECT_HEAD_SQL =
+            "SELECT WaitlistID, CourseID, StudentID, JoinedAt FROM waitlist WHERE CourseID = ? ORDER BY WaitlistID LIMIT ? FOR UPDATE";
+    // Locks the course row, serializing promotions per course (as EnrollmentDAO.enrollAll does)
+    private static final String LOCK_CAPACITY_SQL = "SELECT capacity FROM course WHERE CourseID = ? FOR UPDATE";
+    // Taken seats as a locking read: a plain subquery would count from the transaction's snapshot
+    private static final String LOCK_SEAT_COUNT_SQL = "SELECT COUNT(*) FROM enrollment WHERE CourseID = ? AND Status <> '"
+            + EnrollmentDAO.STATUS_DROPPED + "' LOCK IN SHARE MODE";
+
+    private static final BatchExecutor.Binder<WaitlistEntry> INSERT_BINDER = new BatchExecutor.Binder<WaitlistEntry>() {
+        @Override
+        void bind(PreparedStatement ps, WaitlistEntry entry) throws SQLException {
+            ps.setInt(1, entry.getCourseID());
+            ps.setInt(2, entry.getStudentID());
+            ps.setTimestamp(3, new Timestamp(entry.getJoinedAt().getTime()));
+        }
+
+        @Override
+        void onGeneratedKey(WaitlistEntry entry, int key) {
+            entry.setWaitlistID(key);
+        }
+    };
+
+    /** Appends entries to their courses' queues in one transaction; WaitlistIDs are set on success. */
+    public BatchResult joinAll(Collection<WaitlistEntry> entries) {
+        return BatchExecutor.execute(INSERT_SQL, entries, true, INSERT_BINDER);
+    }
+
+    /** Removes a student from a course's waitlist; false if they were not on it. */
+    public boolean leave(int studentID, int courseID) {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) return false;
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(DELETE_SQL)) {
+            ps.setInt(1, courseID);
+            ps.setInt(2, studentID);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /** A course's waitlist, head first. */
+    public List<WaitlistEntry> getQueue(int courseID) throws SQLException {
+        List<WaitlistEntry> queue = new ArrayList<>();
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) throw new SQLException("Database connection unavailable");
+        try (Connection c = conn;
+             PreparedStatement ps = c.prepareStatement(SELECT_QUEUE_SQL)) {
+            ps.setInt(1, courseID);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    queue.add(extractEntry(rs));
+                }
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * Fills up to maxSeats free seats of a course from its waitlist in a transaction of its own,
+     * e.g. after the capacity was raised. Listeners are notified after the commit.
+     * @return the promoted entries, head first; empty if nothing was promoted or on error.
+     */
+    public List<WaitlistEntry> promoteNext(int courseID, int maxSeats) {
+        long startNanos = System.nanoTime();
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) return Collections.emptyList();
+        List<WaitlistEntry> promoted;
+        try (Connection c = conn) {
+            c.setAutoCommit(false);
+            try {
+                promoted = promote(c, courseID, maxSeats);
+                c.commit();
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Waitlist promotion failed for course " + courseID + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+        EnrollmentDAO.firePromoted(promoted, startNanos);
+        return promoted;
+    }
+
+    /**
+     * Promotes up to maxSeats students inside the caller's transaction, never past the course capacity.
+     * Used by EnrollmentDAO when an update or delete frees seats, and by promoteNext().
+     */
+    static List<WaitlistEntry> promote(Connection conn, int courseID, int maxSeats) throws SQLException {
+        int seats = maxSeats;
+        try (PreparedStatement lock = conn.prepareStatement(LOCK_CAPACITY_SQL);
+             PreparedStatement count = conn.prepareStatement(LOCK_SEAT_COUNT_SQL)) {
+            int capacity;
+            lock.setInt(1, courseID);
+            try (ResultSet rs = lock.executeQuery()) {
+                if (!rs.next()) return Collections.emptyList();
+                capacity = rs.getInt(1);
+                if (rs.wasNull()) capacity = EnrollmentDAO.UNLIMITED;
+            }
+            if (capacity != EnrollmentDAO.UNLIMITED) {
+                count.setInt(1, courseID);
+                try (ResultSet rs = count.executeQuery()) {
+                    rs.next();
+                    seats = Math.min(seats, capacity - rs.getInt(1));
+                }
+            }
+        }
+        if (seats <= 0) return Collections.emptyList();
+
+        List<WaitlistEntry> promoted = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_HEAD_SQL)) {
+            ps.setInt(1, courseID);
+            ps.setInt(2, seats);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    promoted.add(extractEntry(rs));
+                }
+            }
+        }
+        if (promoted.isEmpty()) return promoted;
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement enroll = conn.prepareStatement(EnrollmentDAO.ENROLL_SQL);
+             PreparedStatement dequeue = conn.prepareStatement(DELETE_BY_ID_SQL)) {
+            for (WaitlistEntry entry : promoted) {
+                enroll.setInt(1, entry.getStudentID());
+                enroll.setInt(2, entry.getCourseID());
+                enroll.setString(3, EnrollmentDAO.STATUS_REGISTERED);
+                enroll.setTimestamp(4, now);
+                enroll.addBatch();
+                dequeue.setInt(1, entry.getWaitlistID());
+                dequeue.addBatch();
+            }
+            enroll.executeBatch();
+            dequeue.executeBatch();
+        }
+        return promoted;
+    }
+
+    private static WaitlistEntry extractEntry(ResultSet rs) throws SQLException {
+        return new WaitlistEntry(rs.getInt("WaitlistID"), rs.getInt("CourseID"),
+                rs.getInt("StudentID"), rs.getTimestamp("JoinedAt"));
+    }
+}
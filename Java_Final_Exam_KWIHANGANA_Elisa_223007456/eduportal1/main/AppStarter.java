@@ -1,14 +1,19 @@
 package com.eduportal.main;
 
+import com.eduportal.dao.CourseSearchIndex;
 import com.eduportal.dao.DatabaseConnector;
+import com.eduportal.server.ApiServer;
 import com.eduportal.util.DataInitializer; // Import the new seeder
 import com.eduportal.view.LoginFrame;
+import com.eduportal.view.MonitoredEventQueue;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
+import java.io.IOException;
 
 /**
  * The main application starter class for the Education Portal System.
  * UPDATED: Performs a full database reset and data seeding on startup.
+ * Run with "--server [port]" to start the headless HTTP/JSON API instead of the Swing GUI.
  */
 public class AppStarter {
 
@@ -17,8 +22,26 @@ public class AppStarter {
         // 1. Rebuild and Seed Database
         // This ensures the new columns (full_name, credits) exist before the UI opens.
         System.out.println("Initializing System Components...");
+        DatabaseConnector.getInstance().migrateSchema();
         DataInitializer.seedData();
 
+        // Build the in-memory course search index now so the first search does not pay for it
+        if (CourseSearchIndex.getInstance().reload()) {
+            System.out.println("Course search index ready (" + CourseSearchIndex.getInstance().size() + " courses).");
+        }
+
+        // Headless mode: serve the DAO layer over HTTP for API clients; the Swing views still use JDBC directly
+        if (args.length > 0 && "--server".equals(args[0])) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : ApiServer.DEFAULT_PORT;
+            try {
+                new ApiServer(port).start();
+            } catch (IOException e) {
+                System.err.println("Could not start API server on port " + port + ": " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
         // 2. Set the Look and Feel for a modern look (Nimbus).
         try {
             for (UIManager.LookAndFeelInfo info : UIManager.getInstalledLookAndFeels()) {
@@ -35,6 +58,9 @@ public class AppStarter {
             }
         }
 
+        // Times EDT dispatches for Flight Recorder (com.eduportal.EdtTask events)
+        MonitoredEventQueue.install();
+
         // 3. Launch the GUI on the Event Dispatch Thread (EDT)
         SwingUtilities.invokeLater(new Runnable() {
             @Override
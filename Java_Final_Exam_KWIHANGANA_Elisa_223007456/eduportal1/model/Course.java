@@ -43,6 +43,18 @@ public class Course {
         this.createdAt = new Date();
     }
 
+    // --- Constructor 3: Copy (DAO caches hand out copies of their shared instances) ---
+    public Course(Course other) {
+        this.courseID = other.courseID;
+        this.attribute1 = other.attribute1;
+        this.attribute2 = other.attribute2;
+        this.attribute3 = other.attribute3;
+        this.instructorName = other.instructorName;
+        this.credits = other.credits;
+        this.enrollmentStatus = other.enrollmentStatus;
+        this.createdAt = other.createdAt != null ? new Date(other.createdAt.getTime()) : null;
+    }
+
     // --- UI DISPLAY LOGIC ---
     @Override
     public String toString() {
@@ -0,0 +1,61 @@
+package com.eduportal.model;
+
+/**
+ * Summary statistics of a set of scores (one assignment, one course or one section).
+ * Produced by GradeStatisticsEngine; all values are on the 0-100 score scale.
+ */
+public class GradeStatistics {
+
+    /** Letters of the letter-grade distribution, in the order of getLetterCounts(). */
+    public static final String[] LETTERS = {"A", "B", "C", "D", "F"};
+
+    /** Percentiles reported by getPercentiles(), in the same order. */
+    public static final int[] PERCENTILES = {10, 25, 50, 75, 90};
+
+    private final int count;
+    private final double mean;
+    private final double standardDeviation;
+    private final double min;
+    private final double max;
+    private final double[] percentiles;
+    private final int[] histogram;
+    private final int[] letterCounts;
+
+    public GradeStatistics(int count, double mean, double standardDeviation, double min, double max,
+                           double[] percentiles, int[] histogram, int[] letterCounts) {
+        this.count = count;
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
+        this.min = min;
+        this.max = max;
+        this.percentiles = percentiles;
+        this.histogram = histogram;
+        this.letterCounts = letterCounts;
+    }
+
+    public int getCount() { return count; }
+    public double getMean() { return mean; }
+    public double getStandardDeviation() { return standardDeviation; }
+    public double getMin() { return min; }
+    public double getMax() { return max; }
+
+    /** The 50th percentile. */
+    public double getMedian() {
+        return percentiles[2];
+    }
+
+    /** Values for PERCENTILES (10th, 25th, 50th, 75th, 90th). */
+    public double[] getPercentiles() { return percentiles.clone(); }
+
+    /** Ten buckets of width 10: [0,10), [10,20) ... [90,100]. */
+    public int[] getHistogram() { return histogram.clone(); }
+
+    /** Counts for LETTERS (A >= 90, B >= 80, C >= 70, D >= 60, F below). */
+    public int[] getLetterCounts() { return letterCounts.clone(); }
+
+    @Override
+    public String toString() {
+        return String.format("GradeStatistics[n=%d, mean=%.2f, median=%.2f, stddev=%.2f, min=%.2f, max=%.2f]",
+                count, mean, getMedian(), standardDeviation, min, max);
+    }
+}
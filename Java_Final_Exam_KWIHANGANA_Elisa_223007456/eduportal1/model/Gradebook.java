@@ -0,0 +1,149 @@
+package com.eduportal.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnar in-memory gradebook of one course: students are rows, assignments are columns.
+ * Scores live in a single float[] and letters in a byte[] (codes into a small per-gradebook
+ * dictionary), both indexed row * columnCount + column, so a 500 x 40 gradebook takes about
+ * 100 KB instead of one Grade object per cell.
+ *
+ * Not thread-safe: the grading UI owns it on the EDT; analytics take copies via getScores().
+ */
+public class Gradebook {
+
+    private static final byte NO_LETTER = 0;
+
+    private final int[] studentIds;
+    private final int[] assignmentIds;
+    private final float[] scores;
+    private final byte[] letters;
+    // Letter dictionary; code n refers to letterTable.get(n - 1), code 0 means "no letter"
+    private final List<String> letterTable = new ArrayList<String>();
+
+    // Sorted copies of the ids with their row/column positions, for binary-search lookups
+    private final int[] sortedStudentIds;
+    private final int[] studentRows;
+    private final int[] sortedAssignmentIds;
+    private final int[] assignmentColumns;
+
+    public Gradebook(int[] studentIds, int[] assignmentIds) {
+        this.studentIds = studentIds.clone();
+        this.assignmentIds = assignmentIds.clone();
+        this.scores = new float[studentIds.length * assignmentIds.length];
+        this.letters = new byte[scores.length];
+        Arrays.fill(scores, Float.NaN);
+
+        this.sortedStudentIds = new int[studentIds.length];
+        this.studentRows = new int[studentIds.length];
+        buildIndex(this.studentIds, sortedStudentIds, studentRows);
+        this.sortedAssignmentIds = new int[assignmentIds.length];
+        this.assignmentColumns = new int[assignmentIds.length];
+        buildIndex(this.assignmentIds, sortedAssignmentIds, assignmentColumns);
+    }
+
+    // --- Shape ---
+
+    public int getRowCount() { return studentIds.length; }
+    public int getColumnCount() { return assignmentIds.length; }
+    public int getStudentId(int row) { return studentIds[row]; }
+    public int getAssignmentId(int column) { return assignmentIds[column]; }
+
+    /** Row of a student, or -1 if the student is not in this gradebook. */
+    public int rowOf(int studentId) {
+        int i = Arrays.binarySearch(sortedStudentIds, studentId);
+        return i >= 0 ? studentRows[i] : -1;
+    }
+
+    /** Column of an assignment, or -1 if it is not in this gradebook. */
+    public int columnOf(int assignmentId) {
+        int i = Arrays.binarySearch(sortedAssignmentIds, assignmentId);
+        return i >= 0 ? assignmentColumns[i] : -1;
+    }
+
+    // --- Cells ---
+
+    public boolean hasScore(int row, int column) {
+        return !Float.isNaN(scores[cell(row, column)]);
+    }
+
+    /** The score, or NaN when the student has no grade for the assignment. */
+    public float getScore(int row, int column) {
+        return scores[cell(row, column)];
+    }
+
+    public void setScore(int row, int column, float score) {
+        scores[cell(row, column)] = score;
+    }
+
+    /** The letter grade, or null when none was recorded. */
+    public String getLetter(int row, int column) {
+        byte code = letters[cell(row, column)];
+        return code == NO_LETTER ? null : letterTable.get(code - 1);
+    }
+
+    public void setLetter(int row, int column, String letter) {
+        letters[cell(row, column)] = encodeLetter(letter);
+    }
+
+    /** Fills one cell by ids; grades of students or assignments outside the gradebook are ignored. */
+    public boolean put(int studentId, int assignmentId, float score, String letter) {
+        int row = rowOf(studentId);
+        int column = columnOf(assignmentId);
+        if (row < 0 || column < 0) return false;
+        setScore(row, column, score);
+        setLetter(row, column, letter);
+        return true;
+    }
+
+    // --- Analytics ---
+
+    /** Recorded scores of one assignment, as a fresh array (missing grades are left out). */
+    public double[] getScores(int column) {
+        double[] values = new double[studentIds.length];
+        int n = 0;
+        for (int row = 0; row < studentIds.length; row++) {
+            float score = scores[cell(row, column)];
+            if (!Float.isNaN(score)) values[n++] = score;
+        }
+        return Arrays.copyOf(values, n);
+    }
+
+    /** Approximate heap footprint of the arrays, in bytes. */
+    public long getEstimatedBytes() {
+        return 4L * (studentIds.length * 3 + assignmentIds.length * 3) + 4L * scores.length + letters.length;
+    }
+
+    private int cell(int row, int column) {
+        return row * assignmentIds.length + column;
+    }
+
+    private byte encodeLetter(String letter) {
+        if (letter == null) return NO_LETTER;
+        int index = letterTable.indexOf(letter);
+        if (index < 0) {
+            // Letter grades are a handful of short codes; a byte leaves room for 127 distinct values
+            if (letterTable.size() >= Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct letter grades in one gradebook");
+            }
+            letterTable.add(letter);
+            index = letterTable.size() - 1;
+        }
+        return (byte) (index + 1);
+    }
+
+    private static void buildIndex(int[] ids, int[] sortedIds, int[] positions) {
+        long[] packed = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            // High half: id, low half: position; sorting the longs sorts by id
+            packed[i] = ((long) ids[i] << 32) | (i & 0xffffffffL);
+        }
+        Arrays.sort(packed);
+        for (int i = 0; i < packed.length; i++) {
+            sortedIds[i] = (int) (packed[i] >> 32);
+            positions[i] = (int) packed[i];
+        }
+    }
+}
@@ -44,6 +44,13 @@ public class Instructor {
              contact, new Date());
     }
 
+    /** Copy constructor; DAO caches hand out copies of their shared instances. */
+    public Instructor(Instructor other) {
+        this(other.instructorID, other.username, other.password, other.role,
+             other.name, other.identifier, other.status, other.location,
+             other.contact, other.assignedSince != null ? new Date(other.assignedSince.getTime()) : null);
+    }
+
     /**
      * UPDATED: This method ensures the JComboBox displays the Name.
      */
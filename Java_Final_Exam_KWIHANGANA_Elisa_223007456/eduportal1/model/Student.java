@@ -47,6 +47,12 @@ public class Student {
         this(studentID, username, password, role, name, email, course, new Date());
     }
 
+    /** Copy constructor; StudentDAO writes a copy when it must change a field the caller owns. */
+    public Student(Student other) {
+        this(other.studentID, other.username, other.password, other.role, other.full_name, other.email,
+             other.course_name, other.createdAt != null ? new Date(other.createdAt.getTime()) : null);
+    }
+
     // --- THE FIX FOR JCOMBOBOX ---
     @Override
     public String toString() {
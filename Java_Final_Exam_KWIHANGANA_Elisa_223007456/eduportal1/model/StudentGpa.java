@@ -0,0 +1,40 @@
+package com.eduportal.model;
+
+/**
+ * A student's cumulative GPA totals, as kept in the student_gpa summary table.
+ * Every grade counts with the credits of its course: GPA = qualityPoints / credits.
+ */
+public class StudentGpa {
+
+    private int studentID;
+    private double qualityPoints;
+    private int credits;
+    private int gradeCount;
+
+    public StudentGpa(int studentID, double qualityPoints, int credits, int gradeCount) {
+        this.studentID = studentID;
+        this.qualityPoints = qualityPoints;
+        this.credits = credits;
+        this.gradeCount = gradeCount;
+    }
+
+    /** Totals for a student without any graded work. */
+    public static StudentGpa empty(int studentID) {
+        return new StudentGpa(studentID, 0, 0, 0);
+    }
+
+    public int getStudentID() { return studentID; }
+    public double getQualityPoints() { return qualityPoints; }
+    public int getCredits() { return credits; }
+    public int getGradeCount() { return gradeCount; }
+
+    /** Cumulative GPA on the 4.0 scale, 0 when no credits were earned. */
+    public double getGpa() {
+        return credits == 0 ? 0.0 : qualityPoints / credits;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StudentGpa[student=%d, gpa=%.2f, credits=%d]", studentID, getGpa(), credits);
+    }
+}
@@ -0,0 +1,38 @@
+package com.eduportal.model;
+
+import java.util.Date;
+
+/**
+ * A student's place in a course waitlist. Entries are served in WaitlistID order.
+ */
+public class WaitlistEntry {
+
+    private int waitlistID;
+    private int courseID;
+    private int studentID;
+    private Date joinedAt;
+
+    public WaitlistEntry(int waitlistID, int courseID, int studentID, Date joinedAt) {
+        this.waitlistID = waitlistID;
+        this.courseID = courseID;
+        this.studentID = studentID;
+        this.joinedAt = joinedAt;
+    }
+
+    /** A new entry; the WaitlistID is assigned when it is inserted. */
+    public WaitlistEntry(int courseID, int studentID) {
+        this(0, courseID, studentID, new Date());
+    }
+
+    public int getWaitlistID() { return waitlistID; }
+    public void setWaitlistID(int waitlistID) { this.waitlistID = waitlistID; }
+
+    public int getCourseID() { return courseID; }
+    public int getStudentID() { return studentID; }
+    public Date getJoinedAt() { return joinedAt; }
+
+    @Override
+    public String toString() {
+        return "WaitlistEntry[id=" + waitlistID + ", course=" + courseID + ", student=" + studentID + "]";
+    }
+}
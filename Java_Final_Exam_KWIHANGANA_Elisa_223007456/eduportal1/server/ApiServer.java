@@ -0,0 +1,719 @@
+package com.eduportal.server;
+
+import com.eduportal.dao.AssignmentDAO;
+import com.eduportal.dao.BatchResult;
+import com.eduportal.dao.ConnectionPool;
+import com.eduportal.dao.CourseDAO;
+import com.eduportal.dao.DatabaseConnector;
+import com.eduportal.dao.EnrollmentDAO;
+import com.eduportal.dao.GradeDAO;
+import com.eduportal.dao.QueryMetrics;
+import com.eduportal.dao.StudentDAO;
+import com.eduportal.dao.StudentGpaDAO;
+import com.eduportal.model.Admin;
+import com.eduportal.model.Assignment;
+import com.eduportal.model.Course;
+import com.eduportal.model.Enrollment;
+import com.eduportal.model.Grade;
+import com.eduportal.model.Instructor;
+import com.eduportal.model.Student;
+import com.eduportal.model.StudentGpa;
+import com.eduportal.service.AuthService;
+import com.eduportal.service.EnrollmentService;
+import com.eduportal.util.Json;
+import com.eduportal.util.PasswordHasher;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless HTTP/JSON front end over the DAO layer (AppStarter --server).
+ *
+ * - One JDK HttpServer; each exchange runs on its own virtual thread when the JVM has them
+ *   (JDK 21+), otherwise on a bounded platform-thread pool.
+ * - All requests share DatabaseConnector's pool, so thousands of clients are multiplexed onto
+ *   at most eduportal.pool.maxSize connections; excess requests wait in the pool's borrow queue.
+ * - Clients log in once (POST /api/login) and send "Authorization: Bearer <token>" afterwards.
+ *   Students may only read and enroll themselves; grade writes need an Instructor or Admin.
+ *
+ * Endpoints (all under /api):
+ *   GET  /health                          pool, cache and request counters (no login needed)
+ *   POST /login  {username,password,role}  POST /logout
+ *   GET  /students?after=&limit=          GET /students/{id}[/courses|/grades|/gpa]
+ *   GET  /courses[?q=]                    GET /courses/{id}[/students]
+ *   GET  /enrollments?after=&limit=       POST /enrollments {studentId,courseId[,waitlist]}
+ *   GET  /assignments/{id}/grades         PUT /assignments/{id}/grades {grades:[{studentId,score,letter}]}
+ *   GET  /metrics/queries                 per-query count, rows, errors and p50/p99 latency (Admin only)
+ */
+public class ApiServer {
+
+    public static final int DEFAULT_PORT = Integer.getInteger("eduportal.server.port", 8080);
+
+    private static final int BACKLOG = Integer.getInteger("eduportal.server.backlog", 1024);
+    // Platform-thread fallback: threads beyond the pool size would only queue for connections
+    private static final int FALLBACK_THREADS = Integer.getInteger("eduportal.server.threads", 200);
+    private static final int FALLBACK_QUEUE = Integer.getInteger("eduportal.server.queue", 10000);
+    private static final long SESSION_TTL_MS = Long.getLong("eduportal.server.sessionTtlMs", 8 * 60 * 60 * 1000L);
+    private static final int MAX_BODY_BYTES = 1 << 20;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String ROLE_ADMIN = "Admin";
+    private static final String ROLE_INSTRUCTOR = "Instructor";
+
+    private final int port;
+    private final StudentDAO studentDAO = new StudentDAO();
+    private final CourseDAO courseDAO = new CourseDAO();
+    private final EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
+    private final GradeDAO gradeDAO = new GradeDAO();
+    private final AssignmentDAO assignmentDAO = new AssignmentDAO();
+    private final StudentGpaDAO gpaDAO = new StudentGpaDAO();
+    private final AuthService authService = new AuthService();
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private boolean virtualThreads;
+
+    public ApiServer(int port) {
+        this.port = port;
+    }
+
+    // --- Lifecycle ---
+
+    public synchronized void start() throws IOException {
+        if (server != null) return;
+        server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        server.createContext("/api/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                dispatch(exchange);
+            }
+        });
+        executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.start();
+        System.out.println("API server listening on port " + getPort() + " ("
+                + (virtualThreads ? "virtual threads" : FALLBACK_THREADS + " request threads")
+                + ", " + DatabaseConnector.getPool().getMaxSize() + " DB connections max).");
+    }
+
+    /** Stops accepting requests, waits up to delaySeconds for running exchanges, then shuts down. */
+    public synchronized void stop(int delaySeconds) {
+        if (server == null) return;
+        server.stop(delaySeconds);
+        executor.shutdown();
+        server = null;
+        executor = null;
+    }
+
+    /** The bound port (useful when started on port 0). */
+    public synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() is JDK 21+; looked up reflectively so the
+    // project still compiles and runs on older JDKs with a bounded platform-thread pool.
+    private ExecutorService newRequestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            virtualThreads = true;
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            virtualThreads = false;
+        }
+        final AtomicInteger threadNumber = new AtomicInteger();
+        // CallerRunsPolicy pushes back on the HttpServer dispatcher once the queue is full
+        return new ThreadPoolExecutor(FALLBACK_THREADS, FALLBACK_THREADS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(FALLBACK_QUEUE), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread t = new Thread(r, "eduportal-api-" + threadNumber.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    }
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // --- Dispatch ---
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        inFlight.incrementAndGet();
+        try {
+            String method = exchange.getRequestMethod();
+            String[] path = pathSegments(exchange.getRequestURI().getRawPath());
+            Object body = route(exchange, method, path);
+            sendJson(exchange, 200, body);
+        } catch (ApiException e) {
+            sendError(exchange, e.status, e.getMessage());
+        } catch (Exception e) {
+            errorCount.incrementAndGet();
+            e.printStackTrace();
+            sendError(exchange, 500, "Internal server error");
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private Object route(HttpExchange exchange, String method, String[] path) throws Exception {
+        if (path.length == 0) throw new ApiException(404, "Not found");
+        String resource = path[0];
+
+        if ("health".equals(resource) && path.length == 1) {
+            requireMethod(method, "GET");
+            return health();
+        }
+        if ("login".equals(resource) && path.length == 1) {
+            requireMethod(method, "POST");
+            return login(readJson(exchange),
+                    exchange.getRemoteAddress().getAddress().getHostAddress());
+        }
+
+        Session session = requireSession(exchange);
+        if ("logout".equals(resource) && path.length == 1) {
+            requireMethod(method, "POST");
+            sessions.remove(session.token);
+            return message("Logged out");
+        }
+        if ("students".equals(resource)) return students(exchange, session, method, path);
+        if ("courses".equals(resource)) return courses(exchange, session, method, path);
+        if ("enrollments".equals(resource) && path.length == 1) return enrollments(exchange, session, method);
+        if ("assignments".equals(resource) && path.length == 3 && "grades".equals(path[2])) {
+            return assignmentGrades(exchange, session, method, parseId(path[1]));
+        }
+        if ("metrics".equals(resource) && path.length == 2 && "queries".equals(path[1])) {
+            requireMethod(method, "GET");
+            if (!ROLE_ADMIN.equals(session.role)) throw new ApiException(403, "Admin role required");
+            return queryMetrics();
+        }
+        throw new ApiException(404, "Not found");
+    }
+
+    // --- Auth ---
+
+    private Object login(Map<String, Object> request, String client) throws ApiException {
+        String username = requireString(request, "username");
+        String password = requireString(request, "password");
+        String role = requireString(request, "role");
+
+        // Through the bounded auth pool, so a login storm queues there instead of on the database
+        Object user;
+        try {
+            user = authService.authenticateAsync(username, password, role, client).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof AuthService.LoginThrottledException) {
+                long seconds = (((AuthService.LoginThrottledException) e.getCause()).getRetryAfterMillis() + 999) / 1000;
+                throw new ApiException(429, e.getCause().getMessage() + "; retry in " + seconds + "s");
+            }
+            throw new ApiException(503, e.getCause() instanceof RejectedExecutionException
+                    ? "Too many logins in progress, retry shortly" : "Database unavailable");
+        }
+        if (user == null) throw new ApiException(401, "Invalid username, password or role");
+
+        int userId;
+        String name;
+        if (user instanceof Admin) {
+            userId = ((Admin) user).getAdminID();
+            name = ((Admin) user).getFullName();
+        } else if (user instanceof Instructor) {
+            userId = ((Instructor) user).getInstructorID();
+            name = ((Instructor) user).getName();
+        } else {
+            userId = ((Student) user).getStudentID();
+            name = ((Student) user).getName();
+        }
+
+        purgeExpiredSessions();
+        byte[] tokenBytes = new byte[32];
+        random.nextBytes(tokenBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+        sessions.put(token, new Session(token, role, userId));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("token", token);
+        response.put("role", role);
+        response.put("id", userId);
+        response.put("name", name);
+        return response;
+    }
+
+    private Session requireSession(HttpExchange exchange) throws ApiException {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new ApiException(401, "Missing bearer token");
+        }
+        Session session = sessions.get(header.substring("Bearer ".length()).trim());
+        long now = System.currentTimeMillis();
+        if (session == null || now - session.lastSeen > SESSION_TTL_MS) {
+            if (session != null) sessions.remove(session.token);
+            throw new ApiException(401, "Session expired or unknown");
+        }
+        session.lastSeen = now;
+        return session;
+    }
+
+    private void purgeExpiredSessions() {
+        long now = System.currentTimeMillis();
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext(); ) {
+            if (now - it.next().lastSeen > SESSION_TTL_MS) it.remove();
+        }
+    }
+
+    private static void requireStaff(Session session) throws ApiException {
+        if (!session.isStaff()) throw new ApiException(403, "Instructor or Admin role required");
+    }
+
+    private static void requireSelfOrStaff(Session session, int studentID) throws ApiException {
+        if (!session.isStaff() && session.userId != studentID) {
+            throw new ApiException(403, "Students may only access their own records");
+        }
+    }
+
+    // --- Students ---
+
+    private Object students(HttpExchange exchange, Session session, String method, String[] path) throws Exception {
+        requireMethod(method, "GET");
+        if (path.length == 1) {
+            requireStaff(session);
+            Map<String, String> query = queryParams(exchange);
+            List<Object> rows = new ArrayList<>();
+            for (Student s : studentDAO.page(intParam(query, "after", 0), pageSize(query))) {
+                rows.add(toJson(s));
+            }
+            return rows;
+        }
+
+        int studentID = parseId(path[1]);
+        requireSelfOrStaff(session, studentID);
+        if (path.length == 2) {
+            Student student = studentDAO.getById(studentID);
+            if (student == null) throw new ApiException(404, "Student not found");
+            return toJson(student);
+        }
+        if (path.length == 3 && "courses".equals(path[2])) {
+            List<Object> rows = new ArrayList<>();
+            for (Course c : courseDAO.getCoursesByStudentID(studentID)) {
+                rows.add(toJson(c));
+            }
+            return rows;
+        }
+        if (path.length == 3 && "grades".equals(path[2])) {
+            List<Object> rows = new ArrayList<>();
+            for (Grade g : gradeDAO.getFinalGradesByStudentID(studentID)) {
+                rows.add(finalGradeToJson(g));
+            }
+            return rows;
+        }
+        if (path.length == 3 && "gpa".equals(path[2])) {
+            StudentGpa gpa = gpaDAO.getByStudentID(studentID);
+            if (gpa == null) throw new ApiException(503, "GPA totals unavailable");
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("studentId", gpa.getStudentID());
+            row.put("gpa", gpa.getGpa());
+            row.put("qualityPoints", gpa.getQualityPoints());
+            row.put("credits", gpa.getCredits());
+            row.put("gradeCount", gpa.getGradeCount());
+            return row;
+        }
+        throw new ApiException(404, "Not found");
+    }
+
+    // --- Courses ---
+
+    private Object courses(HttpExchange exchange, Session session, String method, String[] path) throws Exception {
+        requireMethod(method, "GET");
+        if (path.length == 1) {
+            String q = queryParams(exchange).get("q");
+            List<Course> courses = q == null || q.trim().isEmpty() ? courseDAO.getAll() : courseDAO.searchCourses(q);
+            List<Object> rows = new ArrayList<>();
+            for (Course c : courses) {
+                rows.add(toJson(c));
+            }
+            return rows;
+        }
+
+        int courseID = parseId(path[1]);
+        if (path.length == 2) {
+            Course course = courseDAO.getById(courseID);
+            if (course == null) throw new ApiException(404, "Course not found");
+            return toJson(course);
+        }
+        if (path.length == 3 && "students".equals(path[2])) {
+            requireStaff(session);
+            List<Object> rows = new ArrayList<>();
+            for (Student s : studentDAO.getStudentsByCourse(courseID)) {
+                rows.add(toJson(s));
+            }
+            return rows;
+        }
+        throw new ApiException(404, "Not found");
+    }
+
+    // --- Enrollments ---
+
+    private Object enrollments(HttpExchange exchange, Session session, String method) throws Exception {
+        if ("GET".equals(method)) {
+            requireStaff(session);
+            Map<String, String> query = queryParams(exchange);
+            List<Object> rows = new ArrayList<>();
+            for (Enrollment e : enrollmentDAO.page(intParam(query, "after", 0), pageSize(query))) {
+                rows.add(toJson(e));
+            }
+            return rows;
+        }
+        requireMethod(method, "POST");
+        Map<String, Object> request = readJson(exchange);
+        int studentID = requireInt(request, "studentId");
+        int courseID = requireInt(request, "courseId");
+        requireSelfOrStaff(session, studentID);
+
+        boolean waitlistIfFull = Boolean.TRUE.equals(request.get("waitlist"));
+        EnrollmentService service = EnrollmentService.getInstance();
+        EnrollmentService.Decision decision = service.enroll(studentID, courseID, waitlistIfFull);
+        switch (decision) {
+            case ENROLLED:
+            case WAITLISTED: break;
+            case COURSE_NOT_FOUND: throw new ApiException(404, decision.getMessage());
+            case ALREADY_ENROLLED:
+            case ALREADY_WAITLISTED:
+            case COURSE_FULL: throw new ApiException(409, decision.getMessage());
+            default: throw new ApiException(503, decision.getMessage());
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", decision == EnrollmentService.Decision.ENROLLED ? EnrollmentDAO.STATUS_REGISTERED : "Waitlisted");
+        if (decision == EnrollmentService.Decision.WAITLISTED) {
+            response.put("waitlistPosition", service.getWaitlistPosition(studentID, courseID));
+        }
+        response.put("studentId", studentID);
+        response.put("courseId", courseID);
+        return response;
+    }
+
+    // --- Grades ---
+
+    private Object assignmentGrades(HttpExchange exchange, Session session, String method, int assignmentID) throws Exception {
+        requireStaff(session);
+        Assignment assignment = assignmentDAO.getById(assignmentID);
+        if (assignment == null) throw new ApiException(404, "Assignment not found");
+        if (ROLE_INSTRUCTOR.equals(session.role)) {
+            Course course = courseDAO.getById(assignment.getCourseID());
+            if (course == null || course.getInstructorID() != session.userId) {
+                throw new ApiException(403, "Instructors may only access grades of their own courses");
+            }
+        }
+        if ("GET".equals(method)) {
+            List<Object> rows = new ArrayList<>();
+            for (Grade g : gradeDAO.getGradesByAssignment(assignmentID)) {
+                rows.add(toJson(g));
+            }
+            return rows;
+        }
+        requireMethod(method, "PUT");
+
+        Object grades = readJson(exchange).get("grades");
+        if (!(grades instanceof List)) throw new ApiException(400, "'grades' must be an array");
+        Set<Integer> enrolled = enrollmentDAO.getSeatHolders(assignment.getCourseID());
+        Map<Integer, Grade> scores = new LinkedHashMap<>();
+        for (Object item : (List<?>) grades) {
+            if (!(item instanceof Map)) throw new ApiException(400, "Each grade must be an object");
+            @SuppressWarnings("unchecked")
+            Map<String, Object> row = (Map<String, Object>) item;
+            int studentID = requireInt(row, "studentId");
+            double score = requireNumber(row, "score");
+            if (score < 0 || score > 100) {
+                throw new ApiException(400, "'score' must be between 0 and 100 (student " + studentID + ")");
+            }
+            if (!enrolled.contains(studentID)) {
+                throw new ApiException(400, "Student " + studentID + " is not enrolled in this course");
+            }
+            Object letter = row.get("letter");
+            scores.put(studentID, new Grade(0, studentID, assignmentID, null, score,
+                    letter == null ? "N/A" : letter.toString(), null));
+        }
+
+        BatchResult result = gradeDAO.upsertScores(assignmentID, scores);
+        if (!result.isCommitted()) {
+            throw new ApiException(500, "Grades were not saved: " + result.getErrorMessage());
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("rows", result.getRowCount());
+        response.put("saved", result.getSuccessCount());
+        response.put("failedRows", result.getFailedRows());
+        return response;
+    }
+
+    // --- Health ---
+
+    private Object health() {
+        ConnectionPool pool = DatabaseConnector.getPool();
+        Map<String, Object> poolStats = new LinkedHashMap<>();
+        poolStats.put("active", pool.getActiveCount());
+        poolStats.put("idle", pool.getIdleCount());
+        poolStats.put("total", pool.getTotalCount());
+        poolStats.put("max", pool.getMaxSize());
+        poolStats.put("pendingBorrowers", pool.getPendingBorrowers());
+        poolStats.put("timeouts", pool.getTimeoutCount());
+        poolStats.put("averageWaitMs", pool.getAverageWaitMillis());
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "UP");
+        response.put("virtualThreads", virtualThreads);
+        response.put("requests", requestCount.get());
+        response.put("errors", errorCount.get());
+        response.put("inFlight", inFlight.get());
+        response.put("sessions", sessions.size());
+        response.put("pool", poolStats);
+        response.put("courseCache", CourseDAO.getCacheStats());
+        response.put("enrollment", EnrollmentService.getInstance().getStatsSummary());
+        response.put("auth", AuthService.getStatsSummary());
+        response.put("passwordHashing", PasswordHasher.getStatsSummary());
+        response.put("queries", QueryMetrics.getInstance().getTotalQueries());
+        response.put("queryErrors", QueryMetrics.getInstance().getTotalErrors());
+        return response;
+    }
+
+    private Object queryMetrics() {
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (QueryMetrics.QuerySnapshot q : QueryMetrics.getInstance().snapshot()) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("caller", q.getCaller());
+            json.put("sql", q.getSql());
+            json.put("count", q.getCount());
+            json.put("errors", q.getErrors());
+            json.put("rows", q.getRows());
+            json.put("totalMs", q.getTotalMillis());
+            json.put("p50Ms", q.getP50Millis());
+            json.put("p99Ms", q.getP99Millis());
+            queries.add(json);
+        }
+        return queries;
+    }
+
+    // --- JSON Mapping (passwords are never exposed) ---
+
+    private static Map<String, Object> toJson(Student s) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", s.getStudentID());
+        row.put("username", s.getUsername());
+        row.put("name", s.getName());
+        row.put("email", s.getEmail());
+        return row;
+    }
+
+    private static Map<String, Object> toJson(Course c) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", c.getCourseID());
+        row.put("code", c.getCourseCode());
+        row.put("name", c.getCourseName());
+        row.put("credits", c.getCredits());
+        row.put("instructorId", c.getInstructorID());
+        row.put("instructorName", c.getInstructorName());
+        if (c.getEnrollmentStatus() != null) row.put("enrollmentStatus", c.getEnrollmentStatus());
+        return row;
+    }
+
+    private static Map<String, Object> toJson(Enrollment e) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", e.getEnrollmentID());
+        row.put("studentId", e.getStudentID());
+        row.put("courseId", e.getCourseID());
+        row.put("status", e.getStatus());
+        row.put("enrollDate", e.getEnrollDate());
+        return row;
+    }
+
+    private static Map<String, Object> toJson(Grade g) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", g.getGradeID());
+        row.put("studentId", g.getStudentID());
+        row.put("assignmentId", g.getAssignmentID());
+        row.put("score", g.getScore());
+        row.put("letter", g.getLetterGrade());
+        return row;
+    }
+
+    private static Map<String, Object> finalGradeToJson(Grade g) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("courseCode", g.getCourseCode());
+        row.put("courseName", g.getCourseName());
+        row.put("credits", g.getCredits());
+        row.put("score", g.getFinalScore());
+        row.put("letter", g.getFinalLetter());
+        row.put("semester", g.getSemester());
+        row.put("gpaPoints", g.getGpaPoints());
+        return row;
+    }
+
+    private static Map<String, Object> message(String text) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("message", text);
+        return row;
+    }
+
+    // --- HTTP Helpers ---
+
+    private static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", message);
+        body.put("status", status);
+        sendJson(exchange, status, body);
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException, ApiException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) throw new ApiException(413, "Request body too large");
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, Object> readJson(HttpExchange exchange) throws IOException, ApiException {
+        String body = readBody(exchange);
+        try {
+            return Json.parseObject(body);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, e.getMessage());
+        }
+    }
+
+    // "/api/students/7/grades" -> ["students", "7", "grades"]
+    private static String[] pathSegments(String rawPath) {
+        List<String> segments = new ArrayList<>();
+        for (String part : rawPath.split("/")) {
+            if (!part.isEmpty()) segments.add(URLDecoder.decode(part, StandardCharsets.UTF_8));
+        }
+        if (!segments.isEmpty() && "api".equals(segments.get(0))) segments.remove(0);
+        return segments.toArray(new String[0]);
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) return params;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static void requireMethod(String actual, String expected) throws ApiException {
+        if (!expected.equals(actual)) throw new ApiException(405, "Method " + actual + " not allowed");
+    }
+
+    private static int parseId(String segment) throws ApiException {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            throw new ApiException(404, "Not found");
+        }
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue) throws ApiException {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "'" + name + "' must be an integer");
+        }
+    }
+
+    private static int pageSize(Map<String, String> query) throws ApiException {
+        return Math.max(1, Math.min(MAX_PAGE_SIZE, intParam(query, "limit", DEFAULT_PAGE_SIZE)));
+    }
+
+    private static String requireString(Map<String, Object> request, String name) throws ApiException {
+        Object value = request.get(name);
+        if (!(value instanceof String) || ((String) value).isEmpty()) {
+            throw new ApiException(400, "'" + name + "' is required");
+        }
+        return (String) value;
+    }
+
+    private static double requireNumber(Map<String, Object> request, String name) throws ApiException {
+        Object value = request.get(name);
+        if (!(value instanceof Number)) throw new ApiException(400, "'" + name + "' must be a number");
+        return ((Number) value).doubleValue();
+    }
+
+    private static int requireInt(Map<String, Object> request, String name) throws ApiException {
+        double value = requireNumber(request, name);
+        if (value != Math.rint(value)) throw new ApiException(400, "'" + name + "' must be an integer");
+        return (int) value;
+    }
+
+    // --- Types ---
+
+    private static final class Session {
+        final String token;
+        final String role;
+        final int userId;
+        volatile long lastSeen = System.currentTimeMillis();
+
+        Session(String token, String role, int userId) {
+            this.token = token;
+            this.role = role;
+            this.userId = userId;
+        }
+
+        boolean isStaff() {
+            return ROLE_ADMIN.equals(role) || ROLE_INSTRUCTOR.equals(role);
+        }
+    }
+
+    /** An error that maps directly to an HTTP status and a JSON error body. */
+    private static final class ApiException extends Exception {
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
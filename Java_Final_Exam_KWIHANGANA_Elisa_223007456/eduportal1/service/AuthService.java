@@ -1,18 +1,99 @@
 package com.eduportal.service;
 
 import com.eduportal.dao.AdminDAO;
+import com.eduportal.dao.DatabaseConnector;
+import com.eduportal.dao.KnownUsernames;
 import com.eduportal.dao.StudentDAO;
 import com.eduportal.dao.InstructorDAO;
 import com.eduportal.model.Admin;
 import com.eduportal.model.Student;
 import com.eduportal.model.Instructor;
+import com.eduportal.util.PasswordHasher;
+import com.eduportal.util.RateLimiter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service class to handle user authentication and authorization logic.
  * UPDATED: Includes the necessary register method for the RegisterFrame.
+ *
+ * Lookups are screened by KnownUsernames first, so unknown usernames are rejected without a
+ * query. authenticateAsync() runs the remaining lookups on a small bounded pool, which caps how
+ * many connections a login storm can hold; once its queue is full, further attempts fail fast
+ * with a RejectedExecutionException instead of piling up on the database.
+ *
+ * Before any of that, each attempt must pass two sliding-window rate limiters, one per username
+ * and one per client (remote address for the API), which shed credential-stuffing bursts with a
+ * CAS and no I/O.
  */
 public class AuthService {
 
+    // --- Lookup Executor ---
+    private static final int THREADS = Integer.getInteger("eduportal.auth.threads", 4);
+    private static final int QUEUE = Integer.getInteger("eduportal.auth.queue", 1000);
+    /** How often the username filter is rebuilt to pick up accounts created elsewhere. */
+    private static final long FILTER_REFRESH_MS = Long.getLong("eduportal.auth.filterRefreshMs", 5 * 60 * 1000L);
+    private static final long FILTER_RETRY_MS = 10 * 1000L;
+
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<Runnable>(QUEUE), new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "eduportal-auth-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+
+    private static final AtomicBoolean FILTER_LOADING = new AtomicBoolean();
+    private static volatile long nextFilterLoad;
+
+    // --- Login Throttling ---
+    /** Client key for logins from this process (the Swing login window). */
+    public static final String LOCAL_CLIENT = "local";
+    private static final long LIMIT_WINDOW_MS = Long.getLong("eduportal.auth.limitWindowMs", 60 * 1000L);
+    private static final int LIMITER_MAX_KEYS = Integer.getInteger("eduportal.auth.limiterMaxKeys", 100000);
+    private static final RateLimiter USER_LIMITER = new RateLimiter("LoginsPerUsername",
+            Integer.getInteger("eduportal.auth.userLimit", 10), LIMIT_WINDOW_MS, LIMITER_MAX_KEYS);
+    private static final RateLimiter CLIENT_LIMITER = new RateLimiter("LoginsPerClient",
+            Integer.getInteger("eduportal.auth.clientLimit", 100), LIMIT_WINDOW_MS, LIMITER_MAX_KEYS);
+
+    /** Thrown (or completed exceptionally) when a login is refused by the rate limiters. */
+    public static final class LoginThrottledException extends RuntimeException {
+        private final long retryAfterMillis;
+
+        LoginThrottledException(String message, long retryAfterMillis) {
+            super(message);
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        public long getRetryAfterMillis() {
+            return retryAfterMillis;
+        }
+    }
+
+    // --- Stats ---
+    private static final AtomicLong ATTEMPTS = new AtomicLong();
+    private static final AtomicLong FILTER_REJECTS = new AtomicLong();
+    private static final AtomicLong DB_LOOKUPS = new AtomicLong();
+    private static final AtomicLong BUSY_REJECTS = new AtomicLong();
+    private static final AtomicLong REHASHES = new AtomicLong();
+
     private AdminDAO adminDAO;
     private StudentDAO studentDAO;
     private InstructorDAO instructorDAO;
@@ -32,25 +113,87 @@ public class AuthService {
      * @return The authenticated user object (Student, Instructor, or Admin) or null.
      */
     public Object authenticate(String username, String password, String role) {
+        return authenticate(username, password, role, LOCAL_CLIENT);
+    }
+
+    /**
+     * authenticate() for a given client (e.g. its remote address).
+     * @return The user, or null on bad credentials or when the attempt is throttled.
+     */
+    public Object authenticate(String username, String password, String role, String client) {
+        if (throttle(username, client) != null) return null;
+        if (!mightExist(username, role)) return null;
+        return checkPassword(lookup(username, role), password);
+    }
+
+    /**
+     * Non-blocking authenticate(): unknown usernames complete immediately with null, the rest are
+     * looked up on the auth pool and their password checked on the PasswordHasher pool, so the
+     * KDF never occupies a thread that holds a connection. Completes exceptionally with a
+     * LoginThrottledException when rate limited, an SQLException (wrapped in a CompletionException)
+     * when the database is unreachable, or a RejectedExecutionException when either pool is full.
+     */
+    public CompletableFuture<Object> authenticateAsync(String username, String password, String role) {
+        return authenticateAsync(username, password, role, LOCAL_CLIENT);
+    }
+
+    public CompletableFuture<Object> authenticateAsync(final String username, final String password, final String role,
+                                                       String client) {
+        LoginThrottledException throttled = throttle(username, client);
+        if (throttled != null) {
+            CompletableFuture<Object> refused = new CompletableFuture<>();
+            refused.completeExceptionally(throttled);
+            return refused;
+        }
+        if (!mightExist(username, role)) return CompletableFuture.completedFuture(null);
         try {
-            if ("Admin".equals(role)) {
-                Admin admin = adminDAO.getByUsername(username);
-                // **NOTE: Assumes plain text passwords in DB.**
-                if (admin != null && admin.getPassword().equals(password)) {
-                    return admin;
+            return CompletableFuture.supplyAsync(new Supplier<Object>() {
+                @Override
+                public Object get() {
+                    Object user = lookup(username, role);
+                    if (user == null && !isDatabaseReachable()) {
+                        throw new CompletionException(new SQLException("Could not connect to database"));
+                    }
+                    return user;
                 }
-            } else if ("Instructor".equals(role)) {
-                // **FIX: Calling the real DAO method.**
-                Instructor instructor = instructorDAO.getByUsername(username);
-                if (instructor != null && instructor.getPassword().equals(password)) {
-                    return instructor;
+            }, EXECUTOR).thenCompose(new Function<Object, CompletionStage<Object>>() {
+                @Override
+                public CompletionStage<Object> apply(final Object user) {
+                    if (user == null) return CompletableFuture.completedFuture(null);
+                    try {
+                        return CompletableFuture.supplyAsync(new Supplier<Object>() {
+                            @Override
+                            public Object get() {
+                                return checkPassword(user, password);
+                            }
+                        }, PasswordHasher.executor());
+                    } catch (RejectedExecutionException e) {
+                        return busy(e);
+                    }
                 }
+            });
+        } catch (RejectedExecutionException e) {
+            return busy(e);
+        }
+    }
+
+    private static CompletableFuture<Object> busy(RejectedExecutionException e) {
+        BUSY_REJECTS.incrementAndGet();
+        CompletableFuture<Object> busy = new CompletableFuture<>();
+        busy.completeExceptionally(e);
+        return busy;
+    }
+
+    /** Fetches the account row for the role, without checking the password. */
+    private Object lookup(String username, String role) {
+        DB_LOOKUPS.incrementAndGet();
+        try {
+            if ("Admin".equals(role)) {
+                return adminDAO.getByUsername(username);
+            } else if ("Instructor".equals(role)) {
+                return instructorDAO.getByUsername(username);
             } else if ("Student".equals(role)) {
-                // **FIX: Calling the real DAO method.**
-                Student student = studentDAO.getByUsername(username);
-                if (student != null && student.getPassword().equals(password)) {
-                    return student;
-                }
+                return studentDAO.getByUsername(username);
             }
         } catch (Exception e) {
             // Catches any exception, typically a NullPointerException if a DAO is null 
@@ -63,6 +206,119 @@ public class AuthService {
         return null;
     }
 
+    // Client first, so a flood from one client is not charged to the usernames it targets
+    private static LoginThrottledException throttle(String username, String client) {
+        if (!CLIENT_LIMITER.tryAcquire(client == null ? LOCAL_CLIENT : client)) {
+            return new LoginThrottledException("Too many login attempts from this client",
+                    CLIENT_LIMITER.getRetryAfterMillis());
+        }
+        if (username != null && !USER_LIMITER.tryAcquire(KnownUsernames.fold(username))) {
+            return new LoginThrottledException("Too many login attempts for this username",
+                    USER_LIMITER.getRetryAfterMillis());
+        }
+        return null;
+    }
+
+    // --- Password Check ---
+
+    /** Returns the user if the password matches, upgrading a legacy or low-cost hash in the background. */
+    private Object checkPassword(Object user, String password) {
+        String stored = user instanceof Admin ? ((Admin) user).getPassword()
+                : user instanceof Instructor ? ((Instructor) user).getPassword()
+                : user instanceof Student ? ((Student) user).getPassword() : null;
+        if (!PasswordHasher.verify(password, stored)) return null;
+        if (PasswordHasher.needsRehash(stored)) scheduleRehash(user, password, stored);
+        return user;
+    }
+
+    // Best effort: if the hashing pool is saturated the upgrade simply happens on a later login
+    private void scheduleRehash(final Object user, final String password, final String stored) {
+        try {
+            PasswordHasher.executor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    String hash = PasswordHasher.hash(password);
+                    boolean updated;
+                    if (user instanceof Admin) {
+                        updated = adminDAO.updatePasswordHash(((Admin) user).getAdminID(), stored, hash);
+                    } else if (user instanceof Instructor) {
+                        updated = instructorDAO.updatePasswordHash(((Instructor) user).getInstructorID(), stored, hash);
+                    } else {
+                        updated = studentDAO.updatePasswordHash(((Student) user).getStudentID(), stored, hash);
+                    }
+                    if (updated) REHASHES.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Retried on the next successful login
+        }
+    }
+
+    // --- Username Filter ---
+
+    private static boolean mightExist(String username, String role) {
+        ATTEMPTS.incrementAndGet();
+        scheduleFilterLoad();
+        String table = "Admin".equals(role) ? KnownUsernames.ADMIN
+                : "Instructor".equals(role) ? KnownUsernames.INSTRUCTOR
+                : "Student".equals(role) ? KnownUsernames.STUDENT : null;
+        // A filter due for a reload may miss accounts created elsewhere; its "no" then goes to the database
+        if (table != null && KnownUsernames.mightExist(table, username, FILTER_REFRESH_MS)) return true;
+        FILTER_REJECTS.incrementAndGet();
+        return false;
+    }
+
+    // Loads the filter on the auth pool when it is missing or due; a failed load retries sooner
+    private static void scheduleFilterLoad() {
+        if (System.currentTimeMillis() < nextFilterLoad || !FILTER_LOADING.compareAndSet(false, true)) return;
+        try {
+            EXECUTOR.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        int count = KnownUsernames.reload();
+                        nextFilterLoad = System.currentTimeMillis() + FILTER_REFRESH_MS;
+                        System.out.println("Username filter loaded: " + count + " usernames");
+                    } catch (SQLException e) {
+                        nextFilterLoad = System.currentTimeMillis() + FILTER_RETRY_MS;
+                        System.err.println("Username filter load failed: " + e.getMessage());
+                    } finally {
+                        FILTER_LOADING.set(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            FILTER_LOADING.set(false);
+        }
+    }
+
+    private static boolean isDatabaseReachable() {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) return false;
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            // Still reachable; the pool discards the connection
+        }
+        return true;
+    }
+
+    /** Per-username and per-client limiter counters. */
+    public static String getThrottleStats() {
+        return USER_LIMITER + System.lineSeparator() + CLIENT_LIMITER;
+    }
+
+    public static String getStatsSummary() {
+        return "attempts=" + ATTEMPTS.get()
+                + ", filterRejects=" + FILTER_REJECTS.get()
+                + ", dbLookups=" + DB_LOOKUPS.get()
+                + ", busyRejects=" + BUSY_REJECTS.get()
+                + ", rehashes=" + REHASHES.get()
+                + ", throttled=" + (USER_LIMITER.getRejectedCount() + CLIENT_LIMITER.getRejectedCount())
+                + ", queued=" + EXECUTOR.getQueue().size()
+                + ", filter=" + (KnownUsernames.isLoaded() ? KnownUsernames.getLoadedCount() + " usernames" : "not loaded");
+    }
+
     /**
      * Handles the registration of new users based on role.
      * In a real application, this calls the respective DAO's save/insert method.
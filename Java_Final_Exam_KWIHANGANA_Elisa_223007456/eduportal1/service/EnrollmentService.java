@@ -0,0 +1,529 @@
+package com.eduportal.service;
+
+import com.eduportal.dao.BatchResult;
+import com.eduportal.dao.EnrollmentDAO;
+import com.eduportal.dao.SeatListener;
+import com.eduportal.dao.WaitlistDAO;
+import com.eduportal.model.Enrollment;
+import com.eduportal.model.WaitlistEntry;
+import com.eduportal.util.LatencyHistogram;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Capacity-checked course enrollment and waitlists for open-registration rushes.
+ *
+ * - Seats are decided in memory against a per-course ledger (capacity, current seat holders and
+ *   the waitlist), guarded by striped locks keyed on CourseID: requests for different courses
+ *   almost never share a lock, requests for the same course are serialized so a course is never
+ *   overfilled by this process.
+ * - Other processes (each desktop client, the API server) keep ledgers of their own, so the writer
+ *   re-checks capacity under a lock on the course row before inserting. A seat the database refuses
+ *   expires the course's ledger entry and the request is waitlisted or rejected as COURSE_FULL.
+ * - Accepted enrollments and waitlist joins are queued to one writer thread that group-commits
+ *   them with one batched statement per transaction; callers are completed once their row is
+ *   committed. Rejections complete immediately without touching the DB. A batch that fails is
+ *   retried request by request, so one bad row only fails its own request.
+ * - Waitlists are persisted in the waitlist table and mirrored here as a TreeMap keyed by
+ *   WaitlistID plus a student index, so joining, leaving and promoting are all O(log n).
+ *   Promotion itself happens in the DB transaction that frees the seat (EnrollmentDAO update or
+ *   delete); this ledger follows through SeatListener callbacks.
+ * - The ledger is authoritative for writes made through this service. Entries are reloaded after
+ *   eduportal.enroll.ledgerTtlMs (or invalidate()) so other changes, like capacity edits, are
+ *   picked up.
+ */
+public class EnrollmentService {
+
+    public enum Decision {
+        ENROLLED("Successfully enrolled!"),
+        WAITLISTED("The course is full. You have been added to the waitlist."),
+        ALREADY_ENROLLED("You are already registered for this course."),
+        ALREADY_WAITLISTED("You are already on the waitlist for this course."),
+        COURSE_FULL("This course is full."),
+        COURSE_NOT_FOUND("This course no longer exists."),
+        FAILED("Enrollment failed. Please try again.");
+
+        private final String message;
+
+        Decision(String message) {
+            this.message = message;
+        }
+
+        /** Text shown to the student. */
+        public String getMessage() { return message; }
+    }
+
+    private static final int STRIPES = Integer.highestOneBit(
+            Math.max(1, Integer.getInteger("eduportal.enroll.stripes", 64)));
+    private static final int MAX_BATCH_SIZE = Integer.getInteger("eduportal.enroll.batchSize", 500);
+    // How long the writer waits for more requests to share a commit with
+    private static final long GROUP_COMMIT_WAIT_MS = Long.getLong("eduportal.enroll.groupCommitMs", 2);
+    private static final long LEDGER_TTL_MS = Long.getLong("eduportal.enroll.ledgerTtlMs", 30000);
+    // Waitlist index value of a join that is queued but not committed yet
+    private static final int PENDING = 0;
+
+    private static class SingletonHelper {
+        private static final EnrollmentService INSTANCE = new EnrollmentService(new EnrollmentDAO(), new WaitlistDAO());
+    }
+
+    /** The process-wide service; enrollments in this process share its ledger and writer. */
+    public static EnrollmentService getInstance() {
+        return SingletonHelper.INSTANCE;
+    }
+
+    private final EnrollmentDAO enrollmentDAO;
+    private final WaitlistDAO waitlistDAO;
+    private final Object[] stripes = new Object[STRIPES];
+    private final ConcurrentHashMap<Integer, Seats> ledger = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<Request> writeQueue = new LinkedBlockingQueue<>();
+
+    // --- Metrics ---
+    private final AtomicLong enrolledCount = new AtomicLong();
+    private final AtomicLong waitlistedCount = new AtomicLong();
+    private final AtomicLong promotedCount = new AtomicLong();
+    private final AtomicLong fullCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong commitCount = new AtomicLong();
+    private final LatencyHistogram promotionLatency = new LatencyHistogram();
+
+    EnrollmentService(EnrollmentDAO enrollmentDAO, WaitlistDAO waitlistDAO) {
+        this.enrollmentDAO = enrollmentDAO;
+        this.waitlistDAO = waitlistDAO;
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+        EnrollmentDAO.addSeatListener(new SeatListener() {
+            @Override
+            public void seatReleased(int courseID, int studentID) {
+                synchronized (stripeFor(courseID)) {
+                    Seats seats = ledger.get(courseID);
+                    if (seats != null) seats.holders.remove(studentID);
+                }
+            }
+
+            @Override
+            public void studentPromoted(int courseID, int studentID, long waitlistID, long latencyNanos) {
+                synchronized (stripeFor(courseID)) {
+                    Seats seats = ledger.get(courseID);
+                    if (seats != null) {
+                        seats.waitlistIndex.remove(studentID);
+                        seats.waitlist.remove((int) waitlistID);
+                        seats.holders.add(studentID);
+                    }
+                }
+                promotedCount.incrementAndGet();
+                promotionLatency.record(latencyNanos);
+            }
+        });
+
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeLoop();
+            }
+        }, "eduportal-enrollment-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // --- Public API ---
+
+    /** Enrolls and waits for the decision; ENROLLED means the row is committed. */
+    public Decision enroll(int studentID, int courseID) {
+        return enroll(studentID, courseID, false);
+    }
+
+    /** Like enroll(), but a full course puts the student on its waitlist (WAITLISTED) instead. */
+    public Decision enroll(int studentID, int courseID, boolean waitlistIfFull) {
+        try {
+            return enrollAsync(studentID, courseID, waitlistIfFull).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Decision.FAILED;
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            return Decision.FAILED;
+        }
+    }
+
+    /** Decides immediately; accepted requests complete after their batch commits. */
+    public CompletableFuture<Decision> enrollAsync(int studentID, int courseID, boolean waitlistIfFull) {
+        while (true) {
+            Seats seats;
+            try {
+                seats = seatsFor(courseID);
+            } catch (SQLException e) {
+                System.err.println("Could not load seats for course " + courseID + ": " + e.getMessage());
+                failedCount.incrementAndGet();
+                return CompletableFuture.completedFuture(Decision.FAILED);
+            }
+            if (seats == null) return CompletableFuture.completedFuture(Decision.COURSE_NOT_FOUND);
+
+            boolean joinWaitlist;
+            synchronized (stripeFor(courseID)) {
+                // The entry was reloaded or invalidated since it was looked up; reserve on the current one
+                if (ledger.get(courseID) != seats) continue;
+                if (seats.holders.contains(studentID)) return CompletableFuture.completedFuture(Decision.ALREADY_ENROLLED);
+                if (seats.waitlistIndex.containsKey(studentID)) {
+                    return CompletableFuture.completedFuture(Decision.ALREADY_WAITLISTED);
+                }
+                joinWaitlist = seats.holders.size() >= seats.capacity;
+                if (joinWaitlist && !waitlistIfFull) {
+                    fullCount.incrementAndGet();
+                    return CompletableFuture.completedFuture(Decision.COURSE_FULL);
+                }
+                if (joinWaitlist) {
+                    seats.waitlistIndex.put(studentID, PENDING);
+                } else {
+                    seats.holders.add(studentID);
+                }
+                seats.pendingWrites++;
+            }
+            Request request = new Request(studentID, courseID, seats, joinWaitlist, waitlistIfFull);
+            writeQueue.add(request);
+            return request.decision;
+        }
+    }
+
+    /** Takes a student off a course's waitlist; false if they were not on it or the delete failed. */
+    public boolean leaveWaitlist(int studentID, int courseID) {
+        if (!waitlistDAO.leave(studentID, courseID)) return false;
+        synchronized (stripeFor(courseID)) {
+            Seats seats = ledger.get(courseID);
+            if (seats != null) {
+                Integer waitlistID = seats.waitlistIndex.remove(studentID);
+                if (waitlistID != null) seats.waitlist.remove(waitlistID);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 1-based waitlist position of a student, or -1 if they are not (yet) on the committed waitlist.
+     * Counting the entries ahead is linear in the position; promotion never needs it.
+     */
+    public int getWaitlistPosition(int studentID, int courseID) throws SQLException {
+        Seats seats = seatsFor(courseID);
+        if (seats == null) return -1;
+        synchronized (stripeFor(courseID)) {
+            Integer waitlistID = seats.waitlistIndex.get(studentID);
+            if (waitlistID == null || waitlistID == PENDING) return -1;
+            return seats.waitlist.headMap(waitlistID).size() + 1;
+        }
+    }
+
+    /** Seats left in a course, UNLIMITED for courses without a limit, or -1 if it does not exist. */
+    public int getAvailableSeats(int courseID) throws SQLException {
+        Seats seats = seatsFor(courseID);
+        if (seats == null) return EnrollmentDAO.NO_COURSE;
+        if (seats.capacity == EnrollmentDAO.UNLIMITED) return EnrollmentDAO.UNLIMITED;
+        synchronized (stripeFor(courseID)) {
+            return Math.max(0, seats.capacity - seats.holders.size());
+        }
+    }
+
+    /** Forgets a course's ledger so the next request reloads it (e.g. after its capacity changed). */
+    public void invalidate(int courseID) {
+        synchronized (stripeFor(courseID)) {
+            Seats seats = ledger.get(courseID);
+            if (seats != null && seats.pendingWrites == 0) ledger.remove(courseID);
+        }
+    }
+
+    // --- Metrics ---
+
+    public long getEnrolledCount() { return enrolledCount.get(); }
+    public long getWaitlistedCount() { return waitlistedCount.get(); }
+    public long getPromotedCount() { return promotedCount.get(); }
+
+    /** Promotion latency percentile (e.g. 99), from the start of the freeing transaction to its commit. */
+    public double getPromotionLatencyMillis(double percentile) {
+        return promotionLatency.getPercentileMillis(percentile);
+    }
+
+    public String getStatsSummary() {
+        return String.format("Enrollment[enrolled=%d, waitlisted=%d, promoted=%d, full=%d, failed=%d, commits=%d, "
+                        + "promotionP50=%.2fms, promotionP99=%.2fms, courses=%d]",
+                enrolledCount.get(), waitlistedCount.get(), promotedCount.get(), fullCount.get(), failedCount.get(),
+                commitCount.get(), promotionLatency.getPercentileMillis(50), promotionLatency.getPercentileMillis(99),
+                ledger.size());
+    }
+
+    // --- Ledger ---
+
+    private Object stripeFor(int courseID) {
+        int h = courseID ^ (courseID >>> 16);
+        return stripes[h & (stripes.length - 1)];
+    }
+
+    // Returns the cached ledger entry, (re)loading it when missing or expired; null for unknown courses
+    private Seats seatsFor(int courseID) throws SQLException {
+        Seats seats = ledger.get(courseID);
+        if (seats != null && !isExpired(seats)) return seats;
+
+        // Loaded under the stripe lock so no reservation can slip in between the read and the publish.
+        // This costs a few queries per course per TTL, and only blocks courses that share the stripe.
+        synchronized (stripeFor(courseID)) {
+            seats = ledger.get(courseID);
+            // An expired entry with uncommitted writes is kept; a reload could not see those rows yet
+            if (seats != null && (!isExpired(seats) || seats.pendingWrites > 0)) return seats;
+
+            int capacity = enrollmentDAO.getCapacity(courseID);
+            if (capacity == EnrollmentDAO.NO_COURSE) {
+                ledger.remove(courseID);
+                return null;
+            }
+            seats = new Seats(capacity, enrollmentDAO.getSeatHolders(courseID));
+            for (WaitlistEntry entry : waitlistDAO.getQueue(courseID)) {
+                seats.waitlist.put(entry.getWaitlistID(), entry.getStudentID());
+                seats.waitlistIndex.put(entry.getStudentID(), entry.getWaitlistID());
+            }
+            ledger.put(courseID, seats);
+        }
+        // Seats freed while nobody was watching (capacity raised, edits elsewhere) go to the waitlist first
+        fillFromWaitlist(courseID, seats);
+        return seats;
+    }
+
+    private static boolean isExpired(Seats seats) {
+        return System.currentTimeMillis() - seats.loadedAt >= LEDGER_TTL_MS;
+    }
+
+    // Promotes waitlisted students into free seats; the listener updates the ledger after the commit
+    private void fillFromWaitlist(int courseID, Seats seats) {
+        int free;
+        synchronized (stripeFor(courseID)) {
+            if (seats.waitlist.isEmpty()) return;
+            free = seats.capacity - seats.holders.size();
+        }
+        if (free > 0) waitlistDAO.promoteNext(courseID, free);
+    }
+
+    // --- Group Commit ---
+
+    private void writeLoop() {
+        List<Request> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(writeQueue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(GROUP_COMMIT_WAIT_MS);
+                while (batch.size() < MAX_BATCH_SIZE) {
+                    if (writeQueue.drainTo(batch, MAX_BATCH_SIZE - batch.size()) > 0) continue;
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    Request next = writeQueue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Never leave callers waiting: fail whatever was in flight and keep the writer alive
+                e.printStackTrace();
+                for (Request request : batch) {
+                    if (!request.decision.isDone()) fail(request);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void commit(List<Request> batch) {
+        List<Request> enrollRequests = new ArrayList<>();
+        List<Request> waitlistRequests = new ArrayList<>();
+        for (Request request : batch) {
+            (request.waitlist ? waitlistRequests : enrollRequests).add(request);
+        }
+        // Enrollments refused for capacity by the database may turn into waitlist joins
+        if (!enrollRequests.isEmpty()) waitlistRequests.addAll(commitEnrollments(enrollRequests));
+        if (!waitlistRequests.isEmpty()) commitWaitlistJoins(waitlistRequests);
+    }
+
+    // Returns the requests refused for capacity that asked to be waitlisted, as waitlist joins
+    private List<Request> commitEnrollments(List<Request> requests) {
+        List<Enrollment> rows = new ArrayList<>(requests.size());
+        Date now = new Date();
+        for (Request request : requests) {
+            rows.add(new Enrollment(0, request.studentID, request.courseID, null, null, now,
+                    EnrollmentDAO.STATUS_REGISTERED, null));
+        }
+
+        Set<Integer> alreadyEnrolled = new HashSet<>();
+        BatchResult result = enrollmentDAO.enrollAll(rows, alreadyEnrolled);
+        commitCount.incrementAndGet();
+        if (!result.isCommitted()) {
+            List<Request> joins = new ArrayList<>();
+            if (requests.size() > 1) {
+                // One bad row (e.g. a student that no longer exists) rolls back everyone: isolate it
+                System.err.println("Enrollment batch of " + requests.size() + " rolled back, retrying one by one: "
+                        + result.getErrorMessage());
+                for (Request request : requests) {
+                    joins.addAll(commitEnrollments(Collections.singletonList(request)));
+                }
+            } else {
+                Request request = requests.get(0);
+                System.err.println("Enrollment of student " + request.studentID + " in course " + request.courseID
+                        + " failed: " + result.getErrorMessage());
+                fail(request);
+            }
+            return joins;
+        }
+        List<Request> joins = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Request request = requests.get(i);
+            if (alreadyEnrolled.contains(i)) {
+                // The ledger missed a seat held in the database; the reservation stands for it
+                synchronized (stripeFor(request.courseID)) {
+                    request.seats.pendingWrites--;
+                }
+                request.decision.complete(Decision.ALREADY_ENROLLED);
+                continue;
+            }
+            if (!result.isRowSuccessful(i)) {
+                Request join = refuse(request);
+                if (join != null) joins.add(join);
+                continue;
+            }
+            synchronized (stripeFor(request.courseID)) {
+                request.seats.pendingWrites--;
+            }
+            enrolledCount.incrementAndGet();
+            request.decision.complete(Decision.ENROLLED);
+        }
+        return joins;
+    }
+
+    private void commitWaitlistJoins(List<Request> requests) {
+        List<WaitlistEntry> entries = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            entries.add(new WaitlistEntry(request.courseID, request.studentID));
+        }
+
+        BatchResult result = waitlistDAO.joinAll(entries);
+        commitCount.incrementAndGet();
+        if (!result.isCommitted()) {
+            if (requests.size() > 1) {
+                System.err.println("Waitlist batch of " + requests.size() + " rolled back, retrying one by one: "
+                        + result.getErrorMessage());
+                for (Request request : requests) {
+                    commitWaitlistJoins(Collections.singletonList(request));
+                }
+            } else {
+                Request request = requests.get(0);
+                System.err.println("Waitlist join of student " + request.studentID + " for course " + request.courseID
+                        + " failed: " + result.getErrorMessage());
+                fail(request);
+            }
+            return;
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            Request request = requests.get(i);
+            int waitlistID = entries.get(i).getWaitlistID();
+            synchronized (stripeFor(request.courseID)) {
+                request.seats.waitlistIndex.put(request.studentID, waitlistID);
+                request.seats.waitlist.put(waitlistID, request.studentID);
+                request.seats.pendingWrites--;
+            }
+            waitlistedCount.incrementAndGet();
+            request.decision.complete(Decision.WAITLISTED);
+        }
+        // A seat may have been freed while these joins were in flight, with nobody committed to promote
+        for (Request request : requests) {
+            fillFromWaitlist(request.courseID, request.seats);
+        }
+    }
+
+    // The database refused a reserved seat: another process filled the course since the ledger was loaded.
+    // Expires the ledger entry so it is reloaded, then waitlists or rejects the request as enrollAsync would.
+    private Request refuse(Request request) {
+        Request join = null;
+        synchronized (stripeFor(request.courseID)) {
+            request.seats.holders.remove(request.studentID);
+            request.seats.loadedAt = 0;
+            if (request.waitlistIfFull) {
+                request.seats.waitlistIndex.put(request.studentID, PENDING);
+                join = new Request(request.studentID, request.courseID, request.seats, true, true, request.decision);
+            } else {
+                request.seats.pendingWrites--;
+            }
+        }
+        if (join == null) {
+            fullCount.incrementAndGet();
+            request.decision.complete(Decision.COURSE_FULL);
+        }
+        return join;
+    }
+
+    // Gives back a seat or waitlist place that was reserved but never committed
+    private void fail(Request request) {
+        synchronized (stripeFor(request.courseID)) {
+            if (request.waitlist) {
+                request.seats.waitlistIndex.remove(request.studentID);
+            } else {
+                request.seats.holders.remove(request.studentID);
+            }
+            request.seats.pendingWrites--;
+        }
+        failedCount.incrementAndGet();
+        request.decision.complete(Decision.FAILED);
+        if (!request.waitlist) fillFromWaitlist(request.courseID, request.seats);
+    }
+
+    // --- Types ---
+
+    /** Ledger entry of one course; fields other than loadedAt are guarded by the course's stripe. */
+    private static final class Seats {
+        final int capacity;
+        final Set<Integer> holders;
+        // WaitlistID -> StudentID in queue order, and StudentID -> WaitlistID (PENDING until committed)
+        final TreeMap<Integer, Integer> waitlist = new TreeMap<>();
+        final Map<Integer, Integer> waitlistIndex = new HashMap<>();
+        // Set to 0 to expire the entry once its pending writes are done
+        volatile long loadedAt = System.currentTimeMillis();
+        int pendingWrites;
+
+        Seats(int capacity, Set<Integer> holders) {
+            this.capacity = capacity;
+            this.holders = holders;
+        }
+    }
+
+    private static final class Request {
+        final int studentID;
+        final int courseID;
+        final Seats seats;
+        final boolean waitlist;
+        final boolean waitlistIfFull;
+        final CompletableFuture<Decision> decision;
+
+        Request(int studentID, int courseID, Seats seats, boolean waitlist, boolean waitlistIfFull) {
+            this(studentID, courseID, seats, waitlist, waitlistIfFull, new CompletableFuture<Decision>());
+        }
+
+        Request(int studentID, int courseID, Seats seats, boolean waitlist, boolean waitlistIfFull,
+                CompletableFuture<Decision> decision) {
+            this.studentID = studentID;
+            this.courseID = courseID;
+            this.seats = seats;
+            this.waitlist = waitlist;
+            this.waitlistIfFull = waitlistIfFull;
+            this.decision = decision;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.eduportal.service;
+
+import com.eduportal.dao.GradeDAO;
+import com.eduportal.model.GradeStatistics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes class statistics (mean, median, standard deviation, percentiles, histogram and
+ * letter distribution) from primitive score arrays.
+ *
+ * - Large score arrays are split into fork/join tasks whose partial moments are merged
+ *   (Chan et al.), and sorted with Arrays.parallelSort for the percentiles.
+ * - Multi-section reports fan out one task per section on the same pool, so thousands of
+ *   small sections keep every core busy.
+ * - Scores are expected on the 0-100 scale; the letter scale matches the GPA points scale.
+ */
+public class GradeStatisticsEngine {
+
+    // Below this many scores a single thread is faster than splitting
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final int HISTOGRAM_BINS = 10;
+
+    private static final ForkJoinPool SHARED_POOL = new ForkJoinPool(
+            Integer.getInteger("eduportal.stats.parallelism", Runtime.getRuntime().availableProcessors()));
+
+    private final ForkJoinPool pool;
+    private final GradeDAO gradeDAO;
+
+    public GradeStatisticsEngine() {
+        this.pool = SHARED_POOL;
+        this.gradeDAO = new GradeDAO();
+    }
+
+    // --- Reports (DAO + compute) ---
+
+    public GradeStatistics assignmentStatistics(int assignmentID) {
+        return compute(gradeDAO.getScoresByAssignment(assignmentID));
+    }
+
+    /** Statistics for every assignment of a course, keyed by AssignmentID. */
+    public Map<Integer, GradeStatistics> assignmentStatisticsForCourse(int courseID) {
+        return computeAll(gradeDAO.getScoresByAssignmentInCourse(courseID));
+    }
+
+    /** Statistics over all scores of a course (every assignment). */
+    public GradeStatistics courseStatistics(int courseID) {
+        return compute(concat(gradeDAO.getScoresByAssignmentInCourse(courseID).values()));
+    }
+
+    /** Department-wide report: statistics per course, keyed by CourseID. */
+    public Map<Integer, GradeStatistics> departmentReport() {
+        return computeAll(gradeDAO.getScoresByCourse());
+    }
+
+    // --- Computation ---
+
+    /** Statistics of one score array; returns an all-zero result for an empty array. */
+    public GradeStatistics compute(double[] scores) {
+        if (scores.length == 0) {
+            return new GradeStatistics(0, 0, 0, 0, 0, new double[GradeStatistics.PERCENTILES.length],
+                    new int[HISTOGRAM_BINS], new int[GradeStatistics.LETTERS.length]);
+        }
+        Moments moments = run(new MomentsTask(scores, 0, scores.length));
+
+        double[] sorted = scores.clone();
+        if (sorted.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(sorted);
+        } else {
+            Arrays.sort(sorted);
+        }
+        double[] percentiles = new double[GradeStatistics.PERCENTILES.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            percentiles[i] = percentile(sorted, GradeStatistics.PERCENTILES[i]);
+        }
+
+        double variance = moments.count > 1 ? moments.m2 / moments.count : 0;
+        return new GradeStatistics((int) moments.count, moments.mean, Math.sqrt(variance),
+                moments.min, moments.max, percentiles, moments.histogram, moments.letters);
+    }
+
+    /** Statistics for many sections at once, in the iteration order of the input map. */
+    public Map<Integer, GradeStatistics> computeAll(Map<Integer, double[]> sections) {
+        List<Integer> keys = new ArrayList<>(sections.keySet());
+        List<double[]> values = new ArrayList<>(keys.size());
+        for (Integer key : keys) {
+            values.add(sections.get(key));
+        }
+        GradeStatistics[] results = new GradeStatistics[keys.size()];
+        if (!keys.isEmpty()) {
+            run(new SectionsTask(values, results, 0, results.length));
+        }
+
+        Map<Integer, GradeStatistics> report = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            report.put(keys.get(i), results[i]);
+        }
+        return report;
+    }
+
+    // Joins the current pool when already inside a fork/join task (section fan-out)
+    private <T> T run(ForkJoinTask<T> task) {
+        return ForkJoinTask.inForkJoinPool() ? task.invoke() : pool.invoke(task);
+    }
+
+    /** Linear interpolation between closest ranks; sorted must not be empty. */
+    static double percentile(double[] sorted, int p) {
+        double rank = (p / 100.0) * (sorted.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = (int) Math.ceil(rank);
+        return sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]);
+    }
+
+    /** Joins several score arrays, e.g. the assignments of a course. */
+    public static double[] concat(Collection<double[]> parts) {
+        int total = 0;
+        for (double[] part : parts) {
+            total += part.length;
+        }
+        double[] all = new double[total];
+        int offset = 0;
+        for (double[] part : parts) {
+            System.arraycopy(part, 0, all, offset, part.length);
+            offset += part.length;
+        }
+        return all;
+    }
+
+    private static int letterIndex(double score) {
+        if (score >= 90) return 0;
+        if (score >= 80) return 1;
+        if (score >= 70) return 2;
+        if (score >= 60) return 3;
+        return 4;
+    }
+
+    // --- Fork/Join Tasks ---
+
+    /** Count, mean, sum of squared deviations, range and bucket counts of a slice. */
+    private static final class Moments {
+        long count;
+        double mean;
+        double m2;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        final int[] histogram = new int[HISTOGRAM_BINS];
+        final int[] letters = new int[GradeStatistics.LETTERS.length];
+
+        void add(double score) {
+            count++;
+            double delta = score - mean;
+            mean += delta / count;
+            m2 += delta * (score - mean);
+            if (score < min) min = score;
+            if (score > max) max = score;
+            int bin = (int) (score / (100.0 / HISTOGRAM_BINS));
+            histogram[Math.max(0, Math.min(HISTOGRAM_BINS - 1, bin))]++;
+            letters[letterIndex(score)]++;
+        }
+
+        // Parallel variance merge: combines two partial results without revisiting the data
+        Moments merge(Moments other) {
+            if (other.count == 0) return this;
+            if (count == 0) return other;
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / total;
+            m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+            count = total;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            for (int i = 0; i < histogram.length; i++) histogram[i] += other.histogram[i];
+            for (int i = 0; i < letters.length; i++) letters[i] += other.letters[i];
+            return this;
+        }
+    }
+
+    private static final class MomentsTask extends RecursiveTask<Moments> {
+        private final double[] scores;
+        private final int from;
+        private final int to;
+
+        MomentsTask(double[] scores, int from, int to) {
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Moments compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                Moments moments = new Moments();
+                for (int i = from; i < to; i++) {
+                    moments.add(scores[i]);
+                }
+                return moments;
+            }
+            int mid = (from + to) >>> 1;
+            MomentsTask left = new MomentsTask(scores, from, mid);
+            left.fork();
+            Moments right = new MomentsTask(scores, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private final class SectionsTask extends RecursiveAction {
+        private final List<double[]> sections;
+        private final GradeStatistics[] results;
+        private final int from;
+        private final int to;
+
+        SectionsTask(List<double[]> sections, GradeStatistics[] results, int from, int to) {
+            this.sections = sections;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                results[from] = GradeStatisticsEngine.this.compute(sections.get(from));
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SectionsTask(sections, results, from, mid),
+                      new SectionsTask(sections, results, mid, to));
+        }
+    }
+}
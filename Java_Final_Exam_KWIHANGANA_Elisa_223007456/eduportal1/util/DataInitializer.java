@@ -4,6 +4,10 @@ import com.eduportal.dao.DatabaseConnector;
 import java.sql.Connection;
 import java.sql.Statement;
 
+/**
+ * Seeds the demo accounts and courses used for a first login.
+ * For production-sized data (capacity planning, performance tests) use SyntheticDataGenerator.
+ */
 public class DataInitializer {
 
 	public static void seedData() {
@@ -0,0 +1,118 @@
+package com.eduportal.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder event types emitted by the application, all under the "EduPortal" category.
+ *
+ * Every event carries an "action" field: the UI action (panel and load key, or the EDT event being
+ * dispatched) the current thread is working for, so a recording links each query, connection wait
+ * and cache miss back to the panel action that caused it.
+ *
+ * When no recording is running, begin()/end()/shouldCommit() are no-ops and the event objects do not
+ * escape, so the instrumentation costs next to nothing.
+ * Thresholds can be changed per recording, e.g. in a .jfc file: com.eduportal.EdtTask#threshold=5 ms
+ */
+public final class FlightEvents {
+
+    private static final ThreadLocal<String> ACTION = new ThreadLocal<>();
+
+    private FlightEvents() {}
+
+    /** Tags work on this thread with the UI action it serves; returns the previous tag to restore. */
+    public static String setAction(String action) {
+        String previous = ACTION.get();
+        if (action == null) {
+            ACTION.remove();
+        } else {
+            ACTION.set(action);
+        }
+        return previous;
+    }
+
+    public static String getAction() {
+        return ACTION.get();
+    }
+
+    @Name("com.eduportal.Query")
+    @Label("DAO Query")
+    @Description("One JDBC statement execution, tagged with the DAO method that issued it")
+    @Category({"EduPortal", "Database"})
+    @StackTrace(false)
+    public static final class QueryEvent extends Event {
+        @Label("Caller")
+        public String caller;
+
+        @Label("SQL Template")
+        public String sql;
+
+        @Label("Rows")
+        @Description("Rows read for queries, rows affected for updates and batches")
+        public long rows;
+
+        @Label("Failed")
+        public boolean failed;
+
+        @Label("Action")
+        public String action;
+    }
+
+    @Name("com.eduportal.ConnectionBorrow")
+    @Label("Connection Borrow")
+    @Description("Time spent waiting for a pooled database connection")
+    @Category({"EduPortal", "Database"})
+    @Threshold("1 ms")
+    public static final class ConnectionBorrowEvent extends Event {
+        @Label("Timed Out")
+        public boolean timedOut;
+
+        @Label("Active Connections")
+        public int active;
+
+        @Label("Waiting Borrowers")
+        public int waiting;
+
+        @Label("Action")
+        public String action;
+    }
+
+    @Name("com.eduportal.EdtTask")
+    @Label("EDT Task")
+    @Description("An event dispatched on the Swing event dispatch thread that ran longer than the threshold")
+    @Category({"EduPortal", "Swing"})
+    @Threshold("20 ms")
+    @StackTrace(false)
+    public static final class EdtTaskEvent extends Event {
+        @Label("Event")
+        public String event;
+
+        @Label("Handler")
+        @Description("Listener or Runnable class that handled the event")
+        public String handler;
+    }
+
+    @Name("com.eduportal.Cache")
+    @Label("Cache Lookup")
+    @Description("An EntityCache lookup; misses span the time spent loading the value")
+    @Category({"EduPortal", "Cache"})
+    @StackTrace(false)
+    public static final class CacheEvent extends Event {
+        @Label("Cache")
+        public String cache;
+
+        @Label("Key")
+        public String key;
+
+        @Label("Hit")
+        public boolean hit;
+
+        @Label("Action")
+        public String action;
+    }
+}
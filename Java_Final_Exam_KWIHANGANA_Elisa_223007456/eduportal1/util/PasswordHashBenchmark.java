@@ -0,0 +1,89 @@
+package com.eduportal.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Command-line sizing for PasswordHasher.ITERATIONS: for a range of iteration counts it times
+ * a burst of logins hashed on the same pool size the server uses and reports the sustained login
+ * rate, then recommends the highest cost that still meets the target.
+ *
+ * Run on production-like hardware: java com.eduportal.util.PasswordHashBenchmark [targetLoginsPerSecond]
+ * Pass the chosen value as -Deduportal.auth.pbkdf2Iterations; existing hashes are upgraded on login.
+ * Exits with status 1 if even the cheapest candidate misses the target.
+ */
+public final class PasswordHashBenchmark {
+
+    private static final double DEFAULT_TARGET = 50;
+    private static final int[] CANDIDATES = {10000, 25000, 50000, 100000, 150000, 210000, 310000, 600000};
+    private static final int WARMUP_HASHES = 20;
+    // Logins per measured burst, per hashing thread
+    private static final int BURST_PER_THREAD = 8;
+
+    private PasswordHashBenchmark() {}
+
+    public static void main(String[] args) {
+        double target = args.length > 0 ? Double.parseDouble(args[0]) : DEFAULT_TARGET;
+        int threads = PasswordHasher.getThreads();
+        System.out.println("Hashing threads: " + threads + ", target: " + target + " logins/s");
+        System.out.println();
+        System.out.printf("%12s %12s %14s%n", "iterations", "ms/hash", "logins/s");
+
+        // Let the JIT compile the HMAC code before anything is measured
+        for (int i = 0; i < WARMUP_HASHES; i++) {
+            PasswordHasher.hash("warmup-" + i, CANDIDATES[0]);
+        }
+
+        int recommended = -1;
+        for (int iterations : CANDIDATES) {
+            String stored = PasswordHasher.hash("benchmark", iterations);
+            double rate = measure(stored, threads * BURST_PER_THREAD);
+            double msPerHash = 1000.0 * threads / rate;
+            System.out.printf("%12d %12.1f %14.1f%n", iterations, msPerHash, rate);
+            if (rate >= target) recommended = iterations;
+        }
+
+        System.out.println();
+        if (recommended < 0) {
+            System.out.println("No candidate reaches " + target + " logins/s; add cores or lower the target.");
+            System.exit(1);
+        }
+        System.out.println("Recommended: -Deduportal.auth.pbkdf2Iterations=" + recommended
+                + " (current: " + PasswordHasher.ITERATIONS + ")");
+    }
+
+    // Verifies a burst of logins on as many threads as the hashing pool has and returns logins per second
+    private static double measure(final String hash, int logins) {
+        final List<String> burst = Collections.nCopies(logins, "benchmark");
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicInteger next = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int t = 0; t < PasswordHasher.getThreads(); t++) {
+            Thread worker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = next.getAndIncrement(); i < burst.size(); i = next.getAndIncrement()) {
+                        if (!PasswordHasher.verify(burst.get(i), hash)) failures.incrementAndGet();
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (failures.get() > 0) throw new IllegalStateException(failures.get() + " verifications failed");
+        return logins * 1e9 / elapsed;
+    }
+}
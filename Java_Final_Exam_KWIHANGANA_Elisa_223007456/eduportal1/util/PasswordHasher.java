@@ -0,0 +1,221 @@
+package com.eduportal.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * PBKDF2-HMAC-SHA512 password hashing.
+ *
+ * Stored form: pbkdf2-sha512$iterations$salt$hash (salt and hash Base64), so the cost can be
+ * raised later without invalidating existing rows: needsRehash() flags hashes below the current
+ * cost, and anything without the prefix as a legacy plain-text password.
+ *
+ * Each hash burns tens to hundreds of milliseconds of CPU, so callers on latency-sensitive threads
+ * use executor(): a pool of one thread per core with a bounded queue, which keeps a burst of
+ * logins from oversubscribing the CPU and rejects work once the queue is full.
+ */
+public final class PasswordHasher {
+
+    /** Work factor for new hashes; size it with PasswordHashBenchmark. */
+    public static final int ITERATIONS = Integer.getInteger("eduportal.auth.pbkdf2Iterations", 210000);
+
+    private static final String PREFIX = "pbkdf2-sha512$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA512";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 512;
+
+    private static final int THREADS = Integer.getInteger("eduportal.auth.hashThreads",
+            Runtime.getRuntime().availableProcessors());
+    private static final int QUEUE = Integer.getInteger("eduportal.auth.hashQueue", 256);
+
+    private static final ThreadPoolExecutor POOL = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<Runnable>(QUEUE), new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "eduportal-hash-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final AtomicLong HASHES = new AtomicLong();
+    private static final AtomicLong HASH_NANOS = new AtomicLong();
+
+    private PasswordHasher() {}
+
+    /** The bounded hashing pool; execute() throws RejectedExecutionException when it is saturated. */
+    public static Executor executor() {
+        return POOL;
+    }
+
+    public static String hash(String password) {
+        return hash(password, ITERATIONS);
+    }
+
+    public static String hash(String password, int iterations) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] derived = derive(password, salt, iterations);
+        Base64.Encoder b64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + b64.encodeToString(salt) + "$" + b64.encodeToString(derived);
+    }
+
+    /**
+     * hash() on the pool, waiting for the result. Used by single-row writes so the KDF counts against
+     * the pool's bound instead of running on whatever thread called the DAO. When the pool is saturated
+     * the caller hashes on its own thread rather than failing the write.
+     * @throws IllegalStateException when interrupted while waiting, or when hashing fails.
+     */
+    public static String hashOnPool(final String password) {
+        Future<String> hash;
+        try {
+            hash = POOL.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    return hash(password);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return hash(password);
+        }
+        try {
+            return hash.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /** Hashes a plain-text password; values already in hashed form are returned unchanged. */
+    public static String hashIfPlain(String password) {
+        return password == null || isHashed(password) ? password : hash(password);
+    }
+
+    /**
+     * Hashes many passwords on the pool, one worker per thread, for bulk inserts.
+     * Already-hashed and null entries are passed through.
+     */
+    public static List<String> hashAll(final List<String> passwords) {
+        final String[] results = new String[passwords.size()];
+        final AtomicInteger next = new AtomicInteger();
+        Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                for (int i = next.getAndIncrement(); i < results.length; i = next.getAndIncrement()) {
+                    results[i] = hashIfPlain(passwords.get(i));
+                }
+            }
+        };
+        // Only THREADS tasks are queued however long the list is; the caller works too
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(THREADS, results.length) - 1; i++) {
+            try {
+                workers.add(POOL.submit(worker));
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        worker.run();
+        for (Future<?> f : workers) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while hashing passwords", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Password hashing failed", e.getCause());
+            }
+        }
+        List<String> hashed = new ArrayList<>(results.length);
+        for (String result : results) {
+            hashed.add(result);
+        }
+        return hashed;
+    }
+
+    /** Checks a password against a stored value, hashed or legacy plain text, in constant time. */
+    public static boolean verify(String password, String stored) {
+        if (password == null || stored == null) return false;
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) return false;
+        try {
+            int iterations = Integer.parseInt(parts[0]);
+            byte[] salt = Base64.getDecoder().decode(parts[1]);
+            byte[] expected = Base64.getDecoder().decode(parts[2]);
+            return MessageDigest.isEqual(derive(password, salt, iterations), expected);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Malformed password hash: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    /** True for legacy plain-text values and hashes made with fewer iterations than ITERATIONS. */
+    public static boolean needsRehash(String stored) {
+        if (!isHashed(stored)) return true;
+        int end = stored.indexOf('$', PREFIX.length());
+        try {
+            return end < 0 || Integer.parseInt(stored.substring(PREFIX.length(), end)) < ITERATIONS;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    static int getThreads() {
+        return THREADS;
+    }
+
+    public static String getStatsSummary() {
+        long count = HASHES.get();
+        return "iterations=" + ITERATIONS
+                + ", threads=" + THREADS
+                + ", hashes=" + count
+                + ", avgMs=" + (count == 0 ? 0 : HASH_NANOS.get() / count / 1000000)
+                + ", queued=" + POOL.getQueue().size();
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        long start = System.nanoTime();
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            // PBKDF2WithHmacSHA512 ships with every JDK 8+ provider
+            throw new IllegalStateException(ALGORITHM + " unavailable", e);
+        } finally {
+            spec.clearPassword();
+            HASHES.incrementAndGet();
+            HASH_NANOS.addAndGet(System.nanoTime() - start);
+        }
+    }
+}
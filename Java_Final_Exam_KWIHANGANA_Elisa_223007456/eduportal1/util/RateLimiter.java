@@ -0,0 +1,130 @@
+package com.eduportal.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free sliding-window rate limiter: at most limit events per key in any window of windowMs.
+ *
+ * Each key keeps the counts of the current and previous fixed windows packed into one AtomicLong
+ * (window index, current count, previous count), and the sliding count is estimated as
+ * previous * (unexpired share of the previous window) + current. A check is a map lookup and a
+ * CAS, with no locks and no allocation for known keys.
+ *
+ * Memory is bounded by maxKeys: when the map is full, keys idle for more than a window are swept
+ * out (at most once per window). Keys that still do not fit are let through untracked, so a flood
+ * of distinct keys cannot lock out real users; callers should pair a per-user limiter with a
+ * per-client one.
+ */
+public class RateLimiter {
+
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private final String name;
+    private final int limit;
+    private final long windowMs;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> states = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepWindow = new AtomicLong(-1);
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+
+    public RateLimiter(String name, int limit, long windowMs, int maxKeys) {
+        if (limit < 1 || limit > MAX_COUNT) throw new IllegalArgumentException("limit must be 1-" + MAX_COUNT + ": " + limit);
+        this.name = name;
+        this.limit = limit;
+        this.windowMs = Math.max(1, windowMs);
+        this.maxKeys = Math.max(1, maxKeys);
+    }
+
+    /** Records one event for the key; false if that would exceed the limit (the event is not counted). */
+    public boolean tryAcquire(String key) {
+        long now = System.currentTimeMillis();
+        long window = now / windowMs;
+        AtomicLong state = states.get(key);
+        if (state == null) {
+            if (states.size() >= maxKeys && !sweep(window)) {
+                untracked.increment();
+                allowed.increment();
+                return true;
+            }
+            AtomicLong fresh = new AtomicLong(pack(window, 0, 0));
+            AtomicLong existing = states.putIfAbsent(key, fresh);
+            state = existing != null ? existing : fresh;
+        }
+
+        // Share of the previous window that still overlaps the sliding window ending now
+        double previousWeight = 1.0 - (now % windowMs) / (double) windowMs;
+        long index = window & 0xFFFFFFFFL;
+        while (true) {
+            long packed = state.get();
+            long stateIndex = packed >>> 32;
+            int current = (int) (packed >>> 16) & MAX_COUNT;
+            int previous = (int) packed & MAX_COUNT;
+            if (stateIndex != index) {
+                // Roll over: the old current window becomes previous if it was the one just before
+                previous = stateIndex == ((index - 1) & 0xFFFFFFFFL) ? current : 0;
+                current = 0;
+            }
+            if (previous * previousWeight + current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (state.compareAndSet(packed, pack(window, Math.min(current + 1, MAX_COUNT), previous))) {
+                allowed.increment();
+                return true;
+            }
+        }
+    }
+
+    /** Milliseconds until the current window ends; a conservative Retry-After for rejected callers. */
+    public long getRetryAfterMillis() {
+        return windowMs - System.currentTimeMillis() % windowMs;
+    }
+
+    public void reset(String key) {
+        states.remove(key);
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return name + ": limit=" + limit + "/" + windowMs + "ms, keys=" + states.size()
+                + ", allowed=" + allowed.sum() + ", rejected=" + rejected.sum()
+                + ", evicted=" + evicted.sum() + ", untracked=" + untracked.sum();
+    }
+
+    // Drops keys whose last event is more than a window old (they no longer affect any estimate).
+    // Runs at most once per window; returns true if there is room for a new key afterwards.
+    private boolean sweep(long window) {
+        long last = lastSweepWindow.get();
+        if (last < window && lastSweepWindow.compareAndSet(last, window)) {
+            long index = window & 0xFFFFFFFFL;
+            for (Iterator<Map.Entry<String, AtomicLong>> it = states.entrySet().iterator(); it.hasNext(); ) {
+                long stateIndex = it.next().getValue().get() >>> 32;
+                if (stateIndex != index && stateIndex != ((index - 1) & 0xFFFFFFFFL)) {
+                    it.remove();
+                    evicted.increment();
+                }
+            }
+        }
+        return states.size() < maxKeys;
+    }
+
+    private static long pack(long window, int current, int previous) {
+        return (window & 0xFFFFFFFFL) << 32 | (long) current << 16 | previous;
+    }
+}
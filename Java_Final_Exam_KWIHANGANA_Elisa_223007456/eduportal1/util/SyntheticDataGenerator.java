@@ -0,0 +1,604 @@
+package com.eduportal.util;
+
+import com.eduportal.dao.DatabaseConnector;
+import com.eduportal.dao.EnrollmentDAO;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Command-line loader of production-sized synthetic data for capacity planning and performance tests.
+ *
+ * Sizes default to a large campus and are set with -Deduportal.gen.* properties:
+ *   students (200000), instructors (5000), courses (20000), enrollments (2000000), grades (20000000),
+ *   scale (1.0, multiplies every size, e.g. 0.01 for a quick run), seed (42), threads,
+ *   rowsPerInsert (1000), password (password123, shared by every generated user).
+ * Enrollment and grade totals are targets: the generator draws around them and prints what it wrote.
+ *
+ * Distributions: course popularity follows a Zipf curve (a few large intro courses, a long tail of
+ * small ones), students take a normally distributed number of distinct courses, about 7% of
+ * enrollments are dropped, and scores combine student ability, course difficulty and noise.
+ * student_gpa rows are written alongside the grades with the same formula as StudentGpaDAO.
+ *
+ * Rows go in as multi-row INSERTs, one transaction per chunk, on a pool of writer threads. Every chunk
+ * draws from its own random stream derived from the seed, so the same seed and sizes produce the same
+ * data whatever the thread count. Students, instructors, courses and assignments get explicit ids
+ * after the current maximum; enrollment and grade ids are left to AUTO_INCREMENT.
+ * Foreign key checks are off while loading, as every reference is generated consistently.
+ *
+ * Run against a scratch database: java -Deduportal.gen.scale=0.1 com.eduportal.util.SyntheticDataGenerator
+ * Exits with status 1 if any chunk fails (already committed chunks are kept).
+ */
+public final class SyntheticDataGenerator {
+
+    private static final double SCALE = Double.parseDouble(System.getProperty("eduportal.gen.scale", "1.0"));
+    private static final int STUDENTS = scaled("eduportal.gen.students", 200000);
+    private static final int INSTRUCTORS = scaled("eduportal.gen.instructors", 5000);
+    private static final int COURSES = scaled("eduportal.gen.courses", 20000);
+    private static final long ENROLLMENTS = scaled("eduportal.gen.enrollments", 2000000);
+    private static final long GRADES = scaled("eduportal.gen.grades", 20000000);
+    private static final long SEED = Long.getLong("eduportal.gen.seed", 42);
+    private static final int THREADS = Integer.getInteger("eduportal.gen.threads",
+            Math.min(Runtime.getRuntime().availableProcessors(), 8));
+    private static final int ROWS_PER_INSERT = Integer.getInteger("eduportal.gen.rowsPerInsert", 1000);
+    private static final String PASSWORD = System.getProperty("eduportal.gen.password", "password123");
+
+    // Rows of the driving table per transaction
+    private static final int USER_CHUNK = 5000;
+    private static final int COURSE_CHUNK = 1000;
+    private static final int STUDENT_CHUNK = 1000;
+    // MySQL allows at most 65535 placeholders per statement
+    private static final int MAX_PLACEHOLDERS = 65535;
+
+    private static final double POPULARITY_SKEW = 0.6;
+    private static final double DROP_RATE = 0.07;
+    // Share of a course's assignments a student hands in
+    private static final double SUBMIT_RATE = 0.9;
+    private static final int TERMS = 8;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    private static final long FIRST_TERM_MS = Timestamp.valueOf("2022-09-01 09:00:00").getTime();
+
+    // Separate random streams per phase, so adding rows to one table does not reshuffle the others
+    private static final int PHASE_CATALOG = 0;
+    private static final int PHASE_INSTRUCTORS = 1;
+    private static final int PHASE_ASSIGNMENTS = 2;
+    private static final int PHASE_STUDENTS = 3;
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "John", "Patricia", "Robert", "Jennifer",
+            "Michael", "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+            "Thomas", "Sarah", "Charles", "Karen", "Daniel", "Nancy", "Matthew", "Lisa", "Anthony", "Grace",
+            "Eric", "Aline", "Jean", "Diane", "Emmanuel", "Claudine", "Patrick", "Alice", "Yves", "Divine",
+            "Kevin", "Sandra", "Olivier", "Chantal"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "Wilson", "Anderson", "Taylor", "Thomas", "Moore",
+            "Jackson", "Martin", "Lee", "Thompson", "White", "Harris", "Clark", "Lewis", "Walker", "Hall",
+            "Mugisha", "Uwimana", "Niyonzima", "Habimana", "Mukamana", "Nshimiyimana", "Ishimwe", "Kwihangana",
+            "Hakizimana", "Uwase", "Ndayisaba", "Iradukunda", "Mutoni", "Byiringiro", "Ingabire"};
+    private static final String[][] DEPARTMENTS = {{"CS", "Computer Science"}, {"MATH", "Mathematics"},
+            {"PHYS", "Physics"}, {"CHEM", "Chemistry"}, {"BIO", "Biology"}, {"ECON", "Economics"},
+            {"BUS", "Business"}, {"ACC", "Accounting"}, {"ENG", "English"}, {"HIST", "History"},
+            {"PSY", "Psychology"}, {"SOC", "Sociology"}, {"STAT", "Statistics"}, {"EE", "Electrical Engineering"},
+            {"ME", "Mechanical Engineering"}, {"CE", "Civil Engineering"}, {"ART", "Fine Arts"},
+            {"MUS", "Music"}, {"PHIL", "Philosophy"}, {"POL", "Political Science"}, {"GEO", "Geography"},
+            {"NUR", "Nursing"}, {"LAW", "Law"}, {"EDU", "Education"}};
+    private static final String[] LEVELS = {"Introduction to", "Foundations of", "Intermediate", "Advanced",
+            "Topics in", "Graduate Seminar in"};
+    private static final String[] TOPICS = {"", "Theory", "Methods", "Practice", "Analysis", "Systems",
+            "Design", "Research", "Applications", "Ethics", "Laboratory", "Modelling", "History", "Policy"};
+
+    // --- Catalog: per-course attributes every phase needs, built once from the seed ---
+    private static int firstStudentId;
+    private static int firstInstructorId;
+    private static int firstCourseId;
+    private static int firstAssignmentId;
+    private static int[] courseInstructor;
+    private static int[] courseCredits;
+    private static double[] courseDifficulty;
+    private static int[] courseTerm;
+    // Assignments of course c are firstAssignmentId + assignmentStart[c] .. + assignmentStart[c + 1] - 1
+    private static int[] assignmentStart;
+    // Cumulative popularity, indexed by popularity rank; rankedCourse maps a rank to a course
+    private static double[] popularityCdf;
+    private static int[] rankedCourse;
+    private static double gradeProbability;
+    private static String passwordHash;
+
+    private SyntheticDataGenerator() {}
+
+    public static void main(String[] args) {
+        if (!DatabaseConnector.getInstance().migrateSchema()) {
+            System.exit(1);
+        }
+        System.out.printf("Generating %d students, %d instructors, %d courses, ~%d enrollments, ~%d grades "
+                        + "(seed %d, %d threads, %d rows per INSERT)%n",
+                STUDENTS, INSTRUCTORS, COURSES, ENROLLMENTS, GRADES, SEED, THREADS, ROWS_PER_INSERT);
+
+        ExecutorService writers = Executors.newFixedThreadPool(THREADS, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "eduportal-datagen-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        boolean ok = false;
+        try {
+            readIdBases();
+            buildCatalog();
+            // One shared hash keeps the load fast; every generated user logs in with the same password
+            passwordHash = PasswordHasher.hash(PASSWORD);
+
+            long start = System.nanoTime();
+            run(writers, "instructors", instructorChunks());
+            run(writers, "courses", courseChunks());
+            run(writers, "assignments", assignmentChunks());
+            run(writers, "students, enrollments, grades", studentChunks());
+            System.out.printf("Done in %.1f s.%n", (System.nanoTime() - start) / 1e9);
+            ok = true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            writers.shutdownNow();
+        }
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static int scaled(String property, int defaultValue) {
+        return (int) Math.round(Integer.getInteger(property, defaultValue) * SCALE);
+    }
+
+    // --- Setup ---
+
+    private static void readIdBases() throws SQLException {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) throw new SQLException("Database connection unavailable");
+
+        try (Connection c = conn;
+             Statement stmt = c.createStatement()) {
+            firstStudentId = maxId(stmt, "SELECT MAX(StudentID) FROM student") + 1;
+            firstInstructorId = maxId(stmt, "SELECT MAX(InstructorID) FROM instructor") + 1;
+            firstCourseId = maxId(stmt, "SELECT MAX(CourseID) FROM course") + 1;
+            firstAssignmentId = maxId(stmt, "SELECT MAX(AssignmentID) FROM assignment") + 1;
+        }
+    }
+
+    private static int maxId(Statement stmt, String sql) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void buildCatalog() {
+        Random random = random(PHASE_CATALOG, 0);
+        double enrollmentsPerCourse = COURSES == 0 ? 0 : (double) ENROLLMENTS / COURSES;
+        double gradesPerEnrollment = ENROLLMENTS == 0 ? 0 : (double) GRADES / (ENROLLMENTS * (1 - DROP_RATE / 2));
+        // Enough assignments per course that the target is met with SUBMIT_RATE of them handed in
+        int meanAssignments = gradesPerEnrollment == 0 ? 0 : (int) Math.ceil(gradesPerEnrollment / SUBMIT_RATE);
+        gradeProbability = meanAssignments == 0 ? 0 : Math.min(1.0, gradesPerEnrollment / meanAssignments);
+
+        courseInstructor = new int[COURSES];
+        courseCredits = new int[COURSES];
+        courseDifficulty = new double[COURSES];
+        courseTerm = new int[COURSES];
+        assignmentStart = new int[COURSES + 1];
+        for (int c = 0; c < COURSES; c++) {
+            courseInstructor[c] = INSTRUCTORS == 0 ? -1 : random.nextInt(INSTRUCTORS);
+            double credits = random.nextDouble();
+            courseCredits[c] = credits < 0.6 ? 3 : credits < 0.85 ? 4 : credits < 0.95 ? 2 : 1;
+            courseDifficulty[c] = random.nextGaussian() * 5;
+            courseTerm[c] = random.nextInt(TERMS);
+            int spread = meanAssignments / 4;
+            int assignments = meanAssignments - spread + (spread == 0 ? 0 : random.nextInt(2 * spread + 1));
+            assignmentStart[c + 1] = assignmentStart[c] + assignments;
+        }
+
+        // Zipf weights over a shuffled order, so popular courses are spread across ids and departments
+        rankedCourse = new int[COURSES];
+        for (int c = 0; c < COURSES; c++) {
+            rankedCourse[c] = c;
+        }
+        for (int i = COURSES - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = rankedCourse[i];
+            rankedCourse[i] = rankedCourse[j];
+            rankedCourse[j] = swap;
+        }
+        popularityCdf = new double[COURSES];
+        double total = 0;
+        for (int rank = 0; rank < COURSES; rank++) {
+            total += 1.0 / Math.pow(rank + 1, POPULARITY_SKEW);
+            popularityCdf[rank] = total;
+        }
+        for (int rank = 0; rank < COURSES; rank++) {
+            popularityCdf[rank] /= total;
+        }
+        if (COURSES > 0) {
+            System.out.printf("Catalog: %d assignments, largest course ~%.0f students, mean %.1f per course%n",
+                    assignmentStart[COURSES], popularityCdf[0] * ENROLLMENTS, enrollmentsPerCourse);
+        }
+    }
+
+    // --- Chunks per table ---
+
+    private static List<ChunkWriter> instructorChunks() {
+        List<ChunkWriter> chunks = new ArrayList<>();
+        for (int from = 0; from < INSTRUCTORS; from += USER_CHUNK) {
+            final int first = from;
+            final int last = Math.min(from + USER_CHUNK, INSTRUCTORS);
+            chunks.add(new ChunkWriter() {
+                @Override
+                public long write(Connection conn) throws SQLException {
+                    Random random = random(PHASE_INSTRUCTORS, first / USER_CHUNK);
+                    try (MultiRowInsert insert = new MultiRowInsert(conn, "instructor", "InstructorID, Username, "
+                            + "Password, Role, Name, Identifier, Status, Location, Contact, AssignedSince", 10)) {
+                        for (int i = first; i < last; i++) {
+                            int id = firstInstructorId + i;
+                            String firstName = pick(random, FIRST_NAMES);
+                            String lastName = pick(random, LAST_NAMES);
+                            double status = random.nextDouble();
+                            insert.add(id, username(firstName, lastName, id), passwordHash, "Instructor",
+                                    "Dr. " + firstName + " " + lastName, String.format("EMP%06d", id),
+                                    status < 0.92 ? "Active" : status < 0.97 ? "On Leave" : "Inactive",
+                                    "Building " + (char) ('A' + random.nextInt(8)) + ", Room " + (100 + random.nextInt(400)),
+                                    email(firstName, lastName, id, "faculty.edu"),
+                                    new Timestamp(FIRST_TERM_MS - random.nextInt(15 * 365) * DAY_MS));
+                        }
+                        return insert.finish();
+                    }
+                }
+            });
+        }
+        return chunks;
+    }
+
+    private static List<ChunkWriter> courseChunks() {
+        List<ChunkWriter> chunks = new ArrayList<>();
+        for (int from = 0; from < COURSES; from += COURSE_CHUNK) {
+            final int first = from;
+            final int last = Math.min(from + COURSE_CHUNK, COURSES);
+            chunks.add(new ChunkWriter() {
+                @Override
+                public long write(Connection conn) throws SQLException {
+                    try (MultiRowInsert insert = new MultiRowInsert(conn, "course",
+                            "CourseID, course_name, course_code, credits, InstructorID, CreatedAt", 6)) {
+                        for (int c = first; c < last; c++) {
+                            insert.add(firstCourseId + c, courseName(c), courseCode(c), courseCredits[c],
+                                    courseInstructor[c] < 0 ? null : firstInstructorId + courseInstructor[c],
+                                    new Timestamp(termStart(courseTerm[c]) - 60 * DAY_MS));
+                        }
+                        return insert.finish();
+                    }
+                }
+            });
+        }
+        return chunks;
+    }
+
+    private static List<ChunkWriter> assignmentChunks() {
+        List<ChunkWriter> chunks = new ArrayList<>();
+        for (int from = 0; from < COURSES; from += COURSE_CHUNK) {
+            final int first = from;
+            final int last = Math.min(from + COURSE_CHUNK, COURSES);
+            chunks.add(new ChunkWriter() {
+                @Override
+                public long write(Connection conn) throws SQLException {
+                    Random random = random(PHASE_ASSIGNMENTS, first / COURSE_CHUNK);
+                    try (MultiRowInsert insert = new MultiRowInsert(conn, "assignment",
+                            "AssignmentID, CourseID, Title, DueDate", 4)) {
+                        for (int c = first; c < last; c++) {
+                            int count = assignmentStart[c + 1] - assignmentStart[c];
+                            long term = termStart(courseTerm[c]);
+                            for (int a = 0; a < count; a++) {
+                                String title = a == count - 1 ? "Final Exam"
+                                        : a == count / 2 && count > 2 ? "Midterm Exam" : "Assignment " + (a + 1);
+                                // Spread over a 15-week term, due on a weekday evening
+                                long due = term + (long) (a + 1) * 15 * 7 / (count + 1) * DAY_MS
+                                        + random.nextInt(5) * DAY_MS + 14 * 60 * 60 * 1000L;
+                                insert.add(firstAssignmentId + assignmentStart[c] + a, firstCourseId + c, title,
+                                        new Timestamp(due));
+                            }
+                        }
+                        return insert.finish();
+                    }
+                }
+            });
+        }
+        return chunks;
+    }
+
+    private static List<ChunkWriter> studentChunks() {
+        final double meanCourses = STUDENTS == 0 ? 0 : (double) ENROLLMENTS / STUDENTS;
+        final int maxCourses = (int) Math.min(COURSES, Math.max(1, Math.ceil(meanCourses * 3)));
+        List<ChunkWriter> chunks = new ArrayList<>();
+        for (int from = 0; from < STUDENTS; from += STUDENT_CHUNK) {
+            final int first = from;
+            final int last = Math.min(from + STUDENT_CHUNK, STUDENTS);
+            chunks.add(new ChunkWriter() {
+                @Override
+                public long write(Connection conn) throws SQLException {
+                    Random random = random(PHASE_STUDENTS, first / STUDENT_CHUNK);
+                    int[] courses = new int[maxCourses];
+                    try (MultiRowInsert students = new MultiRowInsert(conn, "student",
+                            "StudentID, Username, Password, Role, full_name, email, course_name, CreatedAt", 8);
+                         MultiRowInsert enrollments = new MultiRowInsert(conn, "enrollment",
+                                 "StudentID, CourseID, Status, EnrollDate", 4);
+                         MultiRowInsert grades = new MultiRowInsert(conn, "grade",
+                                 "StudentID, AssignmentID, Score, LetterGrade", 4);
+                         MultiRowInsert gpa = new MultiRowInsert(conn, "student_gpa",
+                                 "StudentID, quality_points, credits, grade_count", 4)) {
+                        for (int i = first; i < last; i++) {
+                            int id = firstStudentId + i;
+                            String firstName = pick(random, FIRST_NAMES);
+                            String lastName = pick(random, LAST_NAMES);
+                            double ability = random.nextGaussian() * 8;
+                            int count = pickCourses(random, meanCourses, courses);
+
+                            students.add(id, username(firstName, lastName, id), passwordHash, "Student",
+                                    firstName + " " + lastName, email(firstName, lastName, id, "student.edu"),
+                                    count == 0 ? null : courseName(courses[0]),
+                                    new Timestamp(FIRST_TERM_MS + random.nextInt(TERMS * 180) * DAY_MS - 90 * DAY_MS));
+
+                            int qualityPoints = 0;
+                            int credits = 0;
+                            int graded = 0;
+                            for (int k = 0; k < count; k++) {
+                                int c = courses[k];
+                                boolean dropped = random.nextDouble() < DROP_RATE;
+                                enrollments.add(id, firstCourseId + c, dropped ? EnrollmentDAO.STATUS_DROPPED : EnrollmentDAO.STATUS_REGISTERED,
+                                        new Timestamp(termStart(courseTerm[c]) - random.nextInt(45) * DAY_MS));
+
+                                // Dropped students only hand in the first half of the work
+                                int assignments = assignmentStart[c + 1] - assignmentStart[c];
+                                int handedIn = dropped ? assignments / 2 : assignments;
+                                for (int a = 0; a < handedIn; a++) {
+                                    if (random.nextDouble() >= gradeProbability) continue;
+                                    double score = score(ability, courseDifficulty[c], random);
+                                    grades.add(id, firstAssignmentId + assignmentStart[c] + a, score, letter(score));
+                                    qualityPoints += points(score) * courseCredits[c];
+                                    credits += courseCredits[c];
+                                    graded++;
+                                }
+                            }
+                            if (graded > 0) gpa.add(id, qualityPoints, credits, graded);
+                        }
+                        return students.finish() + enrollments.finish() + grades.finish() + gpa.finish();
+                    }
+                }
+            });
+        }
+        return chunks;
+    }
+
+    // --- Distributions ---
+
+    /** Fills courses with distinct course indexes drawn by popularity; returns how many were drawn. */
+    private static int pickCourses(Random random, double mean, int[] courses) {
+        int target = (int) Math.round(mean + random.nextGaussian() * mean / 3);
+        target = Math.max(0, Math.min(courses.length, target));
+        int count = 0;
+        // Bounded retries: with heavy skew and few courses a student may end up with fewer than drawn
+        for (int attempt = 0; count < target && attempt < target * 20; attempt++) {
+            int rank = Arrays.binarySearch(popularityCdf, random.nextDouble());
+            int course = rankedCourse[Math.min(rank < 0 ? -rank - 1 : rank, COURSES - 1)];
+            boolean taken = false;
+            for (int k = 0; k < count && !taken; k++) {
+                taken = courses[k] == course;
+            }
+            if (!taken) courses[count++] = course;
+        }
+        return count;
+    }
+
+    private static double score(double ability, double difficulty, Random random) {
+        double score = 78 + ability - difficulty + random.nextGaussian() * 10;
+        return Math.round(Math.max(0, Math.min(100, score)) * 100) / 100.0;
+    }
+
+    // Same bands as GradeStatisticsEngine and StudentGpaDAO
+    private static String letter(double score) {
+        if (score >= 90) return "A";
+        if (score >= 80) return "B";
+        if (score >= 70) return "C";
+        if (score >= 60) return "D";
+        return "F";
+    }
+
+    private static int points(double score) {
+        if (score >= 90) return 4;
+        if (score >= 80) return 3;
+        if (score >= 70) return 2;
+        if (score >= 60) return 1;
+        return 0;
+    }
+
+    private static long termStart(int term) {
+        // Two terms a year: September and February
+        return FIRST_TERM_MS + (term / 2) * 365 * DAY_MS + (term % 2) * 153 * DAY_MS;
+    }
+
+    // Department by index, level by course number, a section suffix once numbers run out
+    private static String courseCode(int c) {
+        int number = 100 + (c / DEPARTMENTS.length) % 600;
+        int section = c / (DEPARTMENTS.length * 600);
+        return DEPARTMENTS[c % DEPARTMENTS.length][0] + number + (section == 0 ? "" : "-" + (section + 1));
+    }
+
+    private static String courseName(int c) {
+        int number = 100 + (c / DEPARTMENTS.length) % 600;
+        String topic = TOPICS[(c / DEPARTMENTS.length) % TOPICS.length];
+        return LEVELS[Math.min(number / 100 - 1, LEVELS.length - 1)] + " " + DEPARTMENTS[c % DEPARTMENTS.length][1]
+                + (topic.isEmpty() ? "" : ": " + topic);
+    }
+
+    // Ids keep generated usernames unique
+    private static String username(String firstName, String lastName, int id) {
+        return (firstName.charAt(0) + lastName).toLowerCase() + id;
+    }
+
+    private static String email(String firstName, String lastName, int id, String domain) {
+        return (firstName + "." + lastName).toLowerCase() + id + "@" + domain;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // SplitMix64 of (seed, phase, chunk): independent streams that do not depend on thread scheduling
+    private static Random random(int phase, int chunk) {
+        long z = SEED + 0x9E3779B97F4A7C15L * (((long) phase << 32) + chunk + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new Random(z ^ (z >>> 31));
+    }
+
+    // --- Writing ---
+
+    /** Writes one chunk on the given connection; returns the number of rows inserted. */
+    private interface ChunkWriter {
+        long write(Connection conn) throws SQLException;
+    }
+
+    private static void run(ExecutorService writers, String label, List<ChunkWriter> chunks) throws SQLException {
+        long start = System.nanoTime();
+        List<Future<Long>> results = new ArrayList<>();
+        for (final ChunkWriter chunk : chunks) {
+            results.add(writers.submit(new Callable<Long>() {
+                @Override
+                public Long call() throws SQLException {
+                    return inTransaction(chunk);
+                }
+            }));
+        }
+        long rows = 0;
+        for (Future<Long> result : results) {
+            try {
+                rows += result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while loading " + label, e);
+            } catch (ExecutionException e) {
+                for (Future<Long> pending : results) {
+                    pending.cancel(true);
+                }
+                Throwable cause = e.getCause();
+                throw cause instanceof SQLException ? (SQLException) cause
+                        : new SQLException("Loading " + label + " failed", cause);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("  %-32s %,12d rows in %6.1f s (%,.0f rows/s)%n", label, rows, seconds,
+                seconds == 0 ? 0 : rows / seconds);
+    }
+
+    // Straight from the pool: per-statement metrics and slow-query capture would only slow the load down
+    private static long inTransaction(ChunkWriter chunk) throws SQLException {
+        try (Connection c = DatabaseConnector.getPool().borrow();
+             Statement stmt = c.createStatement()) {
+            c.setAutoCommit(false);
+            stmt.execute("SET SESSION foreign_key_checks = 0");
+            try {
+                long rows = chunk.write(c);
+                c.commit();
+                return rows;
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                // Session variables survive the return to the pool
+                stmt.execute("SET SESSION foreign_key_checks = 1");
+            }
+        }
+    }
+
+    /**
+     * Buffers rows and sends them as INSERT ... VALUES (...), (...), ... with up to rowsPerInsert rows,
+     * reusing one prepared statement for full batches.
+     */
+    private static final class MultiRowInsert implements AutoCloseable {
+        private final Connection conn;
+        private final String prefix;
+        private final String rowPlaceholders;
+        private final int columns;
+        private final int rowsPerStatement;
+        private final Object[] values;
+        private int buffered;
+        private long inserted;
+        private PreparedStatement full;
+
+        MultiRowInsert(Connection conn, String table, String columnList, int columns) {
+            this.conn = conn;
+            this.prefix = "INSERT INTO " + table + " (" + columnList + ") VALUES ";
+            StringBuilder row = new StringBuilder("(");
+            for (int i = 0; i < columns; i++) {
+                row.append(i == 0 ? "?" : ", ?");
+            }
+            this.rowPlaceholders = row.append(')').toString();
+            this.columns = columns;
+            this.rowsPerStatement = Math.max(1, Math.min(ROWS_PER_INSERT, MAX_PLACEHOLDERS / columns));
+            this.values = new Object[rowsPerStatement * columns];
+        }
+
+        void add(Object... row) throws SQLException {
+            System.arraycopy(row, 0, values, buffered * columns, columns);
+            if (++buffered == rowsPerStatement) flush();
+        }
+
+        /** Sends the remaining rows and returns the total inserted by this writer. */
+        long finish() throws SQLException {
+            flush();
+            return inserted;
+        }
+
+        private void flush() throws SQLException {
+            if (buffered == 0) return;
+            if (buffered == rowsPerStatement) {
+                if (full == null) full = conn.prepareStatement(sql(buffered));
+                execute(full);
+            } else {
+                try (PreparedStatement ps = conn.prepareStatement(sql(buffered))) {
+                    execute(ps);
+                }
+            }
+            inserted += buffered;
+            buffered = 0;
+        }
+
+        private void execute(PreparedStatement ps) throws SQLException {
+            for (int i = 0; i < buffered * columns; i++) {
+                ps.setObject(i + 1, values[i]);
+            }
+            ps.executeUpdate();
+        }
+
+        private String sql(int rows) {
+            StringBuilder sb = new StringBuilder(prefix.length() + rows * (rowPlaceholders.length() + 2));
+            sb.append(prefix);
+            for (int i = 0; i < rows; i++) {
+                if (i > 0) sb.append(", ");
+                sb.append(rowPlaceholders);
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (full != null) full.close();
+        }
+    }
+}
@@ -104,6 +104,18 @@ public class AdminDashboardFrame extends JFrame {
                     "About", JOptionPane.INFORMATION_MESSAGE);
             }
         });
+        JMenuItem responsivenessItem = new JMenuItem("UI Responsiveness");
+        responsivenessItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                JTextArea report = new JTextArea(EdtWatchdog.getReport(), 15, 80);
+                report.setEditable(false);
+                report.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+                JOptionPane.showMessageDialog(AdminDashboardFrame.this, new JScrollPane(report),
+                    "UI Responsiveness", JOptionPane.INFORMATION_MESSAGE);
+            }
+        });
+        helpMenu.add(responsivenessItem);
         helpMenu.add(aboutItem);
 
         menuBar.add(fileMenu);
@@ -49,8 +49,7 @@ public class AssignmentFormDialog extends JDialog {
         this.currentAssignment = assignment;
         this.parentPanel = parentPanel;
         this.ownerID = ownerID;
-        
-        loadDropdownData();
+        this.courses = new ArrayList<>();
 
         setSize(600, 600);
         setResizable(false);
@@ -66,26 +65,41 @@ public class AssignmentFormDialog extends JDialog {
         } else {
             statusComboBox.setSelectedItem("Pending");
         }
+
+        loadDropdownData();
     }
     
     private void loadDropdownData() {
-        // --- FIX 1: Handle Unhandled Exception from DAO call ---
-        try {
-            // Calls the DAO method which handles the ownerID logic
-            courses = courseDAO.getCoursesByInstructor(ownerID);
-        } catch (Exception e) {
-            courses = new ArrayList<>();
-            JOptionPane.showMessageDialog(this, "Failed to load courses: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+        // Courses are fetched in the background; the combo box fills in when they arrive
+        DataLoader.load(this, "courses", new DataLoader.Task<List<Course>>() {
+            @Override
+            public List<Course> run() {
+                // Calls the DAO method which handles the ownerID logic
+                return courseDAO.getCoursesByInstructor(ownerID);
+            }
+        }, new DataLoader.Callback<List<Course>>() {
+            @Override
+            public void onSuccess(List<Course> result) {
+                courses = result;
+                courseComboBox.removeAllItems();
+                for (Course c : courses) {
+                    courseComboBox.addItem(c.getCourseCode() + " - " + c.getCourseName() + " (" + c.getCourseID() + ")");
+                }
+                if (currentAssignment != null) {
+                    selectCourseComboBoxItem(courseComboBox, currentAssignment.getCourseID());
+                }
+            }
+
+            @Override
+            public void onError(Component owner, Exception e) {
+                JOptionPane.showMessageDialog(owner, "Failed to load courses: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+                e.printStackTrace();
+            }
+        });
     }
 
     private void initializeComponents() {
         courseComboBox = new JComboBox<String>();
-        for (Course c : courses) {
-            // --- FIX 2 is located in the Course model implementation below ---
-             courseComboBox.addItem(c.getCourseCode() + " - " + c.getCourseName() + " (" + c.getCourseID() + ")");
-        }
         
         titleField = new JTextField(20);          
         typeField = new JTextField("Homework", 20); 
@@ -257,9 +271,8 @@ public class AssignmentFormDialog extends JDialog {
         
         int courseID = courses.get(selectedCourseIndex).getCourseID();
         
-        Assignment assignmentToSave;
-        boolean success;
-        String action;
+        final Assignment assignmentToSave;
+        final String action;
 
         if (currentAssignment == null) {
             // INSERT (New Assignment) - Using 7-argument simplified constructor
@@ -277,8 +290,6 @@ public class AssignmentFormDialog extends JDialog {
             assignmentToSave.setDescription(description);
             assignmentToSave.setStatus(status);
             assignmentToSave.setRemarks(remarks);
-            
-            success = assignmentDAO.insert(assignmentToSave);
             action = "added";
         } else {
             // UPDATE (Existing Assignment)
@@ -292,17 +303,27 @@ public class AssignmentFormDialog extends JDialog {
             assignmentToSave.setDueDate(dueDate);
             assignmentToSave.setStatus(status);
             assignmentToSave.setRemarks(remarks);
-            
-            success = assignmentDAO.update(assignmentToSave);
             action = "updated";
         }
 
-        if (success) {
-            JOptionPane.showMessageDialog(this, "Assignment record successfully " + action + ".", "Success", JOptionPane.INFORMATION_MESSAGE);
-            parentPanel.loadAssignmentData();
-            dispose();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to save assignment record. Check for database errors.", "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        DataLoader.submit(this, saveButton, "save", new DataLoader.Task<Boolean>() {
+            @Override
+            public Boolean run() {
+                return currentAssignment == null
+                        ? assignmentDAO.insert(assignmentToSave)
+                        : assignmentDAO.update(assignmentToSave);
+            }
+        }, new DataLoader.Callback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean success) {
+                if (success) {
+                    JOptionPane.showMessageDialog(AssignmentFormDialog.this, "Assignment record successfully " + action + ".", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    parentPanel.loadAssignmentData();
+                    dispose();
+                } else {
+                    JOptionPane.showMessageDialog(AssignmentFormDialog.this, "Failed to save assignment record. Check for database errors.", "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
     }
 }
\ No newline at end of file
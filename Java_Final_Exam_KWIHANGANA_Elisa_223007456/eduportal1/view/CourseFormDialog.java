@@ -75,10 +75,20 @@ public class CourseFormDialog extends JDialog {
     }
 
     private void populateInstructors() {
-        List<Instructor> list = instructorDAO.getAll(); 
-        for (Instructor ins : list) {
-            instructorCombo.addItem(ins);
-        }
+        DataLoader.load(this, "instructors", new DataLoader.Task<List<Instructor>>() {
+            @Override
+            public List<Instructor> run() {
+                return instructorDAO.getAll();
+            }
+        }, new DataLoader.Callback<List<Instructor>>() {
+            @Override
+            public void onSuccess(List<Instructor> list) {
+                for (Instructor ins : list) {
+                    instructorCombo.addItem(ins);
+                }
+                selectAssignedInstructor();
+            }
+        });
     }
 
     private void layoutComponents() {
@@ -134,14 +144,19 @@ public class CourseFormDialog extends JDialog {
                 creditsSpinner.setValue(3.0);
             }
 
-            // Logic to select the currently assigned instructor
-            int assignedID = currentCourse.getInstructorID(); 
-            for (int i = 0; i < instructorCombo.getItemCount(); i++) {
-                Instructor item = instructorCombo.getItemAt(i);
-                if (item.getInstructorID() == assignedID) {
-                    instructorCombo.setSelectedIndex(i);
-                    break;
-                }
+            selectAssignedInstructor();
+        }
+    }
+
+    // Selects the currently assigned instructor; runs again once the instructor list has loaded
+    private void selectAssignedInstructor() {
+        if (currentCourse == null) return;
+        int assignedID = currentCourse.getInstructorID(); 
+        for (int i = 0; i < instructorCombo.getItemCount(); i++) {
+            Instructor item = instructorCombo.getItemAt(i);
+            if (item.getInstructorID() == assignedID) {
+                instructorCombo.setSelectedIndex(i);
+                break;
             }
         }
     }
@@ -167,34 +182,45 @@ public class CourseFormDialog extends JDialog {
         String code = codeField.getText().trim();
         String credits = String.valueOf(creditsSpinner.getValue());
         
-        Instructor selectedInstructor = (Instructor) instructorCombo.getSelectedItem();
+        final Instructor selectedInstructor = (Instructor) instructorCombo.getSelectedItem();
 
         if (name.isEmpty() || code.isEmpty() || selectedInstructor == null) {
             JOptionPane.showMessageDialog(this, "All fields including Instructor are required.", "Input Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
         
-        boolean success;
-        String action;
+        final Course courseToSave;
+        final String action;
 
         if (currentCourse == null) {
-            Course newCourse = new Course(0, name, code, credits, new Date());
-            success = courseDAO.insertWithInstructor(newCourse, selectedInstructor.getInstructorID());
+            courseToSave = new Course(0, name, code, credits, new Date());
             action = "added";
         } else {
-            currentCourse.setAttribute1(name);
-            currentCourse.setAttribute2(code);
-            currentCourse.setAttribute3(credits);
-            success = courseDAO.updateWithInstructor(currentCourse, selectedInstructor.getInstructorID());
+            courseToSave = currentCourse;
+            courseToSave.setAttribute1(name);
+            courseToSave.setAttribute2(code);
+            courseToSave.setAttribute3(credits);
             action = "updated";
         }
 
-        if (success) {
-            JOptionPane.showMessageDialog(this, "Course successfully " + action + " and assigned.", "Success", JOptionPane.INFORMATION_MESSAGE);
-            parentPanel.loadCourseData();
-            dispose();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to save course record.", "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        DataLoader.submit(this, saveButton, "save", new DataLoader.Task<Boolean>() {
+            @Override
+            public Boolean run() {
+                return currentCourse == null
+                        ? courseDAO.insertWithInstructor(courseToSave, selectedInstructor.getInstructorID())
+                        : courseDAO.updateWithInstructor(courseToSave, selectedInstructor.getInstructorID());
+            }
+        }, new DataLoader.Callback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean success) {
+                if (success) {
+                    JOptionPane.showMessageDialog(CourseFormDialog.this, "Course successfully " + action + " and assigned.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    parentPanel.loadCourseData();
+                    dispose();
+                } else {
+                    JOptionPane.showMessageDialog(CourseFormDialog.this, "Failed to save course record.", "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
     }
 }
\ No newline at end of file
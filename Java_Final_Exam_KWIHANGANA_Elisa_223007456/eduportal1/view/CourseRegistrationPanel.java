@@ -2,6 +2,7 @@ package com.eduportal.view;
 
 import com.eduportal.dao.CourseDAO;
 import com.eduportal.model.Course;
+import com.eduportal.service.EnrollmentService;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
@@ -15,6 +16,7 @@ public class CourseRegistrationPanel extends JPanel {
     private JTable catalogTable;
     private DefaultTableModel tableModel;
     private JTextField searchField;
+    private JButton enrollBtn;
 
     public CourseRegistrationPanel(int studentID) {
         this.studentID = studentID;
@@ -50,7 +52,7 @@ public class CourseRegistrationPanel extends JPanel {
         add(new JScrollPane(catalogTable), BorderLayout.CENTER);
 
         // --- Enrollment Button ---
-        JButton enrollBtn = new JButton("Enroll in Selected Course");
+        enrollBtn = new JButton("Enroll in Selected Course");
         enrollBtn.setPreferredSize(new Dimension(200, 40));
         enrollBtn.setBackground(new Color(66, 133, 244));
         enrollBtn.setForeground(Color.WHITE);
@@ -69,15 +71,25 @@ public class CourseRegistrationPanel extends JPanel {
     }
 
     private void performSearch() {
-        String query = searchField.getText();
-        List<Course> results = courseDAO.searchCourses(query);
-        tableModel.setRowCount(0);
-        for (Course c : results) {
-            tableModel.addRow(new Object[]{
-                c.getCourseID(), c.getCourseCode(), c.getCourseName(), 
-                c.getInstructorName(), c.getCredits()
-            });
-        }
+        final String query = searchField.getText();
+        // A newer search supersedes one still running, so fast typing never paints stale results
+        DataLoader.load(this, "search", new DataLoader.Task<List<Course>>() {
+            @Override
+            public List<Course> run() {
+                return courseDAO.searchCourses(query);
+            }
+        }, new DataLoader.Callback<List<Course>>() {
+            @Override
+            public void onSuccess(List<Course> results) {
+                tableModel.setRowCount(0);
+                for (Course c : results) {
+                    tableModel.addRow(new Object[]{
+                        c.getCourseID(), c.getCourseCode(), c.getCourseName(), 
+                        c.getInstructorName(), c.getCredits()
+                    });
+                }
+            }
+        });
     }
 
     private void handleEnrollment() {
@@ -87,11 +99,42 @@ public class CourseRegistrationPanel extends JPanel {
             return;
         }
 
-        int courseID = (int) tableModel.getValueAt(row, 0);
-        if (courseDAO.enrollStudentInCourse(studentID, courseID)) {
-            JOptionPane.showMessageDialog(this, "Successfully enrolled!");
-        } else {
-            JOptionPane.showMessageDialog(this, "Enrollment failed. You might already be registered.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        final int courseID = (int) tableModel.getValueAt(row, 0);
+        DataLoader.submit(this, enrollBtn, "enroll", new DataLoader.Task<EnrollmentService.Decision>() {
+            @Override
+            public EnrollmentService.Decision run() {
+                return EnrollmentService.getInstance().enroll(studentID, courseID);
+            }
+        }, new DataLoader.Callback<EnrollmentService.Decision>() {
+            @Override
+            public void onSuccess(EnrollmentService.Decision decision) {
+                if (decision == EnrollmentService.Decision.ENROLLED) {
+                    JOptionPane.showMessageDialog(CourseRegistrationPanel.this, decision.getMessage());
+                } else if (decision == EnrollmentService.Decision.COURSE_FULL) {
+                    offerWaitlist(courseID);
+                } else {
+                    JOptionPane.showMessageDialog(CourseRegistrationPanel.this, decision.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
+    }
+
+    private void offerWaitlist(final int courseID) {
+        int choice = JOptionPane.showConfirmDialog(this, "This course is full. Join the waitlist?",
+                "Course Full", JOptionPane.YES_NO_OPTION);
+        if (choice != JOptionPane.YES_OPTION) return;
+
+        DataLoader.submit(this, enrollBtn, "enroll", new DataLoader.Task<EnrollmentService.Decision>() {
+            @Override
+            public EnrollmentService.Decision run() {
+                return EnrollmentService.getInstance().enroll(studentID, courseID, true);
+            }
+        }, new DataLoader.Callback<EnrollmentService.Decision>() {
+            @Override
+            public void onSuccess(EnrollmentService.Decision decision) {
+                int type = decision == EnrollmentService.Decision.FAILED ? JOptionPane.ERROR_MESSAGE : JOptionPane.INFORMATION_MESSAGE;
+                JOptionPane.showMessageDialog(CourseRegistrationPanel.this, decision.getMessage(), "Enrollment", type);
+            }
+        });
     }
 }
\ No newline at end of file
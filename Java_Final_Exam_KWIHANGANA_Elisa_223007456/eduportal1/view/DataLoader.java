@@ -0,0 +1,200 @@
+package com.eduportal.view;
+
+import com.eduportal.util.FlightEvents;
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs database work for the Swing views off the Event Dispatch Thread.
+ * Usage: DataLoader.load(panel, "courses", task, callback) where the task does the DAO call
+ * on a background thread and the callback updates components back on the EDT.
+ *
+ * - A new load with the same owner and key cancels the previous one; its result is discarded.
+ *   Writes started with submit() are never interrupted: a superseded write still completes.
+ * - While any load is pending for an owner, the owner shows a wait cursor.
+ * - Exceptions thrown by the task are delivered to Callback.onError on the EDT.
+ */
+public final class DataLoader {
+
+    /** Background threads; sized below the connection pool so UI loads never starve it. */
+    private static final int THREADS = Integer.getInteger("eduportal.loader.threads", 8);
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "eduportal-loader-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    });
+
+    // EDT-confined bookkeeping: in-flight workers per owner/key and pending count per owner
+    private static final Map<Component, Map<String, Worker<?>>> IN_FLIGHT = new WeakHashMap<>();
+    private static final Map<Component, Integer> PENDING = new WeakHashMap<>();
+
+    private DataLoader() {}
+
+    /** Work executed on a background thread. */
+    public interface Task<T> {
+        T run() throws Exception;
+    }
+
+    /** Receives the outcome of a Task on the EDT. */
+    public abstract static class Callback<T> {
+
+        public abstract void onSuccess(T result);
+
+        /** Default error handling: log and show an error dialog over the owner. */
+        public void onError(Component owner, Exception error) {
+            System.err.println("Background load failed: " + error);
+            JOptionPane.showMessageDialog(owner, "Database error: " + error.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Starts a background load. Must be called on the EDT (it re-dispatches itself otherwise).
+     * @param owner Component that shows the loading indicator and owns the request.
+     * @param key Identifies the request kind; a newer load with the same key supersedes the older one.
+     */
+    public static <T> void load(Component owner, String key, Task<T> task, Callback<T> callback) {
+        start(owner, key, task, callback, null);
+    }
+
+    /**
+     * Runs a write (save/delete/login) off the EDT with the triggering button disabled
+     * until it finishes, so the action cannot be double-submitted.
+     */
+    public static <T> void submit(Component owner, AbstractButton trigger, String key,
+                                  Task<T> task, Callback<T> callback) {
+        start(owner, key, task, callback, trigger);
+    }
+
+    private static <T> void start(final Component owner, final String key, final Task<T> task,
+                                  final Callback<T> callback, final AbstractButton trigger) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    start(owner, key, task, callback, trigger);
+                }
+            });
+            return;
+        }
+
+        cancel(owner, key);
+        if (trigger != null) trigger.setEnabled(false);
+        Worker<T> worker = new Worker<T>(owner, key, task, callback, trigger);
+        Map<String, Worker<?>> byKey = IN_FLIGHT.get(owner);
+        if (byKey == null) {
+            byKey = new HashMap<>();
+            IN_FLIGHT.put(owner, byKey);
+        }
+        byKey.put(key, worker);
+        setBusy(owner, +1);
+        EXECUTOR.execute(worker);
+    }
+
+    /**
+     * Cancels the pending load for the owner/key, if any. Its callback will not run.
+     * A pending submit() is left to finish (only its callback is dropped) and its trigger is re-enabled.
+     */
+    public static void cancel(Component owner, String key) {
+        Map<String, Worker<?>> byKey = IN_FLIGHT.get(owner);
+        if (byKey == null) return;
+        Worker<?> previous = byKey.remove(key);
+        if (previous == null) return;
+        if (previous.trigger == null) {
+            previous.cancel(true);
+        } else {
+            // Cancelling a write could interrupt work that still commits, or stop a queued one from ever
+            // running; it is left to finish and only its callback is dropped
+            previous.superseded = true;
+        }
+    }
+
+    /** True while a load with this key is pending for the owner. */
+    public static boolean isLoading(Component owner, String key) {
+        Map<String, Worker<?>> byKey = IN_FLIGHT.get(owner);
+        return byKey != null && byKey.containsKey(key);
+    }
+
+    private static void setBusy(Component owner, int delta) {
+        Integer current = PENDING.get(owner);
+        int next = (current == null ? 0 : current) + delta;
+        if (next <= 0) {
+            PENDING.remove(owner);
+            owner.setCursor(Cursor.getDefaultCursor());
+        } else {
+            PENDING.put(owner, next);
+            owner.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        }
+    }
+
+    private static class Worker<T> extends SwingWorker<T, Void> {
+        private final Component owner;
+        private final String key;
+        private final Task<T> task;
+        private final Callback<T> callback;
+        // Button disabled by submit(); null for reads
+        private final AbstractButton trigger;
+        // Set on the EDT when a newer submit() or cancel() replaced this write; done() then drops the result
+        private boolean superseded;
+
+        Worker(Component owner, String key, Task<T> task, Callback<T> callback, AbstractButton trigger) {
+            this.owner = owner;
+            this.key = key;
+            this.task = task;
+            this.callback = callback;
+            this.trigger = trigger;
+        }
+
+        @Override
+        protected T doInBackground() throws Exception {
+            // JFR events emitted by the task name the panel and load that caused them
+            String previous = FlightEvents.setAction(owner.getClass().getSimpleName() + ":" + key);
+            try {
+                return task.run();
+            } finally {
+                FlightEvents.setAction(previous);
+            }
+        }
+
+        @Override
+        protected void done() {
+            setBusy(owner, -1);
+            Map<String, Worker<?>> byKey = IN_FLIGHT.get(owner);
+            if (byKey != null && byKey.get(key) == this) {
+                byKey.remove(key);
+            }
+            // Whatever the outcome, unless a newer submit on the same button is still pending
+            Worker<?> current = byKey != null ? byKey.get(key) : null;
+            if (trigger != null && (current == null || current.trigger != trigger)) {
+                trigger.setEnabled(true);
+            }
+            if (isCancelled() || superseded) return; // Superseded or cancelled: drop the result
+
+            T result;
+            try {
+                result = get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                callback.onError(owner, cause instanceof Exception ? (Exception) cause : new Exception(cause));
+                return;
+            } catch (InterruptedException e) {
+                return;
+            }
+            callback.onSuccess(result);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.eduportal.view;
+
+import com.eduportal.util.LatencyHistogram;
+import java.awt.AWTEvent;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UI responsiveness watchdog fed by MonitoredEventQueue.
+ *
+ * - Every dispatched event is timed into a histogram, giving p50/p99 EDT latency and the share of
+ *   events that met the SLO (eduportal.edt.stallMs, default 100 ms).
+ * - A daemon thread polls the EDT every eduportal.edt.sampleMs; while one event has been running
+ *   longer than the threshold, it samples the EDT stack.
+ * - Events over the threshold are stalls: each is logged to System.err with the handler class and
+ *   the application frame the samples caught most often, and aggregated per handler for getReport().
+ *   When no listener can be named, the hottest application method stands in for the handler.
+ *
+ * Events that open a modal dialog run a nested event loop inside their dispatch; they are counted
+ * as modal and left out of the latency figures, since their duration is the user's think time.
+ * Disable with -Deduportal.edt.watchdog=false.
+ */
+public final class EdtWatchdog {
+
+    static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("eduportal.edt.watchdog"));
+    private static final long STALL_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("eduportal.edt.stallMs", 100));
+    private static final long SAMPLE_MS = Long.getLong("eduportal.edt.sampleMs", 50);
+    private static final int MAX_SAMPLES_PER_STALL = 200;
+    private static final int REPORT_FRAMES = 3;
+
+    // --- Written by the EDT, read by the sampler ---
+    private static volatile Thread edt;
+    // Start of the innermost event being dispatched; 0 between events and while a modal loop waits
+    private static volatile long currentStart;
+    private static volatile long currentSeq;
+
+    // --- EDT-confined nesting state: bit d is set once the event at depth d ran a nested loop ---
+    private static int depth;
+    private static final BitSet NESTED_LOOP = new BitSet();
+
+    // --- Samples of the current stall (guarded by LOCK) ---
+    private static final Object LOCK = new Object();
+    private static long sampledSeq = -1;
+    private static final List<StackTraceElement[]> SAMPLES = new ArrayList<>();
+
+    // --- Aggregates ---
+    private static final LatencyHistogram DISPATCH_LATENCY = new LatencyHistogram();
+    private static final AtomicLong MODAL_EVENTS = new AtomicLong();
+    private static final Map<String, StallStats> STALLS_BY_HANDLER = new HashMap<>();
+
+    private static ScheduledExecutorService sampler;
+
+    private EdtWatchdog() {}
+
+    /** Starts the sampler thread and a shutdown report; called by MonitoredEventQueue.install(). */
+    static synchronized void start() {
+        if (!ENABLED || sampler != null) return;
+        sampler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "eduportal-edt-watchdog");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        sampler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                sample();
+            }
+        }, SAMPLE_MS, SAMPLE_MS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                if (getStallCount() > 0) System.out.println(getReport());
+            }
+        }, "eduportal-edt-report"));
+    }
+
+    // --- Called on the EDT by MonitoredEventQueue ---
+
+    static void dispatchStarted(long startNanos) {
+        if (depth > 0) NESTED_LOOP.set(depth - 1);
+        NESTED_LOOP.clear(depth++);
+        edt = Thread.currentThread();
+        currentSeq++;
+        currentStart = startNanos;
+    }
+
+    static void dispatchFinished(AWTEvent event, long nanos) {
+        long seq = currentSeq;
+        // Leaving a nested event means returning into a modal loop: nothing is "running" until it ends
+        currentStart = 0;
+        if (NESTED_LOOP.get(--depth)) {
+            MODAL_EVENTS.incrementAndGet();
+            clearSamples();
+            return;
+        }
+        DISPATCH_LATENCY.record(nanos);
+        if (nanos < STALL_NANOS) return;
+
+        List<StackTraceElement[]> samples = takeSamples(seq);
+        String hotFrame = hottestFrame(samples);
+        String handler = handlerOf(event, hotFrame);
+        synchronized (STALLS_BY_HANDLER) {
+            StallStats stats = STALLS_BY_HANDLER.get(handler);
+            if (stats == null) {
+                stats = new StallStats(handler);
+                STALLS_BY_HANDLER.put(handler, stats);
+            }
+            stats.add(nanos, samples);
+        }
+        System.err.println(String.format("EDT stall: %.0f ms in %s%s", nanos / 1e6, handler,
+                hotFrame != null ? " at " + hotFrame : ""));
+    }
+
+    // The listener or Runnable behind the event; otherwise the method of the hottest application frame
+    // (without its line), so stalls are not all lumped under a Swing class; otherwise the event source
+    private static String handlerOf(AWTEvent event, String hotFrame) {
+        String listener = MonitoredEventQueue.listenerOf(event);
+        if (listener != null) return listener;
+        if (hotFrame != null) return hotFrame.substring(0, hotFrame.indexOf('('));
+        return MonitoredEventQueue.handlerOf(event);
+    }
+
+    // --- Sampler thread ---
+
+    private static void sample() {
+        Thread thread = edt;
+        long start = currentStart;
+        long seq = currentSeq;
+        if (thread == null || start == 0 || System.nanoTime() - start < STALL_NANOS) return;
+        StackTraceElement[] stack = thread.getStackTrace();
+        // The event may have finished while the stack was taken; only keep samples of a running stall
+        if (currentStart != start || currentSeq != seq) return;
+        synchronized (LOCK) {
+            if (sampledSeq != seq) {
+                SAMPLES.clear();
+                sampledSeq = seq;
+            }
+            if (SAMPLES.size() < MAX_SAMPLES_PER_STALL) SAMPLES.add(stack);
+        }
+    }
+
+    private static List<StackTraceElement[]> takeSamples(long seq) {
+        synchronized (LOCK) {
+            List<StackTraceElement[]> taken = sampledSeq == seq
+                    ? new ArrayList<>(SAMPLES) : Collections.<StackTraceElement[]>emptyList();
+            SAMPLES.clear();
+            sampledSeq = -1;
+            return taken;
+        }
+    }
+
+    private static void clearSamples() {
+        synchronized (LOCK) {
+            SAMPLES.clear();
+            sampledSeq = -1;
+        }
+    }
+
+    // Topmost com.eduportal frame of each sample, i.e. the application code the EDT was stuck in
+    private static String appFrame(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            if (frame.getClassName().startsWith("com.eduportal.")
+                    && !frame.getClassName().startsWith("com.eduportal.view.MonitoredEventQueue")) {
+                return frame.getClassName() + "." + frame.getMethodName()
+                        + "(" + frame.getFileName() + ":" + frame.getLineNumber() + ")";
+            }
+        }
+        return null;
+    }
+
+    private static String hottestFrame(List<StackTraceElement[]> samples) {
+        Map<String, Integer> counts = new HashMap<>();
+        String hottest = null;
+        int best = 0;
+        for (StackTraceElement[] stack : samples) {
+            String frame = appFrame(stack);
+            if (frame == null) continue;
+            Integer count = counts.get(frame);
+            int next = count == null ? 1 : count + 1;
+            counts.put(frame, next);
+            if (next > best) {
+                best = next;
+                hottest = frame;
+            }
+        }
+        return hottest;
+    }
+
+    // --- Reporting ---
+
+    public static long getStallCount() {
+        synchronized (STALLS_BY_HANDLER) {
+            long total = 0;
+            for (StallStats stats : STALLS_BY_HANDLER.values()) {
+                total += stats.count;
+            }
+            return total;
+        }
+    }
+
+    /** Share of timed events that finished within the stall threshold, 0-100. */
+    public static double getSloCompliancePercent() {
+        long total = DISPATCH_LATENCY.getCount();
+        return total == 0 ? 100.0 : 100.0 * (total - getStallCount()) / total;
+    }
+
+    /** EDT latency percentiles, SLO compliance and stalls per handler, worst total first. */
+    public static String getReport() {
+        List<StallStats> stalls;
+        synchronized (STALLS_BY_HANDLER) {
+            stalls = new ArrayList<>();
+            for (StallStats stats : STALLS_BY_HANDLER.values()) {
+                stalls.add(stats.copy());
+            }
+        }
+        Collections.sort(stalls, new Comparator<StallStats>() {
+            @Override
+            public int compare(StallStats a, StallStats b) {
+                return Long.compare(b.totalNanos, a.totalNanos);
+            }
+        });
+
+        String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("EDT report: %d events, p50=%.1fms, p99=%.1fms, p99.9=%.1fms, "
+                        + "%.2f%% within %dms, %d stalls, %d modal",
+                DISPATCH_LATENCY.getCount(), DISPATCH_LATENCY.getPercentileMillis(50),
+                DISPATCH_LATENCY.getPercentileMillis(99), DISPATCH_LATENCY.getPercentileMillis(99.9),
+                getSloCompliancePercent(), TimeUnit.NANOSECONDS.toMillis(STALL_NANOS),
+                getStallCount(), MODAL_EVENTS.get()));
+        for (StallStats stats : stalls) {
+            sb.append(nl).append(String.format("  %s: %d stalls, total=%.0fms, max=%.0fms",
+                    stats.handler, stats.count, stats.totalNanos / 1e6, stats.maxNanos / 1e6));
+            for (Map.Entry<String, Integer> frame : stats.topFrames(REPORT_FRAMES)) {
+                sb.append(nl).append("      ").append(frame.getValue()).append(" samples at ").append(frame.getKey());
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Stall aggregate for one handler, with sample counts per application frame. */
+    private static final class StallStats {
+        final String handler;
+        long count;
+        long totalNanos;
+        long maxNanos;
+        final Map<String, Integer> frames = new HashMap<>();
+
+        StallStats(String handler) {
+            this.handler = handler;
+        }
+
+        void add(long nanos, List<StackTraceElement[]> samples) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            for (StackTraceElement[] stack : samples) {
+                String frame = appFrame(stack);
+                if (frame == null) continue;
+                Integer seen = frames.get(frame);
+                frames.put(frame, seen == null ? 1 : seen + 1);
+            }
+        }
+
+        StallStats copy() {
+            StallStats copy = new StallStats(handler);
+            copy.count = count;
+            copy.totalNanos = totalNanos;
+            copy.maxNanos = maxNanos;
+            copy.frames.putAll(frames);
+            return copy;
+        }
+
+        List<Map.Entry<String, Integer>> topFrames(int limit) {
+            List<Map.Entry<String, Integer>> sorted = new ArrayList<>(frames.entrySet());
+            Collections.sort(sorted, new Comparator<Map.Entry<String, Integer>>() {
+                @Override
+                public int compare(Map.Entry<String, Integer> a, Map.Entry<String, Integer> b) {
+                    return b.getValue() - a.getValue();
+                }
+            });
+            return sorted.subList(0, Math.min(limit, sorted.size()));
+        }
+    }
+}
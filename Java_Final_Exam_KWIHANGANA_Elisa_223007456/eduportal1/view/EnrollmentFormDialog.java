@@ -10,6 +10,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -51,8 +52,8 @@ public class EnrollmentFormDialog extends JDialog {
         
         this.currentEnrollment = enrollment;
         this.parentPanel = parentPanel;
-        
-        loadDropdownData();
+        this.students = new ArrayList<>();
+        this.courses = new ArrayList<>();
 
         setSize(600, 500);
         setResizable(false);
@@ -68,17 +69,36 @@ public class EnrollmentFormDialog extends JDialog {
         } else {
             statusComboBox.setSelectedItem("Active");
         }
+
+        loadDropdownData();
     }
     
     private void loadDropdownData() {
-        students = studentDAO.getAll();
-        courses = courseDAO.getAll();
+        // Both lists come back from one background task; [0] = students, [1] = courses
+        DataLoader.load(this, "dropdowns", new DataLoader.Task<Object[]>() {
+            @Override
+            public Object[] run() {
+                return new Object[]{studentDAO.getAll(), courseDAO.getAll()};
+            }
+        }, new DataLoader.Callback<Object[]>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public void onSuccess(Object[] result) {
+                students = (List<Student>) result[0];
+                courses = (List<Course>) result[1];
+                studentComboBox.setModel(new DefaultComboBoxModel<>(students.toArray(new Student[0])));
+                courseComboBox.setModel(new DefaultComboBoxModel<>(courses.toArray(new Course[0])));
+                if (currentEnrollment != null) {
+                    selectCurrentStudentAndCourse();
+                }
+            }
+        });
     }
 
     private void initializeComponents() {
-        // UPDATED: Populating with objects directly
-        studentComboBox = new JComboBox<>(students.toArray(new Student[0]));
-        courseComboBox = new JComboBox<>(courses.toArray(new Course[0]));
+        // UPDATED: Populating with objects directly once loadDropdownData() returns
+        studentComboBox = new JComboBox<>();
+        courseComboBox = new JComboBox<>();
         
         referenceField = new JTextField(20);
         statusComboBox = new JComboBox<>(STATUSES);
@@ -156,6 +176,15 @@ public class EnrollmentFormDialog extends JDialog {
     private void loadEnrollmentData() {
         setTitle("Edit Enrollment (ID: " + currentEnrollment.getEnrollmentID() + ")");
 
+        selectCurrentStudentAndCourse();
+
+        referenceField.setText(currentEnrollment.getReferenceID());
+        statusComboBox.setSelectedItem(currentEnrollment.getStatus());
+        descriptionArea.setText(currentEnrollment.getDescription());
+        remarksArea.setText(currentEnrollment.getRemarks());
+    }
+
+    private void selectCurrentStudentAndCourse() {
         // Select student
         for (Student s : students) {
             if (s.getStudentID() == currentEnrollment.getStudentID()) {
@@ -171,11 +200,6 @@ public class EnrollmentFormDialog extends JDialog {
                 break;
             }
         }
-
-        referenceField.setText(currentEnrollment.getReferenceID());
-        statusComboBox.setSelectedItem(currentEnrollment.getStatus());
-        descriptionArea.setText(currentEnrollment.getDescription());
-        remarksArea.setText(currentEnrollment.getRemarks());
     }
 
     private void setupListeners() {
@@ -205,13 +229,11 @@ public class EnrollmentFormDialog extends JDialog {
         int studentID = selectedStudent.getStudentID();
         int courseID = selectedCourse.getCourseID();
         
-        Enrollment enrollmentToSave;
-        boolean success;
-        String action;
+        final Enrollment enrollmentToSave;
+        final String action;
 
         if (currentEnrollment == null) {
             enrollmentToSave = new Enrollment(0, studentID, courseID, referenceID, description, new Date(), status, remarks);
-            success = enrollmentDAO.insert(enrollmentToSave);
             action = "added";
         } else {
             enrollmentToSave = currentEnrollment;
@@ -221,17 +243,27 @@ public class EnrollmentFormDialog extends JDialog {
             enrollmentToSave.setDescription(description);
             enrollmentToSave.setStatus(status);
             enrollmentToSave.setRemarks(remarks);
-            
-            success = enrollmentDAO.update(enrollmentToSave);
             action = "updated";
         }
 
-        if (success) {
-            JOptionPane.showMessageDialog(this, "Enrollment record successfully " + action + ".", "Success", JOptionPane.INFORMATION_MESSAGE);
-            parentPanel.loadEnrollmentData(); 
-            dispose();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to save enrollment. Check database connection.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        DataLoader.submit(this, saveButton, "save", new DataLoader.Task<Boolean>() {
+            @Override
+            public Boolean run() {
+                return currentEnrollment == null
+                        ? enrollmentDAO.insert(enrollmentToSave)
+                        : enrollmentDAO.update(enrollmentToSave);
+            }
+        }, new DataLoader.Callback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean success) {
+                if (success) {
+                    JOptionPane.showMessageDialog(EnrollmentFormDialog.this, "Enrollment record successfully " + action + ".", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    parentPanel.loadEnrollmentData(); 
+                    dispose();
+                } else {
+                    JOptionPane.showMessageDialog(EnrollmentFormDialog.this, "Failed to save enrollment. Check database connection.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
     }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -49,8 +50,8 @@ public class GradeFormDialog extends JDialog {
         
         this.currentGrade = grade;
         this.parentPanel = parentPanel;
-        
-        loadDropdownData();
+        this.students = new ArrayList<>();
+        this.assignments = new ArrayList<>();
 
         setSize(500, 400);
         setResizable(false);
@@ -66,30 +67,49 @@ public class GradeFormDialog extends JDialog {
         } else {
             gradeTypeComboBox.setSelectedItem("Exam");
         }
+
+        loadDropdownData();
     }
     
     /**
-     * Loads the list of students and assignments for the combo boxes.
+     * Loads the list of students and assignments for the combo boxes in the background.
      */
     private void loadDropdownData() {
-        students = studentDAO.getAll();
-        assignments = assignmentDAO.getAll();
+        DataLoader.load(this, "dropdowns", new DataLoader.Task<Object[]>() {
+            @Override
+            public Object[] run() {
+                return new Object[]{studentDAO.getAll(), assignmentDAO.getAll()};
+            }
+        }, new DataLoader.Callback<Object[]>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public void onSuccess(Object[] result) {
+                students = (List<Student>) result[0];
+                assignments = (List<Assignment>) result[1];
+
+                studentComboBox.removeAllItems();
+                for (Student s : students) {
+                    // Assuming Attribute1 is the Student Name
+                    studentComboBox.addItem(s.getfull_name() + " (ID: " + s.getStudentID() + ")");
+                }
+                assignmentComboBox.removeAllItems();
+                for (Assignment a : assignments) {
+                    // Assuming ReferenceID is the assignment title/code
+                    assignmentComboBox.addItem(a.getReferenceID() + " (Assignment ID: " + a.getAssignmentID() + ")");
+                }
+
+                if (currentGrade != null) {
+                    selectComboBoxItem(studentComboBox, currentGrade.getStudentID());
+                    selectComboBoxItem(assignmentComboBox, currentGrade.getAssignmentID());
+                }
+            }
+        });
     }
 
     private void initializeComponents() {
-        // Student ComboBox
+        // Student and Assignment ComboBoxes are filled by loadDropdownData()
         studentComboBox = new JComboBox<>();
-        for (Student s : students) {
-            // Assuming Attribute1 is the Student Name
-            studentComboBox.addItem(s.getfull_name() + " (ID: " + s.getStudentID() + ")");
-        }
-        
-        // Assignment ComboBox
         assignmentComboBox = new JComboBox<>();
-        for (Assignment a : assignments) {
-            // Assuming ReferenceID is the assignment title/code
-            assignmentComboBox.addItem(a.getReferenceID() + " (Assignment ID: " + a.getAssignmentID() + ")");
-        }
         
         // Grade Type ComboBox
         gradeTypeComboBox = new JComboBox<>(GRADE_TYPES);
@@ -248,9 +268,8 @@ public class GradeFormDialog extends JDialog {
         int assignmentID = assignments.get(selectedAssignmentIndex).getAssignmentID();
         
         // 2. Prepare Grade Object and save
-        Grade gradeToSave;
-        boolean success;
-        String action;
+        final Grade gradeToSave;
+        final String action;
 
         if (currentGrade == null) {
             // INSERT (New Grade)
@@ -263,7 +282,6 @@ public class GradeFormDialog extends JDialog {
                 letterGrade,
                 new Date() // CreatedAt
             );
-            success = gradeDAO.insert(gradeToSave);
             action = "added";
         } else {
             // UPDATE (Existing Grade)
@@ -274,18 +292,26 @@ public class GradeFormDialog extends JDialog {
             gradeToSave.setScore(score);
             gradeToSave.setLetterGrade(letterGrade);
             // CreatedAt is typically not updated
-            
-            success = gradeDAO.update(gradeToSave);
             action = "updated";
         }
 
-        // 3. Handle Result
-        if (success) {
-            JOptionPane.showMessageDialog(this, "Grade record successfully " + action + ".", "Success", JOptionPane.INFORMATION_MESSAGE);
-            parentPanel.loadGradeData(); // Refresh the table
-            dispose();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to save grade record. Check for database constraints (e.g., student already has a grade for this assignment) or a database error.", "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        DataLoader.submit(this, saveButton, "save", new DataLoader.Task<Boolean>() {
+            @Override
+            public Boolean run() {
+                return currentGrade == null ? gradeDAO.insert(gradeToSave) : gradeDAO.update(gradeToSave);
+            }
+        }, new DataLoader.Callback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean success) {
+                // 3. Handle Result
+                if (success) {
+                    JOptionPane.showMessageDialog(GradeFormDialog.this, "Grade record successfully " + action + ".", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    parentPanel.loadGradeData(); // Refresh the table
+                    dispose();
+                } else {
+                    JOptionPane.showMessageDialog(GradeFormDialog.this, "Failed to save grade record. Check for database constraints (e.g., student already has a grade for this assignment) or a database error.", "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
     }
 }
\ No newline at end of file
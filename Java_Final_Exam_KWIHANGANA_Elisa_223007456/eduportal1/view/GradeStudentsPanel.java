@@ -2,18 +2,23 @@ package com.eduportal.view;
 
 import com.eduportal.dao.*;
 import com.eduportal.model.*;
+import com.eduportal.service.GradeStatisticsEngine;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.AbstractTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Iterator; 
 import java.util.ArrayList; // Needed for mock/dummy lists if DAOs are fully mocked
 
 /**
  * Panel for instructors to manage grades for students in their courses.
  * Workflow: Select Course -> Select Assignment -> View/Edit Grades.
+ * The whole course is loaded once into a columnar Gradebook; switching assignment only
+ * switches the column shown, and statistics are computed from the same arrays.
  * NOTE: Assumes existence of Course, Assignment, Student, Grade models 
  * and corresponding DAO methods: getCoursesByInstructor, getAssignmentsByCourse,
  * getStudentsByCourse, and getGradesByAssignment.
@@ -30,18 +35,24 @@ public class GradeStudentsPanel extends JPanel {
     private JComboBox<Course> courseComboBox;
     private JComboBox<Assignment> assignmentComboBox;
     private JTable gradeTable;
-    private DefaultTableModel tableModel;
+    private GradebookTableModel tableModel;
     private JButton saveButton;
+    private JButton statisticsButton;
+    private final GradeStatisticsEngine statisticsEngine = new GradeStatisticsEngine();
     
     private List<Student> currentStudents; // Students enrolled in the selected course
     private Assignment selectedAssignment;
+    private Gradebook gradebook; // Grades of the selected course: roster x assignments
 
     // Column indices for easy access in table model
     private static final int COL_STUDENT_ID = 0;
     private static final int COL_STUDENT_NAME = 1;
-    private static final int COL_GRADE_ID = 2; // GradeID (Hidden/Internal)
-    private static final int COL_SCORE = 3;
-    private static final int COL_LETTER_GRADE = 4;
+    private static final int COL_SCORE = 2;
+    private static final int COL_LETTER_GRADE = 3;
+
+    // Shown (and saved) for students without a grade yet
+    private static final float DEFAULT_SCORE = 0f;
+    private static final String DEFAULT_LETTER = "N/A";
 
     public GradeStudentsPanel(int instructorID) {
         this.instructorID = instructorID;
@@ -66,33 +77,17 @@ public class GradeStudentsPanel extends JPanel {
         assignmentComboBox = new JComboBox<Assignment>();
         assignmentComboBox.setEnabled(false); // Disable until course is selected
 
-        // Table Model: Editable Score and Letter Grade
-        String[] columnNames = {"Student ID", "Student Name", "Grade ID (Internal)", "Score", "Letter Grade"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int intcolumn) {
-               // Only Score (3) and Letter Grade (4) are editable
-               return intcolumn == COL_SCORE || intcolumn == COL_LETTER_GRADE;
-            }
-            // Ensure Score column uses Double type for correct input handling
-            @Override
-            public Class<?> getColumnClass(int columnIndex) {
-                if (columnIndex == COL_SCORE) return Double.class;
-                return super.getColumnClass(columnIndex);
-            }
-        };
-
+        // Table Model: one gradebook column at a time, editable Score and Letter Grade
+        tableModel = new GradebookTableModel();
         gradeTable = new JTable(tableModel);
-        // This is necessary if you hide the column after the table is created
-        if (gradeTable.getColumnModel().getColumnCount() > COL_GRADE_ID) {
-            gradeTable.removeColumn(gradeTable.getColumnModel().getColumn(COL_GRADE_ID)); // Hide Grade ID
-        }
         
         saveButton = new JButton("Save Grades");
         saveButton.setEnabled(false);
         saveButton.setBackground(new Color(52, 168, 83)); 
         saveButton.setForeground(Color.WHITE);
         saveButton.setFocusPainted(false);
+
+        statisticsButton = new JButton("Class Statistics");
     }
 
     private void layoutComponents() {
@@ -105,6 +100,7 @@ public class GradeStudentsPanel extends JPanel {
 
         // --- Bottom Panel (South) ---
         JPanel southPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        southPanel.add(statisticsButton);
         southPanel.add(saveButton);
 
         add(selectionPanel, BorderLayout.NORTH);
@@ -142,159 +138,307 @@ public class GradeStudentsPanel extends JPanel {
                 saveGrades();
             }
         });
+
+        statisticsButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                showStatistics();
+            }
+        });
     }
 
     // --- Data Loading Logic ---
 
     private void loadCourses() {
         courseComboBox.removeAllItems();
-        try {
-            // FIX: getCoursesByInstructor must be implemented in CourseDAO
-            List<Course> courses = courseDAO.getCoursesByInstructor(instructorID);
-            for (Course course : courses) {
-                courseComboBox.addItem(course);
+        DataLoader.load(this, "courses", new DataLoader.Task<List<Course>>() {
+            @Override
+            public List<Course> run() {
+                // FIX: getCoursesByInstructor must be implemented in CourseDAO
+                return courseDAO.getCoursesByInstructor(instructorID);
             }
-        } catch (Exception ex) {
-            // Added explicit error handling for DAO exceptions
-            JOptionPane.showMessageDialog(this, "Error loading courses: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
-        courseComboBox.setSelectedIndex(-1);
+        }, new DataLoader.Callback<List<Course>>() {
+            @Override
+            public void onSuccess(List<Course> courses) {
+                for (Course course : courses) {
+                    courseComboBox.addItem(course);
+                }
+                courseComboBox.setSelectedIndex(-1);
+            }
+
+            @Override
+            public void onError(Component owner, Exception ex) {
+                // Added explicit error handling for DAO exceptions
+                JOptionPane.showMessageDialog(owner, "Error loading courses: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }
 
     private void loadAssignments() {
         assignmentComboBox.removeAllItems();
         assignmentComboBox.setEnabled(false);
         selectedAssignment = null;
-        tableModel.setRowCount(0);
+        tableModel.showColumn(null, null, -1);
         saveButton.setEnabled(false);
         
-        Course selectedCourse = (Course) courseComboBox.getSelectedItem();
-        if (selectedCourse == null) return;
+        currentStudents = null;
+        gradebook = null;
         
-        // FIX: getStudentsByCourse must be implemented in StudentDAO
-        currentStudents = studentDAO.getStudentsByCourse(selectedCourse.getCourseID());
+        final Course selectedCourse = (Course) courseComboBox.getSelectedItem();
+        if (selectedCourse == null) {
+            DataLoader.cancel(this, "assignments");
+            return;
+        }
         
-        try {
-            // FIX: getAssignmentsByCourse must be implemented in AssignmentDAO
-            List<Assignment> assignments = assignmentDAO.getAssignmentsByCourse(selectedCourse.getCourseID());
-            for (Assignment assignment : assignments) {
-                assignmentComboBox.addItem(assignment);
+        // Roster, assignments and the gradebook are fetched together; switching course again cancels this load
+        DataLoader.load(this, "assignments", new DataLoader.Task<Object[]>() {
+            @Override
+            public Object[] run() throws Exception {
+                // FIX: getStudentsByCourse must be implemented in StudentDAO
+                List<Student> students = studentDAO.getStudentsByCourse(selectedCourse.getCourseID());
+                // FIX: getAssignmentsByCourse must be implemented in AssignmentDAO
+                List<Assignment> assignments = assignmentDAO.getAssignmentsByCourse(selectedCourse.getCourseID());
+
+                int[] studentIds = new int[students.size()];
+                for (int i = 0; i < studentIds.length; i++) studentIds[i] = students.get(i).getStudentID();
+                int[] assignmentIds = new int[assignments.size()];
+                for (int i = 0; i < assignmentIds.length; i++) assignmentIds[i] = assignments.get(i).getAssignmentID();
+                Gradebook loaded = gradeDAO.loadGradebook(selectedCourse.getCourseID(), studentIds, assignmentIds);
+                return new Object[]{students, assignments, loaded};
             }
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this, "Error loading assignments.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
-        assignmentComboBox.setEnabled(assignmentComboBox.getItemCount() > 0);
-        assignmentComboBox.setSelectedIndex(-1);
+        }, new DataLoader.Callback<Object[]>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public void onSuccess(Object[] result) {
+                currentStudents = (List<Student>) result[0];
+                gradebook = (Gradebook) result[2];
+                for (Assignment assignment : (List<Assignment>) result[1]) {
+                    assignmentComboBox.addItem(assignment);
+                }
+                assignmentComboBox.setEnabled(assignmentComboBox.getItemCount() > 0);
+                assignmentComboBox.setSelectedIndex(-1);
+            }
+
+            @Override
+            public void onError(Component owner, Exception ex) {
+                JOptionPane.showMessageDialog(owner, "Error loading assignments.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }
 
     private void loadGrades() {
-        tableModel.setRowCount(0);
-        saveButton.setEnabled(false);
-        
         selectedAssignment = (Assignment) assignmentComboBox.getSelectedItem();
-        if (selectedAssignment == null || currentStudents == null || currentStudents.isEmpty()) return;
-        
+        if (selectedAssignment == null || gradebook == null || currentStudents == null || currentStudents.isEmpty()) {
+            tableModel.showColumn(null, null, -1);
+            saveButton.setEnabled(false);
+            return;
+        }
+
+        // Already in memory: just switch the gradebook column shown
+        String[] names = new String[currentStudents.size()];
+        for (int i = 0; i < names.length; i++) {
+            // FIX: Assumes student.getName() is implemented (proxies attribute1)
+            names[i] = currentStudents.get(i).getName();
+        }
+        tableModel.showColumn(gradebook, names, gradebook.columnOf(selectedAssignment.getAssignmentID()));
         saveButton.setEnabled(true);
-        
-        // FIX: getGradesByAssignment must be implemented in GradeDAO
-        List<Grade> existingGrades = gradeDAO.getGradesByAssignment(selectedAssignment.getAssignmentID());
+    }
 
-        for (Student student : currentStudents) {
-            Grade grade = findExistingGrade(existingGrades, student.getStudentID());
+    private void saveGrades() {
+        if (selectedAssignment == null || gradebook == null) return;
+        if (gradeTable.isEditing()) gradeTable.getCellEditor().stopCellEditing();
 
-            Object[] row = new Object[5];
-            row[COL_STUDENT_ID] = student.getStudentID();
-            // FIX: Assumes student.getName() is implemented (proxies attribute1)
-            row[COL_STUDENT_NAME] = student.getName(); 
-
-            if (grade != null) {
-                row[COL_GRADE_ID] = grade.getGradeID();
-                row[COL_SCORE] = grade.getScore();
-                row[COL_LETTER_GRADE] = grade.getLetterGrade();
-            } else {
-                row[COL_GRADE_ID] = -1; 
-                row[COL_SCORE] = 0.0;
-                row[COL_LETTER_GRADE] = "N/A";
+        final int column = tableModel.getColumn();
+        for (int row = 0; row < gradebook.getRowCount(); row++) {
+            String letterGrade = (String) tableModel.getValueAt(row, COL_LETTER_GRADE);
+            if (letterGrade == null || letterGrade.trim().isEmpty()) {
+                JOptionPane.showMessageDialog(this, "Score and Letter Grade cannot be empty or invalid for all students.", "Validation Error", JOptionPane.ERROR_MESSAGE);
+                return;
             }
-            tableModel.addRow(row);
         }
-    }
-    
-    /** Helper function to replace stream/lambda for finding a grade */
-    private Grade findExistingGrade(List<Grade> grades, int studentID) {
-        for (Grade grade : grades) {
-            if (grade.getStudentID() == studentID) {
-                return grade;
+        // Students without a grade are saved with the values shown for them
+        for (int row = 0; row < gradebook.getRowCount(); row++) {
+            if (!gradebook.hasScore(row, column)) {
+                gradebook.setScore(row, column, DEFAULT_SCORE);
+                if (gradebook.getLetter(row, column) == null) gradebook.setLetter(row, column, DEFAULT_LETTER);
             }
         }
-        return null;
-    }
-
-    // --- Saving Logic ---
 
-    private void saveGrades() {
-        if (selectedAssignment == null) return;
-
-        boolean overallSuccess = true;
-        for (int i = 0; i < tableModel.getRowCount(); i++) {
-            int studentID = (int) tableModel.getValueAt(i, COL_STUDENT_ID);
-            int gradeID = (int) tableModel.getValueAt(i, COL_GRADE_ID);
-            Object scoreObject = tableModel.getValueAt(i, COL_SCORE);
-            String letterGrade = (String) tableModel.getValueAt(i, COL_LETTER_GRADE);
-            
-            Double score = null;
-            if (scoreObject instanceof Double) {
-                score = (Double) scoreObject;
-            } else {
-                // Robust parsing for user input
-                try {
-                    score = Double.parseDouble(scoreObject != null ? scoreObject.toString() : null);
-                } catch (NumberFormatException ex) {
-                    // Score remains null, handled below
-                } catch (NullPointerException ex) {
-                    // Score remains null, handled below
+        // The worker reads the gradebook, so no edits until the save finishes
+        final Gradebook saving = gradebook;
+        gradeTable.setEnabled(false);
+        DataLoader.submit(this, saveButton, "saveGrades", new DataLoader.Task<Boolean>() {
+            @Override
+            public Boolean run() {
+                // One batched upsert for the whole column; the (StudentID, AssignmentID) key decides insert vs. update
+                BatchResult result = gradeDAO.upsertColumn(saving, column);
+                reportFailedRows(saving, result);
+                return result.isSuccess();
+            }
+        }, new DataLoader.Callback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean overallSuccess) {
+                gradeTable.setEnabled(true);
+                if (overallSuccess) {
+                    JOptionPane.showMessageDialog(GradeStudentsPanel.this, "All grades saved successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(GradeStudentsPanel.this, "Some grades failed to save. Check console for details.", "Partial Error", JOptionPane.WARNING_MESSAGE);
                 }
             }
-            
-            if (score == null || letterGrade == null || letterGrade.trim().isEmpty()) {
-                JOptionPane.showMessageDialog(this, "Score and Letter Grade cannot be empty or invalid for all students.", "Validation Error", JOptionPane.ERROR_MESSAGE);
-                overallSuccess = false;
-                break;
+
+            @Override
+            public void onError(Component owner, Exception error) {
+                gradeTable.setEnabled(true);
+                super.onError(owner, error);
             }
+        });
+    }
 
-            Grade gradeToSave;
-            boolean success;
-            
-            if (gradeID == -1) {
-                // INSERT operation
-                // gradeType is hardcoded to "Instructor Grade" for simplicity
-                gradeToSave = new Grade(0, studentID, selectedAssignment.getAssignmentID(), "Instructor Grade", score.doubleValue(), letterGrade, null);
-                success = gradeDAO.insert(gradeToSave);
-            } else {
-                // UPDATE operation
-                gradeToSave = gradeDAO.getById(gradeID);
-                if (gradeToSave != null) {
-                    gradeToSave.setScore(score.doubleValue());
-                    gradeToSave.setLetterGrade(letterGrade);
-                    success = gradeDAO.update(gradeToSave);
-                } else {
-                    success = false;
-                    System.err.println("Error: Grade ID " + gradeID + " not found for update.");
+    // --- Class Statistics ---
+
+    private void showStatistics() {
+        final Course course = (Course) courseComboBox.getSelectedItem();
+        if (course == null || gradebook == null) {
+            JOptionPane.showMessageDialog(this, "Select a course first.", "Class Statistics", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        if (gradeTable.isEditing()) gradeTable.getCellEditor().stopCellEditing();
+
+        // Copy the score columns on the EDT (the gradebook is edited here), compute in the background
+        final Map<Integer, double[]> columns = new LinkedHashMap<Integer, double[]>();
+        final Map<Integer, String> titles = new LinkedHashMap<Integer, String>();
+        for (int i = 0; i < assignmentComboBox.getItemCount(); i++) {
+            Assignment assignment = assignmentComboBox.getItemAt(i);
+            int column = gradebook.columnOf(assignment.getAssignmentID());
+            if (column < 0) continue;
+            columns.put(assignment.getAssignmentID(), gradebook.getScores(column));
+            titles.put(assignment.getAssignmentID(), assignment.getTitle());
+        }
+
+        DataLoader.submit(this, statisticsButton, "statistics", new DataLoader.Task<String>() {
+            @Override
+            public String run() {
+                StringBuilder report = new StringBuilder();
+                appendStatistics(report, "Whole course",
+                        statisticsEngine.compute(GradeStatisticsEngine.concat(columns.values())));
+                Map<Integer, GradeStatistics> byAssignment = statisticsEngine.computeAll(columns);
+                for (Map.Entry<Integer, GradeStatistics> entry : byAssignment.entrySet()) {
+                    appendStatistics(report, titles.get(entry.getKey()), entry.getValue());
                 }
+                return report.toString();
             }
+        }, new DataLoader.Callback<String>() {
+            @Override
+            public void onSuccess(String report) {
+                JTextArea area = new JTextArea(report, 20, 60);
+                area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+                area.setEditable(false);
+                JOptionPane.showMessageDialog(GradeStudentsPanel.this, new JScrollPane(area),
+                        "Class Statistics - " + course, JOptionPane.INFORMATION_MESSAGE);
+            }
+        });
+    }
+
+    private static void appendStatistics(StringBuilder report, String title, GradeStatistics stats) {
+        report.append("== ").append(title).append(" ==\n");
+        if (stats.getCount() == 0) {
+            report.append("No scores yet.\n\n");
+            return;
+        }
+        report.append(String.format("Scores: %d   Mean: %.2f   Median: %.2f   Std dev: %.2f   Range: %.1f - %.1f\n",
+                stats.getCount(), stats.getMean(), stats.getMedian(), stats.getStandardDeviation(),
+                stats.getMin(), stats.getMax()));
+
+        double[] percentiles = stats.getPercentiles();
+        report.append("Percentiles:");
+        for (int i = 0; i < percentiles.length; i++) {
+            report.append(String.format("  P%d %.1f", GradeStatistics.PERCENTILES[i], percentiles[i]));
+        }
+        report.append("\n");
+
+        int[] letters = stats.getLetterCounts();
+        report.append("Letters:    ");
+        for (int i = 0; i < letters.length; i++) {
+            report.append(String.format("  %s %d", GradeStatistics.LETTERS[i], letters[i]));
+        }
+        report.append("\n");
+
+        int[] histogram = stats.getHistogram();
+        int widest = 1;
+        for (int bucket : histogram) widest = Math.max(widest, bucket);
+        for (int i = histogram.length - 1; i >= 0; i--) {
+            int bar = (int) Math.round(40.0 * histogram[i] / widest);
+            report.append(String.format("%3d-%-3d |%s %d\n", i * 10, i == histogram.length - 1 ? 100 : i * 10 + 9,
+                    new String(new char[bar]).replace('\0', '#'), histogram[i]));
+        }
+        report.append("\n");
+    }
 
-            if (!success) {
-                overallSuccess = false;
-                System.err.println("Failed to save/update grade for Student ID: " + studentID);
+    // Every row of the column was scored before saving, so result rows match gradebook rows
+    private void reportFailedRows(Gradebook saved, BatchResult result) {
+        for (int row : result.getFailedRows()) {
+            System.err.println("Failed to save/update grade for Student ID: " + saved.getStudentId(row)
+                    + (result.getErrorMessage() != null ? " (" + result.getErrorMessage() + ")" : ""));
+        }
+    }
+
+    /** Shows one gradebook column; edits go straight into the gradebook arrays. */
+    private static class GradebookTableModel extends AbstractTableModel {
+        private final String[] COLUMN_NAMES = {"Student ID", "Student Name", "Score", "Letter Grade"};
+        private Gradebook gradebook;
+        private String[] studentNames = new String[0];
+        private int column = -1;
+
+        void showColumn(Gradebook gradebook, String[] studentNames, int column) {
+            this.gradebook = gradebook;
+            this.studentNames = studentNames != null ? studentNames : new String[0];
+            this.column = column;
+            fireTableDataChanged();
+        }
+
+        int getColumn() { return column; }
+
+        @Override public int getRowCount() { return gradebook != null && column >= 0 ? gradebook.getRowCount() : 0; }
+        @Override public int getColumnCount() { return COLUMN_NAMES.length; }
+        @Override public String getColumnName(int col) { return COLUMN_NAMES[col]; }
+
+        // Only Score and Letter Grade are editable
+        @Override
+        public boolean isCellEditable(int row, int col) {
+            return col == COL_SCORE || col == COL_LETTER_GRADE;
+        }
+
+        // Ensure Score column uses Double type for correct input handling
+        @Override
+        public Class<?> getColumnClass(int col) {
+            if (col == COL_STUDENT_ID) return Integer.class;
+            if (col == COL_SCORE) return Double.class;
+            return String.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int col) {
+            switch (col) {
+                case COL_STUDENT_ID: return gradebook.getStudentId(row);
+                case COL_STUDENT_NAME: return studentNames[row];
+                case COL_SCORE:
+                    return gradebook.hasScore(row, column) ? (double) gradebook.getScore(row, column) : (double) DEFAULT_SCORE;
+                case COL_LETTER_GRADE:
+                    String letter = gradebook.getLetter(row, column);
+                    return letter != null ? letter : (gradebook.hasScore(row, column) ? null : DEFAULT_LETTER);
+                default: return null;
             }
         }
 
-        if (overallSuccess) {
-            JOptionPane.showMessageDialog(this, "All grades saved successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-            // Reload to refresh table data, including newly generated Grade IDs
-            loadGrades(); 
-        } else {
-            JOptionPane.showMessageDialog(this, "Some grades failed to save. Check console for details.", "Partial Error", JOptionPane.WARNING_MESSAGE);
+        @Override
+        public void setValueAt(Object value, int row, int col) {
+            if (col == COL_SCORE && value instanceof Number) {
+                gradebook.setScore(row, column, ((Number) value).floatValue());
+            } else if (col == COL_LETTER_GRADE) {
+                String letter = value != null ? value.toString().trim() : "";
+                gradebook.setLetter(row, column, letter.isEmpty() ? null : letter);
+            }
+            fireTableCellUpdated(row, col);
         }
     }
 }
\ No newline at end of file
@@ -113,9 +113,18 @@ public class InstructorAssignmentPanel extends JPanel {
             public void actionPerformed(ActionEvent e) {
                 int selectedRow = assignmentTable.getSelectedRow();
                 if (selectedRow != -1) {
-                    int assignmentId = (int) tableModel.getValueAt(selectedRow, COL_ID);
-                    Assignment assignment = assignmentDAO.getById(assignmentId);
-                    showAssignmentDialog(assignment);
+                    final int assignmentId = (int) tableModel.getValueAt(selectedRow, COL_ID);
+                    DataLoader.load(InstructorAssignmentPanel.this, "edit", new DataLoader.Task<Assignment>() {
+                        @Override
+                        public Assignment run() {
+                            return assignmentDAO.getById(assignmentId);
+                        }
+                    }, new DataLoader.Callback<Assignment>() {
+                        @Override
+                        public void onSuccess(Assignment assignment) {
+                            showAssignmentDialog(assignment);
+                        }
+                    });
                 }
             }
         });
@@ -123,33 +132,57 @@ public class InstructorAssignmentPanel extends JPanel {
 
     private void loadCourses() {
         courseComboBox.removeAllItems();
-        try {
-            List<Course> courses = courseDAO.getCoursesByInstructor(instructorID);
-            for (Course c : courses) {
-                courseComboBox.addItem(c);
+        DataLoader.load(this, "courses", new DataLoader.Task<List<Course>>() {
+            @Override
+            public List<Course> run() {
+                return courseDAO.getCoursesByInstructor(instructorID);
             }
-            if (!courses.isEmpty()) {
-                loadAssignments();
+        }, new DataLoader.Callback<List<Course>>() {
+            @Override
+            public void onSuccess(List<Course> courses) {
+                for (Course c : courses) {
+                    courseComboBox.addItem(c);
+                }
+                if (!courses.isEmpty()) {
+                    loadAssignments();
+                }
             }
-        } catch (Exception ex) {
-            ex.printStackTrace();
-        }
+
+            @Override
+            public void onError(Component owner, Exception ex) {
+                ex.printStackTrace();
+            }
+        });
     }
 
     private void loadAssignments() {
         tableModel.setRowCount(0);
-        Course selected = (Course) courseComboBox.getSelectedItem();
-        if (selected == null) return;
+        final Course selected = (Course) courseComboBox.getSelectedItem();
+        if (selected == null) {
+            DataLoader.cancel(this, "assignments");
+            return;
+        }
         
-        try {
-            List<Assignment> assignments = assignmentDAO.getAssignmentsByCourse(selected.getCourseID());
-            for (Assignment a : assignments) {
-                String date = (a.getDueDate() != null) ? DATE_FORMAT.format(a.getDueDate()) : "N/A";
-                tableModel.addRow(new Object[]{ a.getAssignmentID(), a.getTitle(), date });
+        DataLoader.load(this, "assignments", new DataLoader.Task<List<Assignment>>() {
+            @Override
+            public List<Assignment> run() throws Exception {
+                return assignmentDAO.getAssignmentsByCourse(selected.getCourseID());
             }
-        } catch (Exception ex) { 
-            ex.printStackTrace(); 
-        }
+        }, new DataLoader.Callback<List<Assignment>>() {
+            @Override
+            public void onSuccess(List<Assignment> assignments) {
+                tableModel.setRowCount(0);
+                for (Assignment a : assignments) {
+                    String date = (a.getDueDate() != null) ? DATE_FORMAT.format(a.getDueDate()) : "N/A";
+                    tableModel.addRow(new Object[]{ a.getAssignmentID(), a.getTitle(), date });
+                }
+            }
+
+            @Override
+            public void onError(Component owner, Exception ex) {
+                ex.printStackTrace();
+            }
+        });
     }
 
     private void showAssignmentDialog(final Assignment toEdit) {
@@ -163,7 +196,7 @@ public class InstructorAssignmentPanel extends JPanel {
         final JTextField titleField = new JTextField(toEdit != null ? toEdit.getTitle() : "");
         final JTextField dateField = new JTextField(toEdit != null && toEdit.getDueDate() != null ? 
                                               DATE_FORMAT.format(toEdit.getDueDate()) : DATE_FORMAT.format(new Date()));
-        JButton saveBtn = new JButton("Save to Database");
+        final JButton saveBtn = new JButton("Save to Database");
 
         dialog.add(new JLabel(" Course:"));
         dialog.add(new JLabel(selectedCourse.toString()));
@@ -177,33 +210,44 @@ public class InstructorAssignmentPanel extends JPanel {
         saveBtn.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
+                final String title = titleField.getText().trim();
+                final Date dueDate;
                 try {
-                    String title = titleField.getText().trim();
-                    Date dueDate = DATE_FORMAT.parse(dateField.getText().trim());
-
-                    boolean success;
-                    if (toEdit == null) {
-                        // Creating a new assignment using the CourseID from the selection
-                        Assignment a = new Assignment(0, selectedCourse.getCourseID(), title, "General", 100, "", "", dueDate, "Active", "", new Timestamp(System.currentTimeMillis()));
-                        success = assignmentDAO.insert(a);
-                    } else {
+                    dueDate = DATE_FORMAT.parse(dateField.getText().trim());
+                } catch (ParseException ex) {
+                    JOptionPane.showMessageDialog(dialog, "Invalid date format. Use YYYY-MM-DD.");
+                    return;
+                }
+
+                DataLoader.submit(dialog, saveBtn, "save", new DataLoader.Task<Boolean>() {
+                    @Override
+                    public Boolean run() {
+                        if (toEdit == null) {
+                            // Creating a new assignment using the CourseID from the selection
+                            Assignment a = new Assignment(0, selectedCourse.getCourseID(), title, "General", 100, "", "", dueDate, "Active", "", new Timestamp(System.currentTimeMillis()));
+                            return assignmentDAO.insert(a);
+                        }
                         toEdit.setTitle(title);
                         toEdit.setDueDate(dueDate);
-                        success = assignmentDAO.update(toEdit);
+                        return assignmentDAO.update(toEdit);
+                    }
+                }, new DataLoader.Callback<Boolean>() {
+                    @Override
+                    public void onSuccess(Boolean success) {
+                        if (success) {
+                            dialog.dispose();
+                            loadAssignments();
+                            JOptionPane.showMessageDialog(InstructorAssignmentPanel.this, "Assignment Saved Successfully!");
+                        } else {
+                            JOptionPane.showMessageDialog(dialog, "Failed to save assignment to database.");
+                        }
                     }
 
-                    if (success) {
-                        dialog.dispose();
-                        loadAssignments();
-                        JOptionPane.showMessageDialog(InstructorAssignmentPanel.this, "Assignment Saved Successfully!");
-                    } else {
-                        JOptionPane.showMessageDialog(dialog, "Failed to save assignment to database.");
+                    @Override
+                    public void onError(Component owner, Exception ex) {
+                        JOptionPane.showMessageDialog(dialog, "Error: " + ex.getMessage());
                     }
-                } catch (ParseException ex) {
-                    JOptionPane.showMessageDialog(dialog, "Invalid date format. Use YYYY-MM-DD.");
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(dialog, "Error: " + ex.getMessage());
-                }
+                });
             }
         });
 
@@ -198,9 +198,8 @@ public class InstructorFormDialog extends JDialog {
         }
         
         // 2. Prepare Instructor Object and save
-        Instructor instructorToSave;
-        boolean success;
-        String action;
+        final Instructor instructorToSave;
+        final String action;
 
         if (currentInstructor == null) {
             // INSERT (New Instructor)
@@ -216,7 +215,6 @@ public class InstructorFormDialog extends JDialog {
                 contact,
                 new Date() // AssignedSince
             );
-            success = instructorDAO.insert(instructorToSave);
             action = "added";
         } else {
             // UPDATE (Existing Instructor)
@@ -233,18 +231,28 @@ public class InstructorFormDialog extends JDialog {
             if (!password.isEmpty()) {
                 instructorToSave.setPassword(password);
             }
-            
-            success = instructorDAO.update(instructorToSave);
             action = "updated";
         }
 
-        // 3. Handle Result
-        if (success) {
-            JOptionPane.showMessageDialog(this, "Instructor record successfully " + action + ".", "Success", JOptionPane.INFORMATION_MESSAGE);
-            parentPanel.loadInstructorData(); // Refresh the table in the parent panel
-            dispose();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to save instructor record. Check for duplicate username/identifier or a database error.", "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        DataLoader.submit(this, saveButton, "save", new DataLoader.Task<Boolean>() {
+            @Override
+            public Boolean run() {
+                return currentInstructor == null
+                        ? instructorDAO.insert(instructorToSave)
+                        : instructorDAO.update(instructorToSave);
+            }
+        }, new DataLoader.Callback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean success) {
+                // 3. Handle Result
+                if (success) {
+                    JOptionPane.showMessageDialog(InstructorFormDialog.this, "Instructor record successfully " + action + ".", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    parentPanel.loadInstructorData(); // Refresh the table in the parent panel
+                    dispose();
+                } else {
+                    JOptionPane.showMessageDialog(InstructorFormDialog.this, "Failed to save instructor record. Check for duplicate username/identifier or a database error.", "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
     }
 }
\ No newline at end of file
@@ -4,13 +4,14 @@ import com.eduportal.service.AuthService;
 import com.eduportal.model.Student;
 import com.eduportal.model.Instructor;
 import com.eduportal.model.Admin;
-import com.eduportal.dao.DatabaseConnector;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.sql.Connection;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
 
 /**
  * Login window for the Education Portal System.
@@ -22,6 +23,13 @@ public class LoginFrame extends JFrame {
     private JPasswordField passwordField;
     private JComboBox<String> roleComboBox; 
     private AuthService authService; 
+    private JButton loginButton;
+
+    // Sentinels standing in for the login future's failures: MySQL unreachable, auth pool saturated,
+    // too many attempts
+    private static final Object CONNECTION_FAILED = new Object();
+    private static final Object BUSY = new Object();
+    private static final Object THROTTLED = new Object();
 
     public LoginFrame() {
         super("Education Portal - Login");
@@ -51,7 +59,7 @@ public class LoginFrame extends JFrame {
 
         // Buttons Panel
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
-        JButton loginButton = new JButton("Login");
+        loginButton = new JButton("Login");
         JButton registerButton = new JButton("Register");
         
         loginButton.setPreferredSize(new Dimension(100, 30));
@@ -94,24 +102,56 @@ public class LoginFrame extends JFrame {
     }
 
     private void attemptLogin() {
-        // 1. Connection Pre-check to ensure MySQL is up
-        try (Connection conn = DatabaseConnector.getConnection()) {
-            if (conn == null) {
-                JOptionPane.showMessageDialog(this, 
-                    "Could not connect to Database. Please ensure WAMP/MySQL is running.", 
-                    "Connection Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-        } catch (Exception ex) {
-            // Error handled by DatabaseConnector
-        }
+        final String username = usernameField.getText();
+        final String password = new String(passwordField.getPassword());
+        final String role = (String) roleComboBox.getSelectedItem();
 
-        String username = usernameField.getText();
-        String password = new String(passwordField.getPassword());
-        String role = (String) roleComboBox.getSelectedItem();
+        loginButton.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        // Runs on the auth pool; unknown usernames complete immediately without a query
+        authService.authenticateAsync(username, password, role).whenComplete(new BiConsumer<Object, Throwable>() {
+            @Override
+            public void accept(final Object authenticatedUser, final Throwable error) {
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        loginButton.setEnabled(true);
+                        setCursor(Cursor.getDefaultCursor());
+                        if (error == null) {
+                            handleLoginResult(authenticatedUser, role);
+                        } else {
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                    ? error.getCause() : error;
+                            handleLoginResult(cause instanceof AuthService.LoginThrottledException ? THROTTLED
+                                    : cause instanceof RejectedExecutionException ? BUSY : CONNECTION_FAILED, role);
+                        }
+                    }
+                });
+            }
+        });
+    }
 
-        // 2. Authenticate through Service
-        Object authenticatedUser = authService.authenticate(username, password, role);
+    private void handleLoginResult(Object authenticatedUser, String role) {
+        if (authenticatedUser == CONNECTION_FAILED) {
+            JOptionPane.showMessageDialog(this, 
+                "Could not connect to Database. Please ensure WAMP/MySQL is running.", 
+                "Connection Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (authenticatedUser == BUSY) {
+            JOptionPane.showMessageDialog(this,
+                "The server is handling too many logins right now. Please try again in a moment.",
+                "Login Busy", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (authenticatedUser == THROTTLED) {
+            JOptionPane.showMessageDialog(this,
+                "Too many login attempts. Please wait a minute before trying again.",
+                "Login Blocked", JOptionPane.WARNING_MESSAGE);
+            passwordField.setText("");
+            return;
+        }
 
         if (authenticatedUser != null) {
             JFrame dashboardFrame = null;
@@ -1,11 +1,11 @@
 package com.eduportal.view;
 
 import com.eduportal.dao.AssignmentDAO;
+import com.eduportal.dao.RowCallback;
 import com.eduportal.dao.CourseDAO; // Needed for dummy AssignmentFormDialog
 import com.eduportal.model.Assignment;
 import com.eduportal.model.Course; // Needed for dummy AssignmentFormDialog
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -20,11 +20,10 @@ public class ManageAssignmentsPanel extends JPanel {
 
     private AssignmentDAO assignmentDAO;
     private JTable assignmentTable;
-    private DefaultTableModel tableModel;
+    private PagedTableModel<Assignment> tableModel;
     private JFrame parentFrame; 
 
     private JTextField searchField; // New component for search
-    private List<Assignment> allAssignments; // Cache all assignments for local filtering
 
     // Custom Colors (Reused)
     private static final Color ADD_COLOR = new Color(52, 168, 83);   // Green
@@ -61,6 +60,7 @@ public class ManageAssignmentsPanel extends JPanel {
         assignmentTable = new JTable(tableModel);
         assignmentTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         JScrollPane scrollPane = new JScrollPane(assignmentTable);
+        tableModel.attach(assignmentTable, scrollPane);
         
         // Button panel for CRUD operations
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 10));
@@ -134,7 +134,7 @@ public class ManageAssignmentsPanel extends JPanel {
         deleteButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                handleDeleteAction();
+                handleDeleteAction(deleteButton);
             }
         });
     }
@@ -145,10 +145,19 @@ public class ManageAssignmentsPanel extends JPanel {
     private void initializeTableModel() {
         // Columns needed by the display logic: ID, Course ID, Reference ID, Description, Due Date, Status, Remarks
         String[] columnNames = {"ID", "Course ID", "Reference ID", "Description", "Due Date", "Status", "Remarks"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
+        tableModel = new PagedTableModel<Assignment>(assignmentDAO, columnNames) {
             @Override
-            public boolean isCellEditable(int row, int column) {
-               return false;
+            protected Object getColumnValue(Assignment assignment, int column) {
+                switch (column) {
+                    case COL_ID: return assignment.getAssignmentID();
+                    case 1: return assignment.getCourseID();
+                    case 2: return assignment.getReferenceID();
+                    case 3: return assignment.getDescription();
+                    case 4: return assignment.getDueDate(); // Date object should be fine, JTable renders it via toString()
+                    case 5: return assignment.getStatus();
+                    case 6: return assignment.getRemarks();
+                    default: return null;
+                }
             }
             // Ensure ID is treated as an Integer for sorting purposes
             @Override
@@ -160,66 +169,52 @@ public class ManageAssignmentsPanel extends JPanel {
     }
 
     /**
-     * Fetches all assignments from the database, caches them, and updates the table.
+     * Reloads the table from the first page of assignments (keyset pagination).
      */
     public void loadAssignmentData() {
-        try {
-            allAssignments = assignmentDAO.getAll();
-            displayAssignments(allAssignments);
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this, "Error loading assignments: " + ex.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-            allAssignments = new ArrayList<Assignment>(); // Prevent NullPointer in filter
-        }
+        tableModel.reload();
     }
     
     /**
-     * Displays the given list of assignments in the table model.
-     */
-    private void displayAssignments(List<Assignment> assignmentsToDisplay) {
-        tableModel.setRowCount(0); // Clear existing data
-        
-        for (Assignment assignment : assignmentsToDisplay) {
-            // NOTE: The Due Date must be converted to a readable String/Date object for display.
-            tableModel.addRow(new Object[]{
-                assignment.getAssignmentID(),
-                assignment.getCourseID(),
-                assignment.getReferenceID(),
-                assignment.getDescription(),
-                assignment.getDueDate(), // Date object should be fine, JTable renders it via toString()
-                assignment.getStatus(),
-                assignment.getRemarks()
-            });
-        }
-    }
-    
-    /**
-     * Filters the cached assignment data based on the search text (Assignment ID, Course ID, or Reference ID).
+     * Streams the assignment table and shows rows matching the search text (Assignment ID, Course ID, or Reference ID).
      */
     private void filterAssignmentData(String searchText) {
-        String filter = searchText.trim().toLowerCase();
+        final String filter = searchText.trim().toLowerCase();
         if (filter.isEmpty()) {
-            displayAssignments(allAssignments);
+            loadAssignmentData();
             return;
         }
 
-        List<Assignment> filteredList = new ArrayList<Assignment>();
-        
-        for (Assignment assignment : allAssignments) {
-            String assignmentIDStr = String.valueOf(assignment.getAssignmentID());
-            String courseIDStr = String.valueOf(assignment.getCourseID());
-            String referenceID = assignment.getReferenceID() != null ? assignment.getReferenceID().toLowerCase() : "";
+        final String originalText = searchText;
+        DataLoader.load(this, "search", new DataLoader.Task<List<Assignment>>() {
+            @Override
+            public List<Assignment> run() {
+                final List<Assignment> filteredList = new ArrayList<Assignment>();
+                assignmentDAO.forEach(new RowCallback<Assignment>() {
+                    @Override
+                    public boolean onRow(Assignment assignment) {
+                        String assignmentIDStr = String.valueOf(assignment.getAssignmentID());
+                        String courseIDStr = String.valueOf(assignment.getCourseID());
+                        String referenceID = assignment.getReferenceID() != null ? assignment.getReferenceID().toLowerCase() : "";
 
-            // Check if filter matches any ID or Reference ID
-            if (assignmentIDStr.contains(filter) || courseIDStr.contains(filter) || referenceID.contains(filter)) {
-                filteredList.add(assignment);
+                        // Check if filter matches any ID or Reference ID
+                        if (assignmentIDStr.contains(filter) || courseIDStr.contains(filter) || referenceID.contains(filter)) {
+                            filteredList.add(assignment);
+                        }
+                        return true;
+                    }
+                });
+                return filteredList;
             }
-        }
-        
-        displayAssignments(filteredList);
-        
-        if (filteredList.isEmpty() && !filter.isEmpty()) {
-              JOptionPane.showMessageDialog(this, "No assignment records found matching '" + searchText + "'.", "Search Result", JOptionPane.INFORMATION_MESSAGE);
-        }
+        }, new DataLoader.Callback<List<Assignment>>() {
+            @Override
+            public void onSuccess(List<Assignment> filteredList) {
+                tableModel.showRows(filteredList);
+                if (filteredList.isEmpty()) {
+                    JOptionPane.showMessageDialog(ManageAssignmentsPanel.this, "No assignment records found matching '" + originalText + "'.", "Search Result", JOptionPane.INFORMATION_MESSAGE);
+                }
+            }
+        });
     }
 
     /**
@@ -242,27 +237,35 @@ public class ManageAssignmentsPanel extends JPanel {
             return;
         }
         // Need to convert model row index if the table is sorted/filtered, but simple selectedRow is fine for now
-        int assignmentID = (int) tableModel.getValueAt(selectedRow, COL_ID);
-        Assignment assignmentToEdit = assignmentDAO.getById(assignmentID);
-        
-        if (assignmentToEdit != null) {
-            openAssignmentForm(assignmentToEdit);
-        } else {
-            JOptionPane.showMessageDialog(this, "Error: Assignment not found in data source.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        final int assignmentID = (int) tableModel.getValueAt(selectedRow, COL_ID);
+        DataLoader.load(this, "edit", new DataLoader.Task<Assignment>() {
+            @Override
+            public Assignment run() {
+                return assignmentDAO.getById(assignmentID);
+            }
+        }, new DataLoader.Callback<Assignment>() {
+            @Override
+            public void onSuccess(Assignment assignmentToEdit) {
+                if (assignmentToEdit != null) {
+                    openAssignmentForm(assignmentToEdit);
+                } else {
+                    JOptionPane.showMessageDialog(ManageAssignmentsPanel.this, "Error: Assignment not found in data source.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
     }
     
     /**
      * Handles the Delete button click.
      */
-    private void handleDeleteAction() {
+    private void handleDeleteAction(JButton deleteButton) {
         int selectedRow = assignmentTable.getSelectedRow();
         if (selectedRow == -1) {
             JOptionPane.showMessageDialog(this, "Please select an assignment to delete.", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        int assignmentID = (int) tableModel.getValueAt(selectedRow, COL_ID);
+        final int assignmentID = (int) tableModel.getValueAt(selectedRow, COL_ID);
         String referenceID = (String) tableModel.getValueAt(selectedRow, 2);
 
         int confirm = JOptionPane.showConfirmDialog(this, 
@@ -271,12 +274,22 @@ public class ManageAssignmentsPanel extends JPanel {
             JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (assignmentDAO.delete(assignmentID)) {
-                JOptionPane.showMessageDialog(this, "Assignment deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadAssignmentData(); // Refresh the table
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to delete assignment.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            DataLoader.submit(this, deleteButton, "delete", new DataLoader.Task<Boolean>() {
+                @Override
+                public Boolean run() {
+                    return assignmentDAO.delete(assignmentID);
+                }
+            }, new DataLoader.Callback<Boolean>() {
+                @Override
+                public void onSuccess(Boolean deleted) {
+                    if (deleted) {
+                        JOptionPane.showMessageDialog(ManageAssignmentsPanel.this, "Assignment deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        loadAssignmentData(); // Refresh the table
+                    } else {
+                        JOptionPane.showMessageDialog(ManageAssignmentsPanel.this, "Failed to delete assignment.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            });
         }
     }
     
@@ -21,7 +21,7 @@ public class ManageCoursesPanel extends JPanel {
     private JFrame parentFrame; 
     
     private JTextField searchField; // New component for search
-    private List<Course> allCourses; // Cache all courses for local filtering
+    private List<Course> allCourses = new java.util.ArrayList<>(); // Cache all courses for local filtering
 
     // Custom Colors (Reused)
     private static final Color ADD_COLOR = new Color(52, 168, 83);   // Green
@@ -121,7 +121,7 @@ public class ManageCoursesPanel extends JPanel {
         deleteButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                handleDeleteAction();
+                handleDeleteAction(deleteButton);
             }
         });
     }
@@ -137,8 +137,18 @@ public class ManageCoursesPanel extends JPanel {
     }
 
     public void loadCourseData() {
-        allCourses = courseDAO.getAll();
-        displayCourses(allCourses);
+        DataLoader.load(this, "courses", new DataLoader.Task<List<Course>>() {
+            @Override
+            public List<Course> run() {
+                return courseDAO.getAll();
+            }
+        }, new DataLoader.Callback<List<Course>>() {
+            @Override
+            public void onSuccess(List<Course> courses) {
+                allCourses = courses;
+                displayCourses(allCourses);
+            }
+        });
     }
     
     private void displayCourses(List<Course> coursesToDisplay) {
@@ -189,32 +199,41 @@ public class ManageCoursesPanel extends JPanel {
             return;
         }
 
-        try {
-            // Get ID from the model
-            int courseID = (int) tableModel.getValueAt(selectedRow, 0);
-            
-            // Fetch fresh data from DAO to ensure we have the InstructorID
-            Course courseToEdit = courseDAO.getById(courseID);
-            
-            if (courseToEdit != null) {
-                openCourseForm(courseToEdit);
-            } else {
-                JOptionPane.showMessageDialog(this, "Error: Course data could not be retrieved from the database.", "Error", JOptionPane.ERROR_MESSAGE);
+        // Get ID from the model
+        final int courseID = (int) tableModel.getValueAt(selectedRow, 0);
+
+        // Fetch fresh data from DAO to ensure we have the InstructorID
+        DataLoader.load(this, "edit", new DataLoader.Task<Course>() {
+            @Override
+            public Course run() {
+                return courseDAO.getById(courseID);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Error processing selection: " + e.getMessage());
-        }
+        }, new DataLoader.Callback<Course>() {
+            @Override
+            public void onSuccess(Course courseToEdit) {
+                if (courseToEdit != null) {
+                    openCourseForm(courseToEdit);
+                } else {
+                    JOptionPane.showMessageDialog(ManageCoursesPanel.this, "Error: Course data could not be retrieved from the database.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+
+            @Override
+            public void onError(Component owner, Exception e) {
+                e.printStackTrace();
+                JOptionPane.showMessageDialog(owner, "Error processing selection: " + e.getMessage());
+            }
+        });
     }
     
-    private void handleDeleteAction() {
+    private void handleDeleteAction(JButton deleteButton) {
         int selectedRow = courseTable.getSelectedRow();
         if (selectedRow == -1) {
             JOptionPane.showMessageDialog(this, "Please select a course to delete.", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        int courseID = (int) tableModel.getValueAt(selectedRow, 0);
+        final int courseID = (int) tableModel.getValueAt(selectedRow, 0);
         String courseName = (String) tableModel.getValueAt(selectedRow, 1);
 
         int confirm = JOptionPane.showConfirmDialog(this, 
@@ -223,12 +242,22 @@ public class ManageCoursesPanel extends JPanel {
             JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (courseDAO.delete(courseID)) {
-                JOptionPane.showMessageDialog(this, "Course deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadCourseData();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to delete course. Check database constraints.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            DataLoader.submit(this, deleteButton, "delete", new DataLoader.Task<Boolean>() {
+                @Override
+                public Boolean run() {
+                    return courseDAO.delete(courseID);
+                }
+            }, new DataLoader.Callback<Boolean>() {
+                @Override
+                public void onSuccess(Boolean deleted) {
+                    if (deleted) {
+                        JOptionPane.showMessageDialog(ManageCoursesPanel.this, "Course deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        loadCourseData();
+                    } else {
+                        JOptionPane.showMessageDialog(ManageCoursesPanel.this, "Failed to delete course. Check database constraints.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            });
         }
     }
 }
\ No newline at end of file
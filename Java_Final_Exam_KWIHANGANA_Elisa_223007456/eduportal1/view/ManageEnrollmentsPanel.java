@@ -1,12 +1,13 @@
 package com.eduportal.view;
 
 import com.eduportal.dao.EnrollmentDAO;
+import com.eduportal.dao.RowCallback;
 import com.eduportal.model.Enrollment;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,11 +18,10 @@ public class ManageEnrollmentsPanel extends JPanel {
 
     private EnrollmentDAO enrollmentDAO;
     private JTable enrollmentTable;
-    private DefaultTableModel tableModel;
+    private PagedTableModel<Enrollment> tableModel;
     private JFrame parentFrame; 
     
     private JTextField searchField; // New component for search
-    private List<Enrollment> allEnrollments; // Cache all enrollments for local filtering
 
     // Custom Colors (Reused)
     private static final Color ADD_COLOR = new Color(52, 168, 83);   // Green
@@ -35,7 +35,6 @@ public class ManageEnrollmentsPanel extends JPanel {
         setLayout(new BorderLayout(10, 10));
         
         initializeTableModel();
-        loadEnrollmentData();
         
         // --- Search Panel Setup ---
         JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
@@ -54,6 +53,9 @@ public class ManageEnrollmentsPanel extends JPanel {
         enrollmentTable = new JTable(tableModel);
         enrollmentTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         JScrollPane scrollPane = new JScrollPane(enrollmentTable);
+        tableModel.attach(enrollmentTable, scrollPane);
+        // Load the first page; later pages load as the user scrolls
+        loadEnrollmentData();
         
         // Button panel for CRUD operations
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 10));
@@ -125,7 +127,7 @@ public class ManageEnrollmentsPanel extends JPanel {
         deleteButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                handleDeleteAction();
+                handleDeleteAction(deleteButton);
             }
         });
     }
@@ -135,70 +137,71 @@ public class ManageEnrollmentsPanel extends JPanel {
      */
     private void initializeTableModel() {
         String[] columnNames = {"ID", "Student ID", "Course ID", "Reference ID", "Description", "Enroll Date", "Status", "Remarks"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
+        tableModel = new PagedTableModel<Enrollment>(enrollmentDAO, columnNames) {
             @Override
-            public boolean isCellEditable(int row, int column) {
-               return false;
+            protected Object getColumnValue(Enrollment enrollment, int column) {
+                switch (column) {
+                    case 0: return enrollment.getEnrollmentID();
+                    case 1: return enrollment.getStudentID();
+                    case 2: return enrollment.getCourseID();
+                    case 3: return enrollment.getReferenceID();
+                    case 4: return enrollment.getDescription();
+                    case 5: return enrollment.getEnrollDate();
+                    case 6: return enrollment.getStatus();
+                    case 7: return enrollment.getRemarks();
+                    default: return null;
+                }
             }
         };
     }
 
     /**
-     * Fetches all enrollments from the database, caches them, and updates the table.
+     * Reloads the table from the first page of enrollments (keyset pagination).
      */
     public void loadEnrollmentData() {
-        allEnrollments = enrollmentDAO.getAll();
-        displayEnrollments(allEnrollments);
-    }
-    
-    /**
-     * Displays the given list of enrollments in the table model.
-     */
-    private void displayEnrollments(List<Enrollment> enrollmentsToDisplay) {
-        tableModel.setRowCount(0); // Clear existing data
-        
-        for (Enrollment enrollment : enrollmentsToDisplay) {
-            tableModel.addRow(new Object[]{
-                enrollment.getEnrollmentID(),
-                enrollment.getStudentID(),
-                enrollment.getCourseID(),
-                enrollment.getReferenceID(),
-                enrollment.getDescription(),
-                enrollment.getEnrollDate(),
-                enrollment.getStatus(),
-                enrollment.getRemarks()
-            });
-        }
+        tableModel.reload();
     }
     
     /**
-     * Filters the cached enrollment data based on the search text (Enrollment ID, Student ID, or Course ID).
+     * Streams the enrollment table and shows rows whose Enrollment ID, Student ID, or Course ID match.
      */
     private void filterEnrollmentData(String searchText) {
-        String filter = searchText.trim().toLowerCase();
+        final String filter = searchText.trim().toLowerCase();
         if (filter.isEmpty()) {
-            displayEnrollments(allEnrollments);
+            loadEnrollmentData();
             return;
         }
 
-        List<Enrollment> filteredList = new java.util.ArrayList<>();
-        
-        for (Enrollment enrollment : allEnrollments) {
-            String enrollmentIDStr = String.valueOf(enrollment.getEnrollmentID());
-            String studentIDStr = String.valueOf(enrollment.getStudentID());
-            String courseIDStr = String.valueOf(enrollment.getCourseID());
+        final String originalText = searchText;
+        DataLoader.load(this, "search", new DataLoader.Task<List<Enrollment>>() {
+            @Override
+            public List<Enrollment> run() {
+                final List<Enrollment> filteredList = new ArrayList<Enrollment>();
+                enrollmentDAO.forEach(new RowCallback<Enrollment>() {
+                    @Override
+                    public boolean onRow(Enrollment enrollment) {
+                        String enrollmentIDStr = String.valueOf(enrollment.getEnrollmentID());
+                        String studentIDStr = String.valueOf(enrollment.getStudentID());
+                        String courseIDStr = String.valueOf(enrollment.getCourseID());
 
-            // Check if filter matches any ID
-            if (enrollmentIDStr.contains(filter) || studentIDStr.contains(filter) || courseIDStr.contains(filter)) {
-                filteredList.add(enrollment);
+                        // Check if filter matches any ID
+                        if (enrollmentIDStr.contains(filter) || studentIDStr.contains(filter) || courseIDStr.contains(filter)) {
+                            filteredList.add(enrollment);
+                        }
+                        return true;
+                    }
+                });
+                return filteredList;
             }
-        }
-        
-        displayEnrollments(filteredList);
-        
-        if (filteredList.isEmpty()) {
-             JOptionPane.showMessageDialog(this, "No enrollment records found matching '" + searchText + "'.", "Search Result", JOptionPane.INFORMATION_MESSAGE);
-        }
+        }, new DataLoader.Callback<List<Enrollment>>() {
+            @Override
+            public void onSuccess(List<Enrollment> filteredList) {
+                tableModel.showRows(filteredList);
+                if (filteredList.isEmpty()) {
+                    JOptionPane.showMessageDialog(ManageEnrollmentsPanel.this, "No enrollment records found matching '" + originalText + "'.", "Search Result", JOptionPane.INFORMATION_MESSAGE);
+                }
+            }
+        });
     }
     
     /**
@@ -220,27 +223,35 @@ public class ManageEnrollmentsPanel extends JPanel {
             return;
         }
 
-        int enrollmentID = (int) tableModel.getValueAt(selectedRow, 0);
-        Enrollment enrollmentToEdit = enrollmentDAO.getById(enrollmentID);
-        
-        if (enrollmentToEdit != null) {
-            openEnrollmentForm(enrollmentToEdit); // --- REAL DIALOG CALL ---
-        } else {
-            JOptionPane.showMessageDialog(this, "Error: Enrollment record not found.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        final int enrollmentID = (int) tableModel.getValueAt(selectedRow, 0);
+        DataLoader.load(this, "edit", new DataLoader.Task<Enrollment>() {
+            @Override
+            public Enrollment run() {
+                return enrollmentDAO.getById(enrollmentID);
+            }
+        }, new DataLoader.Callback<Enrollment>() {
+            @Override
+            public void onSuccess(Enrollment enrollmentToEdit) {
+                if (enrollmentToEdit != null) {
+                    openEnrollmentForm(enrollmentToEdit); // --- REAL DIALOG CALL ---
+                } else {
+                    JOptionPane.showMessageDialog(ManageEnrollmentsPanel.this, "Error: Enrollment record not found.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
     }
     
     /**
      * Handles the Delete button click.
      */
-    private void handleDeleteAction() {
+    private void handleDeleteAction(JButton deleteButton) {
         int selectedRow = enrollmentTable.getSelectedRow();
         if (selectedRow == -1) {
             JOptionPane.showMessageDialog(this, "Please select an enrollment record to delete.", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        int enrollmentID = (int) tableModel.getValueAt(selectedRow, 0);
+        final int enrollmentID = (int) tableModel.getValueAt(selectedRow, 0);
         int studentID = (int) tableModel.getValueAt(selectedRow, 1);
         int courseID = (int) tableModel.getValueAt(selectedRow, 2);
 
@@ -250,12 +261,22 @@ public class ManageEnrollmentsPanel extends JPanel {
             JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (enrollmentDAO.delete(enrollmentID)) {
-                JOptionPane.showMessageDialog(this, "Enrollment record deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadEnrollmentData(); // Refresh the table
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to delete enrollment record.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            DataLoader.submit(this, deleteButton, "delete", new DataLoader.Task<Boolean>() {
+                @Override
+                public Boolean run() {
+                    return enrollmentDAO.delete(enrollmentID);
+                }
+            }, new DataLoader.Callback<Boolean>() {
+                @Override
+                public void onSuccess(Boolean deleted) {
+                    if (deleted) {
+                        JOptionPane.showMessageDialog(ManageEnrollmentsPanel.this, "Enrollment record deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        loadEnrollmentData(); // Refresh the table
+                    } else {
+                        JOptionPane.showMessageDialog(ManageEnrollmentsPanel.this, "Failed to delete enrollment record.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            });
         }
     }
 }
\ No newline at end of file
@@ -21,7 +21,7 @@ public class ManageGradesPanel extends JPanel {
     private JFrame parentFrame; 
 
     private JTextField searchField; // New component for search
-    private List<Grade> allGrades; // Cache all grades for local filtering
+    private List<Grade> allGrades = new java.util.ArrayList<>(); // Cache all grades for local filtering
 
     // Custom Colors (Reused)
     private static final Color ADD_COLOR = new Color(52, 168, 83);   // Green
@@ -125,7 +125,7 @@ public class ManageGradesPanel extends JPanel {
         deleteButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                handleDeleteAction();
+                handleDeleteAction(deleteButton);
             }
         });
     }
@@ -147,8 +147,18 @@ public class ManageGradesPanel extends JPanel {
      * Fetches all grades from the database, caches them, and updates the table.
      */
     public void loadGradeData() {
-        allGrades = gradeDAO.getAll();
-        displayGrades(allGrades);
+        DataLoader.load(this, "load", new DataLoader.Task<List<Grade>>() {
+            @Override
+            public List<Grade> run() {
+                return gradeDAO.getAll();
+            }
+        }, new DataLoader.Callback<List<Grade>>() {
+            @Override
+            public void onSuccess(List<Grade> rows) {
+                allGrades = rows;
+                displayGrades(allGrades);
+            }
+        });
     }
     
     /**
@@ -219,27 +229,35 @@ public class ManageGradesPanel extends JPanel {
             return;
         }
 
-        int gradeID = (int) tableModel.getValueAt(selectedRow, 0);
-        Grade gradeToEdit = gradeDAO.getById(gradeID);
-        
-        if (gradeToEdit != null) {
-            openGradeForm(gradeToEdit); // --- REAL DIALOG CALL ---
-        } else {
-            JOptionPane.showMessageDialog(this, "Error: Grade record not found.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        final int gradeID = (int) tableModel.getValueAt(selectedRow, 0);
+        DataLoader.load(this, "edit", new DataLoader.Task<Grade>() {
+            @Override
+            public Grade run() {
+                return gradeDAO.getById(gradeID);
+            }
+        }, new DataLoader.Callback<Grade>() {
+            @Override
+            public void onSuccess(Grade gradeToEdit) {
+                if (gradeToEdit != null) {
+                    openGradeForm(gradeToEdit); // --- REAL DIALOG CALL ---
+                } else {
+                    JOptionPane.showMessageDialog(ManageGradesPanel.this, "Error: Grade record not found.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
     }
     
     /**
      * Handles the Delete button click.
      */
-    private void handleDeleteAction() {
+    private void handleDeleteAction(JButton deleteButton) {
         int selectedRow = gradeTable.getSelectedRow();
         if (selectedRow == -1) {
             JOptionPane.showMessageDialog(this, "Please select a grade record to delete.", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        int gradeID = (int) tableModel.getValueAt(selectedRow, 0);
+        final int gradeID = (int) tableModel.getValueAt(selectedRow, 0);
         int studentID = (int) tableModel.getValueAt(selectedRow, 1);
         int assignmentID = (int) tableModel.getValueAt(selectedRow, 2);
 
@@ -249,12 +267,22 @@ public class ManageGradesPanel extends JPanel {
             JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (gradeDAO.delete(gradeID)) {
-                JOptionPane.showMessageDialog(this, "Grade record deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadGradeData(); // Refresh the table
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to delete grade record.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            DataLoader.submit(this, deleteButton, "delete", new DataLoader.Task<Boolean>() {
+                @Override
+                public Boolean run() {
+                    return gradeDAO.delete(gradeID);
+                }
+            }, new DataLoader.Callback<Boolean>() {
+                @Override
+                public void onSuccess(Boolean deleted) {
+                    if (deleted) {
+                        JOptionPane.showMessageDialog(ManageGradesPanel.this, "Grade record deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        loadGradeData(); // Refresh the table
+                    } else {
+                        JOptionPane.showMessageDialog(ManageGradesPanel.this, "Failed to delete grade record.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            });
         }
     }
 }
\ No newline at end of file
@@ -21,7 +21,7 @@ public class ManageInstructorsPanel extends JPanel {
     private JFrame parentFrame; 
     
     private JTextField searchField; // New component for search
-    private List<Instructor> allInstructors; // Cache all instructors for local filtering
+    private List<Instructor> allInstructors = new java.util.ArrayList<>(); // Cache all instructors for local filtering
 
     // Custom Colors (Reused from Students Panel)
     private static final Color ADD_COLOR = new Color(52, 168, 83);   // Green
@@ -126,7 +126,7 @@ public class ManageInstructorsPanel extends JPanel {
         deleteButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                handleDeleteAction();
+                handleDeleteAction(deleteButton);
             }
         });
     }
@@ -148,8 +148,18 @@ public class ManageInstructorsPanel extends JPanel {
      * Fetches all instructors from the database, caches them, and updates the table.
      */
     public void loadInstructorData() {
-        allInstructors = instructorDAO.getAll();
-        displayInstructors(allInstructors);
+        DataLoader.load(this, "load", new DataLoader.Task<List<Instructor>>() {
+            @Override
+            public List<Instructor> run() {
+                return instructorDAO.getAll();
+            }
+        }, new DataLoader.Callback<List<Instructor>>() {
+            @Override
+            public void onSuccess(List<Instructor> rows) {
+                allInstructors = rows;
+                displayInstructors(allInstructors);
+            }
+        });
     }
     
     /**
@@ -222,27 +232,35 @@ public class ManageInstructorsPanel extends JPanel {
             return;
         }
 
-        int instructorID = (int) tableModel.getValueAt(selectedRow, 0);
-        Instructor instructorToEdit = instructorDAO.getById(instructorID);
-        
-        if (instructorToEdit != null) {
-            openInstructorForm(instructorToEdit); // ACTUAL CALL
-        } else {
-            JOptionPane.showMessageDialog(this, "Error: Instructor not found.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        final int instructorID = (int) tableModel.getValueAt(selectedRow, 0);
+        DataLoader.load(this, "edit", new DataLoader.Task<Instructor>() {
+            @Override
+            public Instructor run() {
+                return instructorDAO.getById(instructorID);
+            }
+        }, new DataLoader.Callback<Instructor>() {
+            @Override
+            public void onSuccess(Instructor instructorToEdit) {
+                if (instructorToEdit != null) {
+                    openInstructorForm(instructorToEdit); // ACTUAL CALL
+                } else {
+                    JOptionPane.showMessageDialog(ManageInstructorsPanel.this, "Error: Instructor not found.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
     }
     
     /**
      * Handles the Delete button click.
      */
-    private void handleDeleteAction() {
+    private void handleDeleteAction(JButton deleteButton) {
         int selectedRow = instructorTable.getSelectedRow();
         if (selectedRow == -1) {
             JOptionPane.showMessageDialog(this, "Please select an instructor to delete.", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        int instructorID = (int) tableModel.getValueAt(selectedRow, 0);
+        final int instructorID = (int) tableModel.getValueAt(selectedRow, 0);
         String name = (String) tableModel.getValueAt(selectedRow, 2);
 
         int confirm = JOptionPane.showConfirmDialog(this, 
@@ -251,12 +269,22 @@ public class ManageInstructorsPanel extends JPanel {
             JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (instructorDAO.delete(instructorID)) {
-                JOptionPane.showMessageDialog(this, "Instructor deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadInstructorData(); // Refresh the table
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to delete instructor. Check database constraints (e.g., still assigned to a course).", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            DataLoader.submit(this, deleteButton, "delete", new DataLoader.Task<Boolean>() {
+                @Override
+                public Boolean run() {
+                    return instructorDAO.delete(instructorID);
+                }
+            }, new DataLoader.Callback<Boolean>() {
+                @Override
+                public void onSuccess(Boolean deleted) {
+                    if (deleted) {
+                        JOptionPane.showMessageDialog(ManageInstructorsPanel.this, "Instructor deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        loadInstructorData(); // Refresh the table
+                    } else {
+                        JOptionPane.showMessageDialog(ManageInstructorsPanel.this, "Failed to delete instructor. Check database constraints (e.g., still assigned to a course).", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            });
         }
     }
 }
\ No newline at end of file
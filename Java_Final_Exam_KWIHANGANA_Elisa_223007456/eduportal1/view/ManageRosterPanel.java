@@ -93,47 +93,70 @@ public class ManageRosterPanel extends JPanel {
 
     private void loadCourses() {
         courseComboBox.removeAllItems();
-        try {
-            List<Course> courses = courseDAO.getCoursesByInstructor(instructorID);
-            for (Course course : courses) {
-                courseComboBox.addItem(course);
+        DataLoader.load(this, "courses", new DataLoader.Task<List<Course>>() {
+            @Override
+            public List<Course> run() {
+                return courseDAO.getCoursesByInstructor(instructorID);
             }
-            
-            // If courses were found, the first one is selected by default, 
-            // trigger the roster load.
-            if (courseComboBox.getItemCount() > 0) {
-                loadRosterData();
+        }, new DataLoader.Callback<List<Course>>() {
+            @Override
+            public void onSuccess(List<Course> courses) {
+                for (Course course : courses) {
+                    courseComboBox.addItem(course);
+                }
+                
+                // If courses were found, the first one is selected by default, 
+                // trigger the roster load.
+                if (courseComboBox.getItemCount() > 0) {
+                    loadRosterData();
+                }
             }
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this, "Error fetching courses: " + ex.getMessage());
-        }
+
+            @Override
+            public void onError(Component owner, Exception ex) {
+                JOptionPane.showMessageDialog(owner, "Error fetching courses: " + ex.getMessage());
+            }
+        });
     }
 
     private void loadRosterData() {
         tableModel.setRowCount(0); 
-        Course selectedCourse = (Course) courseComboBox.getSelectedItem();
+        final Course selectedCourse = (Course) courseComboBox.getSelectedItem();
         
-        if (selectedCourse == null) return;
+        if (selectedCourse == null) {
+            DataLoader.cancel(this, "roster");
+            return;
+        }
         
-        try {
-            // This calls the SQL: SELECT s.* FROM student s JOIN enrollment e ...
-            List<Student> students = studentDAO.getStudentsByCourse(selectedCourse.getCourseID());
-            
-            if (students.isEmpty()) {
-                // If empty, we show a friendly message in the table
-                tableModel.addRow(new Object[]{"-", "No students registered yet", "-", "-"});
-            } else {
-                for (Student s : students) {
-                    tableModel.addRow(new Object[]{
-                        s.getStudentID(),
-                        s.getName(), // Ensure this returns full_name from the DB
-                        s.getUsername(),
-                        s.getEmail()
-                    });
+        DataLoader.load(this, "roster", new DataLoader.Task<List<Student>>() {
+            @Override
+            public List<Student> run() throws Exception {
+                // This calls the SQL: SELECT s.* FROM student s JOIN enrollment e ...
+                return studentDAO.getStudentsByCourse(selectedCourse.getCourseID());
+            }
+        }, new DataLoader.Callback<List<Student>>() {
+            @Override
+            public void onSuccess(List<Student> students) {
+                tableModel.setRowCount(0);
+                if (students.isEmpty()) {
+                    // If empty, we show a friendly message in the table
+                    tableModel.addRow(new Object[]{"-", "No students registered yet", "-", "-"});
+                } else {
+                    for (Student s : students) {
+                        tableModel.addRow(new Object[]{
+                            s.getStudentID(),
+                            s.getName(), // Ensure this returns full_name from the DB
+                            s.getUsername(),
+                            s.getEmail()
+                        });
+                    }
                 }
             }
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this, "Roster Error: " + ex.getMessage());
-        }
+
+            @Override
+            public void onError(Component owner, Exception ex) {
+                JOptionPane.showMessageDialog(owner, "Roster Error: " + ex.getMessage());
+            }
+        });
     }
 }
\ No newline at end of file
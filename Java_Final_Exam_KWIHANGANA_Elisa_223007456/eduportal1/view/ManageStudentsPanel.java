@@ -1,12 +1,13 @@
 package com.eduportal.view;
 
+import com.eduportal.dao.RowCallback;
 import com.eduportal.dao.StudentDAO;
 import com.eduportal.model.Student;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -19,11 +20,10 @@ public class ManageStudentsPanel extends JPanel {
 
     private StudentDAO studentDAO;
     private JTable studentTable;
-    private DefaultTableModel tableModel;
+    private PagedTableModel<Student> tableModel;
     private JFrame parentFrame; 
     
     private JTextField searchField; // New component for search
-    private List<Student> allStudents; // Cache all students for local filtering
 
     // Custom Colors
     private static final Color ADD_COLOR = new Color(52, 168, 83);   // Green
@@ -37,8 +37,6 @@ public class ManageStudentsPanel extends JPanel {
         setLayout(new BorderLayout(10, 10));
         
         initializeTableModel();
-        // Load data initially, populating the cache
-        loadStudentData(); 
         
         // --- Search Panel Setup (NEW) ---
         JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
@@ -58,6 +56,9 @@ public class ManageStudentsPanel extends JPanel {
         studentTable = new JTable(tableModel);
         studentTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION); 
         JScrollPane scrollPane = new JScrollPane(studentTable);
+        tableModel.attach(studentTable, scrollPane);
+        // Load the first page; later pages load as the user scrolls
+        loadStudentData();
         
         // Button panel for CRUD operations
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 10));
@@ -133,7 +134,7 @@ public class ManageStudentsPanel extends JPanel {
         deleteButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                handleDeleteAction();
+                handleDeleteAction(deleteButton);
             }
         });
     }
@@ -143,72 +144,70 @@ public class ManageStudentsPanel extends JPanel {
      */
     private void initializeTableModel() {
         String[] columnNames = {"ID", "Username", "Role", "Full Name", "Email", "Course_name", "Created At"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
+        tableModel = new PagedTableModel<Student>(studentDAO, columnNames) {
             @Override
-            public boolean isCellEditable(int row, int column) {
-               return false;
+            protected Object getColumnValue(Student student, int column) {
+                switch (column) {
+                    case 0: return student.getStudentID();
+                    case 1: return student.getUsername();
+                    case 2: return student.getRole();
+                    case 3: return student.getfull_name(); // Full Name
+                    case 4: return student.getemail(); // Email
+                    case 5: return student.getcourse_name();
+                    case 6: return student.getCreatedAt();
+                    default: return null;
+                }
             }
         };
     }
 
     /**
-     * Fetches all students from the database, caches them, and updates the table.
+     * Reloads the table from the first page of students (keyset pagination).
      */
     public void loadStudentData() {
-        // 1. Fetch all data
-        allStudents = studentDAO.getAll();
-        // 2. Display the full list
-        displayStudents(allStudents);
+        tableModel.reload();
     }
     
     /**
-     * Displays the given list of students in the table model.
-     * @param studentsToDisplay The filtered or full list of Student objects.
-     */
-    private void displayStudents(List<Student> studentsToDisplay) {
-        tableModel.setRowCount(0); // Clear existing data
-        
-        for (Student student : studentsToDisplay) {
-            tableModel.addRow(new Object[]{
-                student.getStudentID(),
-                student.getUsername(),
-                student.getRole(),
-                student.getfull_name(), // Full Name
-                student.getemail(), // Email
-                student.getcourse_name(),
-                student.getCreatedAt()
-            });
-        }
-    }
-    
-    /**
-     * Filters the cached student data based on the search text (ID or Name).
+     * Streams the student table and shows only rows that match the search text (ID or Name).
      * @param searchText The text to filter by.
      */
     private void filterStudentData(String searchText) {
-        String filter = searchText.trim().toLowerCase();
+        final String filter = searchText.trim().toLowerCase();
         if (filter.isEmpty()) {
-            displayStudents(allStudents);
+            loadStudentData();
             return;
         }
 
-        List<Student> filteredList = new java.util.ArrayList<>();
-        
-        for (Student student : allStudents) {
-            String studentIDStr = String.valueOf(student.getStudentID());
-            String fullName = student.getfull_name().toLowerCase(); // Full Name
+        final String originalText = searchText;
+        DataLoader.load(this, "search", new DataLoader.Task<List<Student>>() {
+            @Override
+            public List<Student> run() {
+                final List<Student> filteredList = new ArrayList<Student>();
+                studentDAO.forEach(new RowCallback<Student>() {
+                    @Override
+                    public boolean onRow(Student student) {
+                        String studentIDStr = String.valueOf(student.getStudentID());
+                        String fullName = student.getfull_name() != null ? student.getfull_name().toLowerCase() : ""; // Full Name
 
-            // Check if filter matches ID or Full Name
-            if (studentIDStr.contains(filter) || fullName.contains(filter)) {
-                filteredList.add(student);
+                        // Check if filter matches ID or Full Name
+                        if (studentIDStr.contains(filter) || fullName.contains(filter)) {
+                            filteredList.add(student);
+                        }
+                        return true;
+                    }
+                });
+                return filteredList;
             }
-        }
-        
-        displayStudents(filteredList);
-        
-        if (filteredList.isEmpty()) {
-             JOptionPane.showMessageDialog(this, "No students found matching '" + searchText + "'.", "Search Result", JOptionPane.INFORMATION_MESSAGE);
-        }
+        }, new DataLoader.Callback<List<Student>>() {
+            @Override
+            public void onSuccess(List<Student> filteredList) {
+                tableModel.showRows(filteredList);
+                if (filteredList.isEmpty()) {
+                    JOptionPane.showMessageDialog(ManageStudentsPanel.this, "No students found matching '" + originalText + "'.", "Search Result", JOptionPane.INFORMATION_MESSAGE);
+                }
+            }
+        });
     }
     
     /**
@@ -230,27 +229,35 @@ public class ManageStudentsPanel extends JPanel {
             return;
         }
 
-        int studentID = (int) tableModel.getValueAt(selectedRow, 0);
-        Student studentToEdit = studentDAO.getById(studentID);
-        
-        if (studentToEdit != null) {
-            openStudentForm(studentToEdit);
-        } else {
-            JOptionPane.showMessageDialog(this, "Error: Student not found in database.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        final int studentID = (int) tableModel.getValueAt(selectedRow, 0);
+        DataLoader.load(this, "edit", new DataLoader.Task<Student>() {
+            @Override
+            public Student run() {
+                return studentDAO.getById(studentID);
+            }
+        }, new DataLoader.Callback<Student>() {
+            @Override
+            public void onSuccess(Student studentToEdit) {
+                if (studentToEdit != null) {
+                    openStudentForm(studentToEdit);
+                } else {
+                    JOptionPane.showMessageDialog(ManageStudentsPanel.this, "Error: Student not found in database.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
     }
     
     /**
      * Handles the Delete button click.
      */
-    private void handleDeleteAction() {
+    private void handleDeleteAction(JButton deleteButton) {
         int selectedRow = studentTable.getSelectedRow();
         if (selectedRow == -1) {
             JOptionPane.showMessageDialog(this, "Please select a student to delete.", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        int studentID = (int) tableModel.getValueAt(selectedRow, 0);
+        final int studentID = (int) tableModel.getValueAt(selectedRow, 0);
         String username = (String) tableModel.getValueAt(selectedRow, 1);
 
         int confirm = JOptionPane.showConfirmDialog(this, 
@@ -259,12 +266,22 @@ public class ManageStudentsPanel extends JPanel {
             JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (studentDAO.delete(studentID)) {
-                JOptionPane.showMessageDialog(this, "Student deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadStudentData(); // Refresh the table
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to delete student. Check database constraints (e.g., existing enrollments).", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            DataLoader.submit(this, deleteButton, "delete", new DataLoader.Task<Boolean>() {
+                @Override
+                public Boolean run() {
+                    return studentDAO.delete(studentID);
+                }
+            }, new DataLoader.Callback<Boolean>() {
+                @Override
+                public void onSuccess(Boolean deleted) {
+                    if (deleted) {
+                        JOptionPane.showMessageDialog(ManageStudentsPanel.this, "Student deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        loadStudentData(); // Refresh the table
+                    } else {
+                        JOptionPane.showMessageDialog(ManageStudentsPanel.this, "Failed to delete student. Check database constraints (e.g., existing enrollments).", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            });
         }
     }
 }
\ No newline at end of file
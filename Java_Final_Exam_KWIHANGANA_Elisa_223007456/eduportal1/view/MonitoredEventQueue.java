@@ -0,0 +1,113 @@
+package com.eduportal.view;
+
+import com.eduportal.util.FlightEvents;
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.InvocationEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.AbstractButton;
+import javax.swing.JComboBox;
+import javax.swing.JTextField;
+
+/**
+ * Event queue pushed on top of the system queue that times every event dispatched on the EDT.
+ * Events over the JFR threshold become com.eduportal.EdtTask events naming the listener or Runnable
+ * that handled them, and while a recording is running, database work done inside a dispatch is
+ * tagged with that handler (FlightEvents action). Every dispatch also feeds EdtWatchdog, which
+ * samples and reports stalls without needing a recording.
+ */
+public class MonitoredEventQueue extends EventQueue {
+
+    private static final AtomicBoolean INSTALLED = new AtomicBoolean();
+
+    protected MonitoredEventQueue() {}
+
+    /** Pushes the monitoring queue once; safe to call from any thread. */
+    public static void install() {
+        if (INSTALLED.compareAndSet(false, true)) {
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(new MonitoredEventQueue());
+            EdtWatchdog.start();
+        }
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        FlightEvents.EdtTaskEvent jfr = new FlightEvents.EdtTaskEvent();
+        // Describing the handler costs a little, so it is only done while a recording listens
+        String handler = jfr.isEnabled() ? handlerOf(event) : null;
+        String previousAction = handler != null ? FlightEvents.setAction("EDT " + handler) : null;
+        long start = System.nanoTime();
+        if (EdtWatchdog.ENABLED) EdtWatchdog.dispatchStarted(start);
+        jfr.begin();
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            jfr.end();
+            if (EdtWatchdog.ENABLED) EdtWatchdog.dispatchFinished(event, System.nanoTime() - start);
+            if (handler != null) FlightEvents.setAction(previousAction);
+            if (jfr.shouldCommit()) {
+                jfr.event = event.getClass().getSimpleName() + " from " + sourceOf(event);
+                jfr.handler = handler;
+                jfr.commit();
+            }
+        }
+    }
+
+    /**
+     * Best guess at the application class that handled the event: the listener or Runnable found by
+     * listenerOf(), otherwise the event source's class.
+     */
+    static String handlerOf(AWTEvent event) {
+        String listener = listenerOf(event);
+        return listener != null ? listener : sourceOf(event);
+    }
+
+    /**
+     * The application listener or Runnable an event runs, or null when it cannot be told.
+     * Swing fires ActionEvents synchronously inside the mouse or key event that triggers them, so
+     * the first non-Swing action listener is looked up on the button, combo box or text field that
+     * receives the click or key; an invokeLater is named after its Runnable.
+     */
+    static String listenerOf(AWTEvent event) {
+        boolean click = event instanceof MouseEvent && event.getID() <= MouseEvent.MOUSE_RELEASED;
+        if (click || event instanceof KeyEvent || event instanceof ActionEvent) {
+            ActionListener[] listeners = actionListenersOf(event.getSource());
+            if (listeners != null) {
+                for (ActionListener listener : listeners) {
+                    String name = listener.getClass().getName();
+                    if (!name.startsWith("javax.swing.")) return name;
+                }
+            }
+        }
+        if (event instanceof InvocationEvent) {
+            // paramString() is "INVOCATION_DEFAULT,runnable=com.x.Foo$1@1b2c3d,notifier=..."
+            String params = ((InvocationEvent) event).paramString();
+            int start = params.indexOf("runnable=");
+            if (start >= 0) {
+                start += "runnable=".length();
+                int end = params.indexOf(',', start);
+                String runnable = end < 0 ? params.substring(start) : params.substring(start, end);
+                int hash = runnable.indexOf('@');
+                return hash < 0 ? runnable : runnable.substring(0, hash);
+            }
+        }
+        return null;
+    }
+
+    private static ActionListener[] actionListenersOf(Object source) {
+        if (source instanceof AbstractButton) return ((AbstractButton) source).getActionListeners();
+        if (source instanceof JComboBox) return ((JComboBox<?>) source).getActionListeners();
+        if (source instanceof JTextField) return ((JTextField) source).getActionListeners();
+        return null;
+    }
+
+    private static String sourceOf(AWTEvent event) {
+        Object source = event.getSource();
+        return source == null ? "null" : source.getClass().getName();
+    }
+}
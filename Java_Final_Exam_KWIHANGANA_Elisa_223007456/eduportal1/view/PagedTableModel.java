@@ -0,0 +1,158 @@
+package com.eduportal.view;
+
+import com.eduportal.dao.PagedDAO;
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.event.AdjustmentEvent;
+import java.awt.event.AdjustmentListener;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Table model that loads rows page by page through a PagedDAO (keyset pagination).
+ * The first page is painted as soon as it arrives; further pages are fetched through
+ * DataLoader when the user scrolls near the end of what has been loaded.
+ * Subclasses only map a row object to its column values.
+ */
+public abstract class PagedTableModel<T> extends AbstractTableModel {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    // Start fetching the next page when this many rows or fewer remain below the viewport
+    private static final int PREFETCH_ROWS = 20;
+
+    private final PagedDAO<T> dao;
+    private final String[] columnNames;
+    private final int pageSize;
+    private final List<T> rows = new ArrayList<T>();
+
+    private JTable table;
+    private JScrollPane scrollPane;
+    private int lastId;
+    private boolean exhausted;
+
+    private static final String PAGE_KEY = "page";
+
+    public PagedTableModel(PagedDAO<T> dao, String[] columnNames, int pageSize) {
+        this.dao = dao;
+        this.columnNames = columnNames;
+        this.pageSize = pageSize;
+    }
+
+    public PagedTableModel(PagedDAO<T> dao, String[] columnNames) {
+        this(dao, columnNames, DEFAULT_PAGE_SIZE);
+    }
+
+    /** Returns the value shown in the given column for a row object. */
+    protected abstract Object getColumnValue(T row, int column);
+
+    /**
+     * Hooks the model to the scroll pane showing the table so scrolling near the end
+     * triggers the next page fetch. Must be called before reload().
+     */
+    public void attach(JTable table, JScrollPane scrollPane) {
+        this.table = table;
+        this.scrollPane = scrollPane;
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(new AdjustmentListener() {
+            @Override
+            public void adjustmentValueChanged(AdjustmentEvent e) {
+                if (isNearEnd()) {
+                    fetchNextPage();
+                }
+            }
+        });
+    }
+
+    /** Drops all loaded rows and starts again from the first page. */
+    public void reload() {
+        DataLoader.cancel(table, PAGE_KEY);
+        int oldSize = rows.size();
+        rows.clear();
+        lastId = 0;
+        exhausted = false;
+        if (oldSize > 0) fireTableRowsDeleted(0, oldSize - 1);
+        fetchNextPage();
+    }
+
+    /**
+     * Replaces the content with a fixed list (e.g. search results) and stops paging
+     * until the next reload().
+     */
+    public void showRows(List<T> fixedRows) {
+        DataLoader.cancel(table, PAGE_KEY);
+        rows.clear();
+        rows.addAll(fixedRows);
+        exhausted = true;
+        fireTableDataChanged();
+    }
+
+    /** Fetches the next page in the background unless one is already in flight or the end was reached. */
+    public void fetchNextPage() {
+        if (table == null) throw new IllegalStateException("attach() must be called before loading pages");
+        if (exhausted || DataLoader.isLoading(table, PAGE_KEY)) return;
+        final int afterId = lastId;
+
+        DataLoader.load(table, PAGE_KEY, new DataLoader.Task<List<T>>() {
+            @Override
+            public List<T> run() {
+                return dao.page(afterId, pageSize);
+            }
+        }, new DataLoader.Callback<List<T>>() {
+            @Override
+            public void onSuccess(List<T> page) {
+                appendPage(page);
+                // Keep filling until the viewport has a scrollbar or the table ends (checked after layout)
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (isNearEnd()) {
+                            fetchNextPage();
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Component owner, Exception error) {
+                exhausted = true;
+                super.onError(owner, error);
+            }
+        });
+    }
+
+    private void appendPage(List<T> page) {
+        if (page.size() < pageSize) exhausted = true;
+        if (page.isEmpty()) return;
+        int first = rows.size();
+        rows.addAll(page);
+        lastId = dao.getId(page.get(page.size() - 1));
+        fireTableRowsInserted(first, rows.size() - 1);
+    }
+
+    private boolean isNearEnd() {
+        if (table == null || scrollPane == null || exhausted) return false;
+        JScrollBar bar = scrollPane.getVerticalScrollBar();
+        int remainingPixels = bar.getMaximum() - (bar.getValue() + bar.getVisibleAmount());
+        return remainingPixels <= PREFETCH_ROWS * table.getRowHeight();
+    }
+
+    /** Returns the object behind a (model) row index. */
+    public T getRow(int rowIndex) {
+        return rows.get(rowIndex);
+    }
+
+    public boolean isFullyLoaded() {
+        return exhausted;
+    }
+
+    @Override public int getRowCount() { return rows.size(); }
+    @Override public int getColumnCount() { return columnNames.length; }
+    @Override public String getColumnName(int column) { return columnNames[column]; }
+    @Override public boolean isCellEditable(int row, int column) { return false; }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return getColumnValue(rows.get(rowIndex), columnIndex);
+    }
+}
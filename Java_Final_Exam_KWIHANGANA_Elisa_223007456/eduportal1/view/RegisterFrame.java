@@ -142,37 +142,46 @@ public class RegisterFrame extends JFrame {
      * Validates input fields and attempts to register the new user.
      */
     private void attemptRegistration() {
-        String username = usernameField.getText().trim();
-        String password = new String(passwordField.getPassword());
-        String fullName = fullNameField.getText().trim();
-        String email = emailField.getText().trim();
+        final String username = usernameField.getText().trim();
+        final String password = new String(passwordField.getPassword());
+        final String fullName = fullNameField.getText().trim();
+        final String email = emailField.getText().trim();
         
         if (username.isEmpty() || password.isEmpty() || fullName.isEmpty() || email.isEmpty()) {
             JOptionPane.showMessageDialog(this, "All fields are required.", "Input Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
 
-        // --- Logic to call the Service Layer for registration ---
-        try {
-            // This method would typically call a DAO to save the new user record.
-            boolean success = authService.register(username, password, fullName, email, role);
-            
-            if (success) {
-                JOptionPane.showMessageDialog(this, 
-                    "Registration successful! You may now log in as a " + role + ".", 
-                    "Success", JOptionPane.INFORMATION_MESSAGE);
-                dispose();
-            } else {
-                JOptionPane.showMessageDialog(this, 
-                    "Registration failed. Username may already exist.", 
-                    "Registration Error", JOptionPane.ERROR_MESSAGE);
+        // --- Logic to call the Service Layer for registration (off the EDT) ---
+        DataLoader.submit(this, registerButton, "register", new DataLoader.Task<Boolean>() {
+            @Override
+            public Boolean run() {
+                // This method would typically call a DAO to save the new user record.
+                return authService.register(username, password, fullName, email, role);
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, 
-                "An unexpected error occurred during registration: " + e.getMessage(), 
-                "System Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+        }, new DataLoader.Callback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean success) {
+                if (success) {
+                    JOptionPane.showMessageDialog(RegisterFrame.this, 
+                        "Registration successful! You may now log in as a " + role + ".", 
+                        "Success", JOptionPane.INFORMATION_MESSAGE);
+                    dispose();
+                } else {
+                    JOptionPane.showMessageDialog(RegisterFrame.this, 
+                        "Registration failed. Username may already exist.", 
+                        "Registration Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+
+            @Override
+            public void onError(Component owner, Exception e) {
+                JOptionPane.showMessageDialog(owner, 
+                    "An unexpected error occurred during registration: " + e.getMessage(), 
+                    "System Error", JOptionPane.ERROR_MESSAGE);
+                e.printStackTrace();
+            }
+        });
     }
     
     /**
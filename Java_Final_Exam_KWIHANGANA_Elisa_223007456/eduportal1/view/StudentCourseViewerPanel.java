@@ -49,8 +49,7 @@ public class StudentCourseViewerPanel extends JPanel {
         add(headerPanel, BorderLayout.NORTH);
         
         // --- 2. Table Initialization ---
-        List<Course> courses = courseDAO.getCoursesByStudentID(studentID);
-        CourseTableModel tableModel = new CourseTableModel(courses);
+        CourseTableModel tableModel = new CourseTableModel(null);
         courseTable = new JTable(tableModel);
         
         // Table Styling for a professional look
@@ -72,19 +71,28 @@ public class StudentCourseViewerPanel extends JPanel {
         
         add(footerPanel, BorderLayout.SOUTH);
 
-        // Initial credit calculation
-        updateTotalCredits(courses);
+        // Initial load; the table and credit total fill in when the query returns
+        refreshData();
     }
 
     /**
      * Re-queries the database and updates the table.
      */
     public void refreshData() {
-        List<Course> courses = courseDAO.getCoursesByStudentID(studentID);
-        CourseTableModel model = (CourseTableModel) courseTable.getModel();
-        model.setCourseList(courses);
-        model.fireTableDataChanged();
-        updateTotalCredits(courses);
+        DataLoader.load(this, "courses", new DataLoader.Task<List<Course>>() {
+            @Override
+            public List<Course> run() {
+                return courseDAO.getCoursesByStudentID(studentID);
+            }
+        }, new DataLoader.Callback<List<Course>>() {
+            @Override
+            public void onSuccess(List<Course> courses) {
+                CourseTableModel model = (CourseTableModel) courseTable.getModel();
+                model.setCourseList(courses);
+                model.fireTableDataChanged();
+                updateTotalCredits(courses);
+            }
+        });
     }
 
     /**
@@ -2,6 +2,7 @@ package com.eduportal.view;
 
 import com.eduportal.model.Course;
 import com.eduportal.dao.CourseDAO;
+import com.eduportal.service.EnrollmentService;
 import javax.swing.*;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableCellRenderer;
@@ -91,15 +92,28 @@ public class StudentEnrollmentPanel extends JPanel {
         courseTable.setFillsViewportHeight(true);
     }
     
-    private void loadCourses(String query) {
+    private void loadCourses(final String query) {
         // CourseDAO needs searchCourses(query) and enrollStudentInCourse(...)
-        List<Course> courses = courseDAO.searchCourses(query);
-        tableModel.setCourseList(courses);
-        tableModel.fireTableDataChanged();
+        DataLoader.load(this, "courses", new DataLoader.Task<List<Course>>() {
+            @Override
+            public List<Course> run() {
+                return courseDAO.searchCourses(query);
+            }
+        }, new DataLoader.Callback<List<Course>>() {
+            @Override
+            public void onSuccess(List<Course> courses) {
+                tableModel.setCourseList(courses);
+                tableModel.fireTableDataChanged();
+            }
+        });
     }
     
-    public void performEnrollment(int rowIndex) {
-        Course selectedCourse = tableModel.getCourse(rowIndex);
+    /**
+     * Enrolls in the course of a table row. The enroll button stays disabled until the request is
+     * decided, so a double click cannot send it twice.
+     */
+    public void performEnrollment(int rowIndex, final AbstractButton enrollButton) {
+        final Course selectedCourse = tableModel.getCourse(rowIndex);
         String status = (String) tableModel.getValueAt(rowIndex, 4);
 
         if ("Registered".equalsIgnoreCase(status) || "Pending".equalsIgnoreCase(status)) {
@@ -114,15 +128,46 @@ public class StudentEnrollmentPanel extends JPanel {
             "Confirm Enrollment", JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            boolean success = courseDAO.enrollStudentInCourse(studentID, selectedCourse.getCourseID());
-            if (success) {
-                JOptionPane.showMessageDialog(this, "Successfully enrolled!");
-                loadCourses(searchField.getText().trim()); // Refresh current view
-            } else {
-                JOptionPane.showMessageDialog(this, "Enrollment failed. Already registered?", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            DataLoader.submit(this, enrollButton, "enroll", new DataLoader.Task<EnrollmentService.Decision>() {
+                @Override
+                public EnrollmentService.Decision run() {
+                    return EnrollmentService.getInstance().enroll(studentID, selectedCourse.getCourseID());
+                }
+            }, new DataLoader.Callback<EnrollmentService.Decision>() {
+                @Override
+                public void onSuccess(EnrollmentService.Decision decision) {
+                    if (decision == EnrollmentService.Decision.ENROLLED) {
+                        JOptionPane.showMessageDialog(StudentEnrollmentPanel.this, decision.getMessage());
+                        loadCourses(searchField.getText().trim()); // Refresh current view
+                    } else if (decision == EnrollmentService.Decision.COURSE_FULL) {
+                        offerWaitlist(selectedCourse, enrollButton);
+                    } else {
+                        JOptionPane.showMessageDialog(StudentEnrollmentPanel.this, decision.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            });
         }
     }
+
+    private void offerWaitlist(final Course course, AbstractButton enrollButton) {
+        int choice = JOptionPane.showConfirmDialog(this,
+            course.getCourseCode() + " is full. Join the waitlist?",
+            "Course Full", JOptionPane.YES_NO_OPTION);
+        if (choice != JOptionPane.YES_OPTION) return;
+
+        DataLoader.submit(this, enrollButton, "enroll", new DataLoader.Task<EnrollmentService.Decision>() {
+            @Override
+            public EnrollmentService.Decision run() {
+                return EnrollmentService.getInstance().enroll(studentID, course.getCourseID(), true);
+            }
+        }, new DataLoader.Callback<EnrollmentService.Decision>() {
+            @Override
+            public void onSuccess(EnrollmentService.Decision decision) {
+                int type = decision == EnrollmentService.Decision.FAILED ? JOptionPane.ERROR_MESSAGE : JOptionPane.INFORMATION_MESSAGE;
+                JOptionPane.showMessageDialog(StudentEnrollmentPanel.this, decision.getMessage(), "Enrollment", type);
+            }
+        });
+    }
     
     // --- Table Model ---
     private class EnrollmentTableModel extends AbstractTableModel {
@@ -203,7 +248,7 @@ public class StudentEnrollmentPanel extends JPanel {
         public Object getCellEditorValue() {
             if ("Enroll".equals(label)) {
                 SwingUtilities.invokeLater(new Runnable() {
-                    public void run() { parent.performEnrollment(clickedRow); }
+                    public void run() { parent.performEnrollment(clickedRow, button); }
                 });
             }
             return label;
@@ -166,9 +166,8 @@ public class StudentFormDialog extends JDialog {
         }
         
         // 2. Prepare Student Object and save
-        Student studentToSave;
-        boolean success;
-        String action;
+        final Student studentToSave;
+        final String action;
 
         if (currentStudent == null) {
             // INSERT (New Student)
@@ -182,7 +181,6 @@ public class StudentFormDialog extends JDialog {
                 attr3,
                 new Date() // CreatedAt
             );
-            success = studentDAO.insert(studentToSave);
             action = "added";
         } else {
             // UPDATE (Existing Student)
@@ -197,18 +195,28 @@ public class StudentFormDialog extends JDialog {
             if (!password.isEmpty()) {
                 studentToSave.setPassword(password);
             }
-            
-            success = studentDAO.update(studentToSave);
             action = "updated";
         }
 
-        // 3. Handle Result
-        if (success) {
-            JOptionPane.showMessageDialog(this, "Student record successfully " + action + ".", "Success", JOptionPane.INFORMATION_MESSAGE);
-            parentPanel.loadStudentData(); // Refresh the table in the parent panel
-            dispose();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to save student record. This might be due to a duplicate username or a database issue.", "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        DataLoader.submit(this, saveButton, "save", new DataLoader.Task<Boolean>() {
+            @Override
+            public Boolean run() {
+                return currentStudent == null
+                        ? studentDAO.insert(studentToSave)
+                        : studentDAO.update(studentToSave);
+            }
+        }, new DataLoader.Callback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean success) {
+                // 3. Handle Result
+                if (success) {
+                    JOptionPane.showMessageDialog(StudentFormDialog.this, "Student record successfully " + action + ".", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    parentPanel.loadStudentData(); // Refresh the table in the parent panel
+                    dispose();
+                } else {
+                    JOptionPane.showMessageDialog(StudentFormDialog.this, "Failed to save student record. This might be due to a duplicate username or a database issue.", "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.eduportal.view;
 
 import com.eduportal.model.Grade;
+import com.eduportal.model.StudentGpa;
 import com.eduportal.dao.GradeDAO;
+import com.eduportal.dao.StudentGpaDAO;
 import javax.swing.*;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
@@ -12,12 +14,14 @@ public class StudentGradesPanel extends JPanel {
 
     private int studentID;
     private GradeDAO gradeDAO;
+    private StudentGpaDAO gpaDAO;
     private JLabel gpaLabel;
     private JTable gradesTable; 
 
     public StudentGradesPanel(int studentID) {
         this.studentID = studentID;
         this.gradeDAO = new GradeDAO();
+        this.gpaDAO = new StudentGpaDAO();
         
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
@@ -26,8 +30,7 @@ public class StudentGradesPanel extends JPanel {
         add(createHeaderPanel(), BorderLayout.NORTH);
         
         // 2. Grades Table
-        List<Grade> grades = gradeDAO.getGradesByStudentID(studentID);
-        GradesTableModel tableModel = new GradesTableModel(grades);
+        GradesTableModel tableModel = new GradesTableModel(null);
         gradesTable = new JTable(tableModel);
         
         gradesTable.setRowHeight(30);
@@ -44,28 +47,55 @@ public class StudentGradesPanel extends JPanel {
         JScrollPane scrollPane = new JScrollPane(gradesTable);
         add(scrollPane, BorderLayout.CENTER);
 
-        // 3. Initialize GPA
-        calculateAndSetGPA(grades);
+        // 3. Load grades and GPA in the background
+        refreshData();
         
         setBorder(BorderFactory.createTitledBorder(
             BorderFactory.createEtchedBorder(), "Academic Performance and Transcripts"));
     }
     
     public void refreshData() {
-        List<Grade> freshGrades = gradeDAO.getGradesByStudentID(this.studentID);
-        
-        // Update the existing model instead of creating a new one to keep selection/scroll state
-        GradesTableModel model = (GradesTableModel) gradesTable.getModel();
-        model.updateGrades(freshGrades); // Add this method to your inner class
-        
-        // Re-apply centering
-        DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
-        centerRenderer.setHorizontalAlignment(JLabel.CENTER);
-        for (int i = 3; i < gradesTable.getColumnCount(); i++) {
-            gradesTable.getColumnModel().getColumn(i).setCellRenderer(centerRenderer);
-        }
-        
-        calculateAndSetGPA(freshGrades);
+        DataLoader.load(this, "grades", new DataLoader.Task<List<Grade>>() {
+            @Override
+            public List<Grade> run() {
+                return gradeDAO.getGradesByStudentID(studentID);
+            }
+        }, new DataLoader.Callback<List<Grade>>() {
+            @Override
+            public void onSuccess(List<Grade> freshGrades) {
+                // Update the existing model instead of creating a new one to keep selection/scroll state
+                GradesTableModel model = (GradesTableModel) gradesTable.getModel();
+                model.updateGrades(freshGrades);
+                
+                // Re-apply centering
+                DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
+                centerRenderer.setHorizontalAlignment(JLabel.CENTER);
+                for (int i = 3; i < gradesTable.getColumnCount(); i++) {
+                    gradesTable.getColumnModel().getColumn(i).setCellRenderer(centerRenderer);
+                }
+                
+                loadGPA(freshGrades);
+            }
+        });
+    }
+
+    // Reads the maintained student_gpa totals; recomputes from the loaded grades only if that fails
+    private void loadGPA(final List<Grade> grades) {
+        DataLoader.load(this, "gpa", new DataLoader.Task<StudentGpa>() {
+            @Override
+            public StudentGpa run() {
+                return gpaDAO.getByStudentID(studentID);
+            }
+        }, new DataLoader.Callback<StudentGpa>() {
+            @Override
+            public void onSuccess(StudentGpa gpa) {
+                if (gpa != null) {
+                    showGPA(gpa.getQualityPoints(), gpa.getCredits());
+                } else {
+                    calculateAndSetGPA(grades);
+                }
+            }
+        });
     }
     
     private JPanel createHeaderPanel() {
@@ -97,6 +127,10 @@ public class StudentGradesPanel extends JPanel {
             totalCredits += grade.getCredits();
         }
         
+        showGPA(totalQualityPoints, totalCredits);
+    }
+
+    private void showGPA(double totalQualityPoints, int totalCredits) {
         if (totalCredits == 0) {
             gpaLabel.setText("Cumulative GPA: 0.00");
             return;
@@ -16,6 +16,7 @@ public class StudentProfilePanel extends JPanel {
     private JTextField nameField;
     private JTextField emailField;
     private JLabel studentIDLabel;
+    private JButton saveButton;
     
     // Assume StudentDAO exists and has an update method
     private StudentDAO studentDAO = new StudentDAO();
@@ -71,7 +72,7 @@ public class StudentProfilePanel extends JPanel {
         formPanel.add(emailField, gbc);
         
         // 4. Save Button
-        JButton saveButton = new JButton("Update Profile");
+        saveButton = new JButton("Update Profile");
         saveButton.setBackground(BUTTON_COLOR);
         saveButton.setForeground(Color.WHITE);
         saveButton.setFont(new Font("Arial", Font.BOLD, 14));
@@ -112,12 +113,20 @@ public class StudentProfilePanel extends JPanel {
         // In a real app: studentDAO.update(student);
         
         // Mock success/failure based on the student's ID (simple mock persistence)
-        boolean success = studentDAO.update(student); 
-
-        if (success) {
-            JOptionPane.showMessageDialog(this, "Profile updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to update profile. (Database Error/Mock Failure)", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        DataLoader.submit(this, saveButton, "update", new DataLoader.Task<Boolean>() {
+            @Override
+            public Boolean run() {
+                return studentDAO.update(student);
+            }
+        }, new DataLoader.Callback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean success) {
+                if (success) {
+                    JOptionPane.showMessageDialog(StudentProfilePanel.this, "Profile updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(StudentProfilePanel.this, "Failed to update profile. (Database Error/Mock Failure)", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
     }
 }
\ No newline at end of file
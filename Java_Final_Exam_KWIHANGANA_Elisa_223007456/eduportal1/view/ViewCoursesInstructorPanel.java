@@ -54,20 +54,29 @@ public class ViewCoursesInstructorPanel extends JPanel {
     public void loadCourseData() {
         tableModel.setRowCount(0); // Clear existing data
         
-        try {
-            List<Course> courses = courseDAO.getCoursesByInstructor(instructorID);
-            
-            for (Course course : courses) {
-                tableModel.addRow(new Object[]{
-                    course.getCourseID(),
-                    course.getCourseCode(),
-                    course.getTitle(),
-                    course.getInstructorID()
-                });
+        DataLoader.load(this, "courses", new DataLoader.Task<List<Course>>() {
+            @Override
+            public List<Course> run() {
+                return courseDAO.getCoursesByInstructor(instructorID);
+            }
+        }, new DataLoader.Callback<List<Course>>() {
+            @Override
+            public void onSuccess(List<Course> courses) {
+                for (Course course : courses) {
+                    tableModel.addRow(new Object[]{
+                        course.getCourseID(),
+                        course.getCourseCode(),
+                        course.getTitle(),
+                        course.getInstructorID()
+                    });
+                }
+            }
+
+            @Override
+            public void onError(Component owner, Exception ex) {
+                // Displays error if the DAO mock throws an exception
+                JOptionPane.showMessageDialog(owner, "Error loading course data: " + ex.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
             }
-        } catch (Exception ex) {
-            // Displays error if the DAO mock throws an exception
-            JOptionPane.showMessageDialog(this, "Error loading course data: " + ex.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 }
\ No newline at end of file